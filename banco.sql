@@ -1,9 +1,13 @@
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
 CREATE TYPE papel_organizacao AS ENUM ('RECRUTADOR','ADMIN');
 CREATE TYPE nivel_competencia AS ENUM ('BASICO','INTERMEDIARIO','AVANCADO');
 CREATE TYPE status_vaga AS ENUM ('ABERTA','FECHADA','CANCELADA');
 CREATE TYPE tipo_contrato AS ENUM ('ESTAGIO','CLT','PJ');
 CREATE TYPE modalidade_trabalho AS ENUM ('PRESENCIAL','REMOTO','HIBRIDO');
 CREATE TYPE status_candidatura AS ENUM ('PENDENTE','ACEITA','REJEITADA','DESISTENTE','EM_PROCESSO','FINALIZADA');
+CREATE TYPE origem_compatibilidade AS ENUM ('IA','LOCAL');
+CREATE TYPE status_job_compatibilidade AS ENUM ('PENDENTE','PROCESSANDO','FALHOU');
 
 CREATE TABLE usuario
 (
@@ -212,6 +216,7 @@ CREATE TABLE candidatura
     data_candidatura     DATE               NOT NULL,
     arquivo_curriculo    VARCHAR(255),
     compatibilidade      NUMERIC(5, 2),
+    compatibilidade_provisoria BOOLEAN      NOT NULL DEFAULT FALSE,
     criado_em            TIMESTAMPTZ        NOT NULL DEFAULT now(),
     atualizado_em        TIMESTAMPTZ        NOT NULL DEFAULT now(),
     UNIQUE (vaga_id, candidato_usuario_id)
@@ -353,6 +358,9 @@ CREATE TABLE IF NOT EXISTS compatibilidade_cache
     justificativa              TEXT,
     data_calculo               TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP,
     data_atualizacao           TIMESTAMP,
+    origem                     origem_compatibilidade NOT NULL DEFAULT 'IA',
+    hash_perfil                VARCHAR(64),
+    hash_vaga                  VARCHAR(64),
 
     CONSTRAINT fk_cache_candidato FOREIGN KEY (candidato_usuario_id)
         REFERENCES usuario (id) ON DELETE CASCADE,
@@ -362,6 +370,80 @@ CREATE TABLE IF NOT EXISTS compatibilidade_cache
     CONSTRAINT uk_cache_candidato_vaga UNIQUE (candidato_usuario_id, vaga_id)
 );
 
+CREATE TABLE IF NOT EXISTS compatibilidade_job
+(
+    id                   UUID PRIMARY KEY,
+    candidato_usuario_id UUID,
+    vaga_id              UUID,
+    organizacao_id       UUID,
+    prioridade           INT                        NOT NULL DEFAULT 0,
+    tentativas           INT                        NOT NULL DEFAULT 0,
+    status               status_job_compatibilidade NOT NULL DEFAULT 'PENDENTE',
+    reexecutar           BOOLEAN                    NOT NULL DEFAULT FALSE,
+    proxima_execucao     TIMESTAMP                  NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ultimo_erro          TEXT,
+    data_criacao         TIMESTAMP                  NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    data_atualizacao     TIMESTAMP                  NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT ck_job_alvo CHECK (candidato_usuario_id IS NOT NULL OR vaga_id IS NOT NULL)
+);
+
+CREATE TABLE IF NOT EXISTS vaga_digest
+(
+    vaga_id                 UUID         PRIMARY KEY,
+    hash_texto              VARCHAR(64)  NOT NULL,
+    versao                  INT          NOT NULL,
+    titulo                  VARCHAR(80)  NOT NULL,
+    resumo                  TEXT,
+    requisitos_obrigatorios TEXT[]       NOT NULL DEFAULT '{}',
+    requisitos_desejaveis   TEXT[]       NOT NULL DEFAULT '{}',
+    senioridade             VARCHAR(20),
+    idiomas                 TEXT[]       NOT NULL DEFAULT '{}',
+    tipo_contrato           VARCHAR(20),
+    modalidade              VARCHAR(20),
+    habilidades_obrigatorias INT[]       NOT NULL DEFAULT '{}',
+    habilidades_desejaveis  INT[]        NOT NULL DEFAULT '{}',
+    habilidades_mencionadas INT[]        NOT NULL DEFAULT '{}',
+    data_geracao            TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_digest_vaga FOREIGN KEY (vaga_id)
+        REFERENCES vaga (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS perfil_candidato_snapshot
+(
+    usuario_id       UUID      PRIMARY KEY,
+    versao           BIGINT    NOT NULL DEFAULT 1,
+    formato          INT       NOT NULL,
+    dados            JSONB     NOT NULL,
+    hash_perfil      VARCHAR(64),
+    data_atualizacao TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_snapshot_usuario FOREIGN KEY (usuario_id)
+        REFERENCES usuario (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS candidato_busca
+(
+    usuario_id       UUID      PRIMARY KEY,
+    documento        TSVECTOR  NOT NULL,
+    cidade           TEXT,
+    cargos           TEXT      NOT NULL DEFAULT '',
+    data_atualizacao TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_busca_usuario FOREIGN KEY (usuario_id)
+        REFERENCES usuario (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS criterios_busca
+(
+    consulta_normalizada TEXT PRIMARY KEY,
+    palavras_chave       TEXT[]    NOT NULL DEFAULT '{}',
+    localizacao          TEXT,
+    senioridade          VARCHAR(20),
+    data_extracao        TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 CREATE TABLE reset_senha
 (
     id               UUID PRIMARY KEY,
@@ -416,7 +498,13 @@ CREATE UNIQUE INDEX idx_convite_unico_pendente
     WHERE status = 'PENDENTE';
 
 CREATE INDEX idx_cache_candidato ON compatibilidade_cache (candidato_usuario_id);
-CREATE INDEX idx_cache_vaga ON compatibilidade_cache (vaga_id);
+CREATE INDEX idx_cache_vaga ON compatibilidade_cache (vaga_id, (-TRUNC(percentual_compatibilidade)), candidato_usuario_id);
 CREATE INDEX idx_cache_data_calculo ON compatibilidade_cache (data_calculo);
+CREATE UNIQUE INDEX uk_job_alvo ON compatibilidade_job (
+    COALESCE(candidato_usuario_id, '00000000-0000-0000-0000-000000000000'::uuid),
+    COALESCE(vaga_id, '00000000-0000-0000-0000-000000000000'::uuid));
+CREATE INDEX idx_job_fila ON compatibilidade_job (status, prioridade DESC, proxima_execucao);
 CREATE INDEX idx_reset_senha_token ON reset_senha (token);
 CREATE INDEX idx_reset_senha_usuario_status ON reset_senha (usuario_id, status);
+CREATE INDEX idx_candidato_busca_documento ON candidato_busca USING GIN (documento);
+CREATE INDEX idx_criterios_busca_data ON criterios_busca (data_extracao DESC);
@@ -25,6 +25,7 @@ export interface BuscarCandidatoPageResponse {
   totalPages: number;
   totalElements: number;
   size: number;
+  proximoCursor: string | null;
 }
 
 export interface EnviarConviteRequest {
@@ -76,12 +77,13 @@ export const recrutadorService = {
     organizacaoId: string,
     request: BuscarCandidatoRequest,
     page: number = 0,
-    size: number = 10
+    size: number = 10,
+    cursor?: string
   ): Promise<BuscarCandidatoPageResponse> {
     const response = await api.post(
       `/organizacoes/${organizacaoId}/recrutadores/buscar-candidatos`,
       request,
-      { params: { page, size } }
+      { params: { page, size, cursor } }
     );
     return response.data;
   },
@@ -178,7 +178,8 @@ public class CandidaturaController {
                             candidatura.getStatus().name(),
                             candidatura.getDataCandidatura(),
                             etapaAtual,
-                            candidatura.getCompatibilidade()
+                            candidatura.getCompatibilidade(),
+                            candidatura.isCompatibilidadeProvisoria()
                     );
                 })
                 .filter(item -> item != null)
@@ -0,0 +1,57 @@
+package com.barcelos.recrutamento.api.controller;
+
+import com.barcelos.recrutamento.api.dto.CompatibilidadeJobProgressoResponse;
+import com.barcelos.recrutamento.config.OrganizacaoSecurityService;
+import com.barcelos.recrutamento.core.service.CompatibilidadeJobService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/organizacoes/{organizacaoId}/compatibilidade/jobs")
+public class CompatibilidadeJobController {
+
+    private final CompatibilidadeJobService compatibilidadeJobService;
+    private final OrganizacaoSecurityService orgSecurityService;
+
+    public CompatibilidadeJobController(CompatibilidadeJobService compatibilidadeJobService,
+                                        OrganizacaoSecurityService orgSecurityService) {
+        this.compatibilidadeJobService = compatibilidadeJobService;
+        this.orgSecurityService = orgSecurityService;
+    }
+
+    
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<CompatibilidadeJobProgressoResponse> progresso(
+            @PathVariable UUID organizacaoId,
+            Authentication authentication) {
+        orgSecurityService.validateUserIsAdminOfOrganization(organizacaoId, authentication);
+
+        return ResponseEntity.ok(resumir(organizacaoId));
+    }
+
+    
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/falhas/reprocessar")
+    public ResponseEntity<CompatibilidadeJobProgressoResponse> reprocessarFalhas(
+            @PathVariable UUID organizacaoId,
+            Authentication authentication) {
+        orgSecurityService.validateUserIsAdminOfOrganization(organizacaoId, authentication);
+
+        compatibilidadeJobService.reprocessarFalhas(organizacaoId);
+        return ResponseEntity.ok(resumir(organizacaoId));
+    }
+
+    private CompatibilidadeJobProgressoResponse resumir(UUID organizacaoId) {
+        var progresso = compatibilidadeJobService.progresso(organizacaoId);
+        return new CompatibilidadeJobProgressoResponse(
+                progresso.pendentes(),
+                progresso.processando(),
+                progresso.falhas(),
+                progresso.pendenteMaisAntigo());
+    }
+}
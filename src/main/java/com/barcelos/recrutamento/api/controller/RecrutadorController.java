@@ -119,6 +119,7 @@ public class RecrutadorController {
             @Valid @RequestBody BuscarCandidatoRequest request,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
             Authentication authentication) {
 
         orgSecurityService.validateUserBelongsToOrganization(organizacaoId, authentication);
@@ -132,20 +133,27 @@ public class RecrutadorController {
         var resultado = buscaCandidatoService.buscarComPaginacao(
                 request.vagaId(), 
                 request.consulta(), 
+                cursor,
                 page, 
                 size
         );
 
+        var candidatoIds = resultado.content().stream()
+                .map(r -> r.usuario().getId())
+                .toList();
+        var competenciasPorCandidato = competenciaRepository.listByPerfisCandidato(candidatoIds);
+        var experienciasPorCandidato = experienciaRepository.listByUsuarios(candidatoIds);
+
         var responses = resultado.content().stream()
                 .map(r -> {
                     var usuario = r.usuario();
                     var perfil = r.perfil();
 
-                    var competencias = competenciaRepository.listByPerfilCandidato(usuario.getId()).stream()
+                    var competencias = competenciasPorCandidato.getOrDefault(usuario.getId(), List.of()).stream()
                             .map(c -> c.getTitulo())
                             .collect(Collectors.toList());
 
-                    var experiencias = experienciaRepository.listByUsuario(usuario.getId()).stream()
+                    var experiencias = experienciasPorCandidato.getOrDefault(usuario.getId(), List.of()).stream()
                             .map(e -> e.getCargo())
                             .collect(Collectors.toList());
 
@@ -172,7 +180,8 @@ public class RecrutadorController {
                 resultado.currentPage(),
                 resultado.totalPages(),
                 resultado.totalElements(),
-                resultado.size()
+                resultado.size(),
+                resultado.proximoCursor()
         );
 
         return ResponseEntity.ok(pageResponse);
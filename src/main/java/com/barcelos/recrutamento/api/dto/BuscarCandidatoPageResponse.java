@@ -7,7 +7,8 @@ public record BuscarCandidatoPageResponse(
         int currentPage,
         int totalPages,
         long totalElements,
-        int size
+        int size,
+        String proximoCursor
 ) {
 }
 
@@ -0,0 +1,11 @@
+package com.barcelos.recrutamento.api.dto;
+
+import java.time.LocalDateTime;
+
+public record CompatibilidadeJobProgressoResponse(
+        long pendentes,
+        long processando,
+        long falhas,
+        LocalDateTime pendenteMaisAntigo
+) {
+}
@@ -11,7 +11,8 @@ public record MinhasCandidaturaResponse(
         String status,
         LocalDate dataCandidatura,
         String etapaAtual,
-        BigDecimal compatibilidade
+        BigDecimal compatibilidade,
+        boolean compatibilidadeProvisoria
 ) {
     public record VagaResumo(
             String titulo,
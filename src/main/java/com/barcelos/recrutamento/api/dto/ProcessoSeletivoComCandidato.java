@@ -25,6 +25,7 @@ public record ProcessoSeletivoComCandidato(
         String statusCandidatura,
         LocalDateTime dataCandidatura,
         BigDecimal compatibilidade,
+        boolean compatibilidadeProvisoria,
         String arquivoCurriculo,
 
         UUID vagaId,
@@ -1,6 +1,8 @@
 package com.barcelos.recrutamento.api.exception;
 
 import com.barcelos.recrutamento.core.exception.BusinessRuleViolationException;
+import com.barcelos.recrutamento.core.exception.CotaIaExcedidaException;
+import com.barcelos.recrutamento.core.exception.IaIndisponivelException;
 import com.barcelos.recrutamento.core.exception.InvalidInputException;
 import com.barcelos.recrutamento.core.exception.ResourceNotFoundException;
 import com.barcelos.recrutamento.core.exception.ResourceOwnershipException;
@@ -283,6 +285,38 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(CotaIaExcedidaException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ApiError handleCotaIaExcedida(CotaIaExcedidaException ex, HttpServletRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        log.warn("[traceId={}] Cota da IA excedida em {}: {}", traceId, request.getRequestURI(), ex.getMessage());
+        return new ApiError(
+                OffsetDateTime.now(),
+                429,
+                "Too Many Requests",
+                "Limite de uso do serviço de IA atingido. Tente novamente em instantes.",
+                request.getRequestURI(),
+                traceId,
+                "AI_RATE_LIMITED"
+        );
+    }
+
+    @ExceptionHandler(IaIndisponivelException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiError handleIaIndisponivel(IaIndisponivelException ex, HttpServletRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        log.warn("[traceId={}] IA indisponível em {}: {}", traceId, request.getRequestURI(), ex.getMessage());
+        return new ApiError(
+                OffsetDateTime.now(),
+                503,
+                "Service Unavailable",
+                "Serviço de IA temporariamente indisponível. Tente novamente em instantes.",
+                request.getRequestURI(),
+                traceId,
+                "AI_UNAVAILABLE"
+        );
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ApiError handleUnexpectedException(Exception ex, HttpServletRequest request) {
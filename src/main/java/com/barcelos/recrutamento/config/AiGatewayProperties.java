@@ -0,0 +1,100 @@
+package com.barcelos.recrutamento.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.ia")
+public class AiGatewayProperties {
+
+    private int maxConcorrencia = 8;
+    private int requisicoesPorMinuto = 60;
+    private long tokensPorMinuto = 90000;
+    private long timeoutSeconds = 60;
+    private long connectTimeoutSeconds = 10;
+    private long esperaMaximaMillis = 5000;
+    private int circuitoLimiteFalhas = 5;
+    private long circuitoAberturaSeconds = 30;
+    private int reservaInterativa = 2;
+    private int reservaCotaInterativaPercentual = 20;
+
+    public int getMaxConcorrencia() {
+        return maxConcorrencia;
+    }
+
+    public void setMaxConcorrencia(int maxConcorrencia) {
+        this.maxConcorrencia = maxConcorrencia;
+    }
+
+    public int getRequisicoesPorMinuto() {
+        return requisicoesPorMinuto;
+    }
+
+    public void setRequisicoesPorMinuto(int requisicoesPorMinuto) {
+        this.requisicoesPorMinuto = requisicoesPorMinuto;
+    }
+
+    public long getTokensPorMinuto() {
+        return tokensPorMinuto;
+    }
+
+    public void setTokensPorMinuto(long tokensPorMinuto) {
+        this.tokensPorMinuto = tokensPorMinuto;
+    }
+
+    public long getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    public void setTimeoutSeconds(long timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    public long getConnectTimeoutSeconds() {
+        return connectTimeoutSeconds;
+    }
+
+    public void setConnectTimeoutSeconds(long connectTimeoutSeconds) {
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+    }
+
+    public long getEsperaMaximaMillis() {
+        return esperaMaximaMillis;
+    }
+
+    public void setEsperaMaximaMillis(long esperaMaximaMillis) {
+        this.esperaMaximaMillis = esperaMaximaMillis;
+    }
+
+    public int getCircuitoLimiteFalhas() {
+        return circuitoLimiteFalhas;
+    }
+
+    public void setCircuitoLimiteFalhas(int circuitoLimiteFalhas) {
+        this.circuitoLimiteFalhas = circuitoLimiteFalhas;
+    }
+
+    public long getCircuitoAberturaSeconds() {
+        return circuitoAberturaSeconds;
+    }
+
+    public void setCircuitoAberturaSeconds(long circuitoAberturaSeconds) {
+        this.circuitoAberturaSeconds = circuitoAberturaSeconds;
+    }
+
+    public int getReservaInterativa() {
+        return reservaInterativa;
+    }
+
+    public void setReservaInterativa(int reservaInterativa) {
+        this.reservaInterativa = reservaInterativa;
+    }
+
+    public int getReservaCotaInterativaPercentual() {
+        return reservaCotaInterativaPercentual;
+    }
+
+    public void setReservaCotaInterativaPercentual(int reservaCotaInterativaPercentual) {
+        this.reservaCotaInterativaPercentual = reservaCotaInterativaPercentual;
+    }
+}
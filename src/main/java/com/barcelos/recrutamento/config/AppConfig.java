@@ -1,11 +1,18 @@
 package com.barcelos.recrutamento.config;
 
+import com.barcelos.recrutamento.core.support.TaxonomiaHabilidades;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
+import org.springframework.boot.web.client.RestClientCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 public class AppConfig  {
 
@@ -14,6 +21,20 @@ public class AppConfig  {
         return builder.build();
     }
 
+    @Bean
+    public RestClientCustomizer timeoutsRestClientCustomizer(AiGatewayProperties properties) {
+        ClientHttpRequestFactory requestFactory = ClientHttpRequestFactoryBuilder.detect().build(
+                ClientHttpRequestFactorySettings.defaults()
+                        .withConnectTimeout(Duration.ofSeconds(properties.getConnectTimeoutSeconds()))
+                        .withReadTimeout(Duration.ofSeconds(properties.getTimeoutSeconds())));
+        return builder -> builder.requestFactory(requestFactory);
+    }
+
+    @Bean
+    public TaxonomiaHabilidades taxonomiaHabilidades() {
+        return TaxonomiaHabilidades.carregar();
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
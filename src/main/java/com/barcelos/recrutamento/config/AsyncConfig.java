@@ -1,5 +1,10 @@
 package com.barcelos.recrutamento.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
@@ -10,7 +15,9 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableAsync
@@ -18,30 +25,37 @@ public class AsyncConfig implements AsyncConfigurer {
 
     private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
 
-    @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("async-compatibility-");
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
-        executor.initialize();
-        return executor;
+    private final ExecutorProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public AsyncConfig(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean(name = "iaTaskExecutor")
+    public ThreadPoolTaskExecutor iaTaskExecutor() {
+        return criarExecutor("ia", properties.getIa(), false);
     }
 
     @Bean(name = "curriculoTaskExecutor")
-    public Executor curriculoTaskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(4);
-        executor.setQueueCapacity(50);
-        executor.setThreadNamePrefix("curriculo-async-");
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(60);
-        executor.initialize();
-        return executor;
+    public ThreadPoolTaskExecutor curriculoTaskExecutor() {
+        return criarExecutor("curriculo", properties.getCurriculo(), true);
+    }
+
+    @Bean(name = "emailTaskExecutor")
+    public ThreadPoolTaskExecutor emailTaskExecutor() {
+        return criarExecutor("email", properties.getEmail(), true);
+    }
+
+    @Bean(name = "eventosTaskExecutor")
+    public ThreadPoolTaskExecutor eventosTaskExecutor() {
+        return criarExecutor("eventos", properties.getEventos(), true);
+    }
+
+    @Bean(name = "compatibilidadeTaskExecutor")
+    public ThreadPoolTaskExecutor compatibilidadeTaskExecutor() {
+        return criarExecutor("compatibilidade", properties.getCompatibilidade(), false);
     }
 
     @Override
@@ -57,6 +71,52 @@ public class AsyncConfig implements AsyncConfigurer {
 
     @Override
     public Executor getAsyncExecutor() {
-        return curriculoTaskExecutor();
+        return eventosTaskExecutor();
+    }
+
+    private ThreadPoolTaskExecutor criarExecutor(String nome, ExecutorProperties.Pool pool, boolean aguardarNoDesligamento) {
+        int tamanhoMaximo = Math.max(1, pool.getTamanhoMaximo());
+        Tags tags = Tags.of("workload", nome);
+        Counter rejeitadas = Counter.builder("executor.rejeitadas").tags(tags).register(meterRegistry);
+        Timer espera = Timer.builder("executor.espera").tags(tags)
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        Timer execucao = Timer.builder("executor.execucao").tags(tags)
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.min(Math.max(1, pool.getTamanhoBase()), tamanhoMaximo));
+        executor.setMaxPoolSize(tamanhoMaximo);
+        executor.setQueueCapacity(Math.max(0, pool.getCapacidadeFila()));
+        executor.setThreadNamePrefix(nome + "-async-");
+        executor.setVirtualThreads(pool.isThreadsVirtuais());
+        executor.setRejectedExecutionHandler(contarRejeicoes(rejeitadas, new ThreadPoolExecutor.CallerRunsPolicy()));
+        executor.setTaskDecorator(tarefa -> {
+            long enfileiradaEm = System.nanoTime();
+            return () -> {
+                long inicio = System.nanoTime();
+                espera.record(inicio - enfileiradaEm, TimeUnit.NANOSECONDS);
+                try {
+                    tarefa.run();
+                } finally {
+                    execucao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                }
+            };
+        });
+        if (aguardarNoDesligamento) {
+            executor.setWaitForTasksToCompleteOnShutdown(true);
+            executor.setAwaitTerminationSeconds(60);
+        }
+        executor.initialize();
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), nome, tags);
+        return executor;
+    }
+
+    private RejectedExecutionHandler contarRejeicoes(Counter rejeitadas, RejectedExecutionHandler politica) {
+        return (tarefa, executor) -> {
+            rejeitadas.increment();
+            log.warn("Fila do executor cheia ({} ativas, {} na fila); executando na thread chamadora",
+                    executor.getActiveCount(), executor.getQueue().size());
+            politica.rejectedExecution(tarefa, executor);
+        };
     }
 }
@@ -0,0 +1,46 @@
+package com.barcelos.recrutamento.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.busca-criterios")
+public class BuscaCriteriosProperties {
+
+    private boolean regrasHabilitadas = true;
+    private int cacheCapacidade = 2000;
+    private long cacheTtlSeconds = 86400;
+    private int aquecimentoLimite = 500;
+
+    public boolean isRegrasHabilitadas() {
+        return regrasHabilitadas;
+    }
+
+    public void setRegrasHabilitadas(boolean regrasHabilitadas) {
+        this.regrasHabilitadas = regrasHabilitadas;
+    }
+
+    public int getCacheCapacidade() {
+        return cacheCapacidade;
+    }
+
+    public void setCacheCapacidade(int cacheCapacidade) {
+        this.cacheCapacidade = cacheCapacidade;
+    }
+
+    public long getCacheTtlSeconds() {
+        return cacheTtlSeconds;
+    }
+
+    public void setCacheTtlSeconds(long cacheTtlSeconds) {
+        this.cacheTtlSeconds = cacheTtlSeconds;
+    }
+
+    public int getAquecimentoLimite() {
+        return aquecimentoLimite;
+    }
+
+    public void setAquecimentoLimite(int aquecimentoLimite) {
+        this.aquecimentoLimite = aquecimentoLimite;
+    }
+}
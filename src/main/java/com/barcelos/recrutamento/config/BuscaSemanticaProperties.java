@@ -0,0 +1,73 @@
+package com.barcelos.recrutamento.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.busca-semantica")
+public class BuscaSemanticaProperties {
+
+    private boolean habilitada = true;
+    private int dimensao = 512;
+    private int conexoes = 16;
+    private int efConstrucao = 100;
+    private int efBusca = 64;
+    private int topK = 200;
+    private double similaridadeMinima = 0.05;
+
+    public boolean isHabilitada() {
+        return habilitada;
+    }
+
+    public void setHabilitada(boolean habilitada) {
+        this.habilitada = habilitada;
+    }
+
+    public int getDimensao() {
+        return dimensao;
+    }
+
+    public void setDimensao(int dimensao) {
+        this.dimensao = dimensao;
+    }
+
+    public int getConexoes() {
+        return conexoes;
+    }
+
+    public void setConexoes(int conexoes) {
+        this.conexoes = conexoes;
+    }
+
+    public int getEfConstrucao() {
+        return efConstrucao;
+    }
+
+    public void setEfConstrucao(int efConstrucao) {
+        this.efConstrucao = efConstrucao;
+    }
+
+    public int getEfBusca() {
+        return efBusca;
+    }
+
+    public void setEfBusca(int efBusca) {
+        this.efBusca = efBusca;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+
+    public double getSimilaridadeMinima() {
+        return similaridadeMinima;
+    }
+
+    public void setSimilaridadeMinima(double similaridadeMinima) {
+        this.similaridadeMinima = similaridadeMinima;
+    }
+}
@@ -0,0 +1,158 @@
+package com.barcelos.recrutamento.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.compatibilidade")
+public class CompatibilidadeProperties {
+
+    private boolean usarIa = true;
+    private boolean fallbackToBasic = true;
+    private int tamanhoLote = 10;
+    private int rerankTopK = 200;
+    private long cacheTtlSeconds = 3600;
+    private long cacheIdadeMaximaSeconds = 2592000;
+    private int cacheL1Capacidade = 50000;
+    private long cacheL1TtlSeconds = 30;
+    private int jobLote = 5;
+    private Map<UUID, Integer> pesosOrganizacao = new HashMap<>();
+    private int pesoFilaCandidatos = 4;
+    private int jobMaxTentativas = 5;
+    private long jobBackoffSeconds = 30;
+    private long jobExpiracaoSeconds = 1800;
+    private long debouncePerfilSeconds = 30;
+    private String modeloPontuacao;
+
+    public boolean isUsarIa() {
+        return usarIa;
+    }
+
+    public void setUsarIa(boolean usarIa) {
+        this.usarIa = usarIa;
+    }
+
+    public boolean isFallbackToBasic() {
+        return fallbackToBasic;
+    }
+
+    public void setFallbackToBasic(boolean fallbackToBasic) {
+        this.fallbackToBasic = fallbackToBasic;
+    }
+
+    public int getTamanhoLote() {
+        return tamanhoLote;
+    }
+
+    public void setTamanhoLote(int tamanhoLote) {
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public int getRerankTopK() {
+        return rerankTopK;
+    }
+
+    public void setRerankTopK(int rerankTopK) {
+        this.rerankTopK = rerankTopK;
+    }
+
+    public long getCacheTtlSeconds() {
+        return cacheTtlSeconds;
+    }
+
+    public void setCacheTtlSeconds(long cacheTtlSeconds) {
+        this.cacheTtlSeconds = cacheTtlSeconds;
+    }
+
+    public long getCacheIdadeMaximaSeconds() {
+        return cacheIdadeMaximaSeconds;
+    }
+
+    public void setCacheIdadeMaximaSeconds(long cacheIdadeMaximaSeconds) {
+        this.cacheIdadeMaximaSeconds = cacheIdadeMaximaSeconds;
+    }
+
+    public int getCacheL1Capacidade() {
+        return cacheL1Capacidade;
+    }
+
+    public void setCacheL1Capacidade(int cacheL1Capacidade) {
+        this.cacheL1Capacidade = cacheL1Capacidade;
+    }
+
+    public long getCacheL1TtlSeconds() {
+        return cacheL1TtlSeconds;
+    }
+
+    public void setCacheL1TtlSeconds(long cacheL1TtlSeconds) {
+        this.cacheL1TtlSeconds = cacheL1TtlSeconds;
+    }
+
+    public int getJobLote() {
+        return jobLote;
+    }
+
+    public void setJobLote(int jobLote) {
+        this.jobLote = jobLote;
+    }
+
+    public int getJobMaxTentativas() {
+        return jobMaxTentativas;
+    }
+
+    public void setJobMaxTentativas(int jobMaxTentativas) {
+        this.jobMaxTentativas = jobMaxTentativas;
+    }
+
+    public long getJobBackoffSeconds() {
+        return jobBackoffSeconds;
+    }
+
+    public void setJobBackoffSeconds(long jobBackoffSeconds) {
+        this.jobBackoffSeconds = jobBackoffSeconds;
+    }
+
+    public long getJobExpiracaoSeconds() {
+        return jobExpiracaoSeconds;
+    }
+
+    public void setJobExpiracaoSeconds(long jobExpiracaoSeconds) {
+        this.jobExpiracaoSeconds = jobExpiracaoSeconds;
+    }
+
+    public Map<UUID, Integer> getPesosOrganizacao() {
+        return pesosOrganizacao;
+    }
+
+    public void setPesosOrganizacao(Map<UUID, Integer> pesosOrganizacao) {
+        this.pesosOrganizacao = pesosOrganizacao;
+    }
+
+    public int getPesoFilaCandidatos() {
+        return pesoFilaCandidatos;
+    }
+
+    public void setPesoFilaCandidatos(int pesoFilaCandidatos) {
+        this.pesoFilaCandidatos = pesoFilaCandidatos;
+    }
+
+    public long getDebouncePerfilSeconds() {
+        return debouncePerfilSeconds;
+    }
+
+    public void setDebouncePerfilSeconds(long debouncePerfilSeconds) {
+        this.debouncePerfilSeconds = debouncePerfilSeconds;
+    }
+
+    public String getModeloPontuacao() {
+        return modeloPontuacao;
+    }
+
+    public void setModeloPontuacao(String modeloPontuacao) {
+        this.modeloPontuacao = modeloPontuacao;
+    }
+}
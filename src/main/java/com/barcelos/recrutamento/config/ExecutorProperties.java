@@ -0,0 +1,105 @@
+package com.barcelos.recrutamento.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.executores")
+public class ExecutorProperties {
+
+    private Pool ia = new Pool(8, 32, 500, true);
+    private Pool curriculo = new Pool(2, 4, 50, false);
+    private Pool email = new Pool(2, 16, 500, true);
+    private Pool eventos = new Pool(2, 8, 200, false);
+    private Pool compatibilidade = new Pool(4, 4, 50, false);
+
+    public Pool getIa() {
+        return ia;
+    }
+
+    public void setIa(Pool ia) {
+        this.ia = ia;
+    }
+
+    public Pool getCurriculo() {
+        return curriculo;
+    }
+
+    public void setCurriculo(Pool curriculo) {
+        this.curriculo = curriculo;
+    }
+
+    public Pool getEmail() {
+        return email;
+    }
+
+    public void setEmail(Pool email) {
+        this.email = email;
+    }
+
+    public Pool getEventos() {
+        return eventos;
+    }
+
+    public void setEventos(Pool eventos) {
+        this.eventos = eventos;
+    }
+
+    public Pool getCompatibilidade() {
+        return compatibilidade;
+    }
+
+    public void setCompatibilidade(Pool compatibilidade) {
+        this.compatibilidade = compatibilidade;
+    }
+
+    public static class Pool {
+
+        private int tamanhoBase;
+        private int tamanhoMaximo;
+        private int capacidadeFila;
+        private boolean threadsVirtuais;
+
+        public Pool() {
+        }
+
+        public Pool(int tamanhoBase, int tamanhoMaximo, int capacidadeFila, boolean threadsVirtuais) {
+            this.tamanhoBase = tamanhoBase;
+            this.tamanhoMaximo = tamanhoMaximo;
+            this.capacidadeFila = capacidadeFila;
+            this.threadsVirtuais = threadsVirtuais;
+        }
+
+        public int getTamanhoBase() {
+            return tamanhoBase;
+        }
+
+        public void setTamanhoBase(int tamanhoBase) {
+            this.tamanhoBase = tamanhoBase;
+        }
+
+        public int getTamanhoMaximo() {
+            return tamanhoMaximo;
+        }
+
+        public void setTamanhoMaximo(int tamanhoMaximo) {
+            this.tamanhoMaximo = tamanhoMaximo;
+        }
+
+        public int getCapacidadeFila() {
+            return capacidadeFila;
+        }
+
+        public void setCapacidadeFila(int capacidadeFila) {
+            this.capacidadeFila = capacidadeFila;
+        }
+
+        public boolean isThreadsVirtuais() {
+            return threadsVirtuais;
+        }
+
+        public void setThreadsVirtuais(boolean threadsVirtuais) {
+            this.threadsVirtuais = threadsVirtuais;
+        }
+    }
+}
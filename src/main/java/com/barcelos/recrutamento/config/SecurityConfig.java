@@ -49,6 +49,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/public/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
                         .requestMatchers(HttpMethod.GET, "/organizacoes/publicas/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/candidatos").permitAll()
                         .requestMatchers(HttpMethod.POST, "/organizacoes").permitAll()
@@ -1,9 +1,15 @@
 package com.barcelos.recrutamento.core.event;
 
-import com.barcelos.recrutamento.core.service.CompatibilidadeCacheService;
+import com.barcelos.recrutamento.core.service.CompatibilidadeJobService;
+import com.barcelos.recrutamento.core.service.IndiceSemanticoService;
+import com.barcelos.recrutamento.core.service.PerfilCandidatoSnapshotService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
@@ -12,19 +18,40 @@ public class PerfilCandidatoEventListener {
 
     private static final Logger log = LoggerFactory.getLogger(PerfilCandidatoEventListener.class);
 
-    private final CompatibilidadeCacheService compatibilidadeCacheService;
+    private final CompatibilidadeJobService compatibilidadeJobService;
+    private final IndiceSemanticoService indiceSemanticoService;
+    private final PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
 
-    public PerfilCandidatoEventListener(CompatibilidadeCacheService compatibilidadeCacheService) {
-        this.compatibilidadeCacheService = compatibilidadeCacheService;
+    public PerfilCandidatoEventListener(
+            CompatibilidadeJobService compatibilidadeJobService,
+            IndiceSemanticoService indiceSemanticoService,
+            PerfilCandidatoSnapshotService perfilCandidatoSnapshotService) {
+        this.compatibilidadeJobService = compatibilidadeJobService;
+        this.indiceSemanticoService = indiceSemanticoService;
+        this.perfilCandidatoSnapshotService = perfilCandidatoSnapshotService;
     }
 
     
+    @EventListener
+    public void atualizarSnapshot(PerfilCandidatoAtualizadoEvent event) {
+        perfilCandidatoSnapshotService.atualizar(event.getCandidatoUsuarioId());
+    }
+
+    
+    @Async("eventosTaskExecutor")
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void onPerfilAtualizado(PerfilCandidatoAtualizadoEvent event) {
         log.info("Evento recebido: Perfil atualizado para candidato {}", event.getCandidatoUsuarioId());
-        log.info("Disparando recálculo assíncrono de compatibilidade...");
-        
+        log.info("Enfileirando recálculo de compatibilidade...");
+
+        try {
+            indiceSemanticoService.indexarCandidato(event.getCandidatoUsuarioId());
+        } catch (Exception e) {
+            log.warn("Erro ao atualizar índice semântico do candidato {}: {}",
+                    event.getCandidatoUsuarioId(), e.getMessage());
+        }
 
-        compatibilidadeCacheService.calcularParaTodasVagas(event.getCandidatoUsuarioId());
+        compatibilidadeJobService.enfileirarCandidato(event.getCandidatoUsuarioId());
     }
 }
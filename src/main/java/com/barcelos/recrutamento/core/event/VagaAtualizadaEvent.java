@@ -0,0 +1,15 @@
+package com.barcelos.recrutamento.core.event;
+
+import com.barcelos.recrutamento.core.model.Vaga;
+
+public class VagaAtualizadaEvent {
+    private final Vaga vaga;
+
+    public VagaAtualizadaEvent(Vaga vaga) {
+        this.vaga = vaga;
+    }
+
+    public Vaga getVaga() {
+        return vaga;
+    }
+}
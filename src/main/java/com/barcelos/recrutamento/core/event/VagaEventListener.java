@@ -0,0 +1,39 @@
+package com.barcelos.recrutamento.core.event;
+
+import com.barcelos.recrutamento.core.service.IndiceSemanticoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class VagaEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(VagaEventListener.class);
+
+    private final IndiceSemanticoService indiceSemanticoService;
+
+    public VagaEventListener(IndiceSemanticoService indiceSemanticoService) {
+        this.indiceSemanticoService = indiceSemanticoService;
+    }
+
+    
+    @Async("eventosTaskExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVagaAtualizada(VagaAtualizadaEvent event) {
+        try {
+            indiceSemanticoService.indexarVaga(event.getVaga());
+        } catch (Exception e) {
+            log.warn("Erro ao atualizar índice semântico da vaga {}: {}", event.getVaga().getId(), e.getMessage());
+        }
+    }
+
+    
+    @Async("eventosTaskExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVagaRemovida(VagaRemovidaEvent event) {
+        indiceSemanticoService.removerVaga(event.getVagaId());
+    }
+}
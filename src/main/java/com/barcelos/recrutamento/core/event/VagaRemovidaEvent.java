@@ -0,0 +1,15 @@
+package com.barcelos.recrutamento.core.event;
+
+import java.util.UUID;
+
+public class VagaRemovidaEvent {
+    private final UUID vagaId;
+
+    public VagaRemovidaEvent(UUID vagaId) {
+        this.vagaId = vagaId;
+    }
+
+    public UUID getVagaId() {
+        return vagaId;
+    }
+}
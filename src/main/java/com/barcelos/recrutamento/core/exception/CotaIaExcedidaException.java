@@ -0,0 +1,9 @@
+package com.barcelos.recrutamento.core.exception;
+
+public class CotaIaExcedidaException extends IaIndisponivelException {
+
+    
+    public CotaIaExcedidaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.barcelos.recrutamento.core.exception;
+
+public class IaIndisponivelException extends RuntimeException {
+
+    
+    public IaIndisponivelException(String message) {
+        super(message);
+    }
+
+    
+    public IaIndisponivelException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -13,9 +13,11 @@ public final class Candidatura {
     private final LocalDate dataCandidatura;
     private final String arquivoCurriculo;
     private final BigDecimal compatibilidade;
+    private final boolean compatibilidadeProvisoria;
 
     private Candidatura(UUID id, UUID vagaId, UUID candidatoUsuarioId, StatusCandidatura status,
-                        LocalDate dataCandidatura, String arquivoCurriculo, BigDecimal compatibilidade) {
+                        LocalDate dataCandidatura, String arquivoCurriculo, BigDecimal compatibilidade,
+                        boolean compatibilidadeProvisoria) {
         this.id = Objects.requireNonNull(id, "id must not be null");
         this.vagaId = Objects.requireNonNull(vagaId, "vagaId must not be null");
         this.candidatoUsuarioId = Objects.requireNonNull(candidatoUsuarioId, "candidatoUsuarioId must not be null");
@@ -24,6 +26,7 @@ public final class Candidatura {
         this.dataCandidatura = Objects.requireNonNull(dataCandidatura, "dataCandidatura must not be null");
         this.arquivoCurriculo = arquivoCurriculo;
         this.compatibilidade = compatibilidade;
+        this.compatibilidadeProvisoria = compatibilidadeProvisoria;
     }
 
     
@@ -35,7 +38,8 @@ public final class Candidatura {
             StatusCandidatura.PENDENTE,
             LocalDate.now(),
             arquivoCurriculo,
-            null
+            null,
+            false
         );
     }
 
@@ -43,8 +47,17 @@ public final class Candidatura {
     public static Candidatura rehydrate(UUID id, UUID vagaId, UUID candidatoUsuarioId,
                                         StatusCandidatura status, LocalDate dataCandidatura,
                                         String arquivoCurriculo, BigDecimal compatibilidade) {
+        return rehydrate(id, vagaId, candidatoUsuarioId, status, dataCandidatura, arquivoCurriculo,
+                         compatibilidade, false);
+    }
+
+    
+    public static Candidatura rehydrate(UUID id, UUID vagaId, UUID candidatoUsuarioId,
+                                        StatusCandidatura status, LocalDate dataCandidatura,
+                                        String arquivoCurriculo, BigDecimal compatibilidade,
+                                        boolean compatibilidadeProvisoria) {
         return new Candidatura(id, vagaId, candidatoUsuarioId, status, dataCandidatura,
-                              arquivoCurriculo, compatibilidade);
+                              arquivoCurriculo, compatibilidade, compatibilidadeProvisoria);
     }
 
     
@@ -53,19 +66,25 @@ public final class Candidatura {
             throw new IllegalArgumentException("Novo status não pode ser nulo");
         }
         return new Candidatura(id, vagaId, candidatoUsuarioId, novoStatus,
-                              dataCandidatura, arquivoCurriculo, compatibilidade);
+                              dataCandidatura, arquivoCurriculo, compatibilidade, compatibilidadeProvisoria);
     }
 
     
     public Candidatura comCompatibilidade(BigDecimal novaCompatibilidade) {
         return new Candidatura(id, vagaId, candidatoUsuarioId, status,
-                              dataCandidatura, arquivoCurriculo, novaCompatibilidade);
+                              dataCandidatura, arquivoCurriculo, novaCompatibilidade, false);
+    }
+
+    
+    public Candidatura comCompatibilidadeProvisoria(BigDecimal compatibilidadeProvisoria) {
+        return new Candidatura(id, vagaId, candidatoUsuarioId, status,
+                              dataCandidatura, arquivoCurriculo, compatibilidadeProvisoria, true);
     }
 
     
     public Candidatura comArquivoCurriculo(String novoArquivoCurriculo) {
         return new Candidatura(id, vagaId, candidatoUsuarioId, status,
-                              dataCandidatura, novoArquivoCurriculo, compatibilidade);
+                              dataCandidatura, novoArquivoCurriculo, compatibilidade, compatibilidadeProvisoria);
     }
 
     
@@ -162,4 +181,8 @@ public final class Candidatura {
     public BigDecimal getCompatibilidade() {
         return compatibilidade;
     }
+
+    public boolean isCompatibilidadeProvisoria() {
+        return compatibilidadeProvisoria;
+    }
 }
@@ -13,10 +13,14 @@ public final class CompatibilidadeCache {
     private final String justificativa;
     private final LocalDateTime dataCalculo;
     private final LocalDateTime dataAtualizacao;
+    private final OrigemCompatibilidade origem;
+    private final String hashPerfil;
+    private final String hashVaga;
 
     private CompatibilidadeCache(UUID id, UUID candidatoUsuarioId, UUID vagaId,
                                  BigDecimal percentualCompatibilidade, String justificativa,
-                                 LocalDateTime dataCalculo, LocalDateTime dataAtualizacao) {
+                                 LocalDateTime dataCalculo, LocalDateTime dataAtualizacao,
+                                 OrigemCompatibilidade origem, String hashPerfil, String hashVaga) {
         this.id = Objects.requireNonNull(id, "id must not be null");
         this.candidatoUsuarioId = Objects.requireNonNull(candidatoUsuarioId, "candidatoUsuarioId must not be null");
         this.vagaId = Objects.requireNonNull(vagaId, "vagaId must not be null");
@@ -24,11 +28,15 @@ public final class CompatibilidadeCache {
         this.justificativa = justificativa;
         this.dataCalculo = Objects.requireNonNull(dataCalculo, "dataCalculo must not be null");
         this.dataAtualizacao = dataAtualizacao;
+        this.origem = Objects.requireNonNull(origem, "origem must not be null");
+        this.hashPerfil = hashPerfil;
+        this.hashVaga = hashVaga;
     }
 
     
     public static CompatibilidadeCache novo(UUID candidatoUsuarioId, UUID vagaId,
-                                           BigDecimal percentualCompatibilidade, String justificativa) {
+                                           BigDecimal percentualCompatibilidade, String justificativa,
+                                           OrigemCompatibilidade origem, String hashPerfil, String hashVaga) {
         return new CompatibilidadeCache(
             UUID.randomUUID(),
             candidatoUsuarioId,
@@ -36,16 +44,20 @@ public final class CompatibilidadeCache {
             percentualCompatibilidade,
             justificativa,
             LocalDateTime.now(),
-            null
+            null,
+            origem,
+            hashPerfil,
+            hashVaga
         );
     }
 
     
     public static CompatibilidadeCache rehydrate(UUID id, UUID candidatoUsuarioId, UUID vagaId,
                                                  BigDecimal percentualCompatibilidade, String justificativa,
-                                                 LocalDateTime dataCalculo, LocalDateTime dataAtualizacao) {
+                                                 LocalDateTime dataCalculo, LocalDateTime dataAtualizacao,
+                                                 OrigemCompatibilidade origem, String hashPerfil, String hashVaga) {
         return new CompatibilidadeCache(id, candidatoUsuarioId, vagaId, percentualCompatibilidade,
-                                        justificativa, dataCalculo, dataAtualizacao);
+                                        justificativa, dataCalculo, dataAtualizacao, origem, hashPerfil, hashVaga);
     }
 
     
@@ -57,7 +69,44 @@ public final class CompatibilidadeCache {
             novoPercentual,
             novaJustificativa,
             dataCalculo,
-            LocalDateTime.now()
+            LocalDateTime.now(),
+            origem,
+            hashPerfil,
+            hashVaga
+        );
+    }
+
+    
+    public CompatibilidadeCache recalcular(BigDecimal novoPercentual, String novaJustificativa,
+                                           OrigemCompatibilidade novaOrigem, String novoHashPerfil,
+                                           String novoHashVaga) {
+        return new CompatibilidadeCache(
+            id,
+            candidatoUsuarioId,
+            vagaId,
+            novoPercentual,
+            novaJustificativa,
+            dataCalculo,
+            LocalDateTime.now(),
+            novaOrigem,
+            novoHashPerfil,
+            novoHashVaga
+        );
+    }
+
+    
+    public CompatibilidadeCache comJustificativa(String novaJustificativa) {
+        return new CompatibilidadeCache(
+            id,
+            candidatoUsuarioId,
+            vagaId,
+            percentualCompatibilidade,
+            novaJustificativa,
+            dataCalculo,
+            dataAtualizacao,
+            origem,
+            hashPerfil,
+            hashVaga
         );
     }
 
@@ -89,11 +138,44 @@ public final class CompatibilidadeCache {
         return dataAtualizacao;
     }
 
+    public OrigemCompatibilidade getOrigem() {
+        return origem;
+    }
+
+    public String getHashPerfil() {
+        return hashPerfil;
+    }
+
+    public String getHashVaga() {
+        return hashVaga;
+    }
+
     
     public boolean foiAtualizado() {
         return dataAtualizacao != null;
     }
 
+    
+    public boolean semJustificativa() {
+        return justificativa == null || justificativa.isBlank();
+    }
+
+    
+    public boolean correspondeA(String hashPerfilAtual, String hashVagaAtual) {
+        return hashPerfil != null && hashVaga != null
+                && hashPerfil.equals(hashPerfilAtual) && hashVaga.equals(hashVagaAtual);
+    }
+
+    
+    public LocalDateTime getUltimoCalculo() {
+        return dataAtualizacao != null ? dataAtualizacao : dataCalculo;
+    }
+
+    
+    public boolean calculadoAntesDe(LocalDateTime limite) {
+        return getUltimoCalculo().isBefore(limite);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -115,6 +197,7 @@ public final class CompatibilidadeCache {
                 ", vagaId=" + vagaId +
                 ", percentualCompatibilidade=" + percentualCompatibilidade +
                 ", dataCalculo=" + dataCalculo +
+                ", origem=" + origem +
                 '}';
     }
 }
@@ -0,0 +1,111 @@
+package com.barcelos.recrutamento.core.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+public final class CompatibilidadeJob {
+    private final UUID id;
+    private final UUID candidatoUsuarioId;
+    private final UUID vagaId;
+    private final UUID organizacaoId;
+    private final int prioridade;
+    private final int tentativas;
+    private final StatusJobCompatibilidade status;
+    private final LocalDateTime disponivelDesde;
+
+    private CompatibilidadeJob(UUID id, UUID candidatoUsuarioId, UUID vagaId, UUID organizacaoId, int prioridade,
+                               int tentativas, StatusJobCompatibilidade status, LocalDateTime disponivelDesde) {
+        if (candidatoUsuarioId == null && vagaId == null) {
+            throw new IllegalArgumentException("Job de compatibilidade precisa de candidato ou vaga");
+        }
+        this.id = Objects.requireNonNull(id, "id must not be null");
+        this.candidatoUsuarioId = candidatoUsuarioId;
+        this.vagaId = vagaId;
+        this.organizacaoId = organizacaoId;
+        this.prioridade = prioridade;
+        this.tentativas = tentativas;
+        this.status = Objects.requireNonNull(status, "status must not be null");
+        this.disponivelDesde = disponivelDesde;
+    }
+
+    
+    public static CompatibilidadeJob paraVaga(UUID vagaId, UUID organizacaoId, int prioridade) {
+        return new CompatibilidadeJob(UUID.randomUUID(), null,
+                Objects.requireNonNull(vagaId, "vagaId must not be null"), organizacaoId, prioridade, 0,
+                StatusJobCompatibilidade.PENDENTE, LocalDateTime.now());
+    }
+
+    
+    public static CompatibilidadeJob paraCandidato(UUID candidatoUsuarioId, int prioridade, LocalDateTime disponivelEm) {
+        return new CompatibilidadeJob(UUID.randomUUID(),
+                Objects.requireNonNull(candidatoUsuarioId, "candidatoUsuarioId must not be null"), null, null,
+                prioridade, 0, StatusJobCompatibilidade.PENDENTE,
+                Objects.requireNonNull(disponivelEm, "disponivelEm must not be null"));
+    }
+
+    
+    public static CompatibilidadeJob paraPar(UUID candidatoUsuarioId, UUID vagaId, UUID organizacaoId, int prioridade) {
+        return paraPar(candidatoUsuarioId, vagaId, organizacaoId, prioridade, LocalDateTime.now());
+    }
+
+    
+    public static CompatibilidadeJob paraPar(UUID candidatoUsuarioId, UUID vagaId, UUID organizacaoId, int prioridade,
+                                             LocalDateTime disponivelEm) {
+        return new CompatibilidadeJob(UUID.randomUUID(),
+                Objects.requireNonNull(candidatoUsuarioId, "candidatoUsuarioId must not be null"),
+                Objects.requireNonNull(vagaId, "vagaId must not be null"), organizacaoId,
+                prioridade, 0, StatusJobCompatibilidade.PENDENTE,
+                Objects.requireNonNull(disponivelEm, "disponivelEm must not be null"));
+    }
+
+    
+    public static CompatibilidadeJob rehydrate(UUID id, UUID candidatoUsuarioId, UUID vagaId, UUID organizacaoId,
+                                               int prioridade, int tentativas, StatusJobCompatibilidade status,
+                                               LocalDateTime disponivelDesde) {
+        return new CompatibilidadeJob(id, candidatoUsuarioId, vagaId, organizacaoId, prioridade, tentativas,
+                status, disponivelDesde);
+    }
+
+    
+    public boolean isTodosCandidatosDaVaga() {
+        return candidatoUsuarioId == null;
+    }
+
+    
+    public boolean isTodasVagasDoCandidato() {
+        return vagaId == null;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getCandidatoUsuarioId() {
+        return candidatoUsuarioId;
+    }
+
+    public UUID getVagaId() {
+        return vagaId;
+    }
+
+    public UUID getOrganizacaoId() {
+        return organizacaoId;
+    }
+
+    public int getPrioridade() {
+        return prioridade;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    public StatusJobCompatibilidade getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getDisponivelDesde() {
+        return disponivelDesde;
+    }
+}
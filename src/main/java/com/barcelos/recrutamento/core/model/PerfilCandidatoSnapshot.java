@@ -0,0 +1,129 @@
+package com.barcelos.recrutamento.core.model;
+
+import com.barcelos.recrutamento.core.model.vo.Cpf;
+import com.barcelos.recrutamento.core.model.vo.Email;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+public final class PerfilCandidatoSnapshot {
+    private final UUID usuarioId;
+    private final long versao;
+    private final String nome;
+    private final Email email;
+    private final Cpf cpf;
+    private final PerfilCandidato perfil;
+    private final List<Competencia> competencias;
+    private final List<ExperienciaProfissional> experiencias;
+    private final List<HistoricoAcademico> historicos;
+    private final List<Portfolio> portfolios;
+    private final int[] habilidades;
+    private final String hashPerfil;
+    private final LocalDateTime dataAtualizacao;
+
+    private PerfilCandidatoSnapshot(UUID usuarioId, long versao, String nome, Email email, Cpf cpf,
+                                    PerfilCandidato perfil, List<Competencia> competencias,
+                                    List<ExperienciaProfissional> experiencias, List<HistoricoAcademico> historicos,
+                                    List<Portfolio> portfolios, int[] habilidades, String hashPerfil,
+                                    LocalDateTime dataAtualizacao) {
+        this.usuarioId = Objects.requireNonNull(usuarioId, "usuarioId must not be null");
+        this.versao = versao;
+        this.nome = Objects.requireNonNull(nome, "nome must not be null");
+        this.email = Objects.requireNonNull(email, "email must not be null");
+        this.cpf = Objects.requireNonNull(cpf, "cpf must not be null");
+        this.perfil = perfil;
+        this.competencias = List.copyOf(Objects.requireNonNull(competencias, "competencias must not be null"));
+        this.experiencias = List.copyOf(Objects.requireNonNull(experiencias, "experiencias must not be null"));
+        this.historicos = List.copyOf(Objects.requireNonNull(historicos, "historicos must not be null"));
+        this.portfolios = List.copyOf(Objects.requireNonNull(portfolios, "portfolios must not be null"));
+        this.habilidades = Objects.requireNonNull(habilidades, "habilidades must not be null").clone();
+        this.hashPerfil = hashPerfil;
+        this.dataAtualizacao = Objects.requireNonNull(dataAtualizacao, "dataAtualizacao must not be null");
+    }
+
+    
+    public static PerfilCandidatoSnapshot novo(Usuario usuario, PerfilCandidato perfil, List<Competencia> competencias,
+                                              List<ExperienciaProfissional> experiencias,
+                                              List<HistoricoAcademico> historicos, List<Portfolio> portfolios,
+                                              int[] habilidades) {
+        return new PerfilCandidatoSnapshot(usuario.getId(), 0, usuario.getNome(), usuario.getEmail(), usuario.getCpf(),
+                perfil, competencias, experiencias, historicos, portfolios, habilidades, null, LocalDateTime.now());
+    }
+
+    
+    public static PerfilCandidatoSnapshot rehydrate(UUID usuarioId, long versao, String nome, Email email, Cpf cpf,
+                                                   PerfilCandidato perfil, List<Competencia> competencias,
+                                                   List<ExperienciaProfissional> experiencias,
+                                                   List<HistoricoAcademico> historicos, List<Portfolio> portfolios,
+                                                   int[] habilidades, LocalDateTime dataAtualizacao) {
+        return new PerfilCandidatoSnapshot(usuarioId, versao, nome, email, cpf, perfil, competencias, experiencias,
+                historicos, portfolios, habilidades, null, dataAtualizacao);
+    }
+
+    
+    public PerfilCandidatoSnapshot comVersao(long novaVersao) {
+        return new PerfilCandidatoSnapshot(usuarioId, novaVersao, nome, email, cpf, perfil, competencias, experiencias,
+                historicos, portfolios, habilidades, hashPerfil, dataAtualizacao);
+    }
+
+    
+    public PerfilCandidatoSnapshot comHashPerfil(String novoHashPerfil) {
+        return new PerfilCandidatoSnapshot(usuarioId, versao, nome, email, cpf, perfil, competencias, experiencias,
+                historicos, portfolios, habilidades, novoHashPerfil, dataAtualizacao);
+    }
+
+    public UUID getUsuarioId() {
+        return usuarioId;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public Email getEmail() {
+        return email;
+    }
+
+    public Cpf getCpf() {
+        return cpf;
+    }
+
+    public Optional<PerfilCandidato> getPerfil() {
+        return Optional.ofNullable(perfil);
+    }
+
+    public List<Competencia> getCompetencias() {
+        return competencias;
+    }
+
+    public List<ExperienciaProfissional> getExperiencias() {
+        return experiencias;
+    }
+
+    public List<HistoricoAcademico> getHistoricos() {
+        return historicos;
+    }
+
+    public List<Portfolio> getPortfolios() {
+        return portfolios;
+    }
+
+    public int[] getHabilidades() {
+        return habilidades.clone();
+    }
+
+    public Optional<String> getHashPerfil() {
+        return Optional.ofNullable(hashPerfil);
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+}
@@ -0,0 +1,35 @@
+package com.barcelos.recrutamento.core.model;
+
+public enum Senioridade {
+    ESTAGIO(0, "Estágio"),
+    JUNIOR(1, "Júnior"),
+    PLENO(2, "Pleno"),
+    SENIOR(3, "Sênior");
+
+    private final int nivel;
+    private final String descricao;
+
+    Senioridade(int nivel, String descricao) {
+        this.nivel = nivel;
+        this.descricao = descricao;
+    }
+
+    
+    public static Senioridade doTermo(String termo) {
+        return switch (termo) {
+            case "estagio", "estagiario", "estagiaria", "trainee", "intern" -> ESTAGIO;
+            case "junior", "jr" -> JUNIOR;
+            case "pleno", "pl", "mid" -> PLENO;
+            case "senior", "sr", "especialista", "lead", "lider", "coordenador", "gerente", "principal", "staff" -> SENIOR;
+            default -> null;
+        };
+    }
+
+    public int getNivel() {
+        return nivel;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
@@ -0,0 +1,5 @@
+package com.barcelos.recrutamento.core.model;
+
+public enum StatusJobCompatibilidade {
+    PENDENTE, PROCESSANDO, FALHOU
+}
@@ -0,0 +1,134 @@
+package com.barcelos.recrutamento.core.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+public final class VagaDigest {
+    private final UUID vagaId;
+    private final String hashTexto;
+    private final int versao;
+    private final String titulo;
+    private final String resumo;
+    private final List<String> requisitosObrigatorios;
+    private final List<String> requisitosDesejaveis;
+    private final Senioridade senioridade;
+    private final List<String> idiomas;
+    private final TipoContrato tipoContrato;
+    private final ModalidadeTrabalho modalidade;
+    private final int[] habilidadesObrigatorias;
+    private final int[] habilidadesDesejaveis;
+    private final int[] habilidadesMencionadas;
+    private final LocalDateTime dataGeracao;
+
+    private VagaDigest(UUID vagaId, String hashTexto, int versao, String titulo, String resumo,
+                       List<String> requisitosObrigatorios, List<String> requisitosDesejaveis,
+                       Senioridade senioridade, List<String> idiomas, TipoContrato tipoContrato,
+                       ModalidadeTrabalho modalidade, int[] habilidadesObrigatorias, int[] habilidadesDesejaveis,
+                       int[] habilidadesMencionadas, LocalDateTime dataGeracao) {
+        this.vagaId = Objects.requireNonNull(vagaId, "vagaId must not be null");
+        this.hashTexto = Objects.requireNonNull(hashTexto, "hashTexto must not be null");
+        this.versao = versao;
+        this.titulo = Objects.requireNonNull(titulo, "titulo must not be null");
+        this.resumo = resumo;
+        this.requisitosObrigatorios = List.copyOf(Objects.requireNonNull(requisitosObrigatorios, "requisitosObrigatorios must not be null"));
+        this.requisitosDesejaveis = List.copyOf(Objects.requireNonNull(requisitosDesejaveis, "requisitosDesejaveis must not be null"));
+        this.senioridade = senioridade;
+        this.idiomas = List.copyOf(Objects.requireNonNull(idiomas, "idiomas must not be null"));
+        this.tipoContrato = tipoContrato;
+        this.modalidade = modalidade;
+        this.habilidadesObrigatorias = Objects.requireNonNull(habilidadesObrigatorias, "habilidadesObrigatorias must not be null").clone();
+        this.habilidadesDesejaveis = Objects.requireNonNull(habilidadesDesejaveis, "habilidadesDesejaveis must not be null").clone();
+        this.habilidadesMencionadas = Objects.requireNonNull(habilidadesMencionadas, "habilidadesMencionadas must not be null").clone();
+        this.dataGeracao = Objects.requireNonNull(dataGeracao, "dataGeracao must not be null");
+    }
+
+    
+    public static VagaDigest novo(UUID vagaId, String hashTexto, int versao, String titulo, String resumo,
+                                  List<String> requisitosObrigatorios, List<String> requisitosDesejaveis,
+                                  Senioridade senioridade, List<String> idiomas, TipoContrato tipoContrato,
+                                  ModalidadeTrabalho modalidade, int[] habilidadesObrigatorias,
+                                  int[] habilidadesDesejaveis, int[] habilidadesMencionadas) {
+        return new VagaDigest(vagaId, hashTexto, versao, titulo, resumo, requisitosObrigatorios, requisitosDesejaveis,
+                senioridade, idiomas, tipoContrato, modalidade, habilidadesObrigatorias, habilidadesDesejaveis,
+                habilidadesMencionadas, LocalDateTime.now());
+    }
+
+    
+    public static VagaDigest rehydrate(UUID vagaId, String hashTexto, int versao, String titulo, String resumo,
+                                       List<String> requisitosObrigatorios, List<String> requisitosDesejaveis,
+                                       Senioridade senioridade, List<String> idiomas, TipoContrato tipoContrato,
+                                       ModalidadeTrabalho modalidade, int[] habilidadesObrigatorias,
+                                       int[] habilidadesDesejaveis, int[] habilidadesMencionadas,
+                                       LocalDateTime dataGeracao) {
+        return new VagaDigest(vagaId, hashTexto, versao, titulo, resumo, requisitosObrigatorios, requisitosDesejaveis,
+                senioridade, idiomas, tipoContrato, modalidade, habilidadesObrigatorias, habilidadesDesejaveis,
+                habilidadesMencionadas, dataGeracao);
+    }
+
+    
+    public boolean correspondeA(String hashTextoAtual, int versaoAtual) {
+        return versao == versaoAtual && hashTexto.equals(hashTextoAtual);
+    }
+
+    public UUID getVagaId() {
+        return vagaId;
+    }
+
+    public String getHashTexto() {
+        return hashTexto;
+    }
+
+    public int getVersao() {
+        return versao;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getResumo() {
+        return resumo;
+    }
+
+    public List<String> getRequisitosObrigatorios() {
+        return requisitosObrigatorios;
+    }
+
+    public List<String> getRequisitosDesejaveis() {
+        return requisitosDesejaveis;
+    }
+
+    public Senioridade getSenioridade() {
+        return senioridade;
+    }
+
+    public List<String> getIdiomas() {
+        return idiomas;
+    }
+
+    public TipoContrato getTipoContrato() {
+        return tipoContrato;
+    }
+
+    public ModalidadeTrabalho getModalidade() {
+        return modalidade;
+    }
+
+    public int[] getHabilidadesObrigatorias() {
+        return habilidadesObrigatorias.clone();
+    }
+
+    public int[] getHabilidadesDesejaveis() {
+        return habilidadesDesejaveis.clone();
+    }
+
+    public int[] getHabilidadesMencionadas() {
+        return habilidadesMencionadas.clone();
+    }
+
+    public LocalDateTime getDataGeracao() {
+        return dataGeracao;
+    }
+}
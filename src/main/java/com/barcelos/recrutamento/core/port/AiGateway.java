@@ -0,0 +1,7 @@
+package com.barcelos.recrutamento.core.port;
+
+public interface AiGateway {
+    String gerar(String prompt);
+    String gerar(String prompt, String modelo);
+    boolean disponivel();
+}
@@ -0,0 +1,31 @@
+package com.barcelos.recrutamento.core.port;
+
+import com.barcelos.recrutamento.core.model.PerfilCandidatoSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface CandidatoBuscaRepository {
+    void indexar(PerfilCandidatoSnapshot snapshot);
+    List<UUID> listarNaoIndexados();
+    PaginaCandidatos buscar(ConsultaCandidato consulta, Posicao apos, int deslocamento, int limite);
+    PaginaCandidatos buscarPorCompatibilidade(UUID vagaId, Posicao apos, int deslocamento, int limite);
+
+    record ConsultaCandidato(
+            UUID vagaId,
+            List<String> palavrasChave,
+            List<String> termosNome,
+            String localizacao,
+            String senioridade,
+            Collection<UUID> candidatosAdicionais,
+            LocalDateTime compatibilidadeValidaDesde
+    ) {}
+
+    record Posicao(int score, UUID usuarioId) {}
+
+    record CandidatoEncontrado(UUID usuarioId, int score) {}
+
+    record PaginaCandidatos(List<CandidatoEncontrado> itens, long totalAproximado) {}
+}
@@ -3,6 +3,7 @@ package com.barcelos.recrutamento.core.port;
 import com.barcelos.recrutamento.core.model.Candidatura;
 import com.barcelos.recrutamento.core.model.StatusCandidatura;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,4 +20,6 @@ public interface CandidaturaRepository {
     List<Candidatura> listByVaga(UUID vagaId);
 
     List<Candidatura> findByCandidatoUsuarioId(UUID candidatoUsuarioId);
+
+    int atualizarCompatibilidade(UUID vagaId, UUID candidatoUsuarioId, BigDecimal compatibilidade);
 }
@@ -2,6 +2,7 @@ package com.barcelos.recrutamento.core.port;
 
 import com.barcelos.recrutamento.core.model.CompatibilidadeCache;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,6 +13,12 @@ public interface CompatibilidadeCacheRepository {
     CompatibilidadeCache save(CompatibilidadeCache cache);
 
     
+    void upsertAll(List<CompatibilidadeCache> caches);
+
+    
+    boolean registrarJustificativa(CompatibilidadeCache cache, String justificativa);
+
+    
     Optional<CompatibilidadeCache> findByCandidatoAndVaga(UUID candidatoUsuarioId, UUID vagaId);
 
     
@@ -21,6 +28,12 @@ public interface CompatibilidadeCacheRepository {
     List<CompatibilidadeCache> findByVaga(UUID vagaId);
 
     
+    List<CompatibilidadeCache> findByCandidatoAndVagas(UUID candidatoUsuarioId, Collection<UUID> vagaIds);
+
+    
+    List<CompatibilidadeCache> findByVagaAndCandidatos(UUID vagaId, Collection<UUID> candidatoUsuarioIds);
+
+    
     boolean existsByCandidatoAndVaga(UUID candidatoUsuarioId, UUID vagaId);
 
     
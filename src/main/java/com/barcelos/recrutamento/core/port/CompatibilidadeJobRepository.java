@@ -0,0 +1,25 @@
+package com.barcelos.recrutamento.core.port;
+
+import com.barcelos.recrutamento.core.model.CompatibilidadeJob;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface CompatibilidadeJobRepository {
+    boolean enfileirar(CompatibilidadeJob job);
+    boolean enfileirarSeAusente(CompatibilidadeJob job);
+    List<CompatibilidadeJob> reivindicar(int limite, LocalDateTime processandoDesde, Map<UUID, Integer> pesosOrganizacao,
+                                         int pesoFilaCandidatos);
+    void renovar(Collection<UUID> ids);
+    void concluir(UUID id);
+    void reagendar(UUID id, LocalDateTime proximaExecucao, String erro);
+    void adiar(UUID id, LocalDateTime proximaExecucao, String motivo);
+    void marcarFalha(UUID id, String erro);
+    int reenfileirarFalhas(UUID organizacaoId);
+    ResumoFila resumirFila(UUID organizacaoId);
+
+    record ResumoFila(long pendentes, long processando, long falhas, LocalDateTime pendenteMaisAntigo) {}
+}
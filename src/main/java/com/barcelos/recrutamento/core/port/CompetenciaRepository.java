@@ -2,7 +2,9 @@ package com.barcelos.recrutamento.core.port;
 
 import com.barcelos.recrutamento.core.model.Competencia;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,5 +12,6 @@ public interface CompetenciaRepository {
     Competencia save(Competencia competencia);
     Optional<Competencia> findById(UUID id);
     List<Competencia> listByPerfilCandidato(UUID perfilCandidatoId);
+    Map<UUID, List<Competencia>> listByPerfisCandidato(Collection<UUID> perfilCandidatoIds);
     void delete(UUID id);
 }
@@ -0,0 +1,12 @@
+package com.barcelos.recrutamento.core.port;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CriteriosBuscaRepository {
+    void registrar(ConsultaInterpretada consulta);
+    List<ConsultaInterpretada> listarRecentes(LocalDateTime desde, int limite);
+
+    record ConsultaInterpretada(String consultaNormalizada, List<String> palavrasChave, String localizacao,
+                                String senioridade, LocalDateTime dataExtracao) {}
+}
@@ -0,0 +1,6 @@
+package com.barcelos.recrutamento.core.port;
+
+public interface EmbeddingProvider {
+    int dimensao();
+    float[] gerar(String texto);
+}
@@ -2,7 +2,9 @@ package com.barcelos.recrutamento.core.port;
 
 import com.barcelos.recrutamento.core.model.ExperienciaProfissional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,4 +14,6 @@ public interface ExperienciaProfissionalRepository {
     Optional<ExperienciaProfissional> findById(UUID id);
 
     List<ExperienciaProfissional> listByUsuario(UUID usuarioId);
+
+    Map<UUID, List<ExperienciaProfissional>> listByUsuarios(Collection<UUID> usuarioIds);
 }
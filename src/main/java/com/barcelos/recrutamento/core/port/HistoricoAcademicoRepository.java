@@ -2,7 +2,9 @@ package com.barcelos.recrutamento.core.port;
 
 import com.barcelos.recrutamento.core.model.HistoricoAcademico;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,4 +12,5 @@ public interface HistoricoAcademicoRepository {
     HistoricoAcademico save(HistoricoAcademico historico);
     Optional<HistoricoAcademico> findById(UUID id);
     List<HistoricoAcademico> listByUsuario(UUID usuarioId);
+    Map<UUID, List<HistoricoAcademico>> listByUsuarios(Collection<UUID> usuarioIds);
 }
@@ -2,12 +2,15 @@ package com.barcelos.recrutamento.core.port;
 
 import com.barcelos.recrutamento.core.model.PerfilCandidato;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface PerfilCandidatoRepository {
     PerfilCandidato save(PerfilCandidato perfil);
     Optional<PerfilCandidato> findByUsuarioId(UUID usuarioId);
+    Map<UUID, PerfilCandidato> findAllByUsuarioIds(Collection<UUID> usuarioIds);
     List<PerfilCandidato> findAll();
 }
@@ -0,0 +1,15 @@
+package com.barcelos.recrutamento.core.port;
+
+import com.barcelos.recrutamento.core.model.PerfilCandidatoSnapshot;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PerfilCandidatoSnapshotRepository {
+    PerfilCandidatoSnapshot save(PerfilCandidatoSnapshot snapshot);
+    Optional<PerfilCandidatoSnapshot> findByUsuarioId(UUID usuarioId);
+    Map<UUID, String> findHashesPerfil(Collection<UUID> usuarioIds);
+    void travar(UUID usuarioId);
+}
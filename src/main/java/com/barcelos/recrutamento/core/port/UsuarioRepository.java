@@ -2,12 +2,16 @@ package com.barcelos.recrutamento.core.port;
 
 import com.barcelos.recrutamento.core.model.Usuario;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UsuarioRepository {
     Optional<Usuario> findById(UUID id);
 
+    Map<UUID, Usuario> findAllByIds(Collection<UUID> ids);
+
     Optional<Usuario> findByEmail(String email);
 
     Usuario save(Usuario usuario);
@@ -0,0 +1,11 @@
+package com.barcelos.recrutamento.core.port;
+
+import com.barcelos.recrutamento.core.model.VagaDigest;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface VagaDigestRepository {
+    void save(VagaDigest digest);
+    Optional<VagaDigest> findByVagaId(UUID vagaId);
+}
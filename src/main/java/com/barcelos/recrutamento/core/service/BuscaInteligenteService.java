@@ -1,14 +1,21 @@
 package com.barcelos.recrutamento.core.service;
 
+import com.barcelos.recrutamento.core.model.CompatibilidadeCache;
+import com.barcelos.recrutamento.core.model.OrigemCompatibilidade;
 import com.barcelos.recrutamento.core.model.Vaga;
 import com.barcelos.recrutamento.core.port.VagaRepository;
+import com.barcelos.recrutamento.core.support.NormalizadorTexto;
+import com.barcelos.recrutamento.core.support.TaxonomiaHabilidades;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,12 +25,24 @@ public class BuscaInteligenteService {
 
     private final VagaRepository vagaRepository;
     private final CompatibilidadeCacheService compatibilidadeCacheService;
+    private final CompatibilidadeJustificativaService justificativaService;
+    private final IndiceSemanticoService indiceSemanticoService;
+    private final VagaDigestService vagaDigestService;
+    private final TaxonomiaHabilidades taxonomia;
 
     public BuscaInteligenteService(
             VagaRepository vagaRepository,
-            CompatibilidadeCacheService compatibilidadeCacheService) {
+            CompatibilidadeCacheService compatibilidadeCacheService,
+            CompatibilidadeJustificativaService justificativaService,
+            IndiceSemanticoService indiceSemanticoService,
+            VagaDigestService vagaDigestService,
+            TaxonomiaHabilidades taxonomia) {
         this.vagaRepository = vagaRepository;
         this.compatibilidadeCacheService = compatibilidadeCacheService;
+        this.justificativaService = justificativaService;
+        this.indiceSemanticoService = indiceSemanticoService;
+        this.vagaDigestService = vagaDigestService;
+        this.taxonomia = taxonomia;
     }
 
     
@@ -34,18 +53,9 @@ public class BuscaInteligenteService {
 
         List<Vaga> vagasFiltradas;
         if (consultaTexto != null && !consultaTexto.isBlank()) {
-            String termoBusca = consultaTexto.toLowerCase().trim();
-            vagasFiltradas = todasVagas.stream()
-                    .filter(vaga -> {
-                        String titulo = vaga.getTitulo() != null ? vaga.getTitulo().toLowerCase() : "";
-                        String descricao = vaga.getDescricao() != null ? vaga.getDescricao().toLowerCase() : "";
-                        String requisitos = vaga.getRequisitos() != null ? vaga.getRequisitos().toLowerCase() : "";
-
-                        return titulo.contains(termoBusca) || 
-                               descricao.contains(termoBusca) || 
-                               requisitos.contains(termoBusca);
-                    })
-                    .collect(Collectors.toList());
+            vagasFiltradas = indiceSemanticoService.possuiVagas()
+                    ? filtrarPorSimilaridade(todasVagas, consultaTexto)
+                    : filtrarPorTexto(todasVagas, consultaTexto);
         } else {
             vagasFiltradas = todasVagas;
         }
@@ -61,6 +71,34 @@ public class BuscaInteligenteService {
         }
     }
 
+    private List<Vaga> filtrarPorSimilaridade(List<Vaga> vagas, String consultaTexto) {
+        Map<UUID, Vaga> vagasPorId = vagas.stream()
+                .collect(Collectors.toMap(Vaga::getId, Function.identity()));
+
+        return indiceSemanticoService.buscarVagas(consultaTexto).stream()
+                .map(vagasPorId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private List<Vaga> filtrarPorTexto(List<Vaga> vagas, String consultaTexto) {
+        String termoBusca = NormalizadorTexto.normalizar(consultaTexto);
+        int[] habilidadesConsulta = taxonomia.extrair(consultaTexto);
+        return vagas.stream()
+                .filter(vaga -> {
+                    String titulo = NormalizadorTexto.normalizar(vaga.getTitulo());
+                    String descricao = NormalizadorTexto.normalizar(vaga.getDescricao());
+                    String requisitos = NormalizadorTexto.normalizar(vaga.getRequisitos());
+
+                    if (titulo.contains(termoBusca) || descricao.contains(termoBusca) || requisitos.contains(termoBusca)) {
+                        return true;
+                    }
+                    return habilidadesConsulta.length > 0 && TaxonomiaHabilidades.possuiInterseccao(
+                            habilidadesConsulta, vagaDigestService.obterHabilidadesMencionadas(vaga));
+                })
+                .collect(Collectors.toList());
+    }
+
     
     private List<VagaComScoreCompleto> calcularCompatibilidadeParaTodasVagas(
             List<Vaga> vagas,
@@ -70,35 +108,17 @@ public class BuscaInteligenteService {
         List<VagaComScoreCompleto> vagasComCompatibilidade = new ArrayList<>();
         List<UUID> vagasSemCache = new ArrayList<>();
 
-        for (Vaga vaga : vagas) {
-            try {
-
-                var cacheOpt = compatibilidadeCacheService.obterDoCache(candidatoUsuarioId, vaga.getId());
-
-                if (cacheOpt.isPresent()) {
-                    var cache = cacheOpt.get();
-                    vagasComCompatibilidade.add(new VagaComScoreCompleto(
-                            vaga,
-                            0,
-                            cache.getPercentualCompatibilidade().intValue(),
-                            cache.getJustificativa(),
-                            true
-                    ));
-                } else {
-
-                    vagasComCompatibilidade.add(new VagaComScoreCompleto(
-                            vaga,
-                            0,
-                            null,
-                            "Calculando compatibilidade...",
-                            false
-                    ));
-                    vagasSemCache.add(vaga.getId());
-                }
-            } catch (Exception e) {
-                log.error("Erro ao obter compatibilidade do cache para vaga {}: {}", 
-                         vaga.getId(), e.getMessage(), e);
+        Map<UUID, CompatibilidadeCache> caches = null;
+        try {
+            caches = compatibilidadeCacheService.obterDoCachePorVagas(
+                    candidatoUsuarioId, vagas.stream().map(Vaga::getId).toList());
+        } catch (Exception e) {
+            log.error("Erro ao obter compatibilidades do cache para candidato {}: {}", 
+                     candidatoUsuarioId, e.getMessage(), e);
+        }
 
+        for (Vaga vaga : vagas) {
+            if (caches == null) {
                 vagasComCompatibilidade.add(new VagaComScoreCompleto(
                         vaga,
                         0,
@@ -106,6 +126,29 @@ public class BuscaInteligenteService {
                         "Erro ao carregar compatibilidade",
                         false
                 ));
+                continue;
+            }
+
+            var cache = caches.get(vaga.getId());
+
+            if (cache != null) {
+                vagasComCompatibilidade.add(new VagaComScoreCompleto(
+                        vaga,
+                        0,
+                        cache.getPercentualCompatibilidade().intValue(),
+                        cache.getJustificativa(),
+                        cache.getOrigem() == OrigemCompatibilidade.IA
+                ));
+            } else {
+
+                vagasComCompatibilidade.add(new VagaComScoreCompleto(
+                        vaga,
+                        0,
+                        null,
+                        "Calculando compatibilidade...",
+                        false
+                ));
+                vagasSemCache.add(vaga.getId());
             }
         }
 
@@ -114,6 +157,7 @@ public class BuscaInteligenteService {
 
         }
 
+        Map<UUID, CompatibilidadeCache> cachesListados = caches != null ? caches : Map.of();
         return vagasComCompatibilidade.stream()
                 .sorted((v1, v2) -> {
 
@@ -127,9 +171,20 @@ public class BuscaInteligenteService {
                     return 0;
                 })
                 .limit(limite)
+                .map(item -> comJustificativa(item, cachesListados))
                 .collect(Collectors.toList());
     }
 
+    private VagaComScoreCompleto comJustificativa(VagaComScoreCompleto item, Map<UUID, CompatibilidadeCache> caches) {
+        CompatibilidadeCache cache = caches.get(item.vaga().getId());
+        if (cache == null || !cache.semJustificativa()) {
+            return item;
+        }
+        CompatibilidadeCache completo = justificativaService.completar(cache, item.vaga());
+        return new VagaComScoreCompleto(item.vaga(), item.scoreRelevancia(), item.percentualCompatibilidade(),
+                completo.getJustificativa(), item.usouIA());
+    }
+
     
     public record VagaComScoreCompleto(
             Vaga vaga,
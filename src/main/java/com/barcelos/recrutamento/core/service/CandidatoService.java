@@ -158,7 +158,8 @@ public class CandidatoService {
     private final CertificadoRepository certificadoRepository;
     private final PortfolioRepository portfolioRepository;
     private final PasswordEncoder passwordEncoder;
-    private final CompatibilidadeCacheService compatibilidadeCacheService;
+    private final CompatibilidadeJobService compatibilidadeJobService;
+    private final PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
     private final ApplicationEventPublisher eventPublisher;
     private final EmailService emailService;
     private final EmailTemplateService emailTemplateService;
@@ -173,7 +174,8 @@ public class CandidatoService {
             CertificadoRepository certificadoRepository,
             PortfolioRepository portfolioRepository,
             PasswordEncoder passwordEncoder,
-            CompatibilidadeCacheService compatibilidadeCacheService,
+            CompatibilidadeJobService compatibilidadeJobService,
+            PerfilCandidatoSnapshotService perfilCandidatoSnapshotService,
             ApplicationEventPublisher eventPublisher,
             EmailService emailService,
             EmailTemplateService emailTemplateService) {
@@ -186,7 +188,8 @@ public class CandidatoService {
         this.certificadoRepository = certificadoRepository;
         this.portfolioRepository = portfolioRepository;
         this.passwordEncoder = passwordEncoder;
-        this.compatibilidadeCacheService = compatibilidadeCacheService;
+        this.compatibilidadeJobService = compatibilidadeJobService;
+        this.perfilCandidatoSnapshotService = perfilCandidatoSnapshotService;
         this.eventPublisher = eventPublisher;
         this.emailService = emailService;
         this.emailTemplateService = emailTemplateService;
@@ -202,7 +205,8 @@ public class CandidatoService {
         var perfil = PerfilCandidato.novo(usuario.getId(), cmd.dataNascimento, endereco);
         perfilCandidatoRepository.save(perfil);
 
-        compatibilidadeCacheService.calcularParaTodasVagas(usuario.getId());
+        perfilCandidatoSnapshotService.atualizar(usuario.getId());
+        compatibilidadeJobService.enfileirarCandidato(usuario.getId());
 
         try {
             String htmlContent = emailTemplateService.renderConfirmacaoCadastro(
@@ -240,7 +244,6 @@ public class CandidatoService {
         var saved = historicoAcademicoRepository.save(historico);
         
 
-        compatibilidadeCacheService.invalidarCacheCandidatoSync(cmd.usuarioId());
         eventPublisher.publishEvent(new PerfilCandidatoAtualizadoEvent(cmd.usuarioId()));
         
         return new AdicionarHistoricoResult(
@@ -265,7 +268,6 @@ public class CandidatoService {
         var saved = experienciaProfissionalRepository.save(exp);
         
 
-        compatibilidadeCacheService.invalidarCacheCandidatoSync(cmd.usuarioId());
         eventPublisher.publishEvent(new PerfilCandidatoAtualizadoEvent(cmd.usuarioId()));
         
         return new AdicionarExperienciaResult(
@@ -299,7 +301,6 @@ public class CandidatoService {
         var salva = competenciaRepository.save(competencia);
         
 
-        compatibilidadeCacheService.invalidarCacheCandidatoSync(cmd.perfilCandidatoId());
         eventPublisher.publishEvent(new PerfilCandidatoAtualizadoEvent(cmd.perfilCandidatoId()));
         
         return new CompetenciaResult(
@@ -339,7 +340,6 @@ public class CandidatoService {
         var salva = competenciaRepository.save(atualizada);
         
 
-        compatibilidadeCacheService.invalidarCacheCandidatoSync(salva.getPerfilCandidatoId());
         eventPublisher.publishEvent(new PerfilCandidatoAtualizadoEvent(salva.getPerfilCandidatoId()));
         
         return new CompetenciaResult(
@@ -361,7 +361,6 @@ public class CandidatoService {
         competenciaRepository.delete(competenciaId);
         
 
-        compatibilidadeCacheService.invalidarCacheCandidatoSync(perfilId);
         eventPublisher.publishEvent(new PerfilCandidatoAtualizadoEvent(perfilId));
     }
 
@@ -405,6 +404,9 @@ public class CandidatoService {
                 cmd.link()
         );
         var salvo = portfolioRepository.save(portfolio);
+
+        eventPublisher.publishEvent(new PerfilCandidatoAtualizadoEvent(salvo.getUsuarioId()));
+
         return new PortfolioResult(
                 salvo.getId(),
                 salvo.getUsuarioId(),
@@ -482,7 +484,6 @@ public class CandidatoService {
         var salvo = certificadoRepository.save(atualizado);
         
 
-        compatibilidadeCacheService.invalidarCacheCandidatoSync(salvo.getPerfilCandidatoId());
         eventPublisher.publishEvent(new PerfilCandidatoAtualizadoEvent(salvo.getPerfilCandidatoId()));
         
         return new CertificadoResult(
@@ -506,7 +507,6 @@ public class CandidatoService {
         certificadoRepository.delete(certificadoId);
         
 
-        compatibilidadeCacheService.invalidarCacheCandidatoSync(perfilId);
         eventPublisher.publishEvent(new PerfilCandidatoAtualizadoEvent(perfilId));
     }
 
@@ -522,7 +522,6 @@ public class CandidatoService {
         var salvo = portfolioRepository.save(atualizado);
         
 
-        compatibilidadeCacheService.invalidarCacheCandidatoSync(salvo.getUsuarioId());
         eventPublisher.publishEvent(new PerfilCandidatoAtualizadoEvent(salvo.getUsuarioId()));
         
         return new PortfolioResult(
@@ -543,7 +542,6 @@ public class CandidatoService {
         portfolioRepository.delete(portfolioId);
         
 
-        compatibilidadeCacheService.invalidarCacheCandidatoSync(usuarioId);
         eventPublisher.publishEvent(new PerfilCandidatoAtualizadoEvent(usuarioId));
     }
 
@@ -563,7 +561,6 @@ public class CandidatoService {
         var salva = experienciaProfissionalRepository.save(atualizada);
         
 
-        compatibilidadeCacheService.invalidarCacheCandidatoSync(salva.getUsuarioId());
         eventPublisher.publishEvent(new PerfilCandidatoAtualizadoEvent(salva.getUsuarioId()));
         
         return new ExperienciaResult(
@@ -594,7 +591,6 @@ public class CandidatoService {
         var salvo = historicoAcademicoRepository.save(atualizado);
         
 
-        compatibilidadeCacheService.invalidarCacheCandidatoSync(salvo.getUsuarioId());
         eventPublisher.publishEvent(new PerfilCandidatoAtualizadoEvent(salvo.getUsuarioId()));
         
         return new HistoricoResult(
@@ -5,10 +5,13 @@ import com.barcelos.recrutamento.core.exception.ResourceNotFoundException;
 import com.barcelos.recrutamento.core.model.Candidatura;
 import com.barcelos.recrutamento.core.model.ProcessoSeletivo;
 import com.barcelos.recrutamento.core.model.StatusCandidatura;
+import com.barcelos.recrutamento.core.model.Vaga;
 import com.barcelos.recrutamento.core.port.CandidaturaRepository;
 import com.barcelos.recrutamento.core.port.EtapaProcessoRepository;
 import com.barcelos.recrutamento.core.port.ProcessoSeletivoRepository;
 import com.barcelos.recrutamento.core.port.VagaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,25 +25,33 @@ import java.util.UUID;
 @Service
 public class CandidaturaService {
 
+    private static final Logger log = LoggerFactory.getLogger(CandidaturaService.class);
+
     private final VagaRepository vagaRepository;
     private final CandidaturaRepository candidaturaRepository;
     private final ProcessoSeletivoRepository processoSeletivoRepository;
     private final EtapaProcessoRepository etapaProcessoRepository;
     private final CurriculoService curriculoService;
     private final CompatibilidadeCacheService compatibilidadeCacheService;
+    private final CompatibilidadeBasicaService compatibilidadeBasicaService;
+    private final CompatibilidadeJobService compatibilidadeJobService;
 
     public CandidaturaService(VagaRepository vagaRepository,
                               CandidaturaRepository candidaturaRepository,
                               ProcessoSeletivoRepository processoSeletivoRepository,
                               EtapaProcessoRepository etapaProcessoRepository,
                               CurriculoService curriculoService,
-                              CompatibilidadeCacheService compatibilidadeCacheService) {
+                              CompatibilidadeCacheService compatibilidadeCacheService,
+                              CompatibilidadeBasicaService compatibilidadeBasicaService,
+                              CompatibilidadeJobService compatibilidadeJobService) {
         this.vagaRepository = vagaRepository;
         this.candidaturaRepository = candidaturaRepository;
         this.processoSeletivoRepository = processoSeletivoRepository;
         this.etapaProcessoRepository = etapaProcessoRepository;
         this.curriculoService = curriculoService;
         this.compatibilidadeCacheService = compatibilidadeCacheService;
+        this.compatibilidadeBasicaService = compatibilidadeBasicaService;
+        this.compatibilidadeJobService = compatibilidadeJobService;
     }
 
     
@@ -59,10 +70,14 @@ public class CandidaturaService {
         }
 
         var candidatura = Candidatura.nova(vagaId, candidatoUsuarioId, null);
-        
 
-        var compatibilidadeCache = compatibilidadeCacheService.obterOuCalcular(candidatoUsuarioId, vagaId);
-        candidatura = candidatura.comCompatibilidade(compatibilidadeCache.getPercentualCompatibilidade());
+        var compatibilidadeCache = compatibilidadeCacheService.obterDoCache(candidatoUsuarioId, vagaId);
+        if (compatibilidadeCache.isPresent()) {
+            candidatura = candidatura.comCompatibilidade(compatibilidadeCache.get().getPercentualCompatibilidade());
+        } else {
+            candidatura = candidatura.comCompatibilidadeProvisoria(calcularCompatibilidadeProvisoria(candidatoUsuarioId, vaga));
+            compatibilidadeJobService.enfileirarCandidatura(candidatoUsuarioId, vaga);
+        }
 
         var salva = candidaturaRepository.save(candidatura);
 
@@ -99,6 +114,16 @@ public class CandidaturaService {
         return salva;
     }
 
+    private BigDecimal calcularCompatibilidadeProvisoria(UUID candidatoUsuarioId, Vaga vaga) {
+        try {
+            return BigDecimal.valueOf(compatibilidadeBasicaService.calcular(candidatoUsuarioId, vaga).score());
+        } catch (Exception e) {
+            log.warn("Não foi possível calcular compatibilidade provisória do candidato {} na vaga {}: {}",
+                    candidatoUsuarioId, vaga.getId(), e.getMessage());
+            return null;
+        }
+    }
+
     
     @Transactional(readOnly = true)
     public List<Candidatura> listarPorVaga(UUID vagaId) {
@@ -1,13 +1,22 @@
 package com.barcelos.recrutamento.core.service;
 
+import com.barcelos.recrutamento.config.CompatibilidadeProperties;
+import com.barcelos.recrutamento.core.model.OrigemCompatibilidade;
 import com.barcelos.recrutamento.core.model.Vaga;
+import com.barcelos.recrutamento.core.model.VagaDigest;
 import com.barcelos.recrutamento.core.port.*;
+import com.barcelos.recrutamento.core.support.FaixaExecucao;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -17,72 +26,156 @@ public class CompatibilidadeAIService {
 
     private static final Logger log = LoggerFactory.getLogger(CompatibilidadeAIService.class);
 
-    private final ChatClient chatClient;
-    private final PerfilCandidatoRepository perfilCandidatoRepository;
-    private final CompetenciaRepository competenciaRepository;
-    private final ExperienciaProfissionalRepository experienciaRepository;
-    private final HistoricoAcademicoRepository historicoAcademicoRepository;
-    private final UsuarioRepository usuarioRepository;
+    private static final Pattern BLOCO_CANDIDATO = Pattern.compile("^\\s*CANDIDATO:?\\s*(\\d+)\\s*$",
+            Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final Pattern SCORE = Pattern.compile("SCORE:\\s*(\\d+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern JUSTIFICATIVA = Pattern.compile("JUSTIFICATIVA:\\s*(.+?)(?=\\n\\s*\\n|\\z)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private final AiGateway aiGateway;
+    private final PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
+    private final CompatibilidadeBasicaService compatibilidadeBasicaService;
+    private final VagaDigestService vagaDigestService;
+    private final CompatibilidadeProperties properties;
+    private final TransactionTemplate leitura;
 
     public CompatibilidadeAIService(
-            ChatClient chatClient,
-            PerfilCandidatoRepository perfilCandidatoRepository,
-            CompetenciaRepository competenciaRepository,
-            ExperienciaProfissionalRepository experienciaRepository,
-            HistoricoAcademicoRepository historicoAcademicoRepository,
-            UsuarioRepository usuarioRepository
+            AiGateway aiGateway,
+            PerfilCandidatoSnapshotService perfilCandidatoSnapshotService,
+            CompatibilidadeBasicaService compatibilidadeBasicaService,
+            VagaDigestService vagaDigestService,
+            CompatibilidadeProperties properties,
+            PlatformTransactionManager transactionManager
     ) {
-        this.chatClient = chatClient;
-        this.perfilCandidatoRepository = perfilCandidatoRepository;
-        this.competenciaRepository = competenciaRepository;
-        this.experienciaRepository = experienciaRepository;
-        this.historicoAcademicoRepository = historicoAcademicoRepository;
-        this.usuarioRepository = usuarioRepository;
+        this.aiGateway = aiGateway;
+        this.perfilCandidatoSnapshotService = perfilCandidatoSnapshotService;
+        this.compatibilidadeBasicaService = compatibilidadeBasicaService;
+        this.vagaDigestService = vagaDigestService;
+        this.properties = properties;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
     }
 
     
     public ResultadoCompatibilidade calcularCompatibilidade(UUID candidatoUsuarioId, Vaga vaga) {
 
-        String perfilCandidato = construirPerfilCandidato(candidatoUsuarioId);
+        String perfilCandidato = leitura.execute(status -> construirPerfilCandidato(candidatoUsuarioId));
 
-        String prompt = construirPrompt(perfilCandidato, vaga);
+        String prompt = construirPrompt(perfilCandidato, vagaDigestService.obter(vaga));
 
         try {
 
-            String response = chatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .content();
+            String response = aiGateway.gerar(prompt, properties.getModeloPontuacao());
 
-            return parseResposta(response);
-        } catch (Exception e) {
+            ResultadoCompatibilidade resultado = parseResposta(response);
+            if (resultado == null) {
+                throw new IllegalStateException("Resposta da IA sem SCORE");
+            }
+            return resultado;
+        } catch (RuntimeException e) {
             log.error("Erro ao calcular compatibilidade com IA: {}", e.getMessage(), e);
 
-            return new ResultadoCompatibilidade(50, "Erro ao processar análise com IA: " + e.getMessage());
+            return fallback(candidatoUsuarioId, vaga, e);
+        }
+    }
+
+    private ResultadoCompatibilidade fallback(UUID candidatoUsuarioId, Vaga vaga, RuntimeException causa) {
+        if (FaixaExecucao.atual() == FaixaExecucao.SEGUNDO_PLANO) {
+            throw causa;
+        }
+        if (!properties.isFallbackToBasic()) {
+            throw new IllegalStateException("Erro ao processar análise com IA: " + causa.getMessage(), causa);
+        }
+        log.info("Usando análise básica provisória de compatibilidade para candidato {} e vaga {}",
+                candidatoUsuarioId, vaga.getId());
+        return compatibilidadeBasicaService.calcular(candidatoUsuarioId, vaga).comoProvisorio();
+    }
+
+    
+    public Map<UUID, ResultadoCompatibilidade> calcularCompatibilidadeEmLote(List<UUID> candidatosUsuarioIds, Vaga vaga) {
+        if (candidatosUsuarioIds.size() == 1) {
+            UUID candidatoId = candidatosUsuarioIds.get(0);
+            return Map.of(candidatoId, calcularCompatibilidade(candidatoId, vaga));
+        }
+
+        List<String> perfis = leitura.execute(status -> candidatosUsuarioIds.stream()
+                .map(this::construirPerfilCandidato)
+                .toList());
+
+        String prompt = construirPromptLote(perfis, vagaDigestService.obter(vaga));
+
+        Map<Integer, ResultadoCompatibilidade> parciais = Map.of();
+        RuntimeException falhaChamada = null;
+        try {
+
+            String response = aiGateway.gerar(prompt, properties.getModeloPontuacao());
+
+            parciais = parseRespostaLote(response);
+        } catch (RuntimeException e) {
+            log.error("Erro ao calcular compatibilidade em lote com IA ({} candidatos): {}",
+                    candidatosUsuarioIds.size(), e.getMessage(), e);
+            falhaChamada = e;
+        }
+
+        Map<UUID, ResultadoCompatibilidade> resultados = new LinkedHashMap<>();
+        List<UUID> semResultado = new ArrayList<>();
+        for (int i = 0; i < candidatosUsuarioIds.size(); i++) {
+            ResultadoCompatibilidade resultado = parciais.get(i + 1);
+            if (resultado != null) {
+                resultados.put(candidatosUsuarioIds.get(i), resultado);
+            } else {
+                semResultado.add(candidatosUsuarioIds.get(i));
+            }
+        }
+
+        if (falhaChamada != null) {
+            for (UUID candidatoId : semResultado) {
+                resultados.put(candidatoId, fallback(candidatoId, vaga, falhaChamada));
+            }
+        } else if (!semResultado.isEmpty()) {
+            log.warn("Lote da vaga {}: {} de {} candidatos sem resultado válido, recalculando individualmente",
+                    vaga.getId(), semResultado.size(), candidatosUsuarioIds.size());
+            semResultado.forEach(candidatoId ->
+                    resultados.put(candidatoId, calcularCompatibilidade(candidatoId, vaga)));
+        }
+
+        return resultados;
+    }
+
+    
+    public String gerarJustificativa(UUID candidatoUsuarioId, Vaga vaga, int score) {
+        String perfilCandidato = leitura.execute(status -> construirPerfilCandidato(candidatoUsuarioId));
+
+        String response = aiGateway.gerar(construirPromptJustificativa(perfilCandidato, vagaDigestService.obter(vaga), score));
+        if (response == null || response.isBlank()) {
+            throw new IllegalStateException("Resposta da IA sem JUSTIFICATIVA");
         }
+
+        Matcher justMatcher = JUSTIFICATIVA.matcher(response);
+        return justMatcher.find() ? justMatcher.group(1).trim() : response.trim();
     }
 
     private String construirPerfilCandidato(UUID candidatoUsuarioId) {
         StringBuilder perfil = new StringBuilder();
 
-        var usuario = usuarioRepository.findById(candidatoUsuarioId).orElse(null);
-        if (usuario != null) {
-            perfil.append("Nome: ").append(usuario.getNome()).append("\n");
+        var snapshotOpt = perfilCandidatoSnapshotService.obter(candidatoUsuarioId);
+        if (snapshotOpt.isEmpty()) {
+            return perfil.toString();
         }
+        var snapshot = snapshotOpt.get();
 
-        var perfilOpt = perfilCandidatoRepository.findByUsuarioId(candidatoUsuarioId);
-        if (perfilOpt.isPresent()) {
-            var competencias = competenciaRepository.listByPerfilCandidato(perfilOpt.get().getUsuarioId());
-            if (!competencias.isEmpty()) {
-                perfil.append("\nCompetências:\n");
-                competencias.forEach(c ->
-                        perfil.append("- ").append(c.getTitulo())
-                              .append(" (Nível: ").append(c.getNivel()).append(")\n")
-                );
-            }
+        perfil.append("Nome: ").append(snapshot.getNome()).append("\n");
+
+        var competencias = snapshot.getCompetencias();
+        if (!competencias.isEmpty()) {
+            perfil.append("\nCompetências:\n");
+            competencias.forEach(c ->
+                    perfil.append("- ").append(c.getTitulo())
+                          .append(" (Nível: ").append(c.getNivel()).append(")\n")
+            );
         }
 
-        var experiencias = experienciaRepository.listByUsuario(candidatoUsuarioId);
+        var experiencias = snapshot.getExperiencias();
         if (!experiencias.isEmpty()) {
             perfil.append("\nExperiências Profissionais:\n");
             experiencias.forEach(exp -> {
@@ -96,7 +189,7 @@ public class CompatibilidadeAIService {
             });
         }
 
-        var historicos = historicoAcademicoRepository.listByUsuario(candidatoUsuarioId);
+        var historicos = snapshot.getHistoricos();
         if (!historicos.isEmpty()) {
             perfil.append("\nFormação Acadêmica:\n");
             historicos.forEach(h ->
@@ -108,7 +201,7 @@ public class CompatibilidadeAIService {
         return perfil.toString();
     }
 
-    private String construirPrompt(String perfilCandidato, Vaga vaga) {
+    private String construirPrompt(String perfilCandidato, VagaDigest vaga) {
         return """
                 Você é um especialista em recrutamento e seleção. Analise a compatibilidade entre o perfil do candidato e os requisitos da vaga.
 
@@ -116,57 +209,159 @@ public class CompatibilidadeAIService {
                 %s
 
                 VAGA:
-                Título: %s
-                Descrição: %s
-                Requisitos: %s
-                Tipo de Contrato: %s
-                Modalidade: %s
+                %s
 
                 TAREFA:
                 1. Analise a compatibilidade entre o perfil do candidato e a vaga
                 2. Considere: competências técnicas, experiência, formação, alinhamento com requisitos
-                3. Retorne APENAS no seguinte formato (sem markdown, sem formatação extra):
+                3. Retorne APENAS no seguinte formato (sem markdown, sem formatação extra, sem explicações):
 
                 SCORE: [número de 0 a 100]
-                JUSTIFICATIVA: [explicação clara e objetiva em 2-3 frases sobre a compatibilidade]
 
-                Seja objetivo e analítico. O score deve refletir o quão adequado o candidato é para a vaga.
+                O score deve refletir o quão adequado o candidato é para a vaga.
                 """.formatted(
                 perfilCandidato,
-                vaga.getTitulo(),
-                vaga.getDescricao(),
-                vaga.getRequisitos(),
-                vaga.getTipoContrato() != null ? vaga.getTipoContrato().name() : "N/A",
-                vaga.getModalidade() != null ? vaga.getModalidade().name() : "N/A"
+                descreverVaga(vaga)
         );
     }
 
-    private ResultadoCompatibilidade parseResposta(String response) {
-        try {
+    private String construirPromptJustificativa(String perfilCandidato, VagaDigest vaga, int score) {
+        return """
+                Você é um especialista em recrutamento e seleção. A compatibilidade entre o candidato e a vaga abaixo já foi avaliada em %d de 100.
 
-            Pattern scorePattern = Pattern.compile("SCORE:\\s*(\\d+)", Pattern.CASE_INSENSITIVE);
-            Matcher scoreMatcher = scorePattern.matcher(response);
+                PERFIL DO CANDIDATO:
+                %s
 
-            int score = 50;
-            if (scoreMatcher.find()) {
-                score = Math.min(100, Math.max(0, Integer.parseInt(scoreMatcher.group(1))));
-            }
+                VAGA:
+                %s
+
+                TAREFA:
+                Explique de forma clara e objetiva, em 2-3 frases, por que o candidato recebeu essa avaliação, citando pontos fortes e lacunas em relação aos requisitos.
+                Retorne APENAS no seguinte formato (sem markdown, sem formatação extra):
+
+                JUSTIFICATIVA: [explicação]
+                """.formatted(
+                score,
+                perfilCandidato,
+                descreverVaga(vaga)
+        );
+    }
+
+    private String construirPromptLote(List<String> perfis, VagaDigest vaga) {
+        StringBuilder candidatos = new StringBuilder();
+        for (int i = 0; i < perfis.size(); i++) {
+            candidatos.append("CANDIDATO ").append(i + 1).append(":\n")
+                      .append(perfis.get(i)).append("\n");
+        }
+
+        return """
+                Você é um especialista em recrutamento e seleção. Analise a compatibilidade de cada candidato abaixo com os requisitos da vaga.
+
+                VAGA:
+                %s
+
+                CANDIDATOS:
+                %s
+                TAREFA:
+                1. Analise cada candidato de forma independente em relação à vaga
+                2. Considere: competências técnicas, experiência, formação, alinhamento com requisitos
+                3. Retorne APENAS um bloco por candidato, na mesma ordem, no seguinte formato (sem markdown, sem formatação extra, sem explicações):
+
+                CANDIDATO: [número do candidato]
+                SCORE: [número de 0 a 100]
+
+                O score deve refletir o quão adequado cada candidato é para a vaga.
+                """.formatted(
+                descreverVaga(vaga),
+                candidatos
+        );
+    }
+
+    private String descreverVaga(VagaDigest digest) {
+        StringBuilder vaga = new StringBuilder();
+        vaga.append("Título: ").append(digest.getTitulo()).append("\n");
+        if (digest.getResumo() != null) {
+            vaga.append("Resumo: ").append(digest.getResumo()).append("\n");
+        }
+        if (digest.getSenioridade() != null) {
+            vaga.append("Senioridade: ").append(digest.getSenioridade().getDescricao()).append("\n");
+        }
+        vaga.append("Requisitos obrigatórios: ")
+            .append(digest.getRequisitosObrigatorios().isEmpty() ? "N/A" : String.join("; ", digest.getRequisitosObrigatorios()))
+            .append("\n");
+        if (!digest.getRequisitosDesejaveis().isEmpty()) {
+            vaga.append("Requisitos desejáveis: ").append(String.join("; ", digest.getRequisitosDesejaveis())).append("\n");
+        }
+        if (!digest.getIdiomas().isEmpty()) {
+            vaga.append("Idiomas: ").append(String.join(", ", digest.getIdiomas())).append("\n");
+        }
+        vaga.append("Tipo de Contrato: ").append(digest.getTipoContrato() != null ? digest.getTipoContrato().name() : "N/A").append("\n");
+        vaga.append("Modalidade: ").append(digest.getModalidade() != null ? digest.getModalidade().name() : "N/A");
+        return vaga.toString();
+    }
+
+    private Map<Integer, ResultadoCompatibilidade> parseRespostaLote(String response) {
+        Map<Integer, ResultadoCompatibilidade> resultados = new LinkedHashMap<>();
+        if (response == null) {
+            return resultados;
+        }
+
+        Matcher blocoMatcher = BLOCO_CANDIDATO.matcher(response);
+        List<int[]> blocos = new ArrayList<>();
+        while (blocoMatcher.find()) {
+            blocos.add(new int[]{Integer.parseInt(blocoMatcher.group(1)), blocoMatcher.start(), blocoMatcher.end()});
+        }
+
+        for (int i = 0; i < blocos.size(); i++) {
+            int numero = blocos.get(i)[0];
+            int fim = i + 1 < blocos.size() ? blocos.get(i + 1)[1] : response.length();
+            String bloco = response.substring(blocos.get(i)[2], fim);
 
-            Pattern justPattern = Pattern.compile("JUSTIFICATIVA:\\s*(.+?)(?=\\n\\n|$)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
-            Matcher justMatcher = justPattern.matcher(response);
+            try {
+                Matcher scoreMatcher = SCORE.matcher(bloco);
+                if (!scoreMatcher.find()) {
+                    log.warn("Resposta em lote sem SCORE para o candidato {}", numero);
+                    continue;
+                }
+                int score = Math.min(100, Math.max(0, Integer.parseInt(scoreMatcher.group(1))));
 
-            String justificativa = "Análise realizada com sucesso.";
-            if (justMatcher.find()) {
-                justificativa = justMatcher.group(1).trim();
+                resultados.putIfAbsent(numero, new ResultadoCompatibilidade(score, null));
+            } catch (Exception e) {
+                log.warn("Erro ao fazer parse do candidato {} na resposta em lote: {}", numero, e.getMessage());
             }
+        }
+
+        return resultados;
+    }
 
-            return new ResultadoCompatibilidade(score, justificativa);
-        } catch (Exception e) {
-            log.error("Erro ao fazer parse da resposta da IA: {}", e.getMessage(), e);
-            return new ResultadoCompatibilidade(50, response);
+    private ResultadoCompatibilidade parseResposta(String response) {
+        if (response == null) {
+            return null;
+        }
+
+        Matcher scoreMatcher = SCORE.matcher(response);
+        if (!scoreMatcher.find()) {
+            return null;
         }
+        int score = Math.min(100, Math.max(0, Integer.parseInt(scoreMatcher.group(1))));
+
+        return new ResultadoCompatibilidade(score, null);
     }
 
     
-    public record ResultadoCompatibilidade(int score, String justificativa) {}
+    public record ResultadoCompatibilidade(int score, String justificativa, OrigemCompatibilidade origem,
+                                           boolean provisorio) {
+
+        public ResultadoCompatibilidade(int score, String justificativa, OrigemCompatibilidade origem) {
+            this(score, justificativa, origem, false);
+        }
+
+        public ResultadoCompatibilidade(int score, String justificativa) {
+            this(score, justificativa, OrigemCompatibilidade.IA);
+        }
+
+        public ResultadoCompatibilidade comoProvisorio() {
+            return new ResultadoCompatibilidade(score, justificativa, origem, true);
+        }
+    }
 }
@@ -0,0 +1,269 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.core.model.Competencia;
+import com.barcelos.recrutamento.core.model.ExperienciaProfissional;
+import com.barcelos.recrutamento.core.model.HistoricoAcademico;
+import com.barcelos.recrutamento.core.model.OrigemCompatibilidade;
+import com.barcelos.recrutamento.core.model.Senioridade;
+import com.barcelos.recrutamento.core.model.Vaga;
+import com.barcelos.recrutamento.core.model.VagaDigest;
+import com.barcelos.recrutamento.core.support.NormalizadorTexto;
+import com.barcelos.recrutamento.core.support.TaxonomiaHabilidades;
+import com.barcelos.recrutamento.data.entity.NivelCompetencia;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class CompatibilidadeBasicaService {
+
+    private static final double PESO_COMPETENCIAS = 0.50;
+    private static final double PESO_SENIORIDADE = 0.25;
+    private static final double PESO_CARGO = 0.15;
+    private static final double PESO_FORMACAO = 0.10;
+    private static final double PESO_DESEJAVEL = 0.5;
+
+    private final PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
+    private final VagaDigestService vagaDigestService;
+
+    public CompatibilidadeBasicaService(
+            PerfilCandidatoSnapshotService perfilCandidatoSnapshotService,
+            VagaDigestService vagaDigestService
+    ) {
+        this.perfilCandidatoSnapshotService = perfilCandidatoSnapshotService;
+        this.vagaDigestService = vagaDigestService;
+    }
+
+    
+    public CompatibilidadeAIService.ResultadoCompatibilidade calcular(UUID candidatoUsuarioId, Vaga vaga) {
+        return calcular(carregarDados(candidatoUsuarioId), vaga);
+    }
+
+    
+    public DadosCandidato carregarDados(UUID candidatoUsuarioId) {
+        return perfilCandidatoSnapshotService.obter(candidatoUsuarioId)
+                .map(snapshot -> new DadosCandidato(
+                        snapshot.getCompetencias(),
+                        snapshot.getExperiencias(),
+                        snapshot.getHistoricos(),
+                        snapshot.getHabilidades()))
+                .orElseGet(() -> new DadosCandidato(List.of(), List.of(), List.of(), new int[0]));
+    }
+
+    
+    public CompatibilidadeAIService.ResultadoCompatibilidade calcular(DadosCandidato dados, Vaga vaga) {
+        VagaDigest digest = vagaDigestService.obter(vaga);
+        Map<String, Double> requisitos = mapearRequisitos(digest, vaga);
+        Set<String> termosVaga = new LinkedHashSet<>(requisitos.keySet());
+        termosVaga.addAll(NormalizadorTexto.tokens(digest.getResumo()));
+
+        Map<String, Double> habilidades = mapearHabilidades(dados);
+        double somaCobertura = 0;
+        double somaPesos = 0;
+        int requisitosAtendidos = 0;
+        for (Map.Entry<String, Double> requisito : requisitos.entrySet()) {
+            double peso = habilidades.getOrDefault(requisito.getKey(), 0.0);
+            somaPesos += requisito.getValue();
+            if (peso > 0) {
+                somaCobertura += peso * requisito.getValue();
+                requisitosAtendidos++;
+            }
+        }
+        double notaCompetencias = requisitos.isEmpty()
+                ? 0.5
+                : Math.min(1.0, (somaCobertura / somaPesos) * 1.5);
+        notaCompetencias = Math.max(notaCompetencias, calcularCoberturaHabilidades(digest, dados.habilidades()));
+
+        Senioridade senioridadeVaga = digest.getSenioridade();
+        Senioridade senioridadeCandidato = inferirSenioridadeCandidato(dados.experiencias());
+        double notaSenioridade = compararSenioridade(senioridadeCandidato, senioridadeVaga);
+
+        double notaCargo = calcularAderenciaCargo(dados.experiencias(), NormalizadorTexto.tokens(vaga.getTitulo()));
+        double notaFormacao = calcularAderenciaFormacao(dados.historicos(), termosVaga);
+
+        double nota = PESO_COMPETENCIAS * notaCompetencias
+                + PESO_SENIORIDADE * notaSenioridade
+                + PESO_CARGO * notaCargo
+                + PESO_FORMACAO * notaFormacao;
+        int score = (int) Math.round(Math.min(1.0, Math.max(0.0, nota)) * 100);
+
+        String justificativa = "Análise automática (sem IA): %d de %d requisitos identificados no perfil. Senioridade estimada do candidato: %s%s."
+                .formatted(
+                        requisitosAtendidos,
+                        requisitos.size(),
+                        senioridadeCandidato.getDescricao(),
+                        senioridadeVaga != null ? " (vaga: " + senioridadeVaga.getDescricao() + ")" : ""
+                );
+
+        return new CompatibilidadeAIService.ResultadoCompatibilidade(score, justificativa, OrigemCompatibilidade.LOCAL);
+    }
+
+    private Map<String, Double> mapearRequisitos(VagaDigest digest, Vaga vaga) {
+        Map<String, Double> requisitos = new LinkedHashMap<>();
+        NormalizadorTexto.tokens(vaga.getTitulo()).forEach(t -> requisitos.merge(t, 1.0, Math::max));
+        digest.getRequisitosObrigatorios().forEach(r ->
+                NormalizadorTexto.tokens(r).forEach(t -> requisitos.merge(t, 1.0, Math::max)));
+        digest.getRequisitosDesejaveis().forEach(r ->
+                NormalizadorTexto.tokens(r).forEach(t -> requisitos.merge(t, PESO_DESEJAVEL, Math::max)));
+        return requisitos;
+    }
+
+    private double calcularCoberturaHabilidades(VagaDigest digest, int[] habilidadesCandidato) {
+        BitSet avaliadas = new BitSet();
+
+        double somaCobertura = 0;
+        double somaPesos = 0;
+        for (int habilidade : digest.getHabilidadesObrigatorias()) {
+            avaliadas.set(habilidade);
+            somaPesos += 1.0;
+            if (TaxonomiaHabilidades.contem(habilidadesCandidato, habilidade)) {
+                somaCobertura += 1.0;
+            }
+        }
+        for (int habilidade : digest.getHabilidadesDesejaveis()) {
+            if (avaliadas.get(habilidade)) {
+                continue;
+            }
+            somaPesos += PESO_DESEJAVEL;
+            if (TaxonomiaHabilidades.contem(habilidadesCandidato, habilidade)) {
+                somaCobertura += PESO_DESEJAVEL;
+            }
+        }
+        return somaPesos == 0 ? 0.0 : somaCobertura / somaPesos;
+    }
+
+    private Map<String, Double> mapearHabilidades(DadosCandidato dados) {
+        Map<String, Double> habilidades = new HashMap<>();
+
+        for (Competencia competencia : dados.competencias()) {
+            double peso = pesoNivel(competencia.getNivel());
+            NormalizadorTexto.tokens(competencia.getTitulo())
+                    .forEach(t -> habilidades.merge(t, peso, Math::max));
+            NormalizadorTexto.tokens(competencia.getDescricao())
+                    .forEach(t -> habilidades.merge(t, peso * 0.5, Math::max));
+        }
+
+        for (ExperienciaProfissional experiencia : dados.experiencias()) {
+            NormalizadorTexto.tokens(experiencia.getCargo())
+                    .forEach(t -> habilidades.merge(t, 0.7, Math::max));
+            NormalizadorTexto.tokens(experiencia.getDescricao())
+                    .forEach(t -> habilidades.merge(t, 0.6, Math::max));
+        }
+
+        for (HistoricoAcademico historico : dados.historicos()) {
+            NormalizadorTexto.tokens(historico.getTitulo())
+                    .forEach(t -> habilidades.merge(t, 0.4, Math::max));
+        }
+
+        return habilidades;
+    }
+
+    private double pesoNivel(NivelCompetencia nivel) {
+        if (nivel == null) {
+            return 0.5;
+        }
+        return switch (nivel) {
+            case BASICO -> 0.5;
+            case INTERMEDIARIO -> 0.75;
+            case AVANCADO -> 1.0;
+        };
+    }
+
+    private Senioridade inferirSenioridadeCandidato(List<ExperienciaProfissional> experiencias) {
+        long meses = 0;
+        Senioridade pelosCargos = null;
+        LocalDate hoje = LocalDate.now();
+
+        for (ExperienciaProfissional experiencia : experiencias) {
+            LocalDate fim = experiencia.getDataFim() != null ? experiencia.getDataFim() : hoje;
+            meses += Math.max(0, ChronoUnit.MONTHS.between(experiencia.getDataInicio(), fim));
+
+            Senioridade doCargo = senioridadePorTermos(NormalizadorTexto.tokens(experiencia.getCargo()));
+            if (doCargo != null && (pelosCargos == null || doCargo.getNivel() > pelosCargos.getNivel())) {
+                pelosCargos = doCargo;
+            }
+        }
+
+        Senioridade pelosAnos;
+        if (meses < 12) {
+            pelosAnos = Senioridade.ESTAGIO;
+        } else if (meses < 36) {
+            pelosAnos = Senioridade.JUNIOR;
+        } else if (meses < 72) {
+            pelosAnos = Senioridade.PLENO;
+        } else {
+            pelosAnos = Senioridade.SENIOR;
+        }
+
+        return pelosCargos != null && pelosCargos.getNivel() > pelosAnos.getNivel() ? pelosCargos : pelosAnos;
+    }
+
+    private Senioridade senioridadePorTermos(List<String> tokens) {
+        Senioridade encontrada = null;
+        for (String token : tokens) {
+            Senioridade s = Senioridade.doTermo(token);
+            if (s != null && (encontrada == null || s.getNivel() > encontrada.getNivel())) {
+                encontrada = s;
+            }
+        }
+        return encontrada;
+    }
+
+    private double compararSenioridade(Senioridade candidato, Senioridade vaga) {
+        if (vaga == null) {
+            return 0.7;
+        }
+        int diferenca = candidato.getNivel() - vaga.getNivel();
+        if (diferenca == 0) {
+            return 1.0;
+        }
+        if (diferenca > 0) {
+            return Math.max(0.5, 1.0 - 0.15 * diferenca);
+        }
+        return Math.max(0.0, 1.0 + diferenca / 3.0);
+    }
+
+    private double calcularAderenciaCargo(List<ExperienciaProfissional> experiencias, List<String> tokensTitulo) {
+        if (tokensTitulo.isEmpty() || experiencias.isEmpty()) {
+            return 0.0;
+        }
+        double melhor = 0.0;
+        for (ExperienciaProfissional experiencia : experiencias) {
+            Set<String> cargo = new LinkedHashSet<>(NormalizadorTexto.tokens(experiencia.getCargo()));
+            long comuns = tokensTitulo.stream().filter(cargo::contains).count();
+            melhor = Math.max(melhor, (double) comuns / tokensTitulo.size());
+        }
+        return melhor;
+    }
+
+    private double calcularAderenciaFormacao(List<HistoricoAcademico> historicos, Set<String> termosVaga) {
+        if (historicos.isEmpty()) {
+            return 0.3;
+        }
+        for (HistoricoAcademico historico : historicos) {
+            for (String token : NormalizadorTexto.tokens(historico.getTitulo())) {
+                if (termosVaga.contains(token)) {
+                    return 1.0;
+                }
+            }
+        }
+        return 0.6;
+    }
+
+    
+    public record DadosCandidato(
+            List<Competencia> competencias,
+            List<ExperienciaProfissional> experiencias,
+            List<HistoricoAcademico> historicos,
+            int[] habilidades
+    ) {}
+}
@@ -1,108 +1,227 @@
 package com.barcelos.recrutamento.core.service;
 
+import com.barcelos.recrutamento.config.CompatibilidadeProperties;
+import com.barcelos.recrutamento.core.exception.CotaIaExcedidaException;
 import com.barcelos.recrutamento.core.model.CompatibilidadeCache;
+import com.barcelos.recrutamento.core.model.CompatibilidadeJob;
 import com.barcelos.recrutamento.core.model.Vaga;
 import com.barcelos.recrutamento.core.port.CompatibilidadeCacheRepository;
+import com.barcelos.recrutamento.core.port.CompatibilidadeJobRepository;
 import com.barcelos.recrutamento.core.port.PerfilCandidatoRepository;
 import com.barcelos.recrutamento.core.port.VagaRepository;
+import com.barcelos.recrutamento.core.support.CacheWTinyLfu;
+import com.barcelos.recrutamento.core.support.FaixaExecucao;
+import com.barcelos.recrutamento.core.support.SingleFlight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CompatibilidadeCacheService {
 
     private static final Logger log = LoggerFactory.getLogger(CompatibilidadeCacheService.class);
+    private static final int TAMANHO_LOTE_GRAVACAO = 200;
+    private static final int PRIORIDADE_PROVISORIO = 25;
+    private static final int PRIORIDADE_FALHA_PAR = 15;
+    private static final int PRIORIDADE_REFRESH = 0;
+    private static final int CAPACIDADE_REFRESHES_RECENTES = 10_000;
+    private static final long INTERVALO_REFRESH_NANOS = TimeUnit.MINUTES.toNanos(5);
 
     private final CompatibilidadeCacheRepository cacheRepository;
+    private final CompatibilidadeJobRepository jobRepository;
     private final CompatibilidadeAIService aiService;
+    private final CompatibilidadeBasicaService compatibilidadeBasicaService;
+    private final CompatibilidadeFingerprintService fingerprintService;
+    private final PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
     private final VagaRepository vagaRepository;
     private final PerfilCandidatoRepository perfilCandidatoRepository;
+    private final CompatibilidadeProperties properties;
+    private final Executor iaTaskExecutor;
+    private final TransactionTemplate leitura;
+    private final CacheWTinyLfu<ChavePar, Long> refreshesRecentes = new CacheWTinyLfu<>(CAPACIDADE_REFRESHES_RECENTES);
+    private final SingleFlight<ChaveCalculo, CompatibilidadeCache> calculosEmAndamento = new SingleFlight<>();
 
     public CompatibilidadeCacheService(
             CompatibilidadeCacheRepository cacheRepository,
+            CompatibilidadeJobRepository jobRepository,
             CompatibilidadeAIService aiService,
+            CompatibilidadeBasicaService compatibilidadeBasicaService,
+            CompatibilidadeFingerprintService fingerprintService,
+            PerfilCandidatoSnapshotService perfilCandidatoSnapshotService,
             VagaRepository vagaRepository,
-            PerfilCandidatoRepository perfilCandidatoRepository) {
+            PerfilCandidatoRepository perfilCandidatoRepository,
+            CompatibilidadeProperties properties,
+            @Qualifier("iaTaskExecutor") Executor iaTaskExecutor,
+            PlatformTransactionManager transactionManager) {
         this.cacheRepository = cacheRepository;
+        this.jobRepository = jobRepository;
         this.aiService = aiService;
+        this.compatibilidadeBasicaService = compatibilidadeBasicaService;
+        this.fingerprintService = fingerprintService;
+        this.perfilCandidatoSnapshotService = perfilCandidatoSnapshotService;
         this.vagaRepository = vagaRepository;
         this.perfilCandidatoRepository = perfilCandidatoRepository;
+        this.properties = properties;
+        this.iaTaskExecutor = iaTaskExecutor;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
     }
 
     
-    @Transactional(readOnly = true)
     public Optional<CompatibilidadeCache> obterDoCache(UUID candidatoUsuarioId, UUID vagaId) {
-        return cacheRepository.findByCandidatoAndVaga(candidatoUsuarioId, vagaId);
+        Optional<CompatibilidadeCache> cacheOpt = cacheRepository.findByCandidatoAndVaga(candidatoUsuarioId, vagaId);
+        if (cacheOpt.isEmpty()) {
+            return cacheOpt;
+        }
+
+        CompatibilidadeCache cache = cacheOpt.get();
+        if (expirado(cache, properties.getCacheIdadeMaximaSeconds())) {
+            agendarRefresh(candidatoUsuarioId, vagaId);
+            return Optional.empty();
+        }
+        if (expirado(cache, properties.getCacheTtlSeconds())) {
+            agendarRefresh(candidatoUsuarioId, vagaId);
+        }
+        return cacheOpt;
+    }
+
+    
+    public Map<UUID, CompatibilidadeCache> obterDoCachePorVagas(UUID candidatoUsuarioId, Collection<UUID> vagaIds) {
+        if (vagaIds.isEmpty()) {
+            return Map.of();
+        }
+        return filtrarValidos(cacheRepository.findByCandidatoAndVagas(candidatoUsuarioId, vagaIds), CompatibilidadeCache::getVagaId);
+    }
+
+    
+    public Map<UUID, CompatibilidadeCache> obterDoCachePorCandidatos(UUID vagaId, Collection<UUID> candidatoUsuarioIds) {
+        if (candidatoUsuarioIds.isEmpty()) {
+            return Map.of();
+        }
+        return filtrarValidos(cacheRepository.findByVagaAndCandidatos(vagaId, candidatoUsuarioIds),
+                CompatibilidadeCache::getCandidatoUsuarioId);
+    }
+
+    
+    public LocalDateTime compatibilidadeValidaDesde() {
+        long segundos = properties.getCacheIdadeMaximaSeconds();
+        return segundos > 0 ? LocalDateTime.now().minusSeconds(segundos) : null;
+    }
+
+    private Map<UUID, CompatibilidadeCache> filtrarValidos(List<CompatibilidadeCache> caches,
+                                                          Function<CompatibilidadeCache, UUID> chave) {
+        Map<UUID, CompatibilidadeCache> validos = new HashMap<>();
+        for (CompatibilidadeCache cache : caches) {
+            if (expirado(cache, properties.getCacheTtlSeconds())) {
+                agendarRefresh(cache.getCandidatoUsuarioId(), cache.getVagaId());
+            }
+            if (!expirado(cache, properties.getCacheIdadeMaximaSeconds())) {
+                validos.put(chave.apply(cache), cache);
+            }
+        }
+        return validos;
     }
 
     
-    @Transactional
     public CompatibilidadeCache obterOuCalcular(UUID candidatoUsuarioId, UUID vagaId) {
 
         Optional<CompatibilidadeCache> cacheOpt = cacheRepository.findByCandidatoAndVaga(candidatoUsuarioId, vagaId);
         
-        if (cacheOpt.isPresent()) {
-            log.debug("Cache HIT: Compatibilidade já calculada para candidato {} e vaga {}", 
-                     candidatoUsuarioId, vagaId);
+        if (cacheOpt.isPresent() && !expirado(cacheOpt.get(), properties.getCacheIdadeMaximaSeconds())) {
+            if (expirado(cacheOpt.get(), properties.getCacheTtlSeconds())) {
+                log.debug("Cache STALE: Servindo compatibilidade e agendando atualização para candidato {} e vaga {}",
+                         candidatoUsuarioId, vagaId);
+                agendarRefresh(candidatoUsuarioId, vagaId);
+            } else {
+                log.debug("Cache HIT: Compatibilidade já calculada para candidato {} e vaga {}", 
+                         candidatoUsuarioId, vagaId);
+            }
             return cacheOpt.get();
         }
 
+        if (cacheOpt.isPresent()) {
+            log.info("Cache EXPIRADO: Recalculando compatibilidade para candidato {} e vaga {}",
+                    candidatoUsuarioId, vagaId);
+            return calcularEArmazenar(candidatoUsuarioId, vagaId, true);
+        }
+
         log.info("Cache MISS: Calculando compatibilidade para candidato {} e vaga {}", 
                 candidatoUsuarioId, vagaId);
         return calcularEArmazenar(candidatoUsuarioId, vagaId);
     }
 
     
-    @Transactional
     public CompatibilidadeCache calcularEArmazenar(UUID candidatoUsuarioId, UUID vagaId) {
+        return calcularEArmazenar(candidatoUsuarioId, vagaId, false);
+    }
 
-        Optional<CompatibilidadeCache> cacheExistente = cacheRepository.findByCandidatoAndVaga(candidatoUsuarioId, vagaId);
-        if (cacheExistente.isPresent()) {
-            log.debug("Cache já existe (race condition evitada) para candidato {} e vaga {}", 
-                     candidatoUsuarioId, vagaId);
-            return cacheExistente.get();
-        }
-
-        Vaga vaga = vagaRepository.findById(vagaId)
-                .orElseThrow(() -> new RuntimeException("Vaga não encontrada: " + vagaId));
+    private CompatibilidadeCache calcularEArmazenar(UUID candidatoUsuarioId, UUID vagaId, boolean forcar) {
+        return calculosEmAndamento.executar(new ChaveCalculo(candidatoUsuarioId, vagaId, FaixaExecucao.atual()),
+                () -> calcularSemCoalescer(candidatoUsuarioId, vagaId, forcar));
+    }
 
-        CompatibilidadeAIService.ResultadoCompatibilidade resultado = 
-                aiService.calcularCompatibilidade(candidatoUsuarioId, vaga);
+    private CompatibilidadeCache calcularSemCoalescer(UUID candidatoUsuarioId, UUID vagaId, boolean forcar) {
+        EntradaCalculo entrada = leitura.execute(status -> carregarEntrada(candidatoUsuarioId, vagaId));
 
-        CompatibilidadeCache cache = CompatibilidadeCache.novo(
-            candidatoUsuarioId,
-            vagaId,
-            BigDecimal.valueOf(resultado.score()),
-            resultado.justificativa()
-        );
+        if (!forcar && entrada.existente() != null && entrada.existente().correspondeA(entrada.hashPerfil(), entrada.hashVaga())
+                && !expirado(entrada.existente(), properties.getCacheTtlSeconds())) {
+            log.debug("Cache já atualizado para candidato {} e vaga {}", candidatoUsuarioId, vagaId);
+            return entrada.existente();
+        }
 
-        try {
-            return cacheRepository.save(cache);
-        } catch (Exception e) {
+        CompatibilidadeAIService.ResultadoCompatibilidade resultado = calcularResultado(candidatoUsuarioId, entrada.vaga());
+        CompatibilidadeCache cache = montar(candidatoUsuarioId, entrada.vaga(), resultado,
+                entrada.existente(), entrada.hashPerfil(), entrada.hashVaga());
 
-            if (e.getMessage() != null && e.getMessage().contains("uk_cache_candidato_vaga")) {
-                log.debug("Duplicata detectada (race condition), buscando cache existente");
-                return cacheRepository.findByCandidatoAndVaga(candidatoUsuarioId, vagaId)
-                        .orElseThrow(() -> new RuntimeException("Cache não encontrado após duplicata"));
-            }
-            throw e;
+        if (resultado.provisorio()) {
+            log.info("Compatibilidade provisória do candidato {} para vaga {} não será armazenada; recálculo enfileirado",
+                    candidatoUsuarioId, vagaId);
+            jobRepository.enfileirar(CompatibilidadeJob.paraPar(candidatoUsuarioId, vagaId,
+                    entrada.vaga().getOrganizacaoId(), PRIORIDADE_PROVISORIO));
+            return cache;
         }
+        cacheRepository.upsertAll(List.of(cache));
+        return cache;
+    }
+
+    private EntradaCalculo carregarEntrada(UUID candidatoUsuarioId, UUID vagaId) {
+        Vaga vaga = vagaRepository.findById(vagaId)
+                .orElseThrow(() -> new RuntimeException("Vaga não encontrada: " + vagaId));
+        CompatibilidadeCache existente = cacheRepository.findByCandidatoAndVaga(candidatoUsuarioId, vagaId).orElse(null);
+        return new EntradaCalculo(vaga, existente, perfilCandidatoSnapshotService.obterHashPerfil(candidatoUsuarioId),
+                fingerprintService.hashVaga(vaga));
     }
 
     
-    @Async
-    @Transactional
     public CompletableFuture<Void> calcularParaTodosCandidatos(UUID vagaId) {
         log.info("Iniciando cálculo PARALELO de compatibilidade para vaga {}", vagaId);
         
@@ -113,101 +232,282 @@ public class CompatibilidadeCacheService {
 
         log.info("Encontrados {} candidatos para calcular compatibilidade", candidatosIds.size());
 
+        if (candidatosIds.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Vaga vaga = vagaRepository.findById(vagaId)
+                .orElseThrow(() -> new RuntimeException("Vaga não encontrada: " + vagaId));
+        String hashVaga = fingerprintService.hashVaga(vaga);
+
+        Map<UUID, CompatibilidadeCache> existentes = cacheRepository.findByVagaAndCandidatos(vagaId, candidatosIds).stream()
+                .collect(Collectors.toMap(CompatibilidadeCache::getCandidatoUsuarioId, cache -> cache, (a, b) -> a));
+        Map<UUID, String> hashesPerfil = perfilCandidatoSnapshotService.obterHashesPerfil(candidatosIds);
+
         List<UUID> candidatosSemCache = candidatosIds.stream()
-                .filter(candidatoId -> !cacheRepository.existsByCandidatoAndVaga(candidatoId, vagaId))
+                .filter(candidatoId -> desatualizado(existentes.get(candidatoId), hashesPerfil.get(candidatoId), hashVaga))
                 .collect(Collectors.toList());
         
-        log.info("Calculando compatibilidade para {} candidatos (outros já têm cache)", candidatosSemCache.size());
+        log.info("Calculando compatibilidade para {} candidatos (outros já têm cache atualizado)", candidatosSemCache.size());
+
+        if (candidatosSemCache.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
 
         long inicio = System.currentTimeMillis();
-        
-        Map<String, Long> resultados = candidatosSemCache.parallelStream()
-                .map(candidatoId -> {
-                    try {
-                        calcularEArmazenar(candidatoId, vagaId);
-                        return "sucesso";
-                    } catch (Exception e) {
 
-                        if (e.getMessage() != null && e.getMessage().contains("uk_cache_candidato_vaga")) {
-                            return "duplicata";
-                        }
-                        log.error("Erro ao calcular compatibilidade para candidato {}: {}", 
-                                 candidatoId, e.getMessage(), e);
-                        return "erro";
-                    }
-                })
-                .collect(Collectors.groupingBy(r -> r, Collectors.counting()));
+        int topK = properties.getRerankTopK();
+        boolean preSelecionar = properties.isUsarIa() && topK > 0 && candidatosSemCache.size() > topK;
+        Map<UUID, CompatibilidadeAIService.ResultadoCompatibilidade> preScores = preSelecionar
+                ? candidatosSemCache.stream()
+                        .collect(Collectors.toMap(id -> id, id -> compatibilidadeBasicaService.calcular(id, vaga)))
+                : Map.of();
+        List<UUID> candidatosParaIa = preSelecionar
+                ? candidatosSemCache.stream()
+                        .sorted(Comparator.comparingInt((UUID id) -> preScores.get(id).score()).reversed())
+                        .limit(topK)
+                        .collect(Collectors.toList())
+                : candidatosSemCache;
+
+        if (preSelecionar) {
+            log.info("Pré-seleção local para vaga {}: {} de {} candidatos enviados para análise com IA",
+                    vagaId, candidatosParaIa.size(), candidatosSemCache.size());
+        }
+
+        int tamanhoLote = Math.max(1, properties.getTamanhoLote());
+        List<List<UUID>> lotes = new ArrayList<>();
+        for (int i = 0; i < candidatosParaIa.size(); i += tamanhoLote) {
+            lotes.add(candidatosParaIa.subList(i, Math.min(i + tamanhoLote, candidatosParaIa.size())));
+        }
+
+        Set<UUID> selecionados = new HashSet<>(candidatosParaIa);
+        List<UUID> candidatosLocais = candidatosSemCache.stream()
+                .filter(id -> !selecionados.contains(id))
+                .collect(Collectors.toList());
+
+        List<CompatibilidadeCache> resultadosLocais = candidatosLocais.stream()
+                .map(id -> montar(id, vaga, preScores.get(id), existentes.get(id), hashesPerfil.get(id), hashVaga))
+                .collect(Collectors.toList());
+
+        List<UUID> falhas = Stream.concat(
+                        emParalelo(lotes, lote -> calcularLote(lote, vaga, existentes, hashesPerfil, hashVaga))
+                                .flatMap(List::stream),
+                        gravar(resultadosLocais).stream().map(CompatibilidadeCache::getCandidatoUsuarioId))
+                .toList();
+        falhas.forEach(candidatoId -> reenfileirarPar(candidatoId, vaga));
 
         long duracao = System.currentTimeMillis() - inicio;
-        long calculados = resultados.getOrDefault("sucesso", 0L);
-        long duplicatas = resultados.getOrDefault("duplicata", 0L);
-        long erros = resultados.getOrDefault("erro", 0L);
+        long erros = falhas.size();
+        long calculados = candidatosSemCache.size() - erros;
 
-        log.info("Cálculo PARALELO concluído para vaga {}. Calculados: {}, Duplicatas (race condition): {}, Erros: {}, Tempo: {}ms ({}s)", 
-                vagaId, calculados, duplicatas, erros, duracao, (duracao/1000.0));
+        log.info("Cálculo PARALELO concluído para vaga {}. Lotes: {} (tamanho {}), Score local: {}, Calculados: {}, Erros: {}, Tempo: {}ms ({}s)", 
+                vagaId, lotes.size(), tamanhoLote, candidatosLocais.size(), calculados, erros, duracao, (duracao/1000.0));
 
         return CompletableFuture.completedFuture(null);
     }
 
-    @Async
-    @Transactional
+    private List<UUID> calcularLote(List<UUID> candidatosIds, Vaga vaga, Map<UUID, CompatibilidadeCache> existentes,
+                                    Map<UUID, String> hashesPerfil, String hashVaga) {
+        Map<UUID, CompatibilidadeAIService.ResultadoCompatibilidade> resultadosLote;
+        try {
+            resultadosLote = calcularResultadosLote(candidatosIds, vaga);
+        } catch (CotaIaExcedidaException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Erro ao calcular lote de {} candidatos para vaga {}: {}",
+                     candidatosIds.size(), vaga.getId(), e.getMessage(), e);
+            return candidatosIds;
+        }
+
+        List<CompatibilidadeCache> calculados = new ArrayList<>(candidatosIds.size());
+        List<UUID> falhas = new ArrayList<>();
+        for (UUID candidatoId : candidatosIds) {
+            CompatibilidadeAIService.ResultadoCompatibilidade resultado = resultadosLote.get(candidatoId);
+            if (resultado == null || resultado.provisorio()) {
+                falhas.add(candidatoId);
+            } else {
+                calculados.add(montar(candidatoId, vaga, resultado,
+                        existentes.get(candidatoId), hashesPerfil.get(candidatoId), hashVaga));
+            }
+        }
+        gravar(calculados).forEach(cache -> falhas.add(cache.getCandidatoUsuarioId()));
+        return falhas;
+    }
+
+    private <T, R> Stream<R> emParalelo(List<T> itens, Function<T, R> tarefa) {
+        FaixaExecucao faixa = FaixaExecucao.atual();
+        List<CompletableFuture<R>> futuros = itens.stream()
+                .map(item -> CompletableFuture.supplyAsync(() -> faixa.executar(() -> tarefa.apply(item)), iaTaskExecutor))
+                .toList();
+        return futuros.stream().map(futuro -> {
+            try {
+                return futuro.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException causa) {
+                    throw causa;
+                }
+                throw e;
+            }
+        });
+    }
+
+    private List<CompatibilidadeCache> gravar(List<CompatibilidadeCache> caches) {
+        List<CompatibilidadeCache> falhas = new ArrayList<>();
+        for (int i = 0; i < caches.size(); i += TAMANHO_LOTE_GRAVACAO) {
+            List<CompatibilidadeCache> bloco = caches.subList(i, Math.min(i + TAMANHO_LOTE_GRAVACAO, caches.size()));
+            try {
+                cacheRepository.upsertAll(bloco);
+            } catch (Exception e) {
+                log.error("Erro ao gravar lote de {} compatibilidades: {}", bloco.size(), e.getMessage(), e);
+                falhas.addAll(bloco);
+            }
+        }
+        return falhas;
+    }
+
+    private void reenfileirarPar(UUID candidatoUsuarioId, Vaga vaga) {
+        LocalDateTime disponivelEm = LocalDateTime.now().plusSeconds(Math.max(1, properties.getJobBackoffSeconds()));
+        jobRepository.enfileirar(CompatibilidadeJob.paraPar(
+                candidatoUsuarioId, vaga.getId(), vaga.getOrganizacaoId(), PRIORIDADE_FALHA_PAR, disponivelEm));
+    }
+
+    private CompatibilidadeCache montar(UUID candidatoId, Vaga vaga, CompatibilidadeAIService.ResultadoCompatibilidade resultado,
+                                        CompatibilidadeCache existente, String hashPerfil, String hashVaga) {
+        BigDecimal percentual = BigDecimal.valueOf(resultado.score());
+        if (existente != null) {
+            return existente.recalcular(percentual, resultado.justificativa(), resultado.origem(), hashPerfil, hashVaga);
+        }
+        return CompatibilidadeCache.novo(candidatoId, vaga.getId(), percentual,
+                resultado.justificativa(), resultado.origem(), hashPerfil, hashVaga);
+    }
+
+    private boolean expirado(CompatibilidadeCache cache, long segundos) {
+        return segundos > 0 && cache.calculadoAntesDe(LocalDateTime.now().minusSeconds(segundos));
+    }
+
+    private void agendarRefresh(UUID candidatoUsuarioId, UUID vagaId) {
+        ChavePar chave = new ChavePar(candidatoUsuarioId, vagaId);
+        long agora = System.nanoTime();
+        Long ultimo = refreshesRecentes.obter(chave);
+        if (ultimo != null && agora - ultimo < INTERVALO_REFRESH_NANOS) {
+            return;
+        }
+        refreshesRecentes.armazenar(chave, agora);
+        try {
+            jobRepository.enfileirarSeAusente(
+                    CompatibilidadeJob.paraPar(candidatoUsuarioId, vagaId, null, PRIORIDADE_REFRESH));
+        } catch (RuntimeException e) {
+            refreshesRecentes.remover(chave);
+            log.warn("Não foi possível agendar atualização da compatibilidade do candidato {} para vaga {}: {}",
+                    candidatoUsuarioId, vagaId, e.getMessage());
+        }
+    }
+
+    
+    public int totalCalculosEmAndamento() {
+        return calculosEmAndamento.emAndamento();
+    }
+
+    private boolean desatualizado(CompatibilidadeCache existente, String hashPerfil, String hashVaga) {
+        return existente == null || !existente.correspondeA(hashPerfil, hashVaga);
+    }
+
+    private CompatibilidadeAIService.ResultadoCompatibilidade calcularResultado(UUID candidatoUsuarioId, Vaga vaga) {
+        if (!properties.isUsarIa()) {
+            return compatibilidadeBasicaService.calcular(candidatoUsuarioId, vaga);
+        }
+        return aiService.calcularCompatibilidade(candidatoUsuarioId, vaga);
+    }
+
+    private Map<UUID, CompatibilidadeAIService.ResultadoCompatibilidade> calcularResultadosLote(
+            List<UUID> candidatosIds, Vaga vaga) {
+        if (!properties.isUsarIa()) {
+            return candidatosIds.stream()
+                    .collect(Collectors.toMap(id -> id, id -> compatibilidadeBasicaService.calcular(id, vaga)));
+        }
+        return aiService.calcularCompatibilidadeEmLote(candidatosIds, vaga);
+    }
+
     public CompletableFuture<Void> calcularParaTodasVagas(UUID candidatoUsuarioId) {
+        return calcularParaTodasVagas(candidatoUsuarioId, () -> false);
+    }
+
+    
+    public CompletableFuture<Void> calcularParaTodasVagas(UUID candidatoUsuarioId, BooleanSupplier cancelado) {
         log.info("Iniciando cálculo PARALELO de compatibilidade para candidato {}", candidatoUsuarioId);
         
 
         List<Vaga> vagas = vagaRepository.listPublicas();
         log.info("Encontradas {} vagas abertas para calcular compatibilidade", vagas.size());
 
+        String hashPerfil = perfilCandidatoSnapshotService.obterHashPerfil(candidatoUsuarioId);
+        Map<UUID, CompatibilidadeCache> existentes = cacheRepository
+                .findByCandidatoAndVagas(candidatoUsuarioId, vagas.stream().map(Vaga::getId).toList()).stream()
+                .collect(Collectors.toMap(CompatibilidadeCache::getVagaId, cache -> cache, (a, b) -> a));
+        Map<UUID, String> hashesVaga = vagas.stream()
+                .collect(Collectors.toMap(Vaga::getId, fingerprintService::hashVaga, (a, b) -> a));
+
         List<Vaga> vagasSemCache = vagas.stream()
-                .filter(vaga -> !cacheRepository.existsByCandidatoAndVaga(candidatoUsuarioId, vaga.getId()))
+                .filter(vaga -> desatualizado(existentes.get(vaga.getId()), hashPerfil, hashesVaga.get(vaga.getId())))
                 .collect(Collectors.toList());
         
-        log.info("Calculando compatibilidade para {} vagas (outras já têm cache)", vagasSemCache.size());
+        log.info("Calculando compatibilidade para {} vagas (outras já têm cache atualizado)", vagasSemCache.size());
 
         long inicio = System.currentTimeMillis();
         
-        Map<String, Long> resultados = vagasSemCache.parallelStream()
-                .map(vaga -> {
+        AtomicInteger ignoradas = new AtomicInteger();
+        Queue<Vaga> falhas = new ConcurrentLinkedQueue<>();
+        AtomicReference<CotaIaExcedidaException> cotaExcedida = new AtomicReference<>();
+        List<CompatibilidadeCache> resultadosCalculados = emParalelo(vagasSemCache, vaga -> {
+                    if (cancelado.getAsBoolean() || cotaExcedida.get() != null) {
+                        ignoradas.incrementAndGet();
+                        return null;
+                    }
                     try {
-                        calcularEArmazenar(candidatoUsuarioId, vaga.getId());
-                        return "sucesso";
-                    } catch (Exception e) {
-
-                        if (e.getMessage() != null && e.getMessage().contains("uk_cache_candidato_vaga")) {
-                            return "duplicata";
+                        CompatibilidadeAIService.ResultadoCompatibilidade resultado = calcularResultado(candidatoUsuarioId, vaga);
+                        if (resultado.provisorio()) {
+                            falhas.add(vaga);
+                            return null;
                         }
-                        return "erro";
+                        return montar(candidatoUsuarioId, vaga, resultado,
+                                existentes.get(vaga.getId()), hashPerfil, hashesVaga.get(vaga.getId()));
+                    } catch (CotaIaExcedidaException e) {
+                        cotaExcedida.compareAndSet(null, e);
+                        ignoradas.incrementAndGet();
+                        return null;
+                    } catch (Exception e) {
+                        log.error("Erro ao calcular compatibilidade do candidato {} para vaga {}: {}",
+                                candidatoUsuarioId, vaga.getId(), e.getMessage());
+                        falhas.add(vaga);
+                        return null;
                     }
                 })
-                .collect(Collectors.groupingBy(r -> r, Collectors.counting()));
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        Set<UUID> naoGravadas = gravar(resultadosCalculados).stream()
+                .map(CompatibilidadeCache::getVagaId)
+                .collect(Collectors.toSet());
+        vagasSemCache.stream().filter(vaga -> naoGravadas.contains(vaga.getId())).forEach(falhas::add);
+        falhas.forEach(vaga -> reenfileirarPar(candidatoUsuarioId, vaga));
 
         long duracao = System.currentTimeMillis() - inicio;
-        long calculados = resultados.getOrDefault("sucesso", 0L);
-        long duplicatas = resultados.getOrDefault("duplicata", 0L);
-        long erros = resultados.getOrDefault("erro", 0L);
+        long erros = falhas.size();
+        long calculados = resultadosCalculados.size() - naoGravadas.size();
 
-        log.info("Cálculo PARALELO concluído para candidato {}. Calculados: {}, Duplicatas (race condition): {}, Erros: {}, Tempo: {}ms ({}s)", 
-                candidatoUsuarioId, calculados, duplicatas, erros, duracao, (duracao/1000.0));
+        log.info("Cálculo PARALELO concluído para candidato {}. Calculados: {}, Erros: {}, Cancelados: {}, Tempo: {}ms ({}s)", 
+                candidatoUsuarioId, calculados, erros, ignoradas.get(), duracao, (duracao/1000.0));
+
+        if (cotaExcedida.get() != null) {
+            throw cotaExcedida.get();
+        }
 
         return CompletableFuture.completedFuture(null);
     }
 
-    @Transactional
-    public void invalidarCacheVaga(UUID vagaId) {
-        log.info("Invalidando cache de compatibilidade para vaga {}", vagaId);
-        cacheRepository.deleteByVaga(vagaId);
-    }
+    private record ChavePar(UUID candidatoUsuarioId, UUID vagaId) {}
 
-    @Async
-    @Transactional
-    public CompletableFuture<Void> recalcularVaga(UUID vagaId) {
-        invalidarCacheVaga(vagaId);
-        return calcularParaTodosCandidatos(vagaId);
-    }
+    private record ChaveCalculo(UUID candidatoUsuarioId, UUID vagaId, FaixaExecucao faixa) {}
 
-    @Transactional
-    public void invalidarCacheCandidatoSync(UUID candidatoUsuarioId) {
-        log.info("Invalidando cache SYNC para candidato {}", candidatoUsuarioId);
-        cacheRepository.deleteByCandidato(candidatoUsuarioId);
-    }
+    private record EntradaCalculo(Vaga vaga, CompatibilidadeCache existente, String hashPerfil, String hashVaga) {}
 }
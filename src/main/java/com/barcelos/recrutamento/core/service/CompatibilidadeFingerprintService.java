@@ -0,0 +1,79 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.core.model.Competencia;
+import com.barcelos.recrutamento.core.model.ExperienciaProfissional;
+import com.barcelos.recrutamento.core.model.HistoricoAcademico;
+import com.barcelos.recrutamento.core.model.Vaga;
+import com.barcelos.recrutamento.core.support.NormalizadorTexto;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+public class CompatibilidadeFingerprintService {
+
+    private static final char SEPARADOR_CAMPO = '\u001F';
+    private static final char SEPARADOR_ITEM = '\u001E';
+
+    
+    public String hashPerfil(CompatibilidadeBasicaService.DadosCandidato dados) {
+        return hashPerfil(dados.competencias(), dados.experiencias(), dados.historicos());
+    }
+
+    
+    public String hashPerfil(List<Competencia> competenciasPerfil, List<ExperienciaProfissional> experienciasPerfil,
+                             List<HistoricoAcademico> historicosPerfil) {
+        List<String> competencias = new ArrayList<>();
+        competenciasPerfil.forEach(c -> competencias.add(campos(c.getTitulo(), c.getDescricao(), c.getNivel())));
+
+        List<String> experiencias = new ArrayList<>();
+        experienciasPerfil.forEach(e -> experiencias.add(campos(
+                e.getCargo(), e.getEmpresa(), e.getDescricao(), e.getDataInicio(), e.getDataFim())));
+
+        List<String> historicos = new ArrayList<>();
+        historicosPerfil.forEach(h -> historicos.add(campos(h.getTitulo(), h.getInstituicao())));
+
+        return sha256(String.join(String.valueOf(SEPARADOR_ITEM),
+                "C", itens(competencias), "E", itens(experiencias), "H", itens(historicos)));
+    }
+
+    
+    public String hashVaga(Vaga vaga) {
+        return sha256(campos(
+                vaga.getTitulo(),
+                vaga.getDescricao(),
+                vaga.getRequisitos(),
+                vaga.getTipoContrato(),
+                vaga.getModalidade(),
+                vaga.getNivelExperienciaId()
+        ));
+    }
+
+    private String itens(List<String> itens) {
+        itens.sort(null);
+        return String.join(String.valueOf(SEPARADOR_ITEM), itens) + SEPARADOR_ITEM + itens.size();
+    }
+
+    private String campos(Object... valores) {
+        StringBuilder canonico = new StringBuilder();
+        for (Object valor : valores) {
+            canonico.append(NormalizadorTexto.normalizar(Objects.toString(valor, ""))).append(SEPARADOR_CAMPO);
+        }
+        return canonico.toString();
+    }
+
+    private String sha256(String conteudo) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(conteudo.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.config.CompatibilidadeProperties;
+import com.barcelos.recrutamento.core.exception.CotaIaExcedidaException;
+import com.barcelos.recrutamento.core.model.CompatibilidadeCache;
+import com.barcelos.recrutamento.core.model.CompatibilidadeJob;
+import com.barcelos.recrutamento.core.model.Vaga;
+import com.barcelos.recrutamento.core.port.CandidaturaRepository;
+import com.barcelos.recrutamento.core.port.CompatibilidadeJobRepository;
+import com.barcelos.recrutamento.core.port.CompatibilidadeJobRepository.ResumoFila;
+import com.barcelos.recrutamento.core.support.FaixaExecucao;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class CompatibilidadeJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(CompatibilidadeJobService.class);
+    private static final int PRIORIDADE_CANDIDATURA = 30;
+    private static final int PRIORIDADE_CANDIDATO = 20;
+    private static final int PRIORIDADE_VAGA = 10;
+    private static final int TAMANHO_MAXIMO_ERRO = 2000;
+
+    private final CompatibilidadeJobRepository jobRepository;
+    private final CompatibilidadeCacheService compatibilidadeCacheService;
+    private final CandidaturaRepository candidaturaRepository;
+    private final CompatibilidadeProperties properties;
+    private final Executor compatibilidadeTaskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Map<UUID, AtomicBoolean> execucoesCandidato = new ConcurrentHashMap<>();
+    private final Set<UUID> emExecucao = ConcurrentHashMap.newKeySet();
+
+    public CompatibilidadeJobService(
+            CompatibilidadeJobRepository jobRepository,
+            CompatibilidadeCacheService compatibilidadeCacheService,
+            CandidaturaRepository candidaturaRepository,
+            CompatibilidadeProperties properties,
+            @Qualifier("compatibilidadeTaskExecutor") Executor compatibilidadeTaskExecutor,
+            MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.compatibilidadeCacheService = compatibilidadeCacheService;
+        this.candidaturaRepository = candidaturaRepository;
+        this.properties = properties;
+        this.compatibilidadeTaskExecutor = compatibilidadeTaskExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    
+    public void enfileirarVaga(Vaga vaga) {
+        registrarEnfileiramento("vaga",
+                jobRepository.enfileirar(CompatibilidadeJob.paraVaga(vaga.getId(), vaga.getOrganizacaoId(), PRIORIDADE_VAGA)));
+        log.debug("Job de compatibilidade enfileirado para vaga {} da organização {}", vaga.getId(), vaga.getOrganizacaoId());
+    }
+
+    
+    public void enfileirarCandidato(UUID candidatoUsuarioId) {
+        LocalDateTime disponivelEm = LocalDateTime.now().plusSeconds(Math.max(0, properties.getDebouncePerfilSeconds()));
+        boolean novo = jobRepository.enfileirar(
+                CompatibilidadeJob.paraCandidato(candidatoUsuarioId, PRIORIDADE_CANDIDATO, disponivelEm));
+        registrarEnfileiramento("candidato", novo);
+
+        AtomicBoolean execucaoAtual = execucoesCandidato.get(candidatoUsuarioId);
+        if (execucaoAtual != null && execucaoAtual.compareAndSet(false, true)) {
+            meterRegistry.counter("compatibilidade.job.cancelados", "tipo", "candidato").increment();
+            log.info("Recálculo em andamento do candidato {} substituído por atualização mais recente do perfil",
+                    candidatoUsuarioId);
+        }
+        log.debug("Job de compatibilidade enfileirado para candidato {} a partir de {}", candidatoUsuarioId, disponivelEm);
+    }
+
+    
+    public void enfileirarCandidatura(UUID candidatoUsuarioId, Vaga vaga) {
+        registrarEnfileiramento("candidatura", jobRepository.enfileirar(CompatibilidadeJob.paraPar(
+                candidatoUsuarioId, vaga.getId(), vaga.getOrganizacaoId(), PRIORIDADE_CANDIDATURA)));
+        log.debug("Job de compatibilidade enfileirado para candidatura do candidato {} na vaga {}",
+                candidatoUsuarioId, vaga.getId());
+    }
+
+    
+    @Scheduled(fixedDelayString = "${app.compatibilidade.job-intervalo-millis:5000}")
+    public void processarFila() {
+        int livres = Math.max(1, properties.getJobLote()) - emExecucao.size();
+        if (livres <= 0) {
+            return;
+        }
+        LocalDateTime processandoDesde = LocalDateTime.now().minusSeconds(properties.getJobExpiracaoSeconds());
+        List<CompatibilidadeJob> jobs = jobRepository.reivindicar(
+                livres, processandoDesde, properties.getPesosOrganizacao(), properties.getPesoFilaCandidatos());
+        for (CompatibilidadeJob job : jobs) {
+            emExecucao.add(job.getId());
+            compatibilidadeTaskExecutor.execute(() -> {
+                try {
+                    FaixaExecucao.SEGUNDO_PLANO.rodar(() -> {
+                        registrarEspera(job);
+                        processar(job);
+                    });
+                } finally {
+                    emExecucao.remove(job.getId());
+                }
+            });
+        }
+    }
+
+    
+    @Scheduled(fixedDelayString = "${app.compatibilidade.job-renovacao-millis:60000}")
+    public void renovarJobsEmExecucao() {
+        if (!emExecucao.isEmpty()) {
+            jobRepository.renovar(Set.copyOf(emExecucao));
+        }
+    }
+
+    
+    public ResumoFila progresso(UUID organizacaoId) {
+        return jobRepository.resumirFila(organizacaoId);
+    }
+
+    
+    public int reprocessarFalhas(UUID organizacaoId) {
+        int reenfileirados = jobRepository.reenfileirarFalhas(organizacaoId);
+        log.info("{} jobs de compatibilidade com falha reenfileirados na organização {}", reenfileirados, organizacaoId);
+        return reenfileirados;
+    }
+
+    private void processar(CompatibilidadeJob job) {
+        if (job.getTentativas() > properties.getJobMaxTentativas()) {
+            log.error("Job de compatibilidade {} excedeu {} tentativas", job.getId(), properties.getJobMaxTentativas());
+            jobRepository.marcarFalha(job.getId(), "Tentativas esgotadas");
+            return;
+        }
+
+        try {
+            if (job.isTodosCandidatosDaVaga()) {
+                compatibilidadeCacheService.calcularParaTodosCandidatos(job.getVagaId());
+            } else if (job.isTodasVagasDoCandidato()) {
+                calcularParaTodasVagas(job.getCandidatoUsuarioId());
+            } else {
+                CompatibilidadeCache cache = compatibilidadeCacheService.calcularEArmazenar(
+                        job.getCandidatoUsuarioId(), job.getVagaId());
+                candidaturaRepository.atualizarCompatibilidade(
+                        job.getVagaId(), job.getCandidatoUsuarioId(), cache.getPercentualCompatibilidade());
+            }
+            jobRepository.concluir(job.getId());
+        } catch (CotaIaExcedidaException e) {
+            LocalDateTime proximaExecucao = LocalDateTime.now().plusSeconds(Math.max(1, properties.getJobBackoffSeconds()));
+            log.info("Job de compatibilidade {} adiado até {} por limite de uso da IA: {}",
+                    job.getId(), proximaExecucao, e.getMessage());
+            jobRepository.adiar(job.getId(), proximaExecucao, resumirErro(e));
+        } catch (Exception e) {
+            String erro = resumirErro(e);
+            if (job.getTentativas() >= properties.getJobMaxTentativas()) {
+                log.error("Job de compatibilidade {} falhou definitivamente após {} tentativas: {}",
+                        job.getId(), job.getTentativas(), erro, e);
+                jobRepository.marcarFalha(job.getId(), erro);
+                return;
+            }
+            LocalDateTime proximaExecucao = LocalDateTime.now().plusSeconds(backoffSeconds(job.getTentativas()));
+            log.warn("Job de compatibilidade {} falhou (tentativa {}), nova tentativa em {}: {}",
+                    job.getId(), job.getTentativas(), proximaExecucao, erro);
+            jobRepository.reagendar(job.getId(), proximaExecucao, erro);
+        }
+    }
+
+    private void calcularParaTodasVagas(UUID candidatoUsuarioId) {
+        AtomicBoolean cancelado = new AtomicBoolean();
+        execucoesCandidato.put(candidatoUsuarioId, cancelado);
+        try {
+            compatibilidadeCacheService.calcularParaTodasVagas(candidatoUsuarioId, cancelado::get);
+        } finally {
+            execucoesCandidato.remove(candidatoUsuarioId, cancelado);
+        }
+    }
+
+    private void registrarEnfileiramento(String tipo, boolean novo) {
+        if (!novo) {
+            meterRegistry.counter("compatibilidade.job.coalescidos", "tipo", tipo).increment();
+        }
+    }
+
+    private void registrarEspera(CompatibilidadeJob job) {
+        if (job.getDisponivelDesde() == null) {
+            return;
+        }
+        Duration espera = Duration.between(job.getDisponivelDesde(), LocalDateTime.now());
+        Timer.builder("compatibilidade.job.espera")
+                .tag("faixa", "segundo_plano")
+                .tag("fila", job.getOrganizacaoId() != null ? "organizacao" : "candidatos")
+                .register(meterRegistry)
+                .record(espera.isNegative() ? Duration.ZERO : espera);
+    }
+
+    private long backoffSeconds(int tentativas) {
+        long base = Math.max(1, properties.getJobBackoffSeconds());
+        return base << Math.min(Math.max(0, tentativas - 1), 10);
+    }
+
+    private String resumirErro(Exception e) {
+        String mensagem = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return mensagem.length() > TAMANHO_MAXIMO_ERRO ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO) : mensagem;
+    }
+}
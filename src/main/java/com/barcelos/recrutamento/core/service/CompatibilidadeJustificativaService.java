@@ -0,0 +1,73 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.core.model.CompatibilidadeCache;
+import com.barcelos.recrutamento.core.model.Vaga;
+import com.barcelos.recrutamento.core.port.CompatibilidadeCacheRepository;
+import com.barcelos.recrutamento.core.support.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+public class CompatibilidadeJustificativaService {
+
+    private static final Logger log = LoggerFactory.getLogger(CompatibilidadeJustificativaService.class);
+    static final String JUSTIFICATIVA_INDISPONIVEL = "Justificativa indisponível no momento. Tente novamente em instantes.";
+
+    private final CompatibilidadeCacheRepository cacheRepository;
+    private final CompatibilidadeAIService aiService;
+    private final SingleFlight<ChaveJustificativa, CompatibilidadeCache> geracoesEmAndamento = new SingleFlight<>();
+
+    public CompatibilidadeJustificativaService(
+            CompatibilidadeCacheRepository cacheRepository,
+            CompatibilidadeAIService aiService
+    ) {
+        this.cacheRepository = cacheRepository;
+        this.aiService = aiService;
+    }
+
+    
+    public CompatibilidadeCache completar(CompatibilidadeCache cache, Vaga vaga) {
+        if (!cache.semJustificativa()) {
+            return cache;
+        }
+        return geracoesEmAndamento.executar(
+                new ChaveJustificativa(cache.getCandidatoUsuarioId(), cache.getVagaId()),
+                () -> gerar(cache, vaga));
+    }
+
+    
+    public int totalGeracoesEmAndamento() {
+        return geracoesEmAndamento.emAndamento();
+    }
+
+    private CompatibilidadeCache gerar(CompatibilidadeCache cache, Vaga vaga) {
+        CompatibilidadeCache atual = cacheRepository
+                .findByCandidatoAndVaga(cache.getCandidatoUsuarioId(), cache.getVagaId())
+                .orElse(cache);
+        if (atual.getPercentualCompatibilidade().compareTo(cache.getPercentualCompatibilidade()) == 0
+                && !atual.semJustificativa()) {
+            return atual;
+        }
+
+        String justificativa;
+        try {
+            justificativa = aiService.gerarJustificativa(cache.getCandidatoUsuarioId(), vaga,
+                    cache.getPercentualCompatibilidade().intValue());
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível gerar a justificativa do candidato {} para a vaga {}: {}",
+                    cache.getCandidatoUsuarioId(), cache.getVagaId(), e.getMessage());
+            return cache.comJustificativa(JUSTIFICATIVA_INDISPONIVEL);
+        }
+
+        if (!cacheRepository.registrarJustificativa(cache, justificativa)) {
+            log.info("Justificativa descartada: compatibilidade do candidato {} para a vaga {} foi recalculada durante a geração da justificativa",
+                    cache.getCandidatoUsuarioId(), cache.getVagaId());
+        }
+        return cache.comJustificativa(justificativa);
+    }
+
+    private record ChaveJustificativa(UUID candidatoUsuarioId, UUID vagaId) {}
+}
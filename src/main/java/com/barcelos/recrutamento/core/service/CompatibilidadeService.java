@@ -2,10 +2,10 @@ package com.barcelos.recrutamento.core.service;
 
 import com.barcelos.recrutamento.api.dto.CompatibilidadeResponse;
 import com.barcelos.recrutamento.core.exception.ResourceNotFoundException;
+import com.barcelos.recrutamento.core.model.OrigemCompatibilidade;
 import com.barcelos.recrutamento.core.port.UsuarioRepository;
 import com.barcelos.recrutamento.core.port.VagaRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -13,37 +13,39 @@ import java.util.UUID;
 public class CompatibilidadeService {
 
     private final CompatibilidadeCacheService cacheService;
+    private final CompatibilidadeJustificativaService justificativaService;
     private final VagaRepository vagaRepository;
     private final UsuarioRepository usuarioRepository;
 
     public CompatibilidadeService(
             CompatibilidadeCacheService cacheService,
+            CompatibilidadeJustificativaService justificativaService,
             VagaRepository vagaRepository,
             UsuarioRepository usuarioRepository
     ) {
         this.cacheService = cacheService;
+        this.justificativaService = justificativaService;
         this.vagaRepository = vagaRepository;
         this.usuarioRepository = usuarioRepository;
     }
 
     
-    @Transactional(readOnly = true)
     public CompatibilidadeResponse calcularCompatibilidade(UUID candidatoUsuarioId, UUID vagaId) {
 
         usuarioRepository.findById(candidatoUsuarioId)
                 .orElseThrow(() -> new ResourceNotFoundException("Candidato", candidatoUsuarioId));
 
-        vagaRepository.findById(vagaId)
+        var vaga = vagaRepository.findById(vagaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Vaga", vagaId));
 
-        var cache = cacheService.obterOuCalcular(candidatoUsuarioId, vagaId);
+        var cache = justificativaService.completar(cacheService.obterOuCalcular(candidatoUsuarioId, vagaId), vaga);
 
         return new CompatibilidadeResponse(
                 candidatoUsuarioId,
                 vagaId,
                 cache.getPercentualCompatibilidade().intValue(),
                 cache.getJustificativa(),
-                true
+                cache.getOrigem() == OrigemCompatibilidade.IA
         );
     }
 }
@@ -4,6 +4,7 @@ import com.barcelos.recrutamento.core.exception.BusinessRuleViolationException;
 import com.barcelos.recrutamento.core.exception.ResourceNotFoundException;
 import com.barcelos.recrutamento.core.model.ConviteProcessoSeletivo;
 import com.barcelos.recrutamento.core.model.StatusConviteProcesso;
+import com.barcelos.recrutamento.core.model.Vaga;
 import com.barcelos.recrutamento.core.port.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,7 +30,9 @@ public class ConviteProcessoSeletivoService {
     private final ProcessoSeletivoRepository processoSeletivoRepository;
     private final EmailService emailService;
     private final EmailTemplateService emailTemplateService;
-    private final CompatibilidadeService compatibilidadeService;
+    private final CompatibilidadeCacheService compatibilidadeCacheService;
+    private final CompatibilidadeBasicaService compatibilidadeBasicaService;
+    private final CompatibilidadeJobService compatibilidadeJobService;
     private final CurriculoService curriculoService;
 
     public ConviteProcessoSeletivoService(
@@ -40,7 +44,9 @@ public class ConviteProcessoSeletivoService {
             ProcessoSeletivoRepository processoSeletivoRepository,
             EmailService emailService,
             EmailTemplateService emailTemplateService,
-            CompatibilidadeService compatibilidadeService,
+            CompatibilidadeCacheService compatibilidadeCacheService,
+            CompatibilidadeBasicaService compatibilidadeBasicaService,
+            CompatibilidadeJobService compatibilidadeJobService,
             CurriculoService curriculoService
     ) {
         this.conviteRepository = conviteRepository;
@@ -51,7 +57,9 @@ public class ConviteProcessoSeletivoService {
         this.processoSeletivoRepository = processoSeletivoRepository;
         this.emailService = emailService;
         this.emailTemplateService = emailTemplateService;
-        this.compatibilidadeService = compatibilidadeService;
+        this.compatibilidadeCacheService = compatibilidadeCacheService;
+        this.compatibilidadeBasicaService = compatibilidadeBasicaService;
+        this.compatibilidadeJobService = compatibilidadeJobService;
         this.curriculoService = curriculoService;
     }
 
@@ -147,6 +155,9 @@ public class ConviteProcessoSeletivoService {
             throw new BusinessRuleViolationException("Você já possui uma candidatura para esta vaga");
         }
 
+        var vaga = vagaRepository.findById(convite.getVagaId())
+                .orElseThrow(() -> new ResourceNotFoundException("Vaga não encontrada"));
+
         var conviteAceito = convite.aceitar();
         var conviteSalvo = conviteRepository.save(conviteAceito);
 
@@ -156,19 +167,18 @@ public class ConviteProcessoSeletivoService {
                     candidatoUsuarioId,
                     null
             );
-            
 
-            var compatibilidadeResponse = compatibilidadeService.calcularCompatibilidade(
-                    candidatoUsuarioId, 
-                    convite.getVagaId()
-            );
-            candidatura = candidatura.comCompatibilidade(
-                    java.math.BigDecimal.valueOf(compatibilidadeResponse.percentualCompatibilidade())
-            );
-            
+            var compatibilidadeCache = compatibilidadeCacheService.obterDoCache(candidatoUsuarioId, convite.getVagaId());
+            if (compatibilidadeCache.isPresent()) {
+                candidatura = candidatura.comCompatibilidade(compatibilidadeCache.get().getPercentualCompatibilidade());
+            } else {
+                candidatura = candidatura.comCompatibilidadeProvisoria(calcularCompatibilidadeProvisoria(candidatoUsuarioId, vaga));
+                compatibilidadeJobService.enfileirarCandidatura(candidatoUsuarioId, vaga);
+            }
+
             var candidaturaSalva = candidaturaRepository.save(candidatura);
-            log.info("Candidatura {} criada automaticamente a partir do convite {} com compatibilidade {}%", 
-                    candidaturaSalva.getId(), conviteId, compatibilidadeResponse.percentualCompatibilidade());
+            log.info("Candidatura {} criada automaticamente a partir do convite {} com compatibilidade {}%",
+                    candidaturaSalva.getId(), conviteId, candidaturaSalva.getCompatibilidade());
 
             var etapas = etapaProcessoRepository.findByVagaId(convite.getVagaId());
             if (etapas.isEmpty()) {
@@ -218,6 +228,16 @@ public class ConviteProcessoSeletivoService {
         return conviteSalvo;
     }
 
+    private BigDecimal calcularCompatibilidadeProvisoria(UUID candidatoUsuarioId, Vaga vaga) {
+        try {
+            return BigDecimal.valueOf(compatibilidadeBasicaService.calcular(candidatoUsuarioId, vaga).score());
+        } catch (Exception e) {
+            log.warn("Não foi possível calcular compatibilidade provisória do candidato {} na vaga {}: {}",
+                    candidatoUsuarioId, vaga.getId(), e.getMessage());
+            return null;
+        }
+    }
+
     
     @Transactional
     public ConviteProcessoSeletivo recusarConvite(UUID conviteId, UUID candidatoUsuarioId) {
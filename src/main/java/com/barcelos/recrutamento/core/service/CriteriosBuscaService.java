@@ -0,0 +1,280 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.config.BuscaCriteriosProperties;
+import com.barcelos.recrutamento.core.port.AiGateway;
+import com.barcelos.recrutamento.core.port.CriteriosBuscaRepository;
+import com.barcelos.recrutamento.core.port.CriteriosBuscaRepository.ConsultaInterpretada;
+import com.barcelos.recrutamento.core.support.CacheWTinyLfu;
+import com.barcelos.recrutamento.core.support.NormalizadorTexto;
+import com.barcelos.recrutamento.core.support.SingleFlight;
+import com.barcelos.recrutamento.core.support.TaxonomiaHabilidades;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Service
+public class CriteriosBuscaService {
+
+    private static final Logger log = LoggerFactory.getLogger(CriteriosBuscaService.class);
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9+#.]+");
+
+    private static final List<String> CIDADES = List.of(
+            "sao paulo", "rio de janeiro", "belo horizonte", "porto alegre", "curitiba", "florianopolis",
+            "salvador", "recife", "fortaleza", "brasilia", "goiania", "manaus", "belem", "campinas", "vitoria",
+            "natal", "joao pessoa", "maceio", "aracaju", "teresina", "sao luis", "cuiaba", "campo grande",
+            "porto velho", "rio branco", "macapa", "boa vista", "palmas", "santos", "sorocaba", "ribeirao preto",
+            "sao jose dos campos", "uberlandia", "joinville", "londrina", "blumenau", "niteroi", "osasco"
+    );
+
+    private static final Map<String, String> SENIORIDADES = Map.of(
+            "junior", "JUNIOR", "jr", "JUNIOR",
+            "pleno", "PLENO",
+            "senior", "SENIOR", "sr", "SENIOR"
+    );
+
+    private static final Set<String> TERMOS_CONHECIDOS = Set.of(
+            "java", "spring", "spring boot", "kotlin", "python", "django", "flask", "javascript", "typescript",
+            "react", "react native", "angular", "vue", "node", "node.js", "nodejs", "c#", ".net", "dotnet", "php",
+            "laravel", "ruby", "rails", "go", "golang", "rust", "scala", "c++", "swift", "flutter", "android", "ios",
+            "html", "css", "sql", "postgresql", "mysql", "oracle", "mongodb", "redis", "aws", "azure", "gcp",
+            "docker", "kubernetes", "devops", "linux", "git", "scrum", "agile", "excel", "power bi", "sap",
+            "figma", "ux", "ui", "qa", "dados", "data science", "machine learning", "rh", "recursos humanos",
+            "marketing", "vendas", "financeiro", "contabilidade", "logistica", "juridico", "atendimento",
+            "desenvolvedor", "desenvolvedora", "dev", "programador", "programadora", "engenheiro", "engenheira",
+            "analista", "designer", "arquiteto", "arquiteta", "cientista", "tester", "gerente", "coordenador",
+            "coordenadora", "consultor", "consultora", "assistente", "auxiliar", "tecnico", "suporte",
+            "fullstack", "full stack", "frontend", "front end", "backend", "back end", "mobile", "recrutador",
+            "recrutadora"
+    );
+
+    private static final List<String> EXPRESSOES = Stream.concat(
+                    CIDADES.stream(),
+                    TERMOS_CONHECIDOS.stream().filter(termo -> termo.contains(" ")))
+            .sorted(Comparator.comparingInt(String::length).reversed())
+            .toList();
+
+    private final AiGateway aiGateway;
+    private final CriteriosBuscaRepository criteriosBuscaRepository;
+    private final BuscaCriteriosProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final TaxonomiaHabilidades taxonomia;
+    private final CacheWTinyLfu<String, EntradaCriterios> cache;
+    private final SingleFlight<String, CriteriosBusca> extracoesEmAndamento = new SingleFlight<>();
+
+    public CriteriosBuscaService(
+            AiGateway aiGateway,
+            CriteriosBuscaRepository criteriosBuscaRepository,
+            BuscaCriteriosProperties properties,
+            MeterRegistry meterRegistry,
+            TaxonomiaHabilidades taxonomia
+    ) {
+        this.aiGateway = aiGateway;
+        this.criteriosBuscaRepository = criteriosBuscaRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.taxonomia = taxonomia;
+        this.cache = new CacheWTinyLfu<>(Math.max(1, properties.getCacheCapacidade()));
+        Gauge.builder("busca.criterios.cache.tamanho", cache, CacheWTinyLfu::tamanho)
+                .register(meterRegistry);
+    }
+
+    
+    public CriteriosBusca extrair(String consultaTexto) {
+        String chave = NormalizadorTexto.normalizar(consultaTexto);
+
+        CriteriosBusca emCache = obterDoCache(chave);
+        if (emCache != null) {
+            meterRegistry.counter("busca.criterios.cache.requisicoes", "resultado", "hit").increment();
+            return emCache;
+        }
+        meterRegistry.counter("busca.criterios.cache.requisicoes", "resultado", "miss").increment();
+
+        return extracoesEmAndamento.executar(chave, () -> extrairEArmazenar(chave, consultaTexto));
+    }
+
+    
+    @Async("eventosTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecerCache() {
+        LocalDateTime desde = LocalDateTime.now().minusSeconds(properties.getCacheTtlSeconds());
+        List<ConsultaInterpretada> recentes;
+        try {
+            recentes = criteriosBuscaRepository.listarRecentes(desde, properties.getAquecimentoLimite());
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível carregar consultas recentes de busca: {}", e.getMessage());
+            return;
+        }
+
+        for (ConsultaInterpretada consulta : recentes) {
+            armazenar(consulta.consultaNormalizada(),
+                    new CriteriosBusca(consulta.palavrasChave(), consulta.localizacao(), consulta.senioridade()),
+                    consulta.dataExtracao());
+        }
+        log.info("Cache de critérios de busca aquecido com {} consultas", recentes.size());
+    }
+
+    private CriteriosBusca extrairEArmazenar(String chave, String consultaTexto) {
+        if (properties.isRegrasHabilitadas()) {
+            Optional<CriteriosBusca> porRegras = interpretarPorRegras(chave);
+            if (porRegras.isPresent()) {
+                meterRegistry.counter("busca.criterios.extracoes", "origem", "regras").increment();
+                armazenar(chave, porRegras.get(), LocalDateTime.now());
+                return porRegras.get();
+            }
+        }
+
+        CriteriosBusca criterios;
+        try {
+            String response = aiGateway.gerar(construirPromptExtracao(consultaTexto));
+
+            criterios = parseCriterios(response);
+        } catch (Exception e) {
+            log.error("Erro ao extrair critérios com IA: {}", e.getMessage(), e);
+            meterRegistry.counter("busca.criterios.extracoes", "origem", "fallback").increment();
+
+            return new CriteriosBusca(List.of(consultaTexto), null, null);
+        }
+        meterRegistry.counter("busca.criterios.extracoes", "origem", "ia").increment();
+
+        LocalDateTime agora = LocalDateTime.now();
+        armazenar(chave, criterios, agora);
+        try {
+            criteriosBuscaRepository.registrar(new ConsultaInterpretada(
+                    chave, criterios.keywords(), criterios.localizacao(), criterios.senioridade(), agora));
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível registrar critérios da consulta '{}': {}", chave, e.getMessage());
+        }
+        return criterios;
+    }
+
+    private Optional<CriteriosBusca> interpretarPorRegras(String consultaNormalizada) {
+        String texto = " " + SEPARADORES.matcher(consultaNormalizada).replaceAll(" ").trim() + " ";
+        List<String> keywords = new ArrayList<>();
+        String localizacao = null;
+        String senioridade = null;
+
+        for (String expressao : EXPRESSOES) {
+            String delimitada = " " + expressao + " ";
+            if (!texto.contains(delimitada)) {
+                continue;
+            }
+            texto = texto.replace(delimitada, " ");
+            if (!CIDADES.contains(expressao)) {
+                keywords.add(expressao);
+            } else if (localizacao == null) {
+                localizacao = expressao;
+            }
+        }
+
+        for (String token : NormalizadorTexto.tokens(texto)) {
+            if (SENIORIDADES.containsKey(token)) {
+                senioridade = SENIORIDADES.get(token);
+            } else if (TERMOS_CONHECIDOS.contains(token) || taxonomia.extrair(token).length > 0) {
+                keywords.add(token);
+            } else {
+                return Optional.empty();
+            }
+        }
+
+        if (keywords.isEmpty() && localizacao == null && senioridade == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new CriteriosBusca(List.copyOf(keywords), localizacao, senioridade));
+    }
+
+    private CriteriosBusca obterDoCache(String chave) {
+        EntradaCriterios entrada = cache.obter(chave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expiraEm().isBefore(LocalDateTime.now())) {
+            cache.remover(chave);
+            return null;
+        }
+        return entrada.criterios();
+    }
+
+    private void armazenar(String chave, CriteriosBusca criterios, LocalDateTime dataExtracao) {
+        LocalDateTime expiraEm = dataExtracao.plusSeconds(properties.getCacheTtlSeconds());
+        if (expiraEm.isAfter(LocalDateTime.now())) {
+            cache.armazenar(chave, new EntradaCriterios(criterios, expiraEm));
+        }
+    }
+
+    private String construirPromptExtracao(String consultaTexto) {
+        StringBuilder prompt = new StringBuilder();
+
+        prompt.append("Você é um assistente especializado em análise de consultas de busca de candidatos.\n\n");
+        prompt.append("TAREFA: Analise a consulta abaixo e extraia os critérios de busca.\n\n");
+        prompt.append("CONSULTA: \"").append(consultaTexto).append("\"\n\n");
+        prompt.append("INSTRUÇÕES:\n");
+        prompt.append("1. Identifique palavras-chave sobre habilidades, tecnologias, cargos\n");
+        prompt.append("2. Identifique localização se mencionada (cidade, estado)\n");
+        prompt.append("3. Identifique senioridade se mencionada (JUNIOR, PLENO, SENIOR)\n\n");
+        prompt.append("FORMATO DE RESPOSTA:\n");
+        prompt.append("KEYWORDS: palavra1, palavra2, palavra3\n");
+        prompt.append("LOCALIZACAO: cidade ou NENHUMA\n");
+        prompt.append("SENIORIDADE: [JUNIOR|PLENO|SENIOR|NENHUMA]\n\n");
+        prompt.append("Responda APENAS no formato acima.\n");
+
+        return prompt.toString();
+    }
+
+    private CriteriosBusca parseCriterios(String response) {
+        List<String> keywords = new ArrayList<>();
+        String localizacao = null;
+        String senioridade = null;
+
+        String[] linhas = response.split("\n");
+        for (String linha : linhas) {
+            linha = linha.trim();
+
+            if (linha.startsWith("KEYWORDS:")) {
+                String keywordsStr = linha.substring("KEYWORDS:".length()).trim();
+                if (!keywordsStr.equalsIgnoreCase("NENHUMA") && !keywordsStr.isEmpty()) {
+                    String[] kws = keywordsStr.split(",");
+                    for (String kw : kws) {
+                        keywords.add(kw.trim().toLowerCase());
+                    }
+                }
+            } else if (linha.startsWith("LOCALIZACAO:")) {
+                String loc = linha.substring("LOCALIZACAO:".length()).trim();
+                if (!loc.equalsIgnoreCase("NENHUMA")) {
+                    localizacao = loc.toLowerCase();
+                }
+            } else if (linha.startsWith("SENIORIDADE:")) {
+                String sen = linha.substring("SENIORIDADE:".length()).trim();
+                if (!sen.equalsIgnoreCase("NENHUMA")) {
+                    senioridade = sen;
+                }
+            }
+        }
+
+        return new CriteriosBusca(keywords, localizacao, senioridade);
+    }
+
+    
+    public record CriteriosBusca(
+            List<String> keywords,
+            String localizacao,
+            String senioridade
+    ) {}
+
+    private record EntradaCriterios(CriteriosBusca criterios, LocalDateTime expiraEm) {}
+}
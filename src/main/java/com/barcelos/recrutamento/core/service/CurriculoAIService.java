@@ -1,12 +1,12 @@
 package com.barcelos.recrutamento.core.service;
 
+import com.barcelos.recrutamento.core.exception.IaIndisponivelException;
 import com.barcelos.recrutamento.core.model.ModeloCurriculoEnum;
 import com.barcelos.recrutamento.core.model.Vaga;
 import com.barcelos.recrutamento.core.model.VagaExterna;
-import com.barcelos.recrutamento.core.port.*;
+import com.barcelos.recrutamento.core.port.AiGateway;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -16,30 +16,15 @@ public class CurriculoAIService {
 
     private static final Logger log = LoggerFactory.getLogger(CurriculoAIService.class);
 
-    private final ChatClient chatClient;
-    private final PerfilCandidatoRepository perfilCandidatoRepository;
-    private final CompetenciaRepository competenciaRepository;
-    private final ExperienciaProfissionalRepository experienciaRepository;
-    private final HistoricoAcademicoRepository historicoAcademicoRepository;
-    private final PortfolioRepository portfolioRepository;
-    private final UsuarioRepository usuarioRepository;
+    private final AiGateway aiGateway;
+    private final PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
 
     public CurriculoAIService(
-            ChatClient chatClient,
-            PerfilCandidatoRepository perfilCandidatoRepository,
-            CompetenciaRepository competenciaRepository,
-            ExperienciaProfissionalRepository experienciaRepository,
-            HistoricoAcademicoRepository historicoAcademicoRepository,
-            PortfolioRepository portfolioRepository,
-            UsuarioRepository usuarioRepository
+            AiGateway aiGateway,
+            PerfilCandidatoSnapshotService perfilCandidatoSnapshotService
     ) {
-        this.chatClient = chatClient;
-        this.perfilCandidatoRepository = perfilCandidatoRepository;
-        this.competenciaRepository = competenciaRepository;
-        this.experienciaRepository = experienciaRepository;
-        this.historicoAcademicoRepository = historicoAcademicoRepository;
-        this.portfolioRepository = portfolioRepository;
-        this.usuarioRepository = usuarioRepository;
+        this.aiGateway = aiGateway;
+        this.perfilCandidatoSnapshotService = perfilCandidatoSnapshotService;
     }
 
     
@@ -56,10 +41,10 @@ public class CurriculoAIService {
 
         try {
 
-            return chatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .content();
+            return aiGateway.gerar(prompt);
+        } catch (IaIndisponivelException e) {
+            log.warn("IA indisponível ao gerar currículo: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Erro ao gerar currículo com IA: {}", e.getMessage(), e);
             throw new RuntimeException("Erro ao gerar currículo com IA: " + e.getMessage(), e);
@@ -78,10 +63,10 @@ public class CurriculoAIService {
 
         try {
 
-            return chatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .content();
+            return aiGateway.gerar(prompt);
+        } catch (IaIndisponivelException e) {
+            log.warn("IA indisponível ao gerar currículo: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Erro ao gerar currículo com IA: {}", e.getMessage(), e);
             throw new RuntimeException("Erro ao gerar currículo com IA: " + e.getMessage(), e);
@@ -91,21 +76,24 @@ public class CurriculoAIService {
     private String coletarDadosCandidato(UUID candidatoUsuarioId) {
         StringBuilder dados = new StringBuilder();
 
-        var usuario = usuarioRepository.findById(candidatoUsuarioId).orElse(null);
-        if (usuario != null) {
-            dados.append("DADOS PESSOAIS:\n");
-            dados.append("Nome: ").append(usuario.getNome()).append("\n");
-            dados.append("Email: ").append(usuario.getEmail().value()).append("\n\n");
+        var snapshotOpt = perfilCandidatoSnapshotService.obter(candidatoUsuarioId);
+        if (snapshotOpt.isEmpty()) {
+            return dados.toString();
         }
+        var snapshot = snapshotOpt.get();
 
-        var perfilOpt = perfilCandidatoRepository.findByUsuarioId(candidatoUsuarioId);
+        dados.append("DADOS PESSOAIS:\n");
+        dados.append("Nome: ").append(snapshot.getNome()).append("\n");
+        dados.append("Email: ").append(snapshot.getEmail().value()).append("\n\n");
+
+        var perfilOpt = snapshot.getPerfil();
         if (perfilOpt.isPresent()) {
             var perfil = perfilOpt.get();
             if (perfil.getEndereco() != null) {
                 dados.append("Cidade: ").append(perfil.getEndereco().cidade()).append("\n\n");
             }
 
-            var competencias = competenciaRepository.listByPerfilCandidato(perfil.getUsuarioId());
+            var competencias = snapshot.getCompetencias();
             if (!competencias.isEmpty()) {
                 dados.append("COMPETÊNCIAS:\n");
                 competencias.forEach(c ->
@@ -115,7 +103,7 @@ public class CurriculoAIService {
                 dados.append("\n");
             }
 
-            var portfolios = portfolioRepository.listByPerfilCandidato(perfil.getUsuarioId());
+            var portfolios = snapshot.getPortfolios();
             if (!portfolios.isEmpty()) {
                 dados.append("PORTFÓLIO:\n");
                 portfolios.forEach(p ->
@@ -126,7 +114,7 @@ public class CurriculoAIService {
             }
         }
 
-        var experiencias = experienciaRepository.listByUsuario(candidatoUsuarioId);
+        var experiencias = snapshot.getExperiencias();
         if (!experiencias.isEmpty()) {
             dados.append("EXPERIÊNCIA PROFISSIONAL:\n");
             experiencias.forEach(exp -> {
@@ -147,7 +135,7 @@ public class CurriculoAIService {
             });
         }
 
-        var historicos = historicoAcademicoRepository.listByUsuario(candidatoUsuarioId);
+        var historicos = snapshot.getHistoricos();
         if (!historicos.isEmpty()) {
             dados.append("FORMAÇÃO ACADÊMICA:\n");
             historicos.forEach(h -> {
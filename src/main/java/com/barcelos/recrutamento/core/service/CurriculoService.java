@@ -32,11 +32,7 @@ public class CurriculoService {
     private static final Logger log = LoggerFactory.getLogger(CurriculoService.class);
 
     private final UsuarioRepository usuarioRepository;
-    private final PerfilCandidatoRepository perfilCandidatoRepository;
-    private final ExperienciaProfissionalRepository experienciaRepository;
-    private final HistoricoAcademicoRepository historicoRepository;
-    private final PortfolioRepository portfolioRepository;
-    private final CompetenciaRepository competenciaRepository;
+    private final PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
     private final CandidaturaRepository candidaturaRepository;
     private final CurriculoAIService curriculoAIService;
     private final VagaRepository vagaRepository;
@@ -47,21 +43,13 @@ public class CurriculoService {
 
     public CurriculoService(
             UsuarioRepository usuarioRepository,
-            PerfilCandidatoRepository perfilCandidatoRepository,
-            ExperienciaProfissionalRepository experienciaRepository,
-            HistoricoAcademicoRepository historicoRepository,
-            PortfolioRepository portfolioRepository,
-            CompetenciaRepository competenciaRepository,
+            PerfilCandidatoSnapshotService perfilCandidatoSnapshotService,
             CandidaturaRepository candidaturaRepository,
             CurriculoAIService curriculoAIService,
             VagaRepository vagaRepository,
             CurriculoPDFService curriculoPDFService) {
         this.usuarioRepository = usuarioRepository;
-        this.perfilCandidatoRepository = perfilCandidatoRepository;
-        this.experienciaRepository = experienciaRepository;
-        this.historicoRepository = historicoRepository;
-        this.portfolioRepository = portfolioRepository;
-        this.competenciaRepository = competenciaRepository;
+        this.perfilCandidatoSnapshotService = perfilCandidatoSnapshotService;
         this.candidaturaRepository = candidaturaRepository;
         this.curriculoAIService = curriculoAIService;
         this.vagaRepository = vagaRepository;
@@ -81,24 +69,10 @@ public class CurriculoService {
 
             UUID candidatoUsuarioId = candidatura.getCandidatoUsuarioId();
 
-            Usuario usuario = usuarioRepository.findById(candidatoUsuarioId)
+            PerfilCandidatoSnapshot candidato = perfilCandidatoSnapshotService.obter(candidatoUsuarioId)
                     .orElseThrow(() -> new ResourceNotFoundException("Usuário", candidatoUsuarioId));
 
-            Optional<PerfilCandidato> perfilOpt = perfilCandidatoRepository.findByUsuarioId(candidatoUsuarioId);
-
-            List<ExperienciaProfissional> experiencias = experienciaRepository.listByUsuario(candidatoUsuarioId);
-            List<HistoricoAcademico> formacoes = historicoRepository.listByUsuario(candidatoUsuarioId);
-
-            List<Portfolio> portfolios = List.of();
-            List<Competencia> competencias = List.of();
-
-            if (perfilOpt.isPresent()) {
-                UUID perfilId = perfilOpt.get().getUsuarioId();
-                portfolios = portfolioRepository.listByPerfilCandidato(perfilId);
-                competencias = competenciaRepository.listByPerfilCandidato(perfilId);
-            }
-
-            String markdown = gerarMarkdown(usuario, perfilOpt, experiencias, formacoes, portfolios, competencias);
+            String markdown = gerarMarkdown(candidato);
 
             String caminhoRelativo = salvarArquivo(candidatoUsuarioId, markdown);
 
@@ -116,20 +90,19 @@ public class CurriculoService {
     }
 
     
-    private String gerarMarkdown(
-            Usuario usuario,
-            Optional<PerfilCandidato> perfilOpt,
-            List<ExperienciaProfissional> experiencias,
-            List<HistoricoAcademico> formacoes,
-            List<Portfolio> portfolios,
-            List<Competencia> competencias) {
+    private String gerarMarkdown(PerfilCandidatoSnapshot candidato) {
+        Optional<PerfilCandidato> perfilOpt = candidato.getPerfil();
+        List<ExperienciaProfissional> experiencias = candidato.getExperiencias();
+        List<HistoricoAcademico> formacoes = candidato.getHistoricos();
+        List<Portfolio> portfolios = candidato.getPortfolios();
+        List<Competencia> competencias = candidato.getCompetencias();
 
         StringBuilder md = new StringBuilder();
 
-        md.append("# ").append(usuario.getNome()).append("\n\n");
+        md.append("# ").append(candidato.getNome()).append("\n\n");
 
-        md.append("**Email:** ").append(usuario.getEmail().value());
-        md.append(" | **CPF:** ").append(usuario.getCpf().value());
+        md.append("**Email:** ").append(candidato.getEmail().value());
+        md.append(" | **CPF:** ").append(candidato.getCpf().value());
 
         if (perfilOpt.isPresent()) {
             var perfil = perfilOpt.get();
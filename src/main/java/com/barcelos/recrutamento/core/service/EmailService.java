@@ -45,7 +45,7 @@ public class EmailService {
     }
 
     
-    @Async
+    @Async("emailTaskExecutor")
     public void sendHtmlEmailAsync(String to, String subject, String htmlContent) {
         log.info("Enviando email assíncrono para {}", to);
         try {
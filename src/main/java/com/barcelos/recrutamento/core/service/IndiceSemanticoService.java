@@ -0,0 +1,192 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.config.BuscaSemanticaProperties;
+import com.barcelos.recrutamento.core.model.Competencia;
+import com.barcelos.recrutamento.core.model.ExperienciaProfissional;
+import com.barcelos.recrutamento.core.model.HistoricoAcademico;
+import com.barcelos.recrutamento.core.model.PerfilCandidato;
+import com.barcelos.recrutamento.core.model.StatusVaga;
+import com.barcelos.recrutamento.core.model.Usuario;
+import com.barcelos.recrutamento.core.model.Vaga;
+import com.barcelos.recrutamento.core.port.*;
+import com.barcelos.recrutamento.core.support.IndiceHnsw;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class IndiceSemanticoService {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceSemanticoService.class);
+    private static final int TAMANHO_LOTE = 200;
+
+    private final EmbeddingProvider embeddingProvider;
+    private final PerfilCandidatoRepository perfilCandidatoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final CompetenciaRepository competenciaRepository;
+    private final ExperienciaProfissionalRepository experienciaRepository;
+    private final HistoricoAcademicoRepository historicoAcademicoRepository;
+    private final VagaRepository vagaRepository;
+    private final BuscaSemanticaProperties properties;
+    private final IndiceHnsw indiceCandidatos;
+    private final IndiceHnsw indiceVagas;
+
+    public IndiceSemanticoService(
+            EmbeddingProvider embeddingProvider,
+            PerfilCandidatoRepository perfilCandidatoRepository,
+            UsuarioRepository usuarioRepository,
+            CompetenciaRepository competenciaRepository,
+            ExperienciaProfissionalRepository experienciaRepository,
+            HistoricoAcademicoRepository historicoAcademicoRepository,
+            VagaRepository vagaRepository,
+            BuscaSemanticaProperties properties) {
+        this.embeddingProvider = embeddingProvider;
+        this.perfilCandidatoRepository = perfilCandidatoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.competenciaRepository = competenciaRepository;
+        this.experienciaRepository = experienciaRepository;
+        this.historicoAcademicoRepository = historicoAcademicoRepository;
+        this.vagaRepository = vagaRepository;
+        this.properties = properties;
+        this.indiceCandidatos = novoIndice();
+        this.indiceVagas = novoIndice();
+    }
+
+    
+    @Async("eventosTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarIndices() {
+        if (!properties.isHabilitada()) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+
+        List<PerfilCandidato> perfis = perfilCandidatoRepository.findAll();
+        for (int i = 0; i < perfis.size(); i += TAMANHO_LOTE) {
+            List<PerfilCandidato> lote = perfis.subList(i, Math.min(i + TAMANHO_LOTE, perfis.size()));
+            List<UUID> ids = lote.stream().map(PerfilCandidato::getUsuarioId).toList();
+            Map<UUID, List<Competencia>> competencias = competenciaRepository.listByPerfisCandidato(ids);
+            Map<UUID, List<ExperienciaProfissional>> experiencias = experienciaRepository.listByUsuarios(ids);
+            Map<UUID, List<HistoricoAcademico>> historicos = historicoAcademicoRepository.listByUsuarios(ids);
+            Map<UUID, Usuario> usuarios = usuarioRepository.findAllByIds(ids);
+
+            for (PerfilCandidato perfil : lote) {
+                UUID usuarioId = perfil.getUsuarioId();
+                try {
+                    indexarCandidato(perfil, usuarios.get(usuarioId),
+                            competencias.getOrDefault(usuarioId, List.of()),
+                            experiencias.getOrDefault(usuarioId, List.of()),
+                            historicos.getOrDefault(usuarioId, List.of()));
+                } catch (Exception e) {
+                    log.warn("Erro ao indexar candidato {}: {}", perfil.getUsuarioId(), e.getMessage());
+                }
+            }
+        }
+        vagaRepository.listPublicas().forEach(this::indexarVaga);
+
+        log.info("Índice semântico carregado: {} candidatos e {} vagas em {}ms",
+                indiceCandidatos.tamanho(), indiceVagas.tamanho(), System.currentTimeMillis() - inicio);
+    }
+
+    
+    public void indexarCandidato(UUID candidatoUsuarioId) {
+        if (!properties.isHabilitada()) {
+            return;
+        }
+        perfilCandidatoRepository.findByUsuarioId(candidatoUsuarioId)
+                .ifPresentOrElse(perfil -> indexarCandidato(perfil,
+                                usuarioRepository.findById(candidatoUsuarioId).orElse(null),
+                                competenciaRepository.listByPerfilCandidato(candidatoUsuarioId),
+                                experienciaRepository.listByUsuario(candidatoUsuarioId),
+                                historicoAcademicoRepository.listByUsuario(candidatoUsuarioId)),
+                        () -> indiceCandidatos.remover(candidatoUsuarioId));
+    }
+
+    
+    public void indexarVaga(Vaga vaga) {
+        if (!properties.isHabilitada()) {
+            return;
+        }
+        if (!vaga.isAtivo() || vaga.getStatus() != StatusVaga.ABERTA) {
+            indiceVagas.remover(vaga.getId());
+            return;
+        }
+        String texto = String.join(" ", vaga.getTitulo(), vaga.getTitulo(), vaga.getRequisitos(), vaga.getDescricao());
+        indiceVagas.inserir(vaga.getId(), embeddingProvider.gerar(texto));
+    }
+
+    
+    public void removerVaga(UUID vagaId) {
+        indiceVagas.remover(vagaId);
+    }
+
+    
+    public boolean possuiCandidatos() {
+        return properties.isHabilitada() && indiceCandidatos.tamanho() > 0;
+    }
+
+    
+    public boolean possuiVagas() {
+        return properties.isHabilitada() && indiceVagas.tamanho() > 0;
+    }
+
+    
+    public List<UUID> buscarCandidatos(String consulta) {
+        return buscar(indiceCandidatos, consulta);
+    }
+
+    
+    public List<UUID> buscarVagas(String consulta) {
+        return buscar(indiceVagas, consulta);
+    }
+
+    private List<UUID> buscar(IndiceHnsw indice, String consulta) {
+        if (consulta == null || consulta.isBlank()) {
+            return List.of();
+        }
+        return indice.buscar(embeddingProvider.gerar(consulta), properties.getTopK()).stream()
+                .filter(vizinho -> vizinho.similaridade() >= properties.getSimilaridadeMinima())
+                .map(IndiceHnsw.Vizinho::id)
+                .toList();
+    }
+
+    private void indexarCandidato(PerfilCandidato perfil, Usuario usuario, List<Competencia> competencias,
+                                  List<ExperienciaProfissional> experiencias, List<HistoricoAcademico> historicos) {
+        StringBuilder texto = new StringBuilder();
+
+        if (usuario != null) {
+            texto.append(usuario.getNome()).append(' ');
+        }
+        texto.append(perfil.getEndereco().cidade()).append(' ');
+
+        competencias.forEach(competencia -> texto
+                .append(competencia.getTitulo()).append(' ')
+                .append(competencia.getTitulo()).append(' ')
+                .append(competencia.getDescricao()).append(' '));
+        experiencias.forEach(experiencia -> texto
+                .append(experiencia.getCargo()).append(' ')
+                .append(experiencia.getDescricao()).append(' '));
+        historicos.forEach(historico -> texto
+                .append(historico.getTitulo()).append(' ')
+                .append(Optional.ofNullable(historico.getDescricao()).orElse("")).append(' '));
+
+        indiceCandidatos.inserir(perfil.getUsuarioId(), embeddingProvider.gerar(texto.toString()));
+    }
+
+    private IndiceHnsw novoIndice() {
+        return new IndiceHnsw(
+                embeddingProvider.dimensao(),
+                properties.getConexoes(),
+                properties.getEfConstrucao(),
+                properties.getEfBusca()
+        );
+    }
+}
@@ -0,0 +1,176 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.core.model.Competencia;
+import com.barcelos.recrutamento.core.model.ExperienciaProfissional;
+import com.barcelos.recrutamento.core.model.HistoricoAcademico;
+import com.barcelos.recrutamento.core.model.PerfilCandidato;
+import com.barcelos.recrutamento.core.model.PerfilCandidatoSnapshot;
+import com.barcelos.recrutamento.core.model.Usuario;
+import com.barcelos.recrutamento.core.port.*;
+import com.barcelos.recrutamento.core.support.TaxonomiaHabilidades;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class PerfilCandidatoSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(PerfilCandidatoSnapshotService.class);
+
+    private final PerfilCandidatoSnapshotRepository snapshotRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final PerfilCandidatoRepository perfilCandidatoRepository;
+    private final CompetenciaRepository competenciaRepository;
+    private final ExperienciaProfissionalRepository experienciaRepository;
+    private final HistoricoAcademicoRepository historicoAcademicoRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final CandidatoBuscaRepository candidatoBuscaRepository;
+    private final CompatibilidadeFingerprintService fingerprintService;
+    private final TaxonomiaHabilidades taxonomia;
+    private final TransactionTemplate escrita;
+
+    public PerfilCandidatoSnapshotService(
+            PerfilCandidatoSnapshotRepository snapshotRepository,
+            UsuarioRepository usuarioRepository,
+            PerfilCandidatoRepository perfilCandidatoRepository,
+            CompetenciaRepository competenciaRepository,
+            ExperienciaProfissionalRepository experienciaRepository,
+            HistoricoAcademicoRepository historicoAcademicoRepository,
+            PortfolioRepository portfolioRepository,
+            CandidatoBuscaRepository candidatoBuscaRepository,
+            CompatibilidadeFingerprintService fingerprintService,
+            TaxonomiaHabilidades taxonomia,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.snapshotRepository = snapshotRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.perfilCandidatoRepository = perfilCandidatoRepository;
+        this.competenciaRepository = competenciaRepository;
+        this.experienciaRepository = experienciaRepository;
+        this.historicoAcademicoRepository = historicoAcademicoRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.candidatoBuscaRepository = candidatoBuscaRepository;
+        this.fingerprintService = fingerprintService;
+        this.taxonomia = taxonomia;
+        this.escrita = new TransactionTemplate(transactionManager);
+        this.escrita.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    
+    public Optional<PerfilCandidatoSnapshot> obter(UUID candidatoUsuarioId) {
+        Optional<PerfilCandidatoSnapshot> existente = snapshotRepository.findByUsuarioId(candidatoUsuarioId);
+        if (existente.isPresent()) {
+            return existente;
+        }
+
+        try {
+            return escrita.execute(status -> atualizar(candidatoUsuarioId));
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível armazenar o snapshot do candidato {}: {}", candidatoUsuarioId, e.getMessage());
+            return montar(candidatoUsuarioId);
+        }
+    }
+
+    
+    public String obterHashPerfil(UUID candidatoUsuarioId) {
+        return obter(candidatoUsuarioId)
+                .map(this::hashPerfil)
+                .orElseGet(() -> fingerprintService.hashPerfil(List.of(), List.of(), List.of()));
+    }
+
+    
+    public Map<UUID, String> obterHashesPerfil(Collection<UUID> candidatoUsuarioIds) {
+        Map<UUID, String> hashes = new HashMap<>(snapshotRepository.findHashesPerfil(candidatoUsuarioIds));
+        for (UUID candidatoUsuarioId : candidatoUsuarioIds) {
+            if (!hashes.containsKey(candidatoUsuarioId)) {
+                hashes.put(candidatoUsuarioId, obterHashPerfil(candidatoUsuarioId));
+            }
+        }
+        return hashes;
+    }
+
+    
+    public Optional<PerfilCandidatoSnapshot> atualizar(UUID candidatoUsuarioId) {
+        snapshotRepository.travar(candidatoUsuarioId);
+        Optional<PerfilCandidatoSnapshot> snapshot = montar(candidatoUsuarioId).map(snapshotRepository::save);
+        snapshot.ifPresent(candidatoBuscaRepository::indexar);
+        return snapshot;
+    }
+
+    
+    @Async("eventosTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexarPendentes() {
+        List<UUID> pendentes = candidatoBuscaRepository.listarNaoIndexados();
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+
+        for (UUID candidatoUsuarioId : pendentes) {
+            try {
+                escrita.execute(status -> atualizar(candidatoUsuarioId));
+            } catch (RuntimeException e) {
+                log.warn("Erro ao indexar candidato {} para busca: {}", candidatoUsuarioId, e.getMessage());
+            }
+        }
+
+        log.info("Índice de busca de candidatos atualizado: {} perfis em {}ms",
+                pendentes.size(), System.currentTimeMillis() - inicio);
+    }
+
+    private Optional<PerfilCandidatoSnapshot> montar(UUID candidatoUsuarioId) {
+        Optional<Usuario> usuario = usuarioRepository.findById(candidatoUsuarioId);
+        if (usuario.isEmpty()) {
+            return Optional.empty();
+        }
+
+        PerfilCandidato perfil = perfilCandidatoRepository.findByUsuarioId(candidatoUsuarioId).orElse(null);
+        List<Competencia> competencias = perfil != null
+                ? competenciaRepository.listByPerfilCandidato(perfil.getUsuarioId())
+                : List.of();
+        List<ExperienciaProfissional> experiencias = experienciaRepository.listByUsuario(candidatoUsuarioId);
+        List<HistoricoAcademico> historicos = historicoAcademicoRepository.listByUsuario(candidatoUsuarioId);
+        return Optional.of(PerfilCandidatoSnapshot.novo(
+                usuario.get(),
+                perfil,
+                competencias,
+                experiencias,
+                historicos,
+                perfil != null ? portfolioRepository.listByPerfilCandidato(perfil.getUsuarioId()) : List.of(),
+                extrairHabilidades(competencias, experiencias)
+        ).comHashPerfil(fingerprintService.hashPerfil(competencias, experiencias, historicos)));
+    }
+
+    private String hashPerfil(PerfilCandidatoSnapshot snapshot) {
+        return snapshot.getHashPerfil().orElseGet(() -> fingerprintService.hashPerfil(
+                snapshot.getCompetencias(), snapshot.getExperiencias(), snapshot.getHistoricos()));
+    }
+
+    private int[] extrairHabilidades(List<Competencia> competencias, List<ExperienciaProfissional> experiencias) {
+        List<String> textos = new ArrayList<>();
+        for (Competencia competencia : competencias) {
+            textos.add(competencia.getTitulo());
+            textos.add(competencia.getDescricao());
+        }
+        for (ExperienciaProfissional experiencia : experiencias) {
+            textos.add(experiencia.getCargo());
+            textos.add(experiencia.getDescricao());
+        }
+        return taxonomia.extrair(textos.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,295 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.core.model.Senioridade;
+import com.barcelos.recrutamento.core.model.TipoContrato;
+import com.barcelos.recrutamento.core.model.Vaga;
+import com.barcelos.recrutamento.core.model.VagaDigest;
+import com.barcelos.recrutamento.core.port.VagaDigestRepository;
+import com.barcelos.recrutamento.core.support.NormalizadorTexto;
+import com.barcelos.recrutamento.core.support.TaxonomiaHabilidades;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+public class VagaDigestService {
+
+    private static final Logger log = LoggerFactory.getLogger(VagaDigestService.class);
+
+    static final int VERSAO = 2;
+
+    private static final int MAX_ITENS = 30;
+    private static final int MAX_TAMANHO_ITEM = 80;
+    private static final int MAX_TAMANHO_RESUMO = 240;
+    private static final int MAX_PALAVRAS_CABECALHO = 4;
+    private static final char SEPARADOR_CAMPO = '\u001F';
+
+    private static final Pattern LINHAS = Pattern.compile("\\r?\\n|[;•·]");
+    private static final Pattern ITENS = Pattern.compile(",");
+    private static final Pattern SENTENCAS = Pattern.compile("(?<=[.!?])\\s+|\\r?\\n");
+    private static final Pattern MARCADOR_LISTA = Pattern.compile("^[\\s\\-*–—>\\d.)]+");
+    private static final Pattern PONTUACAO_FINAL = Pattern.compile("[\\s.,:;!\\-–—]+$");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final Pattern PREFIXO_GENERICO = Pattern.compile(
+            "^(?:(?:boa|bom|s[oó]lid[oa]s?|forte|amplo|ampla)\\s+)?"
+                    + "(?:experi[eê]ncias?|conhecimentos?|dom[ií]nio|viv[eê]ncias?|familiaridade|habilidades?|no[cç][oõ]es)"
+                    + "\\s+(?:com|em|de|no|na|nos|nas|sobre)\\s+",
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    private static final Pattern MARCA_DESEJAVEL = Pattern.compile(
+            "[(\\[]?\\s*(?<![\\p{L}])(?:ser[aá]\\s+(?:um\\s+)?)?(?:desej[aá]ve(?:l|is)|diferencia(?:l|is)|nice to have)(?![\\p{L}])\\s*[)\\]]?",
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+    private static final Map<String, String> IDIOMAS = Map.ofEntries(
+            Map.entry("ingles", "Inglês"), Map.entry("english", "Inglês"),
+            Map.entry("espanhol", "Espanhol"), Map.entry("spanish", "Espanhol"),
+            Map.entry("frances", "Francês"), Map.entry("french", "Francês"),
+            Map.entry("alemao", "Alemão"), Map.entry("german", "Alemão"),
+            Map.entry("italiano", "Italiano"), Map.entry("mandarim", "Mandarim"),
+            Map.entry("japones", "Japonês"), Map.entry("libras", "Libras")
+    );
+
+    private static final Map<String, String> NIVEIS_IDIOMA = Map.of(
+            "basico", "básico", "intermediario", "intermediário", "avancado", "avançado",
+            "fluente", "fluente", "fluencia", "fluente", "nativo", "nativo", "tecnico", "técnico"
+    );
+
+    private final VagaDigestRepository repository;
+    private final TaxonomiaHabilidades taxonomia;
+    private final TransactionTemplate escrita;
+
+    public VagaDigestService(VagaDigestRepository repository, TaxonomiaHabilidades taxonomia,
+                             PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.taxonomia = taxonomia;
+        this.escrita = new TransactionTemplate(transactionManager);
+        this.escrita.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    
+    public VagaDigest obter(Vaga vaga) {
+        String hash = hashTexto(vaga);
+        Optional<VagaDigest> existente = repository.findByVagaId(vaga.getId());
+        if (existente.isPresent() && existente.get().correspondeA(hash, VERSAO)) {
+            return existente.get();
+        }
+
+        VagaDigest digest = gerar(vaga, hash);
+        try {
+            escrita.executeWithoutResult(status -> repository.save(digest));
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível armazenar o resumo estruturado da vaga {}: {}", vaga.getId(), e.getMessage());
+        }
+        return digest;
+    }
+
+    
+    public int[] obterHabilidadesMencionadas(Vaga vaga) {
+        return repository.findByVagaId(vaga.getId())
+                .filter(digest -> digest.getVersao() == VERSAO)
+                .orElseGet(() -> obter(vaga))
+                .getHabilidadesMencionadas();
+    }
+
+    
+    public VagaDigest regenerar(Vaga vaga) {
+        VagaDigest digest = gerar(vaga, hashTexto(vaga));
+        repository.save(digest);
+        return digest;
+    }
+
+    
+    public void regenerarSeAlterada(Vaga anterior, Vaga atualizada) {
+        if (!hashTexto(anterior).equals(hashTexto(atualizada))) {
+            regenerar(atualizada);
+        }
+    }
+
+    
+    public VagaDigest gerar(Vaga vaga) {
+        return gerar(vaga, hashTexto(vaga));
+    }
+
+    
+    public String hashTexto(Vaga vaga) {
+        StringBuilder canonico = new StringBuilder();
+        for (Object valor : new Object[]{vaga.getTitulo(), vaga.getDescricao(), vaga.getRequisitos(),
+                vaga.getTipoContrato(), vaga.getModalidade()}) {
+            canonico.append(NormalizadorTexto.normalizar(Objects.toString(valor, ""))).append(SEPARADOR_CAMPO);
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonico.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private VagaDigest gerar(Vaga vaga, String hash) {
+        List<String> obrigatorios = new ArrayList<>();
+        List<String> desejaveis = new ArrayList<>();
+        extrairRequisitos(vaga.getRequisitos(), obrigatorios, desejaveis);
+
+        List<String> tokens = NormalizadorTexto.tokens(
+                vaga.getTitulo() + " " + vaga.getRequisitos() + " " + vaga.getDescricao());
+        List<String> textosObrigatorios = new ArrayList<>(obrigatorios);
+        textosObrigatorios.add(vaga.getTitulo());
+
+        return VagaDigest.novo(
+                vaga.getId(),
+                hash,
+                VERSAO,
+                vaga.getTitulo(),
+                resumir(vaga.getDescricao()),
+                obrigatorios,
+                desejaveis,
+                inferirSenioridade(vaga, tokens),
+                extrairIdiomas(tokens),
+                vaga.getTipoContrato(),
+                vaga.getModalidade(),
+                taxonomia.extrair(textosObrigatorios.toArray(String[]::new)),
+                taxonomia.extrair(desejaveis.toArray(String[]::new)),
+                taxonomia.extrair(vaga.getTitulo(), vaga.getRequisitos(), vaga.getDescricao())
+        );
+    }
+
+    private void extrairRequisitos(String texto, List<String> obrigatorios, List<String> desejaveis) {
+        if (texto == null || texto.isBlank()) {
+            return;
+        }
+        Set<String> vistos = new HashSet<>();
+        boolean secaoDesejavel = false;
+
+        for (String bruta : LINHAS.split(texto)) {
+            String linha = MARCADOR_LISTA.matcher(bruta).replaceFirst("").trim();
+            if (linha.isEmpty()) {
+                continue;
+            }
+
+            int doisPontos = linha.indexOf(':');
+            Boolean secao = secao(doisPontos >= 0 ? linha.substring(0, doisPontos) : linha);
+            if (secao != null) {
+                secaoDesejavel = secao;
+                if (doisPontos < 0) {
+                    continue;
+                }
+                linha = linha.substring(doisPontos + 1).trim();
+            }
+
+            boolean desejavel = secaoDesejavel;
+            Matcher marca = MARCA_DESEJAVEL.matcher(linha);
+            if (marca.find()) {
+                desejavel = true;
+                linha = marca.replaceAll(" ");
+            }
+
+            for (String bruto : ITENS.split(linha)) {
+                String item = limparItem(bruto);
+                if (item.isEmpty() || !vistos.add(NormalizadorTexto.normalizar(item))) {
+                    continue;
+                }
+                List<String> destino = desejavel ? desejaveis : obrigatorios;
+                if (destino.size() < MAX_ITENS) {
+                    destino.add(item);
+                }
+            }
+        }
+    }
+
+    private Boolean secao(String cabecalho) {
+        String normalizado = NormalizadorTexto.normalizar(cabecalho);
+        if (normalizado.isEmpty() || normalizado.split(" ").length > MAX_PALAVRAS_CABECALHO) {
+            return null;
+        }
+        if (normalizado.startsWith("desejave") || normalizado.startsWith("diferencia")
+                || normalizado.startsWith("nice to have") || normalizado.startsWith("sera um diferencial")) {
+            return true;
+        }
+        if (normalizado.startsWith("requisito") || normalizado.startsWith("pre-requisito")
+                || normalizado.startsWith("obrigatorio") || normalizado.startsWith("necessario")
+                || normalizado.startsWith("exigencia") || normalizado.startsWith("qualificac")) {
+            return false;
+        }
+        return null;
+    }
+
+    private String limparItem(String bruto) {
+        String item = ESPACOS.matcher(bruto).replaceAll(" ").trim();
+        item = PREFIXO_GENERICO.matcher(item).replaceFirst("");
+        item = PONTUACAO_FINAL.matcher(item).replaceFirst("").trim();
+        if (NormalizadorTexto.tokens(item).isEmpty()) {
+            return "";
+        }
+        return truncar(item, MAX_TAMANHO_ITEM);
+    }
+
+    private String resumir(String descricao) {
+        if (descricao == null || descricao.isBlank()) {
+            return null;
+        }
+        for (String sentenca : SENTENCAS.split(descricao.trim())) {
+            String limpa = ESPACOS.matcher(MARCADOR_LISTA.matcher(sentenca).replaceFirst("")).replaceAll(" ").trim();
+            if (!limpa.isEmpty()) {
+                return truncar(limpa, MAX_TAMANHO_RESUMO);
+            }
+        }
+        return null;
+    }
+
+    private Senioridade inferirSenioridade(Vaga vaga, List<String> tokens) {
+        if (vaga.getTipoContrato() == TipoContrato.ESTAGIO) {
+            return Senioridade.ESTAGIO;
+        }
+        Senioridade encontrada = null;
+        for (String token : tokens) {
+            Senioridade s = Senioridade.doTermo(token);
+            if (s != null && (encontrada == null || s.getNivel() > encontrada.getNivel())) {
+                encontrada = s;
+            }
+        }
+        return encontrada;
+    }
+
+    private List<String> extrairIdiomas(List<String> tokens) {
+        Map<String, String> idiomas = new LinkedHashMap<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String idioma = IDIOMAS.get(tokens.get(i));
+            if (idioma == null) {
+                continue;
+            }
+            String nivel = i + 1 < tokens.size() ? NIVEIS_IDIOMA.get(tokens.get(i + 1)) : null;
+            if (nivel == null && i > 0) {
+                nivel = NIVEIS_IDIOMA.get(tokens.get(i - 1));
+            }
+            if (nivel != null || !idiomas.containsKey(idioma)) {
+                idiomas.put(idioma, nivel != null ? idioma + " (" + nivel + ")" : idioma);
+            }
+        }
+        return List.copyOf(idiomas.values());
+    }
+
+    private String truncar(String texto, int limite) {
+        if (texto.length() <= limite) {
+            return texto;
+        }
+        int corte = texto.lastIndexOf(' ', limite - 1);
+        return texto.substring(0, corte > limite / 2 ? corte : limite - 1).trim() + "…";
+    }
+}
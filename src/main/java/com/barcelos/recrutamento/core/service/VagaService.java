@@ -1,6 +1,8 @@
 package com.barcelos.recrutamento.core.service;
 
 import com.barcelos.recrutamento.api.dto.VagaComEstatisticas;
+import com.barcelos.recrutamento.core.event.VagaAtualizadaEvent;
+import com.barcelos.recrutamento.core.event.VagaRemovidaEvent;
 import com.barcelos.recrutamento.core.exception.BusinessRuleViolationException;
 import com.barcelos.recrutamento.core.exception.ResourceNotFoundException;
 import com.barcelos.recrutamento.core.model.TipoEtapa;
@@ -8,6 +10,7 @@ import com.barcelos.recrutamento.core.model.Vaga;
 import com.barcelos.recrutamento.core.model.vo.EnderecoSimples;
 import com.barcelos.recrutamento.core.model.vo.Sigla;
 import com.barcelos.recrutamento.core.port.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -26,7 +29,9 @@ public class VagaService {
     private final MembroOrganizacaoRepository membroOrganizacaoRepository;
     private final UsuarioRepository usuarioRepository;
     private final VagaBeneficioService vagaBeneficioService;
-    private final CompatibilidadeCacheService compatibilidadeCacheService;
+    private final CompatibilidadeJobService compatibilidadeJobService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VagaDigestService vagaDigestService;
     private final EtapaProcessoService etapaProcessoService;
     private final CandidaturaRepository candidaturaRepository;
     private final EmailService emailService;
@@ -37,7 +42,9 @@ public class VagaService {
                       MembroOrganizacaoRepository membroOrganizacaoRepository,
                       UsuarioRepository usuarioRepository,
                       VagaBeneficioService vagaBeneficioService,
-                      CompatibilidadeCacheService compatibilidadeCacheService,
+                      CompatibilidadeJobService compatibilidadeJobService,
+                      ApplicationEventPublisher eventPublisher,
+                      VagaDigestService vagaDigestService,
                       EtapaProcessoService etapaProcessoService,
                       CandidaturaRepository candidaturaRepository,
                       EmailService emailService,
@@ -47,7 +54,9 @@ public class VagaService {
         this.membroOrganizacaoRepository = membroOrganizacaoRepository;
         this.usuarioRepository = usuarioRepository;
         this.vagaBeneficioService = vagaBeneficioService;
-        this.compatibilidadeCacheService = compatibilidadeCacheService;
+        this.compatibilidadeJobService = compatibilidadeJobService;
+        this.eventPublisher = eventPublisher;
+        this.vagaDigestService = vagaDigestService;
         this.etapaProcessoService = etapaProcessoService;
         this.candidaturaRepository = candidaturaRepository;
         this.emailService = emailService;
@@ -103,7 +112,9 @@ public class VagaService {
                 null
         );
 
-        compatibilidadeCacheService.calcularParaTodosCandidatos(vagaSalva.getId());
+        vagaDigestService.regenerar(vagaSalva);
+        eventPublisher.publishEvent(new VagaAtualizadaEvent(vagaSalva));
+        compatibilidadeJobService.enfileirarVaga(vagaSalva);
 
         return vagaSalva;
     }
@@ -166,7 +177,9 @@ public class VagaService {
             }
         }
 
-        compatibilidadeCacheService.recalcularVaga(vagaId);
+        vagaDigestService.regenerarSeAlterada(vaga, vagaSalva);
+        eventPublisher.publishEvent(new VagaAtualizadaEvent(vagaSalva));
+        compatibilidadeJobService.enfileirarVaga(vagaSalva);
 
         return vagaSalva;
     }
@@ -176,13 +189,14 @@ public class VagaService {
         var vaga = buscar(vagaId);
         var vagaDesativada = vaga.desativar();
         vagaRepository.save(vagaDesativada);
+        eventPublisher.publishEvent(new VagaRemovidaEvent(vagaId));
     }
 
     @Transactional
     public void ativar(UUID vagaId) {
         var vaga = buscar(vagaId);
         var vagaAtivada = vaga.ativar();
-        vagaRepository.save(vagaAtivada);
+        eventPublisher.publishEvent(new VagaAtualizadaEvent(vagaRepository.save(vagaAtivada)));
     }
 
     @Transactional
@@ -190,12 +204,14 @@ public class VagaService {
 
         buscar(vagaId);
         vagaRepository.deleteById(vagaId);
+        eventPublisher.publishEvent(new VagaRemovidaEvent(vagaId));
     }
 
     @Transactional
     public Vaga fechar(UUID vagaId) {
         var vaga = buscar(vagaId);
         var vagaFechada = vaga.fechar();
+        eventPublisher.publishEvent(new VagaRemovidaEvent(vagaId));
         return vagaRepository.save(vagaFechada);
     }
 
@@ -204,6 +220,7 @@ public class VagaService {
         var vaga = buscar(vagaId);
         var vagaCancelada = vaga.cancelar(motivo);
         var saved = vagaRepository.save(vagaCancelada);
+        eventPublisher.publishEvent(new VagaRemovidaEvent(vagaId));
 
         var organizacao = organizacaoRepository.findById(vaga.getOrganizacaoId())
                 .orElseThrow(() -> new ResourceNotFoundException("Organização não encontrada"));
@@ -0,0 +1,150 @@
+package com.barcelos.recrutamento.core.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+
+public final class AhoCorasick {
+
+    private static final int[] SEM_SAIDAS = new int[0];
+
+    private final List<Map<Character, Integer>> transicoes;
+    private final int[] falhas;
+    private final int[][] saidas;
+    private final int[] comprimentos;
+    private final int[] valores;
+
+    private AhoCorasick(List<Map<Character, Integer>> transicoes, int[] falhas, int[][] saidas,
+                        int[] comprimentos, int[] valores) {
+        this.transicoes = transicoes;
+        this.falhas = falhas;
+        this.saidas = saidas;
+        this.comprimentos = comprimentos;
+        this.valores = valores;
+    }
+
+    
+    public static AhoCorasick construir(Map<String, Integer> padroes) {
+        Objects.requireNonNull(padroes, "padroes must not be null");
+        List<Map<Character, Integer>> transicoes = new ArrayList<>();
+        List<List<Integer>> saidasProprias = new ArrayList<>();
+        transicoes.add(new HashMap<>());
+        saidasProprias.add(new ArrayList<>());
+
+        int[] comprimentos = new int[padroes.size()];
+        int[] valores = new int[padroes.size()];
+        int indice = 0;
+        for (Map.Entry<String, Integer> padrao : padroes.entrySet()) {
+            String termo = padrao.getKey();
+            if (termo == null || termo.isEmpty()) {
+                throw new IllegalArgumentException("Padrão vazio não é permitido");
+            }
+            int estado = 0;
+            for (int i = 0; i < termo.length(); i++) {
+                Integer proximo = transicoes.get(estado).get(termo.charAt(i));
+                if (proximo == null) {
+                    proximo = transicoes.size();
+                    transicoes.get(estado).put(termo.charAt(i), proximo);
+                    transicoes.add(new HashMap<>());
+                    saidasProprias.add(new ArrayList<>());
+                }
+                estado = proximo;
+            }
+            saidasProprias.get(estado).add(indice);
+            comprimentos[indice] = termo.length();
+            valores[indice] = Objects.requireNonNull(padrao.getValue(), "valor must not be null");
+            indice++;
+        }
+
+        int[] falhas = new int[transicoes.size()];
+        int[][] saidas = new int[transicoes.size()][];
+        saidas[0] = SEM_SAIDAS;
+        Queue<Integer> fila = new ArrayDeque<>();
+        for (int filho : transicoes.get(0).values()) {
+            falhas[filho] = 0;
+            saidas[filho] = paraArray(saidasProprias.get(filho), SEM_SAIDAS);
+            fila.add(filho);
+        }
+        while (!fila.isEmpty()) {
+            int estado = fila.poll();
+            for (Map.Entry<Character, Integer> transicao : transicoes.get(estado).entrySet()) {
+                int filho = transicao.getValue();
+                int falha = falhas[estado];
+                while (falha != 0 && !transicoes.get(falha).containsKey(transicao.getKey())) {
+                    falha = falhas[falha];
+                }
+                Integer destino = transicoes.get(falha).get(transicao.getKey());
+                falhas[filho] = destino != null && destino != filho ? destino : 0;
+                saidas[filho] = paraArray(saidasProprias.get(filho), saidas[falhas[filho]]);
+                fila.add(filho);
+            }
+        }
+        return new AhoCorasick(transicoes, falhas, saidas, comprimentos, valores);
+    }
+
+    
+    public List<Ocorrencia> encontrar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return List.of();
+        }
+        List<Ocorrencia> ocorrencias = new ArrayList<>();
+        int estado = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            Integer proximo = transicoes.get(estado).get(c);
+            while (proximo == null && estado != 0) {
+                estado = falhas[estado];
+                proximo = transicoes.get(estado).get(c);
+            }
+            estado = proximo != null ? proximo : 0;
+            for (int padrao : saidas[estado]) {
+                int inicio = i - comprimentos[padrao] + 1;
+                if (limite(texto, inicio - 1) && limite(texto, i + 1)) {
+                    ocorrencias.add(new Ocorrencia(inicio, i + 1, valores[padrao]));
+                }
+            }
+        }
+        return maisLongas(ocorrencias);
+    }
+
+    private static List<Ocorrencia> maisLongas(List<Ocorrencia> ocorrencias) {
+        if (ocorrencias.size() < 2) {
+            return ocorrencias;
+        }
+        ocorrencias.sort(Comparator.comparingInt(Ocorrencia::inicio)
+                .thenComparing(Comparator.comparingInt(Ocorrencia::fim).reversed()));
+        List<Ocorrencia> resultado = new ArrayList<>(ocorrencias.size());
+        int maiorFim = -1;
+        for (Ocorrencia ocorrencia : ocorrencias) {
+            if (ocorrencia.fim() > maiorFim) {
+                resultado.add(ocorrencia);
+                maiorFim = ocorrencia.fim();
+            }
+        }
+        return resultado;
+    }
+
+    private static boolean limite(String texto, int posicao) {
+        return posicao < 0 || posicao >= texto.length() || !Character.isLetterOrDigit(texto.charAt(posicao));
+    }
+
+    private static int[] paraArray(List<Integer> proprias, int[] herdadas) {
+        if (proprias.isEmpty()) {
+            return herdadas;
+        }
+        int[] resultado = new int[proprias.size() + herdadas.length];
+        for (int i = 0; i < proprias.size(); i++) {
+            resultado[i] = proprias.get(i);
+        }
+        System.arraycopy(herdadas, 0, resultado, proprias.size(), herdadas.length);
+        return resultado;
+    }
+
+    
+    public record Ocorrencia(int inicio, int fim, int valor) {}
+}
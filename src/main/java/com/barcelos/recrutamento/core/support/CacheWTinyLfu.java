@@ -0,0 +1,197 @@
+package com.barcelos.recrutamento.core.support;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+public final class CacheWTinyLfu<K, V> {
+
+    private static final float PROPORCAO_JANELA = 0.01f;
+    private static final float PROPORCAO_PROTEGIDA = 0.80f;
+
+    private final int capacidadeJanela;
+    private final int capacidadePrincipal;
+    private final int capacidadeProtegida;
+    private final LinkedHashMap<K, V> janela = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> probatoria = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> protegida = new LinkedHashMap<>(16, 0.75f, true);
+    private final SketchFrequencia frequencia;
+
+    private long acertos;
+    private long falhas;
+    private long remocoes;
+
+    public CacheWTinyLfu(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade do cache deve ser positiva");
+        }
+        this.capacidadeJanela = Math.max(1, (int) (capacidade * PROPORCAO_JANELA));
+        this.capacidadePrincipal = Math.max(1, capacidade - capacidadeJanela);
+        this.capacidadeProtegida = Math.max(1, (int) (capacidadePrincipal * PROPORCAO_PROTEGIDA));
+        this.frequencia = new SketchFrequencia(capacidade);
+    }
+
+    
+    public synchronized V obter(K chave) {
+        frequencia.incrementar(chave.hashCode());
+
+        V valor = janela.get(chave);
+        if (valor == null) {
+            valor = protegida.get(chave);
+        }
+        if (valor == null) {
+            valor = probatoria.remove(chave);
+            if (valor != null) {
+                promover(chave, valor);
+            }
+        }
+
+        if (valor == null) {
+            falhas++;
+        } else {
+            acertos++;
+        }
+        return valor;
+    }
+
+    
+    public synchronized void armazenar(K chave, V valor) {
+        frequencia.incrementar(chave.hashCode());
+
+        if (janela.containsKey(chave)) {
+            janela.put(chave, valor);
+        } else if (protegida.containsKey(chave)) {
+            protegida.put(chave, valor);
+        } else if (probatoria.containsKey(chave)) {
+            probatoria.remove(chave);
+            promover(chave, valor);
+        } else {
+            janela.put(chave, valor);
+            if (janela.size() > capacidadeJanela) {
+                admitir(removerMaisAntigo(janela));
+            }
+        }
+    }
+
+    
+    public synchronized void remover(K chave) {
+        if (janela.remove(chave) == null && protegida.remove(chave) == null) {
+            probatoria.remove(chave);
+        }
+    }
+
+    
+    public synchronized void removerSe(Predicate<K> condicao) {
+        janela.keySet().removeIf(condicao);
+        probatoria.keySet().removeIf(condicao);
+        protegida.keySet().removeIf(condicao);
+    }
+
+    
+    public synchronized int tamanho() {
+        return janela.size() + probatoria.size() + protegida.size();
+    }
+
+    
+    public synchronized Estatisticas estatisticas() {
+        return new Estatisticas(acertos, falhas, remocoes, tamanho());
+    }
+
+    private void promover(K chave, V valor) {
+        protegida.put(chave, valor);
+        if (protegida.size() > capacidadeProtegida) {
+            Map.Entry<K, V> rebaixada = removerMaisAntigo(protegida);
+            probatoria.put(rebaixada.getKey(), rebaixada.getValue());
+        }
+    }
+
+    private void admitir(Map.Entry<K, V> candidata) {
+        if (probatoria.size() + protegida.size() < capacidadePrincipal) {
+            probatoria.put(candidata.getKey(), candidata.getValue());
+            return;
+        }
+
+        LinkedHashMap<K, V> origemVitima = probatoria.isEmpty() ? protegida : probatoria;
+        K vitima = origemVitima.keySet().iterator().next();
+        remocoes++;
+        if (frequencia.estimar(candidata.getKey().hashCode()) > frequencia.estimar(vitima.hashCode())) {
+            origemVitima.remove(vitima);
+            probatoria.put(candidata.getKey(), candidata.getValue());
+        }
+    }
+
+    private Map.Entry<K, V> removerMaisAntigo(LinkedHashMap<K, V> segmento) {
+        Iterator<Map.Entry<K, V>> iterator = segmento.entrySet().iterator();
+        Map.Entry<K, V> maisAntigo = iterator.next();
+        Map.Entry<K, V> copia = Map.entry(maisAntigo.getKey(), maisAntigo.getValue());
+        iterator.remove();
+        return copia;
+    }
+
+    
+    public record Estatisticas(long acertos, long falhas, long remocoes, int tamanho) {}
+
+    private static final class SketchFrequencia {
+
+        private static final long[] SEMENTES = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+        private static final long MASCARA_CONTADOR = 0xfL;
+
+        private final long[] tabela;
+        private final int mascaraIndice;
+        private final int limiteAmostra;
+        private int amostras;
+
+        SketchFrequencia(int capacidade) {
+            int tamanho = Integer.highestOneBit(Math.max(16, capacidade) - 1) << 1;
+            this.tabela = new long[tamanho];
+            this.mascaraIndice = tamanho - 1;
+            this.limiteAmostra = 10 * Math.max(16, capacidade);
+        }
+
+        void incrementar(int hash) {
+            boolean incrementou = false;
+            for (int i = 0; i < SEMENTES.length; i++) {
+                incrementou |= incrementarEm(indice(hash, i), deslocamento(hash, i));
+            }
+            if (incrementou && ++amostras >= limiteAmostra) {
+                envelhecer();
+            }
+        }
+
+        int estimar(int hash) {
+            int minimo = Integer.MAX_VALUE;
+            for (int i = 0; i < SEMENTES.length; i++) {
+                int valor = (int) ((tabela[indice(hash, i)] >>> deslocamento(hash, i)) & MASCARA_CONTADOR);
+                minimo = Math.min(minimo, valor);
+            }
+            return minimo;
+        }
+
+        private boolean incrementarEm(int indice, int deslocamento) {
+            if (((tabela[indice] >>> deslocamento) & MASCARA_CONTADOR) == MASCARA_CONTADOR) {
+                return false;
+            }
+            tabela[indice] += 1L << deslocamento;
+            return true;
+        }
+
+        private int indice(int hash, int i) {
+            long h = (hash + SEMENTES[i]) * SEMENTES[(i + 1) % SEMENTES.length];
+            return (int) (h ^ (h >>> 32)) & mascaraIndice;
+        }
+
+        private int deslocamento(int hash, int i) {
+            return (((hash >>> (i * 8)) & 3) << 2) + (i << 4);
+        }
+
+        private void envelhecer() {
+            for (int i = 0; i < tabela.length; i++) {
+                tabela[i] = (tabela[i] >>> 1) & 0x7777777777777777L;
+            }
+            amostras /= 2;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.barcelos.recrutamento.core.support;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+public final class CircuitBreaker {
+
+    private final int limiteFalhas;
+    private final long aberturaNanos;
+    private final LongSupplier relogioNanos;
+    private Estado estado = Estado.FECHADO;
+    private int falhasConsecutivas;
+    private long abertoEm;
+
+    public CircuitBreaker(int limiteFalhas, Duration abertura) {
+        this(limiteFalhas, abertura, System::nanoTime);
+    }
+
+    public CircuitBreaker(int limiteFalhas, Duration abertura, LongSupplier relogioNanos) {
+        if (limiteFalhas <= 0) {
+            throw new IllegalArgumentException("Limite de falhas do circuito deve ser positivo");
+        }
+        this.limiteFalhas = limiteFalhas;
+        this.aberturaNanos = abertura.toNanos();
+        this.relogioNanos = relogioNanos;
+    }
+
+    
+    public synchronized boolean permitir() {
+        return switch (estado) {
+            case FECHADO -> true;
+            case MEIO_ABERTO -> false;
+            case ABERTO -> {
+                if (!aberturaExpirada()) {
+                    yield false;
+                }
+                estado = Estado.MEIO_ABERTO;
+                yield true;
+            }
+        };
+    }
+
+    
+    public synchronized boolean disponivel() {
+        return estado == Estado.FECHADO || (estado == Estado.ABERTO && aberturaExpirada());
+    }
+
+    
+    public synchronized void registrarSucesso() {
+        estado = Estado.FECHADO;
+        falhasConsecutivas = 0;
+    }
+
+    
+    public synchronized void registrarFalha() {
+        falhasConsecutivas++;
+        if (estado == Estado.MEIO_ABERTO || falhasConsecutivas >= limiteFalhas) {
+            estado = Estado.ABERTO;
+            abertoEm = relogioNanos.getAsLong();
+        }
+    }
+
+    
+    public synchronized Estado estado() {
+        return estado;
+    }
+
+    private boolean aberturaExpirada() {
+        return relogioNanos.getAsLong() - abertoEm >= aberturaNanos;
+    }
+
+    
+    public enum Estado { FECHADO, ABERTO, MEIO_ABERTO }
+}
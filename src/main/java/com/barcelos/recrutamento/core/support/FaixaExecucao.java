@@ -0,0 +1,33 @@
+package com.barcelos.recrutamento.core.support;
+
+import java.util.function.Supplier;
+
+public enum FaixaExecucao {
+    INTERATIVA, SEGUNDO_PLANO;
+
+    private static final ThreadLocal<FaixaExecucao> ATUAL = ThreadLocal.withInitial(() -> INTERATIVA);
+
+    
+    public static FaixaExecucao atual() {
+        return ATUAL.get();
+    }
+
+    
+    public <T> T executar(Supplier<T> acao) {
+        FaixaExecucao anterior = ATUAL.get();
+        ATUAL.set(this);
+        try {
+            return acao.get();
+        } finally {
+            ATUAL.set(anterior);
+        }
+    }
+
+    
+    public void rodar(Runnable acao) {
+        executar(() -> {
+            acao.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,349 @@
+package com.barcelos.recrutamento.core.support;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public final class IndiceHnsw {
+
+    private static final int CAPACIDADE_INICIAL = 256;
+    private static final int[] SEM_LIGACOES = new int[0];
+
+    private final int dimensao;
+    private final int conexoes;
+    private final int conexoesNivelZero;
+    private final int efConstrucao;
+    private final int efBusca;
+    private final double fatorNivel;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FloatBuffer vetores;
+    private UUID[] ids;
+    private int[][][] ligacoes;
+    private final BitSet removidos = new BitSet();
+    private final Map<UUID, Integer> posicaoPorId = new HashMap<>();
+    private int quantidade;
+    private int pontoEntrada = -1;
+    private int nivelMaximo = -1;
+
+    public IndiceHnsw(int dimensao, int conexoes, int efConstrucao, int efBusca) {
+        if (dimensao <= 0 || conexoes < 2) {
+            throw new IllegalArgumentException("Dimensão e número de conexões do índice devem ser positivos");
+        }
+        this.dimensao = dimensao;
+        this.conexoes = conexoes;
+        this.conexoesNivelZero = conexoes * 2;
+        this.efConstrucao = Math.max(efConstrucao, conexoes);
+        this.efBusca = Math.max(1, efBusca);
+        this.fatorNivel = 1.0 / Math.log(conexoes);
+        alocar(CAPACIDADE_INICIAL);
+    }
+
+    
+    public void inserir(UUID id, float[] vetor) {
+        if (vetor.length != dimensao) {
+            throw new IllegalArgumentException("Vetor com dimensão %d, esperado %d".formatted(vetor.length, dimensao));
+        }
+        lock.writeLock().lock();
+        try {
+            Integer anterior = posicaoPorId.remove(id);
+            if (anterior != null) {
+                removidos.set(anterior);
+            }
+            if (removidos.cardinality() > CAPACIDADE_INICIAL && removidos.cardinality() > posicaoPorId.size()) {
+                compactar();
+            }
+            adicionarNo(id, vetor);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    
+    public void remover(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Integer posicao = posicaoPorId.remove(id);
+            if (posicao != null) {
+                removidos.set(posicao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    
+    public boolean contem(UUID id) {
+        lock.readLock().lock();
+        try {
+            return posicaoPorId.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return posicaoPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    
+    public List<Vizinho> buscar(float[] consulta, int k) {
+        if (consulta.length != dimensao || k <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (pontoEntrada < 0 || posicaoPorId.isEmpty()) {
+                return List.of();
+            }
+            int atual = pontoEntrada;
+            for (int nivel = nivelMaximo; nivel > 0; nivel--) {
+                atual = buscaGulosa(consulta, atual, nivel);
+            }
+
+            List<Vizinho> resultado = new ArrayList<>(k);
+            for (Candidato candidato : buscarCamada(consulta, atual, Math.max(efBusca, k), 0)) {
+                if (!removidos.get(candidato.no())) {
+                    resultado.add(new Vizinho(ids[candidato.no()], candidato.similaridade()));
+                    if (resultado.size() == k) {
+                        break;
+                    }
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void adicionarNo(UUID id, float[] vetor) {
+        if (quantidade == ids.length) {
+            alocar(ids.length * 2);
+        }
+        int no = quantidade++;
+        int nivel = sortearNivel();
+        vetores.put(no * dimensao, vetor);
+        ids[no] = id;
+        ligacoes[no] = new int[nivel + 1][];
+        Arrays.fill(ligacoes[no], SEM_LIGACOES);
+        posicaoPorId.put(id, no);
+
+        if (pontoEntrada < 0) {
+            pontoEntrada = no;
+            nivelMaximo = nivel;
+            return;
+        }
+
+        int atual = pontoEntrada;
+        for (int l = nivelMaximo; l > nivel; l--) {
+            atual = buscaGulosa(vetor, atual, l);
+        }
+
+        for (int l = Math.min(nivel, nivelMaximo); l >= 0; l--) {
+            List<Candidato> candidatos = buscarCamada(vetor, atual, efConstrucao, l);
+            int[] selecionados = selecionarVizinhos(candidatos, conexoes);
+            ligacoes[no][l] = selecionados;
+            for (int vizinho : selecionados) {
+                conectar(vizinho, no, l);
+            }
+            atual = candidatos.get(0).no();
+        }
+
+        if (nivel > nivelMaximo) {
+            nivelMaximo = nivel;
+            pontoEntrada = no;
+        }
+    }
+
+    private void conectar(int origem, int destino, int nivel) {
+        int[] atuais = ligacoes[origem][nivel];
+        int limite = nivel == 0 ? conexoesNivelZero : conexoes;
+        if (atuais.length < limite) {
+            int[] novas = Arrays.copyOf(atuais, atuais.length + 1);
+            novas[atuais.length] = destino;
+            ligacoes[origem][nivel] = novas;
+            return;
+        }
+
+        List<Candidato> candidatos = new ArrayList<>(atuais.length + 1);
+        candidatos.add(new Candidato(destino, similaridade(origem, destino)));
+        for (int vizinho : atuais) {
+            candidatos.add(new Candidato(vizinho, similaridade(origem, vizinho)));
+        }
+        candidatos.sort(Comparator.comparingDouble(Candidato::similaridade).reversed());
+        ligacoes[origem][nivel] = selecionarVizinhos(candidatos, limite);
+    }
+
+    private int[] selecionarVizinhos(List<Candidato> candidatosOrdenados, int limite) {
+        int[] selecionados = new int[Math.min(limite, candidatosOrdenados.size())];
+        int total = 0;
+        List<Candidato> descartados = new ArrayList<>();
+
+        for (Candidato candidato : candidatosOrdenados) {
+            if (total == selecionados.length) {
+                break;
+            }
+            boolean diversifica = true;
+            for (int i = 0; i < total; i++) {
+                if (similaridade(candidato.no(), selecionados[i]) > candidato.similaridade()) {
+                    diversifica = false;
+                    break;
+                }
+            }
+            if (diversifica) {
+                selecionados[total++] = candidato.no();
+            } else {
+                descartados.add(candidato);
+            }
+        }
+
+        for (int i = 0; total < selecionados.length && i < descartados.size(); i++) {
+            selecionados[total++] = descartados.get(i).no();
+        }
+        return total == selecionados.length ? selecionados : Arrays.copyOf(selecionados, total);
+    }
+
+    private int buscaGulosa(float[] consulta, int inicio, int nivel) {
+        int atual = inicio;
+        float melhor = similaridade(atual, consulta);
+        boolean melhorou = true;
+        while (melhorou) {
+            melhorou = false;
+            for (int vizinho : vizinhos(atual, nivel)) {
+                float sim = similaridade(vizinho, consulta);
+                if (sim > melhor) {
+                    melhor = sim;
+                    atual = vizinho;
+                    melhorou = true;
+                }
+            }
+        }
+        return atual;
+    }
+
+    private List<Candidato> buscarCamada(float[] consulta, int inicio, int ef, int nivel) {
+        BitSet visitados = new BitSet(quantidade);
+        PriorityQueue<Candidato> fronteira = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidato::similaridade).reversed());
+        PriorityQueue<Candidato> melhores = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidato::similaridade));
+
+        Candidato primeiro = new Candidato(inicio, similaridade(inicio, consulta));
+        visitados.set(inicio);
+        fronteira.add(primeiro);
+        melhores.add(primeiro);
+
+        while (!fronteira.isEmpty()) {
+            Candidato atual = fronteira.poll();
+            if (melhores.size() >= ef && atual.similaridade() < melhores.peek().similaridade()) {
+                break;
+            }
+            for (int vizinho : vizinhos(atual.no(), nivel)) {
+                if (visitados.get(vizinho)) {
+                    continue;
+                }
+                visitados.set(vizinho);
+                float sim = similaridade(vizinho, consulta);
+                if (melhores.size() < ef || sim > melhores.peek().similaridade()) {
+                    Candidato candidato = new Candidato(vizinho, sim);
+                    fronteira.add(candidato);
+                    melhores.add(candidato);
+                    if (melhores.size() > ef) {
+                        melhores.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidato> resultado = new ArrayList<>(melhores);
+        resultado.sort(Comparator.comparingDouble(Candidato::similaridade).reversed());
+        return resultado;
+    }
+
+    private int[] vizinhos(int no, int nivel) {
+        int[][] porNivel = ligacoes[no];
+        return nivel < porNivel.length ? porNivel[nivel] : SEM_LIGACOES;
+    }
+
+    private float similaridade(int no, float[] consulta) {
+        int base = no * dimensao;
+        float soma = 0f;
+        for (int i = 0; i < dimensao; i++) {
+            soma += vetores.get(base + i) * consulta[i];
+        }
+        return soma;
+    }
+
+    private float similaridade(int a, int b) {
+        int baseA = a * dimensao;
+        int baseB = b * dimensao;
+        float soma = 0f;
+        for (int i = 0; i < dimensao; i++) {
+            soma += vetores.get(baseA + i) * vetores.get(baseB + i);
+        }
+        return soma;
+    }
+
+    private int sortearNivel() {
+        return (int) (-Math.log(1.0 - random.nextDouble()) * fatorNivel);
+    }
+
+    private void alocar(int capacidade) {
+        FloatBuffer novos = ByteBuffer.allocateDirect(capacidade * dimensao * Float.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        if (vetores != null) {
+            novos.put(0, vetores, 0, quantidade * dimensao);
+        }
+        vetores = novos;
+        ids = ids == null ? new UUID[capacidade] : Arrays.copyOf(ids, capacidade);
+        ligacoes = ligacoes == null ? new int[capacidade][][] : Arrays.copyOf(ligacoes, capacidade);
+    }
+
+    private void compactar() {
+        FloatBuffer antigos = vetores;
+        UUID[] idsAntigos = ids;
+        List<Integer> ativos = new ArrayList<>(posicaoPorId.values());
+        ativos.sort(Comparator.naturalOrder());
+
+        vetores = null;
+        ids = null;
+        ligacoes = null;
+        removidos.clear();
+        posicaoPorId.clear();
+        quantidade = 0;
+        pontoEntrada = -1;
+        nivelMaximo = -1;
+        alocar(Math.max(CAPACIDADE_INICIAL, ativos.size() * 2));
+
+        float[] vetor = new float[dimensao];
+        for (int posicao : ativos) {
+            antigos.get(posicao * dimensao, vetor);
+            adicionarNo(idsAntigos[posicao], vetor);
+        }
+    }
+
+    private record Candidato(int no, float similaridade) {}
+
+    
+    public record Vizinho(UUID id, float similaridade) {}
+}
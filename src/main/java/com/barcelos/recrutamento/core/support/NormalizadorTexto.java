@@ -0,0 +1,60 @@
+package com.barcelos.recrutamento.core.support;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class NormalizadorTexto {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9+#.]+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "e", "ou", "de", "da", "do", "das", "dos", "em", "na", "no", "nas", "nos",
+            "um", "uma", "uns", "umas", "para", "por", "com", "sem", "que", "se", "ao", "aos", "sua", "seu",
+            "suas", "seus", "como", "mais", "ser", "ter", "sobre", "entre", "ate", "pelo", "pela", "the",
+            "and", "of", "to", "in", "for", "with", "vaga", "experiencia", "conhecimento", "conhecimentos",
+            "desejavel", "obrigatorio", "requisitos", "requisito", "area", "atuar", "trabalho", "empresa",
+            "profissional", "anos", "ano", "etc", "bom", "boa", "forte", "solido", "solida"
+    );
+
+    private NormalizadorTexto() {
+    }
+
+    
+    public static String normalizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return "";
+        }
+        String semAcento = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcento.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    
+    public static List<String> tokens(String texto) {
+        String normalizado = normalizar(texto);
+        List<String> tokens = new ArrayList<>();
+        if (normalizado.isEmpty()) {
+            return tokens;
+        }
+        for (String bruto : SEPARADORES.split(normalizado)) {
+            String token = limparPontuacao(bruto);
+            if (token.length() >= 2 && !STOPWORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String limparPontuacao(String token) {
+        int inicio = 0;
+        int fim = token.length();
+        while (inicio < fim && token.charAt(inicio) == '.') inicio++;
+        while (fim > inicio && token.charAt(fim - 1) == '.') fim--;
+        return token.substring(inicio, fim);
+    }
+}
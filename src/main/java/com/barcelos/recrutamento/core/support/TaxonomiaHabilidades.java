@@ -0,0 +1,148 @@
+package com.barcelos.recrutamento.core.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class TaxonomiaHabilidades {
+
+    private static final String RECURSO = "/taxonomia-habilidades.txt";
+    private static final int[] VAZIO = new int[0];
+
+    private final List<String> canonicos;
+    private final List<List<String>> termos;
+    private final AhoCorasick automato;
+
+    private TaxonomiaHabilidades(List<String> canonicos, List<List<String>> termos, AhoCorasick automato) {
+        this.canonicos = canonicos;
+        this.termos = termos;
+        this.automato = automato;
+    }
+
+    
+    public static TaxonomiaHabilidades de(List<String> linhas) {
+        List<String> canonicos = new ArrayList<>();
+        List<List<String>> termos = new ArrayList<>();
+        Map<String, Integer> padroes = new LinkedHashMap<>();
+
+        for (String linha : linhas) {
+            String conteudo = linha.strip();
+            if (conteudo.isEmpty() || conteudo.startsWith("#")) {
+                continue;
+            }
+            int separador = conteudo.indexOf(':');
+            String canonico = (separador >= 0 ? conteudo.substring(0, separador) : conteudo).strip();
+            if (canonico.isEmpty()) {
+                throw new IllegalArgumentException("Habilidade sem nome canônico: " + linha);
+            }
+
+            int id = canonicos.size();
+            Set<String> sinonimos = new LinkedHashSet<>();
+            sinonimos.add(NormalizadorTexto.normalizar(canonico));
+            if (separador >= 0) {
+                for (String alias : conteudo.substring(separador + 1).split(",")) {
+                    String normalizado = NormalizadorTexto.normalizar(alias);
+                    if (!normalizado.isEmpty()) {
+                        sinonimos.add(normalizado);
+                    }
+                }
+            }
+            for (String termo : sinonimos) {
+                Integer anterior = padroes.putIfAbsent(termo, id);
+                if (anterior != null) {
+                    throw new IllegalArgumentException("Termo '%s' associado a '%s' e '%s'"
+                            .formatted(termo, canonicos.get(anterior), canonico));
+                }
+            }
+            canonicos.add(canonico);
+            termos.add(List.copyOf(sinonimos));
+        }
+
+        return new TaxonomiaHabilidades(List.copyOf(canonicos), List.copyOf(termos), AhoCorasick.construir(padroes));
+    }
+
+    
+    public int[] extrair(String... textos) {
+        BitSet encontradas = new BitSet(canonicos.size());
+        for (String texto : textos) {
+            for (AhoCorasick.Ocorrencia ocorrencia : automato.encontrar(NormalizadorTexto.normalizar(texto))) {
+                encontradas.set(ocorrencia.valor());
+            }
+        }
+        return encontradas.isEmpty() ? VAZIO : encontradas.stream().toArray();
+    }
+
+    
+    public String canonico(int id) {
+        return canonicos.get(id);
+    }
+
+    
+    public List<String> termos(int id) {
+        return termos.get(id);
+    }
+
+    
+    public int tamanho() {
+        return canonicos.size();
+    }
+
+    
+    public static boolean contem(int[] habilidades, int id) {
+        int inicio = 0;
+        int fim = habilidades.length - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (habilidades[meio] == id) {
+                return true;
+            }
+            if (habilidades[meio] < id) {
+                inicio = meio + 1;
+            } else {
+                fim = meio - 1;
+            }
+        }
+        return false;
+    }
+
+    
+    public static boolean possuiInterseccao(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                return true;
+            }
+            if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return false;
+    }
+
+    
+    public static TaxonomiaHabilidades carregar() {
+        try (InputStream entrada = TaxonomiaHabilidades.class.getResourceAsStream(RECURSO)) {
+            if (entrada == null) {
+                throw new IllegalStateException("Recurso " + RECURSO + " não encontrado");
+            }
+            try (BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+                return de(leitor.lines().toList());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao carregar taxonomia de habilidades", e);
+        }
+    }
+}
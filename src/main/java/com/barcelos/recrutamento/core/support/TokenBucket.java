@@ -0,0 +1,76 @@
+package com.barcelos.recrutamento.core.support;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+public final class TokenBucket {
+
+    private final long capacidade;
+    private final double reposicaoPorNano;
+    private final LongSupplier relogioNanos;
+    private double disponiveis;
+    private long ultimaReposicao;
+
+    public TokenBucket(long capacidade, Duration periodo) {
+        this(capacidade, periodo, System::nanoTime);
+    }
+
+    public TokenBucket(long capacidade, Duration periodo, LongSupplier relogioNanos) {
+        if (capacidade <= 0 || periodo.isZero() || periodo.isNegative()) {
+            throw new IllegalArgumentException("Capacidade e período do token bucket devem ser positivos");
+        }
+        this.capacidade = capacidade;
+        this.reposicaoPorNano = (double) capacidade / periodo.toNanos();
+        this.relogioNanos = relogioNanos;
+        this.disponiveis = capacidade;
+        this.ultimaReposicao = relogioNanos.getAsLong();
+    }
+
+    
+    public boolean tentarConsumir(long quantidade) {
+        return tentarConsumir(quantidade, 0);
+    }
+
+    
+    public synchronized boolean tentarConsumir(long quantidade, long reserva) {
+        repor();
+        if (disponiveis < limiar(quantidade, reserva)) {
+            return false;
+        }
+        disponiveis -= Math.min(quantidade, capacidade);
+        return true;
+    }
+
+    
+    public long esperaNanos(long quantidade) {
+        return esperaNanos(quantidade, 0);
+    }
+
+    
+    public synchronized long esperaNanos(long quantidade, long reserva) {
+        repor();
+        double faltante = limiar(quantidade, reserva) - disponiveis;
+        return faltante <= 0 ? 0 : (long) Math.ceil(faltante / reposicaoPorNano);
+    }
+
+    
+    public long getCapacidade() {
+        return capacidade;
+    }
+
+    
+    public synchronized long disponiveis() {
+        repor();
+        return (long) disponiveis;
+    }
+
+    private long limiar(long quantidade, long reserva) {
+        return Math.min(Math.min(quantidade, capacidade) + Math.max(0, reserva), capacidade);
+    }
+
+    private void repor() {
+        long agora = relogioNanos.getAsLong();
+        disponiveis = Math.min(capacidade, disponiveis + (agora - ultimaReposicao) * reposicaoPorNano);
+        ultimaReposicao = agora;
+    }
+}
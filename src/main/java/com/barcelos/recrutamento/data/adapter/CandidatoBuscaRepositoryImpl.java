@@ -0,0 +1,227 @@
+package com.barcelos.recrutamento.data.adapter;
+
+import com.barcelos.recrutamento.core.model.Competencia;
+import com.barcelos.recrutamento.core.model.ExperienciaProfissional;
+import com.barcelos.recrutamento.core.model.PerfilCandidatoSnapshot;
+import com.barcelos.recrutamento.core.port.CandidatoBuscaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Repository
+public class CandidatoBuscaRepositoryImpl implements CandidatoBuscaRepository {
+
+    private static final String SQL_UPSERT = """
+            INSERT INTO candidato_busca (usuario_id, documento, cidade, cargos, data_atualizacao)
+            VALUES (?,
+                    setweight(to_tsvector('portuguese', unaccent(?)), 'A')
+                        || setweight(to_tsvector('portuguese', unaccent(?)), 'B')
+                        || setweight(to_tsvector('portuguese', unaccent(?)), 'C')
+                        || setweight(to_tsvector('portuguese', unaccent(?)), 'D'),
+                    unaccent(lower(?)), unaccent(lower(?)), ?)
+            ON CONFLICT (usuario_id) DO UPDATE SET
+                documento = EXCLUDED.documento,
+                cidade = EXCLUDED.cidade,
+                cargos = EXCLUDED.cargos,
+                data_atualizacao = EXCLUDED.data_atualizacao
+            """;
+
+    private static final String SQL_NAO_INDEXADOS = """
+            SELECT pc.usuario_id
+            FROM perfil_candidato pc
+            WHERE NOT EXISTS (SELECT 1 FROM candidato_busca cb WHERE cb.usuario_id = pc.usuario_id)
+            """;
+
+    private static final String FILTRO_CANDIDATOS = """
+            (cb.documento @@ websearch_to_tsquery('portuguese', unaccent(?))
+                OR cb.documento @@ websearch_to_tsquery('portuguese', unaccent(?))
+                OR cb.usuario_id = ANY(CAST(? AS uuid[])))
+            AND EXISTS (SELECT 1 FROM perfil_candidato pc WHERE pc.usuario_id = cb.usuario_id)
+            """;
+
+    private static final String SQL_BUSCAR = """
+            WITH consulta AS (
+                SELECT websearch_to_tsquery('portuguese', unaccent(?)) AS termos,
+                       websearch_to_tsquery('portuguese', unaccent(?)) AS nome,
+                       unaccent(lower(CAST(? AS text))) AS localizacao,
+                       unaccent(lower(CAST(? AS text))) AS senioridade
+            ), pontuados AS (
+                SELECT cb.usuario_id,
+                       LEAST(100,
+                           CASE WHEN numnode(c.termos) = 0 THEN 30
+                                ELSE LEAST(60, CEIL(ts_rank_cd(cb.documento, c.termos, 32) * 120)) END
+                         + CASE WHEN c.localizacao IS NULL THEN 10
+                                WHEN cb.cidade LIKE '%' || c.localizacao || '%' THEN 20 ELSE 0 END
+                         + CASE WHEN c.senioridade IS NULL THEN 10
+                                WHEN cb.cargos LIKE '%' || c.senioridade || '%' THEN 20 ELSE 0 END) AS relevancia,
+                       ts_filter(cb.documento, '{a}') @@ c.nome AS corresponde_nome,
+                       cc.percentual_compatibilidade AS percentual
+                FROM candidato_busca cb
+                CROSS JOIN consulta c
+                LEFT JOIN compatibilidade_cache cc
+                       ON cc.candidato_usuario_id = cb.usuario_id
+                      AND cc.vaga_id = ?
+                      AND (CAST(? AS timestamp) IS NULL OR COALESCE(cc.data_atualizacao, cc.data_calculo) >= ?)
+                WHERE {filtro}
+            ), relevantes AS (
+                SELECT usuario_id,
+                       CASE WHEN corresponde_nome THEN GREATEST(80, relevancia) ELSE relevancia END AS relevancia,
+                       percentual
+                FROM pontuados
+                WHERE relevancia > 0 OR corresponde_nome
+            ), finais AS (
+                SELECT usuario_id,
+                       CAST(CASE WHEN percentual IS NULL THEN relevancia
+                                 WHEN relevancia >= 80 THEN GREATEST(TRUNC(percentual), relevancia)
+                                 ELSE TRUNC(percentual) END AS INTEGER) AS score
+                FROM relevantes
+            )
+            SELECT usuario_id, score
+            FROM finais
+            {posicao}
+            ORDER BY score DESC, usuario_id
+            OFFSET ? LIMIT ?
+            """.replace("{filtro}", FILTRO_CANDIDATOS);
+
+    private static final String SQL_CONTAR = """
+            SELECT COUNT(*) FROM (
+                SELECT 1 FROM candidato_busca cb
+                WHERE {filtro}
+                LIMIT ?
+            ) encontrados
+            """.replace("{filtro}", FILTRO_CANDIDATOS);
+
+    private static final String SQL_BUSCAR_POR_COMPATIBILIDADE = """
+            SELECT cc.candidato_usuario_id AS usuario_id,
+                   CAST(TRUNC(cc.percentual_compatibilidade) AS INTEGER) AS score
+            FROM compatibilidade_cache cc
+            WHERE cc.vaga_id = ?
+              AND EXISTS (SELECT 1 FROM perfil_candidato pc WHERE pc.usuario_id = cc.candidato_usuario_id)
+              {posicao}
+            ORDER BY (-TRUNC(cc.percentual_compatibilidade)), cc.candidato_usuario_id
+            OFFSET ? LIMIT ?
+            """;
+
+    private static final String SQL_CONTAR_POR_COMPATIBILIDADE = """
+            SELECT COUNT(*) FROM (
+                SELECT 1 FROM compatibilidade_cache cc
+                WHERE cc.vaga_id = ?
+                  AND EXISTS (SELECT 1 FROM perfil_candidato pc WHERE pc.usuario_id = cc.candidato_usuario_id)
+                LIMIT ?
+            ) encontrados
+            """;
+
+    private static final int LIMITE_CONTAGEM = 1000;
+
+    private static final RowMapper<CandidatoEncontrado> MAPEADOR = (rs, rowNum) ->
+            new CandidatoEncontrado(rs.getObject("usuario_id", UUID.class), rs.getInt("score"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CandidatoBuscaRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void indexar(PerfilCandidatoSnapshot snapshot) {
+        List<Competencia> competencias = snapshot.getCompetencias();
+        List<ExperienciaProfissional> experiencias = snapshot.getExperiencias();
+        String cargos = experiencias.stream()
+                .map(ExperienciaProfissional::getCargo)
+                .collect(Collectors.joining(" | "));
+        String titulos = Stream.concat(competencias.stream().map(Competencia::getTitulo), Stream.of(cargos))
+                .collect(Collectors.joining(" "));
+        String descricoes = Stream.concat(
+                        competencias.stream().map(Competencia::getDescricao),
+                        experiencias.stream().map(ExperienciaProfissional::getDescricao))
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "));
+        String cidade = snapshot.getPerfil()
+                .map(perfil -> perfil.getEndereco() != null ? perfil.getEndereco().cidade() : null)
+                .orElse(null);
+
+        jdbcTemplate.update(SQL_UPSERT,
+                snapshot.getUsuarioId(),
+                snapshot.getNome(),
+                titulos,
+                descricoes,
+                cidade != null ? cidade : "",
+                cidade,
+                cargos,
+                Timestamp.valueOf(snapshot.getDataAtualizacao()));
+    }
+
+    @Override
+    public List<UUID> listarNaoIndexados() {
+        return jdbcTemplate.queryForList(SQL_NAO_INDEXADOS, UUID.class);
+    }
+
+    @Override
+    public PaginaCandidatos buscar(ConsultaCandidato consulta, Posicao apos, int deslocamento, int limite) {
+        String termos = consultaWeb(consulta.palavrasChave());
+        String nome = consultaWeb(consulta.termosNome());
+        String adicionais = consulta.candidatosAdicionais().stream()
+                .map(UUID::toString)
+                .collect(Collectors.joining(",", "{", "}"));
+        Timestamp validaDesde = consulta.compatibilidadeValidaDesde() != null
+                ? Timestamp.valueOf(consulta.compatibilidadeValidaDesde())
+                : null;
+
+        List<Object> parametros = new ArrayList<>(List.of(termos, nome));
+        parametros.add(consulta.localizacao());
+        parametros.add(consulta.senioridade());
+        parametros.add(consulta.vagaId());
+        parametros.add(validaDesde);
+        parametros.add(validaDesde);
+        parametros.addAll(List.of(termos, nome, adicionais));
+        String sql = SQL_BUSCAR.replace("{posicao}", apos != null ? "WHERE (-score, usuario_id) > (?, ?)" : "");
+        List<CandidatoEncontrado> itens = jdbcTemplate.query(sql, MAPEADOR,
+                paginacao(parametros, apos, deslocamento, limite));
+
+        Long total = jdbcTemplate.queryForObject(SQL_CONTAR, Long.class,
+                termos, nome, adicionais, LIMITE_CONTAGEM);
+        return new PaginaCandidatos(itens, total != null ? total : itens.size());
+    }
+
+    @Override
+    public PaginaCandidatos buscarPorCompatibilidade(UUID vagaId, Posicao apos, int deslocamento, int limite) {
+        String sql = SQL_BUSCAR_POR_COMPATIBILIDADE.replace("{posicao}", apos != null
+                ? "AND ((-TRUNC(cc.percentual_compatibilidade)), cc.candidato_usuario_id) > (?, ?)"
+                : "");
+        List<Object> parametros = new ArrayList<>(List.of(vagaId));
+        List<CandidatoEncontrado> itens = jdbcTemplate.query(sql, MAPEADOR,
+                paginacao(parametros, apos, deslocamento, limite));
+
+        Long total = jdbcTemplate.queryForObject(SQL_CONTAR_POR_COMPATIBILIDADE, Long.class,
+                vagaId, LIMITE_CONTAGEM);
+        return new PaginaCandidatos(itens, total != null ? total : itens.size());
+    }
+
+    private static Object[] paginacao(List<Object> parametros, Posicao apos, int deslocamento, int limite) {
+        if (apos != null) {
+            parametros.add(-apos.score());
+            parametros.add(apos.usuarioId());
+        }
+        parametros.add(deslocamento);
+        parametros.add(limite);
+        return parametros.toArray();
+    }
+
+    private static String consultaWeb(List<String> termos) {
+        return termos.stream()
+                .map(termo -> termo.replace('"', ' ').replace('-', ' ').trim())
+                .filter(termo -> !termo.isEmpty())
+                .map(termo -> termo.contains(" ") ? "\"" + termo + "\"" : termo)
+                .collect(Collectors.joining(" or "));
+    }
+}
@@ -8,7 +8,9 @@ import com.barcelos.recrutamento.data.spring.CandidaturaJpaRepository;
 import com.barcelos.recrutamento.data.spring.UsuarioJpaRepository;
 import com.barcelos.recrutamento.data.spring.VagaJpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -70,4 +72,10 @@ public class CandidaturaRepositoryImpl implements CandidaturaRepository {
                 .map(mapper::toDomain)
                 .toList();
     }
+
+    @Override
+    @Transactional
+    public int atualizarCompatibilidade(UUID vagaId, UUID candidatoUsuarioId, BigDecimal compatibilidade) {
+        return jpaRepository.atualizarCompatibilidade(vagaId, candidatoUsuarioId, compatibilidade);
+    }
 }
@@ -0,0 +1,195 @@
+package com.barcelos.recrutamento.data.adapter;
+
+import com.barcelos.recrutamento.config.AiGatewayProperties;
+import com.barcelos.recrutamento.core.exception.CotaIaExcedidaException;
+import com.barcelos.recrutamento.core.exception.IaIndisponivelException;
+import com.barcelos.recrutamento.core.port.AiGateway;
+import com.barcelos.recrutamento.core.support.CircuitBreaker;
+import com.barcelos.recrutamento.core.support.FaixaExecucao;
+import com.barcelos.recrutamento.core.support.TokenBucket;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+@Component
+public class ChatClientAiGateway implements AiGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatClientAiGateway.class);
+    private static final int CARACTERES_POR_TOKEN = 4;
+    private static final long PASSO_ESPERA_MILLIS = 10;
+
+    private final ChatClient chatClient;
+    private final Semaphore permissoesInterativas;
+    private final Semaphore permissoesCompartilhadas;
+    private final TokenBucket requisicoes;
+    private final TokenBucket tokens;
+    private final CircuitBreaker circuito;
+    private final long esperaMaximaNanos;
+    private final long reservaRequisicoes;
+    private final long reservaTokens;
+    private final Map<FaixaExecucao, AtomicInteger> aguardando = new EnumMap<>(FaixaExecucao.class);
+    private final Map<FaixaExecucao, Timer> temposEspera = new EnumMap<>(FaixaExecucao.class);
+
+    public ChatClientAiGateway(ChatClient chatClient, AiGatewayProperties properties, MeterRegistry meterRegistry) {
+        this.chatClient = chatClient;
+        int maxConcorrencia = Math.max(1, properties.getMaxConcorrencia());
+        int reservaInterativa = Math.min(Math.max(0, properties.getReservaInterativa()), maxConcorrencia - 1);
+        this.permissoesInterativas = new Semaphore(reservaInterativa, true);
+        this.permissoesCompartilhadas = new Semaphore(maxConcorrencia - reservaInterativa, true);
+        this.requisicoes = new TokenBucket(Math.max(1, properties.getRequisicoesPorMinuto()), Duration.ofMinutes(1));
+        this.tokens = new TokenBucket(Math.max(1, properties.getTokensPorMinuto()), Duration.ofMinutes(1));
+        this.circuito = new CircuitBreaker(Math.max(1, properties.getCircuitoLimiteFalhas()),
+                Duration.ofSeconds(properties.getCircuitoAberturaSeconds()));
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(properties.getEsperaMaximaMillis());
+        int percentualReserva = Math.min(Math.max(0, properties.getReservaCotaInterativaPercentual()), 100);
+        this.reservaRequisicoes = requisicoes.getCapacidade() * percentualReserva / 100;
+        this.reservaTokens = tokens.getCapacidade() * percentualReserva / 100;
+        registrarMetricas(meterRegistry);
+    }
+
+    @Override
+    public String gerar(String prompt) {
+        return gerar(prompt, null);
+    }
+
+    @Override
+    public String gerar(String prompt, String modelo) {
+        if (!circuito.disponivel()) {
+            throw new IaIndisponivelException("Serviço de IA temporariamente indisponível (circuito aberto)");
+        }
+
+        FaixaExecucao faixa = FaixaExecucao.atual();
+        long inicio = System.nanoTime();
+        long prazo = inicio + esperaMaximaNanos;
+        Semaphore permissao;
+        aguardando.get(faixa).incrementAndGet();
+        try {
+            permissao = adquirirPermissao(faixa, prazo);
+            try {
+                reservarCota(faixa, estimarTokens(prompt), prazo);
+            } catch (RuntimeException e) {
+                permissao.release();
+                throw e;
+            }
+        } finally {
+            aguardando.get(faixa).decrementAndGet();
+            temposEspera.get(faixa).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            if (!circuito.permitir()) {
+                throw new IaIndisponivelException("Serviço de IA temporariamente indisponível (circuito aberto)");
+            }
+            return chamar(prompt, modelo);
+        } finally {
+            permissao.release();
+        }
+    }
+
+    @Override
+    public boolean disponivel() {
+        return circuito.disponivel();
+    }
+
+    private Semaphore adquirirPermissao(FaixaExecucao faixa, long prazo) {
+        try {
+            if (faixa == FaixaExecucao.SEGUNDO_PLANO) {
+                if (permissoesCompartilhadas.tryAcquire(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    return permissoesCompartilhadas;
+                }
+            } else {
+                do {
+                    if (permissoesInterativas.tryAcquire()) {
+                        return permissoesInterativas;
+                    }
+                    if (permissoesCompartilhadas.tryAcquire(PASSO_ESPERA_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return permissoesCompartilhadas;
+                    }
+                } while (System.nanoTime() < prazo);
+            }
+            throw new CotaIaExcedidaException("Limite de chamadas simultâneas à IA atingido");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IaIndisponivelException("Interrompido aguardando chamada à IA", e);
+        }
+    }
+
+    private void reservarCota(FaixaExecucao faixa, long tokensEstimados, long prazo) {
+        boolean segundoPlano = faixa == FaixaExecucao.SEGUNDO_PLANO;
+        long reservaRequisicoesFaixa = segundoPlano ? reservaRequisicoes : 0;
+        long reservaTokensFaixa = segundoPlano ? reservaTokens : 0;
+        while (true) {
+            long espera;
+            synchronized (this) {
+                espera = Math.max(requisicoes.esperaNanos(1, reservaRequisicoesFaixa),
+                        tokens.esperaNanos(tokensEstimados, reservaTokensFaixa));
+                if (espera == 0 && requisicoes.tentarConsumir(1, reservaRequisicoesFaixa)
+                        && tokens.tentarConsumir(tokensEstimados, reservaTokensFaixa)) {
+                    return;
+                }
+            }
+            if (System.nanoTime() + espera > prazo) {
+                throw new CotaIaExcedidaException("Limite de requisições por minuto da IA atingido");
+            }
+            LockSupport.parkNanos(Math.max(espera, TimeUnit.MILLISECONDS.toNanos(1)));
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new IaIndisponivelException("Interrompido aguardando cota da IA");
+            }
+        }
+    }
+
+    private String chamar(String prompt, String modelo) {
+        ChatClient.ChatClientRequestSpec requisicao = chatClient.prompt().user(prompt);
+        if (modelo != null && !modelo.isBlank()) {
+            requisicao = requisicao.options(ChatOptions.builder().model(modelo).build());
+        }
+        try {
+            String resposta = requisicao.call().content();
+            circuito.registrarSucesso();
+            return resposta;
+        } catch (RuntimeException e) {
+            registrarFalha();
+            throw e;
+        }
+    }
+
+    private void registrarFalha() {
+        circuito.registrarFalha();
+        if (circuito.estado() == CircuitBreaker.Estado.ABERTO) {
+            log.warn("Circuito da IA aberto após falhas consecutivas; chamadas usarão o modo degradado");
+        }
+    }
+
+    private void registrarMetricas(MeterRegistry registry) {
+        for (FaixaExecucao faixa : FaixaExecucao.values()) {
+            String tag = faixa.name().toLowerCase();
+            AtomicInteger fila = new AtomicInteger();
+            aguardando.put(faixa, fila);
+            Gauge.builder("ia.gateway.fila", fila, AtomicInteger::get)
+                    .tag("faixa", tag)
+                    .register(registry);
+            temposEspera.put(faixa, Timer.builder("ia.gateway.espera")
+                    .tag("faixa", tag)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry));
+        }
+    }
+
+    private long estimarTokens(String prompt) {
+        return Math.max(1, prompt.length() / CARACTERES_POR_TOKEN);
+    }
+}
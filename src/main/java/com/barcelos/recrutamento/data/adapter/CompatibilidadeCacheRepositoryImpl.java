@@ -1,75 +1,347 @@
 package com.barcelos.recrutamento.data.adapter;
 
+import com.barcelos.recrutamento.config.CompatibilidadeProperties;
 import com.barcelos.recrutamento.core.model.CompatibilidadeCache;
+import com.barcelos.recrutamento.core.model.OrigemCompatibilidade;
 import com.barcelos.recrutamento.core.port.CompatibilidadeCacheRepository;
+import com.barcelos.recrutamento.core.support.CacheWTinyLfu;
+import com.barcelos.recrutamento.data.entity.CompatibilidadeCacheEntity;
 import com.barcelos.recrutamento.data.mapper.CompatibilidadeCacheMapper;
 import com.barcelos.recrutamento.data.spring.CompatibilidadeCacheJpaRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.lang.ref.SoftReference;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Repository
 public class CompatibilidadeCacheRepositoryImpl implements CompatibilidadeCacheRepository {
 
+    private static final BigDecimal CEM = BigDecimal.valueOf(100);
+    private static final int TAMANHO_BLOCO = 500;
+    private static final String SQL_UPSERT = """
+            INSERT INTO compatibilidade_cache (id, candidato_usuario_id, vaga_id, percentual_compatibilidade,
+                justificativa, data_calculo, data_atualizacao, origem, hash_perfil, hash_vaga)
+            VALUES (?, ?, ?, ?, ?, ?, ?, CAST(? AS origem_compatibilidade), ?, ?)
+            ON CONFLICT (candidato_usuario_id, vaga_id) DO UPDATE SET
+                percentual_compatibilidade = EXCLUDED.percentual_compatibilidade,
+                justificativa = EXCLUDED.justificativa,
+                data_atualizacao = COALESCE(EXCLUDED.data_atualizacao, EXCLUDED.data_calculo),
+                origem = EXCLUDED.origem,
+                hash_perfil = EXCLUDED.hash_perfil,
+                hash_vaga = EXCLUDED.hash_vaga
+            """;
+    private static final String SQL_REGISTRAR_JUSTIFICATIVA = """
+            UPDATE compatibilidade_cache SET justificativa = ?
+            WHERE candidato_usuario_id = ? AND vaga_id = ? AND percentual_compatibilidade = ?
+                AND justificativa IS NULL
+            """;
+
     private final CompatibilidadeCacheJpaRepository jpaRepository;
     private final CompatibilidadeCacheMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheWTinyLfu<ChaveCompatibilidade, EntradaCompatibilidade> cacheL1;
+    private final long ttlL1Nanos;
+    private final AtomicLong geracaoInvalidacao = new AtomicLong();
+    private final AtomicLong justificativasDescartadas = new AtomicLong();
 
     public CompatibilidadeCacheRepositoryImpl(CompatibilidadeCacheJpaRepository jpaRepository,
-                                             CompatibilidadeCacheMapper mapper) {
+                                             CompatibilidadeCacheMapper mapper,
+                                             JdbcTemplate jdbcTemplate,
+                                             CompatibilidadeProperties properties,
+                                             MeterRegistry meterRegistry) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheL1 = new CacheWTinyLfu<>(Math.max(1, properties.getCacheL1Capacidade()));
+        this.ttlL1Nanos = TimeUnit.SECONDS.toNanos(Math.max(0, properties.getCacheL1TtlSeconds()));
+        registrarMetricas(meterRegistry);
     }
 
     @Override
     @Transactional
     public CompatibilidadeCache save(CompatibilidadeCache cache) {
+        ChaveCompatibilidade chave = ChaveCompatibilidade.de(cache.getCandidatoUsuarioId(), cache.getVagaId());
+        invalidar(() -> cacheL1.remover(chave));
         var entity = mapper.toEntity(cache);
         var saved = jpaRepository.save(entity);
         return mapper.toDomain(saved);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
+    public void upsertAll(List<CompatibilidadeCache> caches) {
+        if (caches.isEmpty()) {
+            return;
+        }
+        List<ChaveCompatibilidade> chaves = caches.stream()
+                .map(cache -> ChaveCompatibilidade.de(cache.getCandidatoUsuarioId(), cache.getVagaId()))
+                .toList();
+        invalidar(() -> chaves.forEach(cacheL1::remover));
+        jdbcTemplate.batchUpdate(SQL_UPSERT, caches, TAMANHO_BLOCO, (ps, cache) -> {
+            ps.setObject(1, cache.getId());
+            ps.setObject(2, cache.getCandidatoUsuarioId());
+            ps.setObject(3, cache.getVagaId());
+            ps.setBigDecimal(4, cache.getPercentualCompatibilidade());
+            ps.setString(5, cache.getJustificativa());
+            ps.setTimestamp(6, Timestamp.valueOf(cache.getDataCalculo()));
+            ps.setTimestamp(7, cache.getDataAtualizacao() != null ? Timestamp.valueOf(cache.getDataAtualizacao()) : null);
+            ps.setString(8, cache.getOrigem().name());
+            ps.setString(9, cache.getHashPerfil());
+            ps.setString(10, cache.getHashVaga());
+        });
+    }
+
+    @Override
+    @Transactional
+    public boolean registrarJustificativa(CompatibilidadeCache cache, String justificativa) {
+        ChaveCompatibilidade chave = ChaveCompatibilidade.de(cache.getCandidatoUsuarioId(), cache.getVagaId());
+        invalidar(() -> cacheL1.remover(chave));
+        boolean registrada = jdbcTemplate.update(SQL_REGISTRAR_JUSTIFICATIVA, justificativa,
+                cache.getCandidatoUsuarioId(), cache.getVagaId(), cache.getPercentualCompatibilidade()) > 0;
+        if (!registrada) {
+            justificativasDescartadas.incrementAndGet();
+        }
+        return registrada;
+    }
+
+    @Override
     public Optional<CompatibilidadeCache> findByCandidatoAndVaga(UUID candidatoUsuarioId, UUID vagaId) {
-        return jpaRepository.findByCandidatoAndVaga(candidatoUsuarioId, vagaId)
+        ChaveCompatibilidade chave = ChaveCompatibilidade.de(candidatoUsuarioId, vagaId);
+        CompatibilidadeCache emL1 = obterDoL1(chave);
+        if (emL1 != null) {
+            return Optional.of(emL1);
+        }
+
+        long geracao = geracaoInvalidacao.get();
+        Optional<CompatibilidadeCache> cacheOpt = jpaRepository.findByCandidatoAndVaga(candidatoUsuarioId, vagaId)
                 .map(mapper::toDomain);
+        cacheOpt.ifPresent(cache -> armazenarNoL1(cache, geracao));
+        return cacheOpt;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<CompatibilidadeCache> findByCandidato(UUID candidatoUsuarioId) {
-        return jpaRepository.findByCandidato(candidatoUsuarioId).stream()
+        long geracao = geracaoInvalidacao.get();
+        List<CompatibilidadeCache> caches = jpaRepository.findByCandidato(candidatoUsuarioId).stream()
                 .map(mapper::toDomain)
                 .collect(Collectors.toList());
+        caches.forEach(cache -> armazenarNoL1(cache, geracao));
+        return caches;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<CompatibilidadeCache> findByVaga(UUID vagaId) {
-        return jpaRepository.findByVaga(vagaId).stream()
+        long geracao = geracaoInvalidacao.get();
+        List<CompatibilidadeCache> caches = jpaRepository.findByVaga(vagaId).stream()
                 .map(mapper::toDomain)
                 .collect(Collectors.toList());
+        caches.forEach(cache -> armazenarNoL1(cache, geracao));
+        return caches;
+    }
+
+    @Override
+    public List<CompatibilidadeCache> findByCandidatoAndVagas(UUID candidatoUsuarioId, Collection<UUID> vagaIds) {
+        return buscarEmBlocos(vagaIds,
+                vagaId -> ChaveCompatibilidade.de(candidatoUsuarioId, vagaId),
+                bloco -> jpaRepository.findByCandidatoAndVagas(candidatoUsuarioId, bloco));
+    }
+
+    @Override
+    public List<CompatibilidadeCache> findByVagaAndCandidatos(UUID vagaId, Collection<UUID> candidatoUsuarioIds) {
+        return buscarEmBlocos(candidatoUsuarioIds,
+                candidatoId -> ChaveCompatibilidade.de(candidatoId, vagaId),
+                bloco -> jpaRepository.findByVagaAndCandidatos(vagaId, bloco));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean existsByCandidatoAndVaga(UUID candidatoUsuarioId, UUID vagaId) {
+        if (obterDoL1(ChaveCompatibilidade.de(candidatoUsuarioId, vagaId)) != null) {
+            return true;
+        }
         return jpaRepository.existsByCandidatoAndVaga(candidatoUsuarioId, vagaId);
     }
 
     @Override
     @Transactional
     public void deleteByVaga(UUID vagaId) {
+        invalidar(() -> cacheL1.removerSe(chave -> chave.pertenceAVaga(vagaId)));
         jpaRepository.deleteByVaga(vagaId);
     }
 
     @Override
     @Transactional
     public void deleteByCandidato(UUID candidatoUsuarioId) {
+        invalidar(() -> cacheL1.removerSe(chave -> chave.pertenceAoCandidato(candidatoUsuarioId)));
         jpaRepository.deleteByCandidato(candidatoUsuarioId);
     }
+
+    private List<CompatibilidadeCache> buscarEmBlocos(
+            Collection<UUID> ids,
+            Function<UUID, ChaveCompatibilidade> chave,
+            Function<List<UUID>, List<CompatibilidadeCacheEntity>> consulta) {
+        List<CompatibilidadeCache> encontrados = new ArrayList<>(ids.size());
+        List<UUID> ausentes = new ArrayList<>();
+
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            CompatibilidadeCache cache = obterDoL1(chave.apply(id));
+            if (cache != null) {
+                encontrados.add(cache);
+            } else {
+                ausentes.add(id);
+            }
+        }
+
+        long geracao = geracaoInvalidacao.get();
+        for (int i = 0; i < ausentes.size(); i += TAMANHO_BLOCO) {
+            List<UUID> bloco = ausentes.subList(i, Math.min(i + TAMANHO_BLOCO, ausentes.size()));
+            for (CompatibilidadeCacheEntity entity : consulta.apply(bloco)) {
+                CompatibilidadeCache cache = mapper.toDomain(entity);
+                armazenarNoL1(cache, geracao);
+                encontrados.add(cache);
+            }
+        }
+        return encontrados;
+    }
+
+    private void invalidar(Runnable remocao) {
+        Runnable invalidacao = () -> {
+            geracaoInvalidacao.incrementAndGet();
+            remocao.run();
+        };
+        invalidacao.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidacao.run();
+                }
+            });
+        }
+    }
+
+    private CompatibilidadeCache obterDoL1(ChaveCompatibilidade chave) {
+        EntradaCompatibilidade entrada = cacheL1.obter(chave);
+        if (entrada == null) {
+            return null;
+        }
+        if (System.nanoTime() - entrada.armazenadaEm() >= ttlL1Nanos) {
+            cacheL1.remover(chave);
+            return null;
+        }
+        return entrada.paraDominio(chave);
+    }
+
+    private void armazenarNoL1(CompatibilidadeCache cache, long geracaoLida) {
+        if (ttlL1Nanos == 0) {
+            return;
+        }
+        ChaveCompatibilidade chave = ChaveCompatibilidade.de(cache.getCandidatoUsuarioId(), cache.getVagaId());
+        cacheL1.armazenar(chave, EntradaCompatibilidade.de(cache, System.nanoTime()));
+        if (geracaoInvalidacao.get() != geracaoLida) {
+            cacheL1.remover(chave);
+        }
+    }
+
+    private void registrarMetricas(MeterRegistry registry) {
+        FunctionCounter.builder("compatibilidade.cache.l1.requisicoes", cacheL1, c -> c.estatisticas().acertos())
+                .tag("resultado", "hit")
+                .register(registry);
+        FunctionCounter.builder("compatibilidade.cache.l1.requisicoes", cacheL1, c -> c.estatisticas().falhas())
+                .tag("resultado", "miss")
+                .register(registry);
+        FunctionCounter.builder("compatibilidade.cache.l1.remocoes", cacheL1, c -> c.estatisticas().remocoes())
+                .register(registry);
+        Gauge.builder("compatibilidade.cache.l1.tamanho", cacheL1, CacheWTinyLfu::tamanho)
+                .register(registry);
+        FunctionCounter.builder("compatibilidade.cache.justificativas.descartadas", justificativasDescartadas,
+                        AtomicLong::get)
+                .register(registry);
+    }
+
+    private record ChaveCompatibilidade(long candidatoMsb, long candidatoLsb, long vagaMsb, long vagaLsb) {
+
+        static ChaveCompatibilidade de(UUID candidatoUsuarioId, UUID vagaId) {
+            return new ChaveCompatibilidade(
+                    candidatoUsuarioId.getMostSignificantBits(), candidatoUsuarioId.getLeastSignificantBits(),
+                    vagaId.getMostSignificantBits(), vagaId.getLeastSignificantBits());
+        }
+
+        UUID candidatoUsuarioId() {
+            return new UUID(candidatoMsb, candidatoLsb);
+        }
+
+        UUID vagaId() {
+            return new UUID(vagaMsb, vagaLsb);
+        }
+
+        boolean pertenceAoCandidato(UUID candidatoUsuarioId) {
+            return candidatoMsb == candidatoUsuarioId.getMostSignificantBits()
+                    && candidatoLsb == candidatoUsuarioId.getLeastSignificantBits();
+        }
+
+        boolean pertenceAVaga(UUID vagaId) {
+            return vagaMsb == vagaId.getMostSignificantBits() && vagaLsb == vagaId.getLeastSignificantBits();
+        }
+    }
+
+    private record EntradaCompatibilidade(
+            UUID id,
+            short centesimos,
+            OrigemCompatibilidade origem,
+            LocalDateTime dataCalculo,
+            LocalDateTime dataAtualizacao,
+            String hashPerfil,
+            String hashVaga,
+            SoftReference<String> justificativa,
+            long armazenadaEm
+    ) {
+
+        static EntradaCompatibilidade de(CompatibilidadeCache cache, long armazenadaEm) {
+            return new EntradaCompatibilidade(
+                    cache.getId(),
+                    cache.getPercentualCompatibilidade().multiply(CEM).shortValue(),
+                    cache.getOrigem(),
+                    cache.getDataCalculo(),
+                    cache.getDataAtualizacao(),
+                    cache.getHashPerfil(),
+                    cache.getHashVaga(),
+                    cache.getJustificativa() != null ? new SoftReference<>(cache.getJustificativa()) : null,
+                    armazenadaEm
+            );
+        }
+
+        CompatibilidadeCache paraDominio(ChaveCompatibilidade chave) {
+            String texto = null;
+            if (justificativa != null) {
+                texto = justificativa.get();
+                if (texto == null) {
+                    return null;
+                }
+            }
+            return CompatibilidadeCache.rehydrate(
+                    id, chave.candidatoUsuarioId(), chave.vagaId(), BigDecimal.valueOf(centesimos, 2), texto,
+                    dataCalculo, dataAtualizacao, origem, hashPerfil, hashVaga);
+        }
+    }
 }
@@ -0,0 +1,230 @@
+package com.barcelos.recrutamento.data.adapter;
+
+import com.barcelos.recrutamento.core.model.CompatibilidadeJob;
+import com.barcelos.recrutamento.core.model.StatusJobCompatibilidade;
+import com.barcelos.recrutamento.core.port.CompatibilidadeJobRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class CompatibilidadeJobRepositoryImpl implements CompatibilidadeJobRepository {
+
+    private static final String SQL_ENFILEIRAR = """
+            INSERT INTO compatibilidade_job (id, candidato_usuario_id, vaga_id, organizacao_id, prioridade, proxima_execucao)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (COALESCE(candidato_usuario_id, '00000000-0000-0000-0000-000000000000'::uuid),
+                         COALESCE(vaga_id, '00000000-0000-0000-0000-000000000000'::uuid))
+            DO UPDATE SET
+                status = CASE WHEN compatibilidade_job.status = 'PROCESSANDO'
+                              THEN compatibilidade_job.status ELSE 'PENDENTE' END,
+                reexecutar = compatibilidade_job.status = 'PROCESSANDO',
+                organizacao_id = COALESCE(EXCLUDED.organizacao_id, compatibilidade_job.organizacao_id),
+                prioridade = GREATEST(compatibilidade_job.prioridade, EXCLUDED.prioridade),
+                tentativas = CASE WHEN compatibilidade_job.status = 'PROCESSANDO'
+                                  THEN compatibilidade_job.tentativas ELSE 0 END,
+                proxima_execucao = EXCLUDED.proxima_execucao,
+                data_atualizacao = CASE WHEN compatibilidade_job.status = 'PROCESSANDO'
+                                        THEN compatibilidade_job.data_atualizacao ELSE CURRENT_TIMESTAMP END
+            RETURNING (xmax = 0) AS inserido
+            """;
+
+    private static final String SQL_ENFILEIRAR_SE_AUSENTE = """
+            INSERT INTO compatibilidade_job (id, candidato_usuario_id, vaga_id, organizacao_id, prioridade, proxima_execucao)
+            VALUES (?, ?, ?, COALESCE(?, (SELECT organizacao_id FROM vaga WHERE id = ?)), ?, ?)
+            ON CONFLICT (COALESCE(candidato_usuario_id, '00000000-0000-0000-0000-000000000000'::uuid),
+                         COALESCE(vaga_id, '00000000-0000-0000-0000-000000000000'::uuid))
+            DO NOTHING
+            """;
+
+    private static final String SQL_REIVINDICAR = """
+            UPDATE compatibilidade_job
+            SET status = 'PROCESSANDO', tentativas = CASE WHEN reexecutar THEN 1 ELSE tentativas + 1 END,
+                reexecutar = FALSE, data_atualizacao = CURRENT_TIMESTAMP
+            WHERE id IN (
+                SELECT j.id
+                FROM compatibilidade_job j
+                JOIN (
+                    SELECT e.id,
+                           ROW_NUMBER() OVER (PARTITION BY e.organizacao_id ORDER BY e.prioridade DESC, e.proxima_execucao)
+                               / GREATEST(CASE WHEN e.organizacao_id IS NULL THEN ? ELSE COALESCE(p.peso, 1) END, 1)::numeric
+                               AS termino_virtual
+                    FROM compatibilidade_job e
+                    LEFT JOIN unnest(?::uuid[], ?::int[]) AS p(organizacao_id, peso) ON p.organizacao_id = e.organizacao_id
+                    WHERE (e.status = 'PENDENTE' AND e.proxima_execucao <= CURRENT_TIMESTAMP)
+                       OR (e.status = 'PROCESSANDO' AND e.data_atualizacao < ?)
+                ) f ON f.id = j.id
+                WHERE (j.status = 'PENDENTE' AND j.proxima_execucao <= CURRENT_TIMESTAMP)
+                   OR (j.status = 'PROCESSANDO' AND j.data_atualizacao < ?)
+                ORDER BY f.termino_virtual, j.prioridade DESC, j.proxima_execucao
+                LIMIT ?
+                FOR UPDATE OF j SKIP LOCKED
+            )
+            RETURNING id, candidato_usuario_id, vaga_id, organizacao_id, prioridade, tentativas, status, proxima_execucao
+            """;
+
+    private static final RowMapper<CompatibilidadeJob> ROW_MAPPER = (rs, rowNum) -> CompatibilidadeJob.rehydrate(
+            rs.getObject("id", UUID.class),
+            rs.getObject("candidato_usuario_id", UUID.class),
+            rs.getObject("vaga_id", UUID.class),
+            rs.getObject("organizacao_id", UUID.class),
+            rs.getInt("prioridade"),
+            rs.getInt("tentativas"),
+            StatusJobCompatibilidade.valueOf(rs.getString("status")),
+            rs.getTimestamp("proxima_execucao").toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CompatibilidadeJobRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public boolean enfileirar(CompatibilidadeJob job) {
+        Boolean inserido = jdbcTemplate.queryForObject(SQL_ENFILEIRAR, Boolean.class, job.getId(),
+                job.getCandidatoUsuarioId(), job.getVagaId(), job.getOrganizacaoId(), job.getPrioridade(),
+                Timestamp.valueOf(job.getDisponivelDesde()));
+        return Boolean.TRUE.equals(inserido);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean enfileirarSeAusente(CompatibilidadeJob job) {
+        return jdbcTemplate.update(SQL_ENFILEIRAR_SE_AUSENTE, job.getId(), job.getCandidatoUsuarioId(), job.getVagaId(),
+                job.getOrganizacaoId(), job.getVagaId(), job.getPrioridade(),
+                Timestamp.valueOf(job.getDisponivelDesde())) > 0;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<CompatibilidadeJob> reivindicar(int limite, LocalDateTime processandoDesde,
+                                                Map<UUID, Integer> pesosOrganizacao, int pesoFilaCandidatos) {
+        UUID[] organizacoes = pesosOrganizacao.keySet().toArray(UUID[]::new);
+        Integer[] pesos = new Integer[organizacoes.length];
+        for (int i = 0; i < organizacoes.length; i++) {
+            pesos[i] = pesosOrganizacao.get(organizacoes[i]);
+        }
+        Timestamp desde = Timestamp.valueOf(processandoDesde);
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SQL_REIVINDICAR);
+            ps.setInt(1, pesoFilaCandidatos);
+            ps.setArray(2, connection.createArrayOf("uuid", organizacoes));
+            ps.setArray(3, connection.createArrayOf("integer", pesos));
+            ps.setTimestamp(4, desde);
+            ps.setTimestamp(5, desde);
+            ps.setInt(6, limite);
+            return ps;
+        }, ROW_MAPPER);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void renovar(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        UUID[] array = ids.toArray(UUID[]::new);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement("""
+                    UPDATE compatibilidade_job SET data_atualizacao = CURRENT_TIMESTAMP
+                    WHERE id = ANY(?) AND status = 'PROCESSANDO'
+                    """);
+            ps.setArray(1, connection.createArrayOf("uuid", array));
+            return ps;
+        });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void concluir(UUID id) {
+        int removidos = jdbcTemplate.update(
+                "DELETE FROM compatibilidade_job WHERE id = ? AND status = 'PROCESSANDO' AND NOT reexecutar", id);
+        if (removidos == 0) {
+            jdbcTemplate.update("""
+                    UPDATE compatibilidade_job
+                    SET status = 'PENDENTE', reexecutar = FALSE, tentativas = 0, ultimo_erro = NULL,
+                        data_atualizacao = CURRENT_TIMESTAMP
+                    WHERE id = ? AND status = 'PROCESSANDO' AND reexecutar
+                    """, id);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void reagendar(UUID id, LocalDateTime proximaExecucao, String erro) {
+        jdbcTemplate.update("""
+                UPDATE compatibilidade_job
+                SET status = 'PENDENTE',
+                    tentativas = CASE WHEN reexecutar THEN 0 ELSE tentativas END,
+                    proxima_execucao = CASE WHEN reexecutar THEN proxima_execucao ELSE ? END,
+                    reexecutar = FALSE, ultimo_erro = ?, data_atualizacao = CURRENT_TIMESTAMP
+                WHERE id = ? AND status = 'PROCESSANDO'
+                """, Timestamp.valueOf(proximaExecucao), erro, id);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void adiar(UUID id, LocalDateTime proximaExecucao, String motivo) {
+        jdbcTemplate.update("""
+                UPDATE compatibilidade_job
+                SET status = 'PENDENTE', tentativas = CASE WHEN reexecutar THEN 0 ELSE GREATEST(tentativas - 1, 0) END,
+                    reexecutar = FALSE, proxima_execucao = ?, ultimo_erro = ?, data_atualizacao = CURRENT_TIMESTAMP
+                WHERE id = ? AND status = 'PROCESSANDO'
+                """, Timestamp.valueOf(proximaExecucao), motivo, id);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void marcarFalha(UUID id, String erro) {
+        jdbcTemplate.update("""
+                UPDATE compatibilidade_job
+                SET status = CASE WHEN reexecutar THEN 'PENDENTE' ELSE 'FALHOU' END::status_job_compatibilidade,
+                    tentativas = CASE WHEN reexecutar THEN 0 ELSE tentativas END,
+                    reexecutar = FALSE, ultimo_erro = ?, data_atualizacao = CURRENT_TIMESTAMP
+                WHERE id = ? AND status = 'PROCESSANDO'
+                """, erro, id);
+    }
+
+    @Override
+    @Transactional
+    public int reenfileirarFalhas(UUID organizacaoId) {
+        return jdbcTemplate.update("""
+                UPDATE compatibilidade_job
+                SET status = 'PENDENTE', tentativas = 0, proxima_execucao = CURRENT_TIMESTAMP,
+                    data_atualizacao = CURRENT_TIMESTAMP
+                WHERE status = 'FALHOU' AND organizacao_id = ?
+                """, organizacaoId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResumoFila resumirFila(UUID organizacaoId) {
+        return jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FILTER (WHERE status = 'PENDENTE') AS pendentes,
+                       COUNT(*) FILTER (WHERE status = 'PROCESSANDO') AS processando,
+                       COUNT(*) FILTER (WHERE status = 'FALHOU') AS falhas,
+                       MIN(proxima_execucao) FILTER (WHERE status = 'PENDENTE') AS pendente_mais_antigo
+                FROM compatibilidade_job
+                WHERE organizacao_id = ?
+                """, (rs, rowNum) -> {
+            Timestamp maisAntigo = rs.getTimestamp("pendente_mais_antigo");
+            return new ResumoFila(
+                    rs.getLong("pendentes"),
+                    rs.getLong("processando"),
+                    rs.getLong("falhas"),
+                    maisAntigo != null ? maisAntigo.toLocalDateTime() : null);
+        }, organizacaoId);
+    }
+}
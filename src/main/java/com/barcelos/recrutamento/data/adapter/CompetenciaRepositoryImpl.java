@@ -7,13 +7,20 @@ import com.barcelos.recrutamento.data.spring.CompetenciaJpaRepository;
 import com.barcelos.recrutamento.data.spring.PerfilCandidatoJpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public class CompetenciaRepositoryImpl implements CompetenciaRepository {
 
+    private static final int TAMANHO_BLOCO = 500;
+
     private final CompetenciaJpaRepository jpa;
     private final PerfilCandidatoJpaRepository perfilCandidatoJpa;
     private final CompetenciaMapper mapper;
@@ -46,6 +53,20 @@ public class CompetenciaRepositoryImpl implements CompetenciaRepository {
                 .toList();
     }
 
+    @Override
+    public Map<UUID, List<Competencia>> listByPerfisCandidato(Collection<UUID> perfilCandidatoIds) {
+        Map<UUID, List<Competencia>> porPerfil = new LinkedHashMap<>();
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(perfilCandidatoIds));
+        for (int i = 0; i < ids.size(); i += TAMANHO_BLOCO) {
+            List<UUID> bloco = ids.subList(i, Math.min(i + TAMANHO_BLOCO, ids.size()));
+            for (var entity : jpa.findByPerfilCandidatoIds(bloco)) {
+                Competencia competencia = mapper.toDomain(entity);
+                porPerfil.computeIfAbsent(competencia.getPerfilCandidatoId(), id -> new ArrayList<>()).add(competencia);
+            }
+        }
+        return porPerfil;
+    }
+
     @Override
     public void delete(UUID id) {
         jpa.deleteById(id);
@@ -0,0 +1,71 @@
+package com.barcelos.recrutamento.data.adapter;
+
+import com.barcelos.recrutamento.core.port.CriteriosBuscaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class CriteriosBuscaRepositoryImpl implements CriteriosBuscaRepository {
+
+    private static final String SQL_UPSERT = """
+            INSERT INTO criterios_busca (consulta_normalizada, palavras_chave, localizacao, senioridade, data_extracao)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (consulta_normalizada) DO UPDATE SET
+                palavras_chave = EXCLUDED.palavras_chave,
+                localizacao = EXCLUDED.localizacao,
+                senioridade = EXCLUDED.senioridade,
+                data_extracao = EXCLUDED.data_extracao
+            """;
+
+    private static final String SQL_RECENTES = """
+            SELECT consulta_normalizada, palavras_chave, localizacao, senioridade, data_extracao
+            FROM criterios_busca
+            WHERE data_extracao >= ?
+            ORDER BY data_extracao DESC
+            LIMIT ?
+            """;
+
+    private static final RowMapper<ConsultaInterpretada> ROW_MAPPER = (rs, rowNum) -> {
+        Array palavrasChave = rs.getArray("palavras_chave");
+        return new ConsultaInterpretada(
+                rs.getString("consulta_normalizada"),
+                palavrasChave != null ? List.of((String[]) palavrasChave.getArray()) : List.of(),
+                rs.getString("localizacao"),
+                rs.getString("senioridade"),
+                rs.getTimestamp("data_extracao").toLocalDateTime()
+        );
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CriteriosBuscaRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void registrar(ConsultaInterpretada consulta) {
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_UPSERT);
+            ps.setString(1, consulta.consultaNormalizada());
+            ps.setArray(2, con.createArrayOf("text", consulta.palavrasChave().toArray()));
+            ps.setString(3, consulta.localizacao());
+            ps.setString(4, consulta.senioridade());
+            ps.setTimestamp(5, Timestamp.valueOf(consulta.dataExtracao()));
+            return ps;
+        });
+    }
+
+    @Override
+    public List<ConsultaInterpretada> listarRecentes(LocalDateTime desde, int limite) {
+        return jdbcTemplate.query(SQL_RECENTES, ROW_MAPPER, Timestamp.valueOf(desde), limite);
+    }
+}
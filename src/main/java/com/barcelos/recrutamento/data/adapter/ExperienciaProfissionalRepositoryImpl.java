@@ -7,13 +7,20 @@ import com.barcelos.recrutamento.data.spring.ExperienciaProfissionalJpaRepositor
 import com.barcelos.recrutamento.data.spring.PerfilCandidatoJpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public class ExperienciaProfissionalRepositoryImpl implements ExperienciaProfissionalRepository {
 
+    private static final int TAMANHO_BLOCO = 500;
+
     private final ExperienciaProfissionalJpaRepository jpa;
     private final PerfilCandidatoJpaRepository perfilJpa;
     private final ExperienciaProfissionalMapper mapper;
@@ -42,4 +49,18 @@ public class ExperienciaProfissionalRepositoryImpl implements ExperienciaProfiss
     public List<ExperienciaProfissional> listByUsuario(UUID usuarioId) {
         return jpa.findByPerfilCandidato_Id(usuarioId).stream().map(mapper::toDomain).toList();
     }
+
+    @Override
+    public Map<UUID, List<ExperienciaProfissional>> listByUsuarios(Collection<UUID> usuarioIds) {
+        Map<UUID, List<ExperienciaProfissional>> porUsuario = new LinkedHashMap<>();
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(usuarioIds));
+        for (int i = 0; i < ids.size(); i += TAMANHO_BLOCO) {
+            List<UUID> bloco = ids.subList(i, Math.min(i + TAMANHO_BLOCO, ids.size()));
+            for (var entity : jpa.findByPerfilCandidato_IdIn(bloco)) {
+                ExperienciaProfissional experiencia = mapper.toDomain(entity);
+                porUsuario.computeIfAbsent(experiencia.getUsuarioId(), id -> new ArrayList<>()).add(experiencia);
+            }
+        }
+        return porUsuario;
+    }
 }
@@ -0,0 +1,68 @@
+package com.barcelos.recrutamento.data.adapter;
+
+import com.barcelos.recrutamento.config.BuscaSemanticaProperties;
+import com.barcelos.recrutamento.core.port.EmbeddingProvider;
+import com.barcelos.recrutamento.core.support.NormalizadorTexto;
+import org.springframework.stereotype.Component;
+
+@Component
+public class HashingEmbeddingProvider implements EmbeddingProvider {
+
+    private static final float PESO_TOKEN = 1.0f;
+    private static final float PESO_TRIGRAMA = 0.35f;
+
+    private final int dimensao;
+
+    public HashingEmbeddingProvider(BuscaSemanticaProperties properties) {
+        this.dimensao = properties.getDimensao();
+    }
+
+    @Override
+    public int dimensao() {
+        return dimensao;
+    }
+
+    @Override
+    public float[] gerar(String texto) {
+        float[] vetor = new float[dimensao];
+
+        for (String token : NormalizadorTexto.tokens(texto)) {
+            acumular(vetor, "w:" + token, PESO_TOKEN);
+
+            String delimitado = "<" + token + ">";
+            for (int i = 0; i + 3 <= delimitado.length(); i++) {
+                acumular(vetor, delimitado.substring(i, i + 3), PESO_TRIGRAMA);
+            }
+        }
+
+        double norma = 0;
+        for (float v : vetor) {
+            norma += v * v;
+        }
+        if (norma > 0) {
+            float inverso = (float) (1.0 / Math.sqrt(norma));
+            for (int i = 0; i < dimensao; i++) {
+                vetor[i] *= inverso;
+            }
+        }
+        return vetor;
+    }
+
+    private void acumular(float[] vetor, String atributo, float peso) {
+        long hash = hash64(atributo);
+        int posicao = (int) Long.remainderUnsigned(hash, dimensao);
+        vetor[posicao] += (hash >>> 63) == 0 ? peso : -peso;
+    }
+
+    private static long hash64(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -7,13 +7,20 @@ import com.barcelos.recrutamento.data.spring.HistoricoAcademicoJpaRepository;
 import com.barcelos.recrutamento.data.spring.PerfilCandidatoJpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public class HistoricoAcademicoRepositoryImpl implements HistoricoAcademicoRepository {
 
+    private static final int TAMANHO_BLOCO = 500;
+
     private final HistoricoAcademicoJpaRepository jpa;
     private final PerfilCandidatoJpaRepository perfilJpa;
     private final HistoricoAcademicoMapper mapper;
@@ -43,4 +50,18 @@ public class HistoricoAcademicoRepositoryImpl implements HistoricoAcademicoRepos
         return jpa.findByPerfilCandidato_Id(usuarioId)
                 .stream().map(mapper::toDomain).toList();
     }
+
+    @Override
+    public Map<UUID, List<HistoricoAcademico>> listByUsuarios(Collection<UUID> usuarioIds) {
+        Map<UUID, List<HistoricoAcademico>> porUsuario = new LinkedHashMap<>();
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(usuarioIds));
+        for (int i = 0; i < ids.size(); i += TAMANHO_BLOCO) {
+            List<UUID> bloco = ids.subList(i, Math.min(i + TAMANHO_BLOCO, ids.size()));
+            for (var entity : jpa.findByPerfilCandidato_IdIn(bloco)) {
+                HistoricoAcademico historico = mapper.toDomain(entity);
+                porUsuario.computeIfAbsent(historico.getUsuarioId(), id -> new ArrayList<>()).add(historico);
+            }
+        }
+        return porUsuario;
+    }
 }
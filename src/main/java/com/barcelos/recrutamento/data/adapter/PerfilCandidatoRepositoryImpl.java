@@ -7,7 +7,12 @@ import com.barcelos.recrutamento.data.spring.PerfilCandidatoJpaRepository;
 import com.barcelos.recrutamento.data.spring.UsuarioJpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -15,6 +20,8 @@ import java.util.stream.Collectors;
 @Repository
 public class PerfilCandidatoRepositoryImpl implements PerfilCandidatoRepository {
 
+    private static final int TAMANHO_BLOCO = 500;
+
     private final PerfilCandidatoJpaRepository jpa;
     private final UsuarioJpaRepository usuarioJpa;
     private final PerfilCandidatoMapper mapper;
@@ -38,6 +45,20 @@ public class PerfilCandidatoRepositoryImpl implements PerfilCandidatoRepository
         return jpa.findByUsuarioId(usuarioId).map(mapper::toDomain);
     }
 
+    @Override
+    public Map<UUID, PerfilCandidato> findAllByUsuarioIds(Collection<UUID> usuarioIds) {
+        Map<UUID, PerfilCandidato> porUsuario = new HashMap<>();
+        List<UUID> distintos = new ArrayList<>(new LinkedHashSet<>(usuarioIds));
+        for (int i = 0; i < distintos.size(); i += TAMANHO_BLOCO) {
+            List<UUID> bloco = distintos.subList(i, Math.min(i + TAMANHO_BLOCO, distintos.size()));
+            for (var entity : jpa.findAllById(bloco)) {
+                PerfilCandidato perfil = mapper.toDomain(entity);
+                porUsuario.put(perfil.getUsuarioId(), perfil);
+            }
+        }
+        return porUsuario;
+    }
+
     @Override
     public List<PerfilCandidato> findAll() {
         return jpa.findAll().stream()
@@ -0,0 +1,246 @@
+package com.barcelos.recrutamento.data.adapter;
+
+import com.barcelos.recrutamento.core.model.Competencia;
+import com.barcelos.recrutamento.core.model.ExperienciaProfissional;
+import com.barcelos.recrutamento.core.model.HistoricoAcademico;
+import com.barcelos.recrutamento.core.model.PerfilCandidato;
+import com.barcelos.recrutamento.core.model.PerfilCandidatoSnapshot;
+import com.barcelos.recrutamento.core.model.Portfolio;
+import com.barcelos.recrutamento.core.model.vo.Cep;
+import com.barcelos.recrutamento.core.model.vo.Cpf;
+import com.barcelos.recrutamento.core.model.vo.Email;
+import com.barcelos.recrutamento.core.model.vo.Endereco;
+import com.barcelos.recrutamento.core.model.vo.Sigla;
+import com.barcelos.recrutamento.core.port.PerfilCandidatoSnapshotRepository;
+import com.barcelos.recrutamento.data.entity.NivelCompetencia;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class PerfilCandidatoSnapshotRepositoryImpl implements PerfilCandidatoSnapshotRepository {
+
+    private static final int FORMATO = 3;
+    private static final int TAMANHO_BLOCO = 500;
+
+    private static final String SQL_UPSERT = """
+            INSERT INTO perfil_candidato_snapshot (usuario_id, versao, formato, dados, hash_perfil, data_atualizacao)
+            VALUES (?, 1, ?, CAST(? AS jsonb), ?, ?)
+            ON CONFLICT (usuario_id) DO UPDATE SET
+                versao = perfil_candidato_snapshot.versao + 1,
+                formato = EXCLUDED.formato,
+                dados = EXCLUDED.dados,
+                hash_perfil = EXCLUDED.hash_perfil,
+                data_atualizacao = EXCLUDED.data_atualizacao
+            RETURNING versao
+            """;
+
+    private static final String SQL_BUSCAR = """
+            SELECT versao, dados, hash_perfil, data_atualizacao
+            FROM perfil_candidato_snapshot
+            WHERE usuario_id = ? AND formato = ?
+            """;
+
+    private static final String SQL_BUSCAR_HASHES = """
+            SELECT usuario_id, hash_perfil
+            FROM perfil_candidato_snapshot
+            WHERE usuario_id = ANY(?) AND formato = ? AND hash_perfil IS NOT NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public PerfilCandidatoSnapshotRepositoryImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional
+    public PerfilCandidatoSnapshot save(PerfilCandidatoSnapshot snapshot) {
+        Long versao = jdbcTemplate.queryForObject(SQL_UPSERT, Long.class,
+                snapshot.getUsuarioId(),
+                FORMATO,
+                serializar(DadosJson.de(snapshot)),
+                snapshot.getHashPerfil().orElse(null),
+                Timestamp.valueOf(snapshot.getDataAtualizacao()));
+        return snapshot.comVersao(versao != null ? versao : 1);
+    }
+
+    @Override
+    public Optional<PerfilCandidatoSnapshot> findByUsuarioId(UUID usuarioId) {
+        return jdbcTemplate.query(SQL_BUSCAR, (rs, rowNum) -> desserializar(rs.getString("dados"))
+                        .paraDominio(usuarioId, rs.getLong("versao"), rs.getTimestamp("data_atualizacao").toLocalDateTime())
+                        .comHashPerfil(rs.getString("hash_perfil")),
+                usuarioId, FORMATO).stream().findFirst();
+    }
+
+    @Override
+    public Map<UUID, String> findHashesPerfil(Collection<UUID> usuarioIds) {
+        Map<UUID, String> hashes = new HashMap<>();
+        List<UUID> distintos = new ArrayList<>(new LinkedHashSet<>(usuarioIds));
+        for (int i = 0; i < distintos.size(); i += TAMANHO_BLOCO) {
+            UUID[] bloco = distintos.subList(i, Math.min(i + TAMANHO_BLOCO, distintos.size())).toArray(UUID[]::new);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(SQL_BUSCAR_HASHES);
+                ps.setArray(1, connection.createArrayOf("uuid", bloco));
+                ps.setInt(2, FORMATO);
+                return ps;
+            }, rs -> {
+                hashes.put(rs.getObject("usuario_id", UUID.class), rs.getString("hash_perfil"));
+            });
+        }
+        return hashes;
+    }
+
+    @Override
+    @Transactional
+    public void travar(UUID usuarioId) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> null,
+                usuarioId.getMostSignificantBits() ^ usuarioId.getLeastSignificantBits());
+    }
+
+    private String serializar(DadosJson dados) {
+        try {
+            return objectMapper.writeValueAsString(dados);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar snapshot do perfil", e);
+        }
+    }
+
+    private DadosJson desserializar(String json) {
+        try {
+            return objectMapper.readValue(json, DadosJson.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao ler snapshot do perfil", e);
+        }
+    }
+
+    private record DadosJson(
+            String nome,
+            String email,
+            String cpf,
+            PerfilJson perfil,
+            List<CompetenciaJson> competencias,
+            List<ExperienciaJson> experiencias,
+            List<HistoricoJson> historicos,
+            List<PortfolioJson> portfolios,
+            int[] habilidades
+    ) {
+        static DadosJson de(PerfilCandidatoSnapshot snapshot) {
+            return new DadosJson(
+                    snapshot.getNome(),
+                    snapshot.getEmail().value(),
+                    snapshot.getCpf().value(),
+                    snapshot.getPerfil().map(PerfilJson::de).orElse(null),
+                    snapshot.getCompetencias().stream().map(CompetenciaJson::de).toList(),
+                    snapshot.getExperiencias().stream().map(ExperienciaJson::de).toList(),
+                    snapshot.getHistoricos().stream().map(HistoricoJson::de).toList(),
+                    snapshot.getPortfolios().stream().map(PortfolioJson::de).toList(),
+                    snapshot.getHabilidades()
+            );
+        }
+
+        PerfilCandidatoSnapshot paraDominio(UUID usuarioId, long versao, LocalDateTime dataAtualizacao) {
+            return PerfilCandidatoSnapshot.rehydrate(
+                    usuarioId,
+                    versao,
+                    nome,
+                    new Email(email),
+                    new Cpf(cpf),
+                    perfil != null ? perfil.paraDominio(usuarioId) : null,
+                    competencias.stream().map(c -> c.paraDominio(usuarioId)).toList(),
+                    experiencias.stream().map(e -> e.paraDominio(usuarioId)).toList(),
+                    historicos.stream().map(h -> h.paraDominio(usuarioId)).toList(),
+                    portfolios.stream().map(p -> p.paraDominio(usuarioId)).toList(),
+                    habilidades != null ? habilidades : new int[0],
+                    dataAtualizacao
+            );
+        }
+    }
+
+    private record PerfilJson(LocalDate dataNascimento, EnderecoJson endereco, boolean ativo) {
+        static PerfilJson de(PerfilCandidato perfil) {
+            return new PerfilJson(perfil.getDataNascimento(),
+                    perfil.getEndereco() != null ? EnderecoJson.de(perfil.getEndereco()) : null,
+                    perfil.isAtivo());
+        }
+
+        PerfilCandidato paraDominio(UUID usuarioId) {
+            return PerfilCandidato.rehydrate(usuarioId, usuarioId, dataNascimento,
+                    endereco != null ? endereco.paraDominio() : null, ativo);
+        }
+    }
+
+    private record EnderecoJson(String logradouro, String complemento, String numero, String cep,
+                                String cidade, String uf) {
+        static EnderecoJson de(Endereco e) {
+            return new EnderecoJson(e.logradouro(), e.complemento(), e.numero(),
+                    e.cep() != null ? e.cep().value() : null, e.cidade(), e.uf() != null ? e.uf().value() : null);
+        }
+
+        Endereco paraDominio() {
+            return new Endereco(logradouro, complemento, numero, cep != null ? new Cep(cep) : null, cidade,
+                    uf != null ? new Sigla(uf) : null);
+        }
+    }
+
+    private record CompetenciaJson(UUID id, String titulo, String descricao, NivelCompetencia nivel, boolean ativo) {
+        static CompetenciaJson de(Competencia c) {
+            return new CompetenciaJson(c.getId(), c.getTitulo(), c.getDescricao(), c.getNivel(), c.isAtivo());
+        }
+
+        Competencia paraDominio(UUID usuarioId) {
+            return Competencia.rehydrate(id, usuarioId, titulo, descricao, nivel, ativo);
+        }
+    }
+
+    private record ExperienciaJson(UUID id, String cargo, String empresa, String descricao,
+                                   LocalDate dataInicio, LocalDate dataFim, boolean ativo) {
+        static ExperienciaJson de(ExperienciaProfissional e) {
+            return new ExperienciaJson(e.getId(), e.getCargo(), e.getEmpresa(), e.getDescricao(),
+                    e.getDataInicio(), e.getDataFim(), e.isAtivo());
+        }
+
+        ExperienciaProfissional paraDominio(UUID usuarioId) {
+            return ExperienciaProfissional.rehydrate(id, usuarioId, cargo, empresa, descricao, dataInicio, dataFim, ativo);
+        }
+    }
+
+    private record HistoricoJson(UUID id, String titulo, String descricao, String instituicao,
+                                 LocalDate dataInicio, LocalDate dataFim, boolean ativo) {
+        static HistoricoJson de(HistoricoAcademico h) {
+            return new HistoricoJson(h.getId(), h.getTitulo(), h.getDescricao(), h.getInstituicao(),
+                    h.getDataInicio(), h.getDataFim(), h.isAtivo());
+        }
+
+        HistoricoAcademico paraDominio(UUID usuarioId) {
+            return HistoricoAcademico.rehydrate(id, usuarioId, titulo, descricao, instituicao, dataInicio, dataFim, ativo);
+        }
+    }
+
+    private record PortfolioJson(UUID id, String titulo, String link, boolean ativo) {
+        static PortfolioJson de(Portfolio p) {
+            return new PortfolioJson(p.getId(), p.getTitulo(), p.getLink(), p.isAtivo());
+        }
+
+        Portfolio paraDominio(UUID usuarioId) {
+            return Portfolio.rehydrate(id, usuarioId, titulo, link, ativo);
+        }
+    }
+}
@@ -97,6 +97,7 @@ public class ProcessoSeletivoRepositoryImpl implements ProcessoSeletivoRepositor
                 map.get("statusCandidatura") != null ? map.get("statusCandidatura").toString() : null,
                 map.get("dataCandidatura") != null ? convertToLocalDateTime(map.get("dataCandidatura")) : null,
                 (BigDecimal) map.get("compatibilidade"),
+                Boolean.TRUE.equals(map.get("compatibilidadeProvisoria")),
                 (String) map.get("arquivoCurriculo"),
                 (UUID) map.get("vagaId"),
                 (String) map.get("vagaTitulo")
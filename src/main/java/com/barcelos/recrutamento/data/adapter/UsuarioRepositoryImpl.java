@@ -6,12 +6,20 @@ import com.barcelos.recrutamento.data.mapper.UsuarioMapper;
 import com.barcelos.recrutamento.data.spring.UsuarioJpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public class UsuarioRepositoryImpl implements UsuarioRepository {
 
+    private static final int TAMANHO_BLOCO = 500;
+
     private final UsuarioJpaRepository jpa;
     private final UsuarioMapper mapper;
 
@@ -25,6 +33,20 @@ public class UsuarioRepositoryImpl implements UsuarioRepository {
         return jpa.findById(id).map(mapper::toDomain);
     }
 
+    @Override
+    public Map<UUID, Usuario> findAllByIds(Collection<UUID> ids) {
+        Map<UUID, Usuario> porId = new HashMap<>();
+        List<UUID> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        for (int i = 0; i < distintos.size(); i += TAMANHO_BLOCO) {
+            List<UUID> bloco = distintos.subList(i, Math.min(i + TAMANHO_BLOCO, distintos.size()));
+            for (var entity : jpa.findAllById(bloco)) {
+                Usuario usuario = mapper.toDomain(entity);
+                porId.put(usuario.getId(), usuario);
+            }
+        }
+        return porId;
+    }
+
     @Override
     public Optional<Usuario> findByEmail(String email) {
         return jpa.findByEmail(email).map(mapper::toDomain);
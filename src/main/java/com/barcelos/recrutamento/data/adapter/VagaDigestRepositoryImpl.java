@@ -0,0 +1,153 @@
+package com.barcelos.recrutamento.data.adapter;
+
+import com.barcelos.recrutamento.core.model.ModalidadeTrabalho;
+import com.barcelos.recrutamento.core.model.Senioridade;
+import com.barcelos.recrutamento.core.model.TipoContrato;
+import com.barcelos.recrutamento.core.model.VagaDigest;
+import com.barcelos.recrutamento.core.port.VagaDigestRepository;
+import com.barcelos.recrutamento.core.support.CacheWTinyLfu;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class VagaDigestRepositoryImpl implements VagaDigestRepository {
+
+    private static final int CAPACIDADE_L1 = 1024;
+
+    private static final String SQL_UPSERT = """
+            INSERT INTO vaga_digest (vaga_id, hash_texto, versao, titulo, resumo, requisitos_obrigatorios,
+                requisitos_desejaveis, senioridade, idiomas, tipo_contrato, modalidade, habilidades_obrigatorias,
+                habilidades_desejaveis, habilidades_mencionadas, data_geracao)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (vaga_id) DO UPDATE SET
+                hash_texto = EXCLUDED.hash_texto,
+                versao = EXCLUDED.versao,
+                titulo = EXCLUDED.titulo,
+                resumo = EXCLUDED.resumo,
+                requisitos_obrigatorios = EXCLUDED.requisitos_obrigatorios,
+                requisitos_desejaveis = EXCLUDED.requisitos_desejaveis,
+                senioridade = EXCLUDED.senioridade,
+                idiomas = EXCLUDED.idiomas,
+                tipo_contrato = EXCLUDED.tipo_contrato,
+                modalidade = EXCLUDED.modalidade,
+                habilidades_obrigatorias = EXCLUDED.habilidades_obrigatorias,
+                habilidades_desejaveis = EXCLUDED.habilidades_desejaveis,
+                habilidades_mencionadas = EXCLUDED.habilidades_mencionadas,
+                data_geracao = EXCLUDED.data_geracao
+            """;
+
+    private static final String SQL_BUSCAR = """
+            SELECT vaga_id, hash_texto, versao, titulo, resumo, requisitos_obrigatorios, requisitos_desejaveis,
+                   senioridade, idiomas, tipo_contrato, modalidade, habilidades_obrigatorias, habilidades_desejaveis,
+                   habilidades_mencionadas, data_geracao
+            FROM vaga_digest
+            WHERE vaga_id = ?
+            """;
+
+    private static final RowMapper<VagaDigest> ROW_MAPPER = (rs, rowNum) -> VagaDigest.rehydrate(
+            rs.getObject("vaga_id", UUID.class),
+            rs.getString("hash_texto"),
+            rs.getInt("versao"),
+            rs.getString("titulo"),
+            rs.getString("resumo"),
+            lista(rs, "requisitos_obrigatorios"),
+            lista(rs, "requisitos_desejaveis"),
+            rs.getString("senioridade") != null ? Senioridade.valueOf(rs.getString("senioridade")) : null,
+            lista(rs, "idiomas"),
+            rs.getString("tipo_contrato") != null ? TipoContrato.valueOf(rs.getString("tipo_contrato")) : null,
+            rs.getString("modalidade") != null ? ModalidadeTrabalho.valueOf(rs.getString("modalidade")) : null,
+            inteiros(rs, "habilidades_obrigatorias"),
+            inteiros(rs, "habilidades_desejaveis"),
+            inteiros(rs, "habilidades_mencionadas"),
+            rs.getTimestamp("data_geracao").toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheWTinyLfu<UUID, VagaDigest> cacheL1 = new CacheWTinyLfu<>(CAPACIDADE_L1);
+
+    public VagaDigestRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void save(VagaDigest digest) {
+        invalidar(() -> cacheL1.remover(digest.getVagaId()));
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_UPSERT);
+            ps.setObject(1, digest.getVagaId());
+            ps.setString(2, digest.getHashTexto());
+            ps.setInt(3, digest.getVersao());
+            ps.setString(4, digest.getTitulo());
+            ps.setString(5, digest.getResumo());
+            ps.setArray(6, con.createArrayOf("text", digest.getRequisitosObrigatorios().toArray()));
+            ps.setArray(7, con.createArrayOf("text", digest.getRequisitosDesejaveis().toArray()));
+            ps.setString(8, digest.getSenioridade() != null ? digest.getSenioridade().name() : null);
+            ps.setArray(9, con.createArrayOf("text", digest.getIdiomas().toArray()));
+            ps.setString(10, digest.getTipoContrato() != null ? digest.getTipoContrato().name() : null);
+            ps.setString(11, digest.getModalidade() != null ? digest.getModalidade().name() : null);
+            ps.setArray(12, con.createArrayOf("integer", caixa(digest.getHabilidadesObrigatorias())));
+            ps.setArray(13, con.createArrayOf("integer", caixa(digest.getHabilidadesDesejaveis())));
+            ps.setArray(14, con.createArrayOf("integer", caixa(digest.getHabilidadesMencionadas())));
+            ps.setTimestamp(15, Timestamp.valueOf(digest.getDataGeracao()));
+            return ps;
+        });
+    }
+
+    @Override
+    public Optional<VagaDigest> findByVagaId(UUID vagaId) {
+        VagaDigest emMemoria = cacheL1.obter(vagaId);
+        if (emMemoria != null) {
+            return Optional.of(emMemoria);
+        }
+        Optional<VagaDigest> digest = jdbcTemplate.query(SQL_BUSCAR, ROW_MAPPER, vagaId).stream().findFirst();
+        digest.ifPresent(d -> cacheL1.armazenar(vagaId, d));
+        return digest;
+    }
+
+    private void invalidar(Runnable invalidacao) {
+        invalidacao.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidacao.run();
+                }
+            });
+        }
+    }
+
+    private static List<String> lista(ResultSet rs, String coluna) throws SQLException {
+        Array array = rs.getArray(coluna);
+        if (array == null) {
+            return List.of();
+        }
+        return List.of((String[]) array.getArray());
+    }
+
+    private static int[] inteiros(ResultSet rs, String coluna) throws SQLException {
+        Array array = rs.getArray(coluna);
+        if (array == null) {
+            return new int[0];
+        }
+        return Arrays.stream((Integer[]) array.getArray()).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Integer[] caixa(int[] valores) {
+        return Arrays.stream(valores).boxed().toArray(Integer[]::new);
+    }
+}
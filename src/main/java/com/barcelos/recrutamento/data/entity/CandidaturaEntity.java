@@ -40,6 +40,9 @@ public class CandidaturaEntity extends AbstractAuditableEntity {
     @Column(precision = 5, scale = 2)
     private BigDecimal compatibilidade;
 
+    @Column(name = "compatibilidade_provisoria", nullable = false)
+    private boolean compatibilidadeProvisoria;
+
     public CandidaturaEntity() {
     }
 
@@ -99,6 +102,14 @@ public class CandidaturaEntity extends AbstractAuditableEntity {
         this.compatibilidade = compatibilidade;
     }
 
+    public boolean isCompatibilidadeProvisoria() {
+        return compatibilidadeProvisoria;
+    }
+
+    public void setCompatibilidadeProvisoria(boolean compatibilidadeProvisoria) {
+        this.compatibilidadeProvisoria = compatibilidadeProvisoria;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,6 +1,9 @@
 package com.barcelos.recrutamento.data.entity;
 
+import com.barcelos.recrutamento.core.model.OrigemCompatibilidade;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -38,12 +41,24 @@ public class CompatibilidadeCacheEntity {
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
 
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "origem", columnDefinition = "origem_compatibilidade", nullable = false, length = 10)
+    private OrigemCompatibilidade origem;
+
+    @Column(name = "hash_perfil", length = 64)
+    private String hashPerfil;
+
+    @Column(name = "hash_vaga", length = 64)
+    private String hashVaga;
+
     protected CompatibilidadeCacheEntity() {
     }
 
     public CompatibilidadeCacheEntity(UUID id, UUID candidatoUsuarioId, UUID vagaId,
                                      BigDecimal percentualCompatibilidade, String justificativa,
-                                     LocalDateTime dataCalculo, LocalDateTime dataAtualizacao) {
+                                     LocalDateTime dataCalculo, LocalDateTime dataAtualizacao,
+                                     OrigemCompatibilidade origem, String hashPerfil, String hashVaga) {
         this.id = id;
         this.candidatoUsuarioId = candidatoUsuarioId;
         this.vagaId = vagaId;
@@ -51,6 +66,9 @@ public class CompatibilidadeCacheEntity {
         this.justificativa = justificativa;
         this.dataCalculo = dataCalculo;
         this.dataAtualizacao = dataAtualizacao;
+        this.origem = origem;
+        this.hashPerfil = hashPerfil;
+        this.hashVaga = hashVaga;
     }
 
     public UUID getId() {
@@ -108,5 +126,28 @@ public class CompatibilidadeCacheEntity {
     public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
         this.dataAtualizacao = dataAtualizacao;
     }
-}
 
+    public OrigemCompatibilidade getOrigem() {
+        return origem;
+    }
+
+    public void setOrigem(OrigemCompatibilidade origem) {
+        this.origem = origem;
+    }
+
+    public String getHashPerfil() {
+        return hashPerfil;
+    }
+
+    public void setHashPerfil(String hashPerfil) {
+        this.hashPerfil = hashPerfil;
+    }
+
+    public String getHashVaga() {
+        return hashVaga;
+    }
+
+    public void setHashVaga(String hashVaga) {
+        this.hashVaga = hashVaga;
+    }
+}
@@ -23,7 +23,8 @@ public interface CandidaturaMapper {
             entity.getStatus(),
             entity.getDataCandidatura(),
             entity.getArquivoCurriculo(),
-            entity.getCompatibilidade()
+            entity.getCompatibilidade(),
+            entity.isCompatibilidadeProvisoria()
         );
     }
 
@@ -47,6 +48,7 @@ public interface CandidaturaMapper {
         entity.setDataCandidatura(domain.getDataCandidatura());
         entity.setArquivoCurriculo(domain.getArquivoCurriculo());
         entity.setCompatibilidade(domain.getCompatibilidade());
+        entity.setCompatibilidadeProvisoria(domain.isCompatibilidadeProvisoria());
 
         return entity;
     }
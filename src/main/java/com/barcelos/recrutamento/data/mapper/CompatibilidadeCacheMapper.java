@@ -19,7 +19,10 @@ public interface CompatibilidadeCacheMapper {
             entity.getPercentualCompatibilidade(),
             entity.getJustificativa(),
             entity.getDataCalculo(),
-            entity.getDataAtualizacao()
+            entity.getDataAtualizacao(),
+            entity.getOrigem(),
+            entity.getHashPerfil(),
+            entity.getHashVaga()
         );
     }
 
@@ -35,7 +38,10 @@ public interface CompatibilidadeCacheMapper {
             domain.getPercentualCompatibilidade(),
             domain.getJustificativa(),
             domain.getDataCalculo(),
-            domain.getDataAtualizacao()
+            domain.getDataAtualizacao(),
+            domain.getOrigem(),
+            domain.getHashPerfil(),
+            domain.getHashVaga()
         );
     }
 }
@@ -2,9 +2,11 @@ package com.barcelos.recrutamento.data.spring;
 
 import com.barcelos.recrutamento.data.entity.CandidaturaEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -68,4 +70,11 @@ public interface CandidaturaJpaRepository extends JpaRepository<CandidaturaEntit
            "WHERE c.candidato.id = :candidatoId " +
            "AND c.compatibilidade IS NOT NULL")
     Double findAverageCompatibility(@Param("candidatoId") UUID candidatoId);
+
+    @Modifying
+    @Query("UPDATE CandidaturaEntity c SET c.compatibilidade = :compatibilidade, c.compatibilidadeProvisoria = false " +
+           "WHERE c.vaga.id = :vagaId AND c.candidato.id = :candidatoId")
+    int atualizarCompatibilidade(@Param("vagaId") UUID vagaId,
+                                 @Param("candidatoId") UUID candidatoUsuarioId,
+                                 @Param("compatibilidade") BigDecimal compatibilidade);
 }
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,6 +27,18 @@ public interface CompatibilidadeCacheJpaRepository extends JpaRepository<Compati
     @Query("SELECT c FROM CompatibilidadeCacheEntity c WHERE c.vagaId = :vagaId")
     List<CompatibilidadeCacheEntity> findByVaga(@Param("vagaId") UUID vagaId);
 
+    @Query("SELECT c FROM CompatibilidadeCacheEntity c WHERE c.candidatoUsuarioId = :candidatoId AND c.vagaId IN :vagaIds")
+    List<CompatibilidadeCacheEntity> findByCandidatoAndVagas(
+            @Param("candidatoId") UUID candidatoUsuarioId,
+            @Param("vagaIds") Collection<UUID> vagaIds
+    );
+
+    @Query("SELECT c FROM CompatibilidadeCacheEntity c WHERE c.vagaId = :vagaId AND c.candidatoUsuarioId IN :candidatoIds")
+    List<CompatibilidadeCacheEntity> findByVagaAndCandidatos(
+            @Param("vagaId") UUID vagaId,
+            @Param("candidatoIds") Collection<UUID> candidatoUsuarioIds
+    );
+
     @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END FROM CompatibilidadeCacheEntity c " +
            "WHERE c.candidatoUsuarioId = :candidatoId AND c.vagaId = :vagaId")
     boolean existsByCandidatoAndVaga(
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,4 +13,7 @@ public interface CompetenciaJpaRepository extends JpaRepository<CompetenciaEntit
 
     @Query("SELECT c FROM CompetenciaEntity c WHERE c.perfilCandidato.id = :perfilCandidatoId")
     List<CompetenciaEntity> findByPerfilCandidatoId(@Param("perfilCandidatoId") UUID perfilCandidatoId);
+
+    @Query("SELECT c FROM CompetenciaEntity c WHERE c.perfilCandidato.id IN :perfilCandidatoIds")
+    List<CompetenciaEntity> findByPerfilCandidatoIds(@Param("perfilCandidatoIds") Collection<UUID> perfilCandidatoIds);
 }
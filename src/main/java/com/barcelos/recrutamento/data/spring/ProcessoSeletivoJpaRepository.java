@@ -49,6 +49,7 @@ public interface ProcessoSeletivoJpaRepository extends JpaRepository<ProcessoSel
             c.status as statusCandidatura,
             c.data_candidatura as dataCandidatura,
             c.compatibilidade as compatibilidade,
+            c.compatibilidade_provisoria as compatibilidadeProvisoria,
             c.arquivo_curriculo as arquivoCurriculo,
             c.vaga_id as vagaId,
             v.titulo as vagaTitulo
@@ -81,6 +82,7 @@ public interface ProcessoSeletivoJpaRepository extends JpaRepository<ProcessoSel
             c.status as statusCandidatura,
             c.data_candidatura as dataCandidatura,
             c.compatibilidade as compatibilidade,
+            c.compatibilidade_provisoria as compatibilidadeProvisoria,
             c.arquivo_curriculo as arquivoCurriculo,
             c.vaga_id as vagaId,
             v.titulo as vagaTitulo
@@ -0,0 +1,122 @@
+package com.barcelos.recrutamento.api.controller;
+
+import com.barcelos.recrutamento.api.dto.BuscarCandidatoPageResponse;
+import com.barcelos.recrutamento.api.dto.BuscarCandidatoRequest;
+import com.barcelos.recrutamento.api.dto.BuscarCandidatoResponse;
+import com.barcelos.recrutamento.config.OrganizacaoSecurityService;
+import com.barcelos.recrutamento.config.SecurityHelper;
+import com.barcelos.recrutamento.core.model.*;
+import com.barcelos.recrutamento.core.model.vo.*;
+import com.barcelos.recrutamento.core.port.*;
+import com.barcelos.recrutamento.core.service.BuscaCandidatoService;
+import com.barcelos.recrutamento.core.service.ConviteProcessoSeletivoService;
+import com.barcelos.recrutamento.core.service.RecrutadorService;
+import com.barcelos.recrutamento.data.entity.NivelCompetencia;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecrutadorControllerTest {
+
+    @Mock
+    private RecrutadorService recrutadorService;
+
+    @Mock
+    private BuscaCandidatoService buscaCandidatoService;
+
+    @Mock
+    private ConviteProcessoSeletivoService conviteService;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private OrganizacaoRepository organizacaoRepository;
+
+    @Mock
+    private VagaRepository vagaRepository;
+
+    @Mock
+    private CompetenciaRepository competenciaRepository;
+
+    @Mock
+    private ExperienciaProfissionalRepository experienciaRepository;
+
+    @Mock
+    private OrganizacaoSecurityService orgSecurityService;
+
+    @Mock
+    private SecurityHelper securityHelper;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private RecrutadorController controller;
+
+    @Test
+    void deveCarregarCompetenciasEExperienciasDaPaginaEmLote() {
+        UUID organizacaoId = UUID.randomUUID();
+        UUID vagaId = UUID.randomUUID();
+        UUID primeiroId = UUID.randomUUID();
+        UUID segundoId = UUID.randomUUID();
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga(vagaId, organizacaoId)));
+        when(buscaCandidatoService.buscarComPaginacao(vagaId, "java", null, 0, 10))
+            .thenReturn(new BuscaCandidatoService.ResultadoPaginado(List.of(
+                candidato(primeiroId, "Ana", 90),
+                candidato(segundoId, "Bruno", 70)
+            ), 0, 1, 2, 10, null));
+        when(competenciaRepository.listByPerfisCandidato(List.of(primeiroId, segundoId))).thenReturn(Map.of(
+            primeiroId, List.of(Competencia.rehydrate(UUID.randomUUID(), primeiroId, "Java", "Java",
+                NivelCompetencia.AVANCADO, true))
+        ));
+        when(experienciaRepository.listByUsuarios(List.of(primeiroId, segundoId))).thenReturn(Map.of(
+            segundoId, List.of(ExperienciaProfissional.rehydrate(UUID.randomUUID(), segundoId,
+                "Analista", "Empresa", "Dados", LocalDate.of(2020, 1, 1), null, true))
+        ));
+
+        BuscarCandidatoPageResponse pagina = controller.buscarCandidatos(
+            organizacaoId, new BuscarCandidatoRequest(vagaId, "java"), 0, 10, null, authentication).getBody();
+
+        assertThat(pagina).isNotNull();
+        assertThat(pagina.content()).extracting(BuscarCandidatoResponse::usuarioId).containsExactly(primeiroId, segundoId);
+        assertThat(pagina.content().get(0).competencias()).containsExactly("Java");
+        assertThat(pagina.content().get(0).experiencias()).isEmpty();
+        assertThat(pagina.content().get(1).competencias()).isEmpty();
+        assertThat(pagina.content().get(1).experiencias()).containsExactly("Analista");
+        verify(competenciaRepository, never()).listByPerfilCandidato(any());
+        verify(experienciaRepository, never()).listByUsuario(any());
+    }
+
+    private Vaga vaga(UUID vagaId, UUID organizacaoId) {
+        return Vaga.rehydrate(
+            vagaId, organizacaoId, UUID.randomUUID(), "Desenvolvedor Java", "Backend", "Java",
+            new BigDecimal("5000.00"), LocalDate.now(), StatusVaga.ABERTA, TipoContrato.CLT,
+            ModalidadeTrabalho.REMOTO, "9h às 18h", null, null, true, null
+        );
+    }
+
+    private BuscaCandidatoService.CandidatoComScore candidato(UUID usuarioId, String nome, int score) {
+        Usuario usuario = Usuario.rehydrate(usuarioId, nome, new Email(nome.toLowerCase() + "@example.com"),
+            new Cpf("12345678901"), "hash", true, true);
+        Endereco endereco = new Endereco("Rua", "100", null, new Cep("01310100"), "São Paulo", new Sigla("SP"));
+        PerfilCandidato perfil = PerfilCandidato.rehydrate(UUID.randomUUID(), usuarioId, LocalDate.of(1990, 1, 1),
+            endereco, true);
+        return new BuscaCandidatoService.CandidatoComScore(usuario, perfil, score, "Resumo");
+    }
+}
@@ -130,6 +130,20 @@ class CandidaturaTest {
         assertTrue(atualizada.possuiCompatibilidadeCalculada());
     }
 
+    @Test
+    void deveMarcarCompatibilidadeProvisoriaAteReceberValorDefinitivo() {
+        Candidatura provisoria = Candidatura.nova(UUID.randomUUID(), UUID.randomUUID(), null)
+            .comCompatibilidadeProvisoria(new BigDecimal("60"));
+
+        assertTrue(provisoria.isCompatibilidadeProvisoria());
+        assertTrue(provisoria.comStatus(StatusCandidatura.ACEITA).isCompatibilidadeProvisoria());
+
+        Candidatura definitiva = provisoria.comCompatibilidade(new BigDecimal("88"));
+
+        assertFalse(definitiva.isCompatibilidadeProvisoria());
+        assertEquals(new BigDecimal("88"), definitiva.getCompatibilidade());
+    }
+
     @Test
     void deveVerificarSeTemCurriculo() {
         Candidatura comCurriculo = Candidatura.nova(
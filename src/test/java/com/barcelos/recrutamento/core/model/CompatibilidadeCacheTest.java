@@ -18,7 +18,7 @@ class CompatibilidadeCacheTest {
         String justificativa = "Candidato possui todas as competências requisitadas";
 
         CompatibilidadeCache cache = CompatibilidadeCache.novo(candidatoId, vagaId, 
-                percentual, justificativa);
+                percentual, justificativa, OrigemCompatibilidade.IA, null, null);
 
         assertThat(cache).isNotNull();
         assertThat(cache.getId()).isNotNull();
@@ -28,6 +28,7 @@ class CompatibilidadeCacheTest {
         assertThat(cache.getJustificativa()).isEqualTo(justificativa);
         assertThat(cache.getDataCalculo()).isNotNull();
         assertThat(cache.getDataAtualizacao()).isNull();
+        assertThat(cache.getOrigem()).isEqualTo(OrigemCompatibilidade.IA);
         assertThat(cache.foiAtualizado()).isFalse();
     }
 
@@ -41,11 +42,14 @@ class CompatibilidadeCacheTest {
         LocalDateTime dataAtualizacao = LocalDateTime.of(2025, 1, 16, 11, 0);
 
         CompatibilidadeCache cache = CompatibilidadeCache.rehydrate(id, candidatoId, vagaId, 
-                percentual, "Justificativa", dataCalculo, dataAtualizacao);
+                percentual, "Justificativa", dataCalculo, dataAtualizacao, OrigemCompatibilidade.LOCAL, "hp", "hv");
 
         assertThat(cache.getId()).isEqualTo(id);
         assertThat(cache.getDataCalculo()).isEqualTo(dataCalculo);
         assertThat(cache.getDataAtualizacao()).isEqualTo(dataAtualizacao);
+        assertThat(cache.getOrigem()).isEqualTo(OrigemCompatibilidade.LOCAL);
+        assertThat(cache.getHashPerfil()).isEqualTo("hp");
+        assertThat(cache.getHashVaga()).isEqualTo("hv");
         assertThat(cache.foiAtualizado()).isTrue();
     }
 
@@ -81,13 +85,16 @@ class CompatibilidadeCacheTest {
         UUID vagaId = UUID.randomUUID();
         BigDecimal percentual = new BigDecimal("85.5");
 
-        assertThatThrownBy(() -> CompatibilidadeCache.novo(null, vagaId, percentual, "Justificativa"))
+        assertThatThrownBy(() -> CompatibilidadeCache.novo(null, vagaId, percentual, "Justificativa", OrigemCompatibilidade.IA, null, null))
                 .isInstanceOf(NullPointerException.class);
 
-        assertThatThrownBy(() -> CompatibilidadeCache.novo(candidatoId, null, percentual, "Justificativa"))
+        assertThatThrownBy(() -> CompatibilidadeCache.novo(candidatoId, null, percentual, "Justificativa", OrigemCompatibilidade.IA, null, null))
                 .isInstanceOf(NullPointerException.class);
 
-        assertThatThrownBy(() -> CompatibilidadeCache.novo(candidatoId, vagaId, null, "Justificativa"))
+        assertThatThrownBy(() -> CompatibilidadeCache.novo(candidatoId, vagaId, null, "Justificativa", OrigemCompatibilidade.IA, null, null))
+                .isInstanceOf(NullPointerException.class);
+
+        assertThatThrownBy(() -> CompatibilidadeCache.novo(candidatoId, vagaId, percentual, "Justificativa", null, null, null))
                 .isInstanceOf(NullPointerException.class);
     }
 
@@ -99,23 +106,83 @@ class CompatibilidadeCacheTest {
         BigDecimal percentual = new BigDecimal("85.5");
 
         CompatibilidadeCache cache1 = CompatibilidadeCache.rehydrate(id, candidatoId, vagaId, 
-                percentual, "Just1", LocalDateTime.now(), null);
+                percentual, "Just1", LocalDateTime.now(), null, OrigemCompatibilidade.IA, null, null);
         CompatibilidadeCache cache2 = CompatibilidadeCache.rehydrate(id, candidatoId, vagaId, 
-                percentual, "Just2", LocalDateTime.now(), null);
+                percentual, "Just2", LocalDateTime.now(), null, OrigemCompatibilidade.IA, null, null);
         CompatibilidadeCache cache3 = CompatibilidadeCache.novo(candidatoId, vagaId, 
-                percentual, "Just3");
+                percentual, "Just3", OrigemCompatibilidade.IA, null, null);
 
         assertThat(cache1).isEqualTo(cache2);
         assertThat(cache1).isNotEqualTo(cache3);
         assertThat(cache1.hashCode()).isEqualTo(cache2.hashCode());
     }
 
+    @Test
+    void deveRecalcularMantendoIdentidadeEAtualizandoHashes() {
+        CompatibilidadeCache original = CompatibilidadeCache.novo(UUID.randomUUID(), UUID.randomUUID(),
+                new BigDecimal("70.0"), "Antiga", OrigemCompatibilidade.LOCAL, "perfil-1", "vaga-1");
+
+        CompatibilidadeCache recalculado = original.recalcular(new BigDecimal("88.0"), "Nova",
+                OrigemCompatibilidade.IA, "perfil-2", "vaga-1");
+
+        assertThat(recalculado.getId()).isEqualTo(original.getId());
+        assertThat(recalculado.getDataCalculo()).isEqualTo(original.getDataCalculo());
+        assertThat(recalculado.foiAtualizado()).isTrue();
+        assertThat(recalculado.getOrigem()).isEqualTo(OrigemCompatibilidade.IA);
+        assertThat(original.correspondeA("perfil-1", "vaga-1")).isTrue();
+        assertThat(original.correspondeA("perfil-2", "vaga-1")).isFalse();
+        assertThat(recalculado.correspondeA("perfil-2", "vaga-1")).isTrue();
+    }
+
+    @Test
+    void naoDeveCorresponderQuandoHashesDesconhecidos() {
+        CompatibilidadeCache legado = criarCachePadrao();
+
+        assertThat(legado.correspondeA(null, null)).isFalse();
+        assertThat(legado.correspondeA("perfil", "vaga")).isFalse();
+    }
+
     private CompatibilidadeCache criarCachePadrao() {
         UUID candidatoId = UUID.randomUUID();
         UUID vagaId = UUID.randomUUID();
         BigDecimal percentual = new BigDecimal("85.5");
         return CompatibilidadeCache.novo(candidatoId, vagaId, percentual, 
-                "Candidato possui todas as competências requisitadas");
+                "Candidato possui todas as competências requisitadas", OrigemCompatibilidade.IA, null, null);
+    }
+
+    @Test
+    void deveUsarDataDeAtualizacaoComoReferenciaDeIdade() {
+        LocalDateTime calculo = LocalDateTime.now().minusDays(10);
+        LocalDateTime atualizacao = LocalDateTime.now().minusHours(1);
+        CompatibilidadeCache original = CompatibilidadeCache.rehydrate(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("70"),
+            "Justificativa", calculo, null, OrigemCompatibilidade.IA, null, null
+        );
+        CompatibilidadeCache atualizado = CompatibilidadeCache.rehydrate(
+            original.getId(), original.getCandidatoUsuarioId(), original.getVagaId(), new BigDecimal("70"),
+            "Justificativa", calculo, atualizacao, OrigemCompatibilidade.IA, null, null
+        );
+
+        assertThat(original.getUltimoCalculo()).isEqualTo(calculo);
+        assertThat(atualizado.getUltimoCalculo()).isEqualTo(atualizacao);
+        assertThat(original.calculadoAntesDe(LocalDateTime.now().minusDays(1))).isTrue();
+        assertThat(atualizado.calculadoAntesDe(LocalDateTime.now().minusDays(1))).isFalse();
     }
-}
 
+    @Test
+    void deveAnexarJustificativaSemAlterarIdadeDoCalculo() {
+        LocalDateTime calculo = LocalDateTime.now().minusDays(2);
+        CompatibilidadeCache semJustificativa = CompatibilidadeCache.rehydrate(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("64"),
+            null, calculo, null, OrigemCompatibilidade.IA, "perfil", "vaga"
+        );
+
+        CompatibilidadeCache completo = semJustificativa.comJustificativa("Experiência parcial nos requisitos.");
+
+        assertThat(semJustificativa.semJustificativa()).isTrue();
+        assertThat(completo.semJustificativa()).isFalse();
+        assertThat(completo.getId()).isEqualTo(semJustificativa.getId());
+        assertThat(completo.getUltimoCalculo()).isEqualTo(calculo);
+        assertThat(completo.correspondeA("perfil", "vaga")).isTrue();
+    }
+}
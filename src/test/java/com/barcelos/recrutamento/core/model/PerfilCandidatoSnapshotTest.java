@@ -0,0 +1,58 @@
+package com.barcelos.recrutamento.core.model;
+
+import com.barcelos.recrutamento.core.model.vo.Cpf;
+import com.barcelos.recrutamento.core.model.vo.Email;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PerfilCandidatoSnapshotTest {
+
+    private final Usuario usuario = Usuario.rehydrate(
+            UUID.randomUUID(), "Maria Souza", new Email("maria@example.com"),
+            new Cpf("12345678901"), "$2a$10$hash", true, true
+    );
+
+    @Test
+    void deveCriarNovoSnapshotComDadosDoUsuarioSemSenha() {
+        List<ExperienciaProfissional> experiencias = new ArrayList<>(List.of(ExperienciaProfissional.rehydrate(
+                UUID.randomUUID(), usuario.getId(), "Desenvolvedora", "Empresa", "Descrição",
+                LocalDate.now().minusYears(2), null, true
+        )));
+
+        PerfilCandidatoSnapshot snapshot = PerfilCandidatoSnapshot.novo(usuario, null, List.of(), experiencias,
+                List.of(), List.of(), new int[0]);
+        experiencias.clear();
+
+        assertThat(snapshot.getUsuarioId()).isEqualTo(usuario.getId());
+        assertThat(snapshot.getNome()).isEqualTo("Maria Souza");
+        assertThat(snapshot.getVersao()).isZero();
+        assertThat(snapshot.getPerfil()).isEmpty();
+        assertThat(snapshot.getExperiencias()).hasSize(1);
+        assertThatThrownBy(() -> snapshot.getCompetencias().add(null))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void deveAtribuirVersaoSemAlterarOriginal() {
+        PerfilCandidatoSnapshot snapshot = PerfilCandidatoSnapshot.novo(usuario, null, List.of(), List.of(),
+                List.of(), List.of(), new int[0]);
+
+        PerfilCandidatoSnapshot versionado = snapshot.comVersao(3);
+
+        assertThat(versionado.getVersao()).isEqualTo(3);
+        assertThat(snapshot.getVersao()).isZero();
+        assertThat(versionado.getDataAtualizacao()).isEqualTo(snapshot.getDataAtualizacao());
+    }
+
+    @Test
+    void naoDeveCriarSnapshotSemListas() {
+        assertThatThrownBy(() -> PerfilCandidatoSnapshot.novo(usuario, null, null, List.of(), List.of(), List.of(), new int[0]))
+                .isInstanceOf(NullPointerException.class);
+    }
+}
@@ -0,0 +1,44 @@
+package com.barcelos.recrutamento.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class VagaDigestTest {
+
+    @Test
+    void deveCriarNovoDigestComCopiaImutavelDasListas() {
+        List<String> obrigatorios = new ArrayList<>(List.of("Java", "Spring Boot"));
+
+        VagaDigest digest = VagaDigest.novo(UUID.randomUUID(), "hash", 1, "Desenvolvedor Java", "Resumo",
+                obrigatorios, List.of("Kubernetes"), Senioridade.PLENO, List.of("Inglês"),
+                TipoContrato.CLT, ModalidadeTrabalho.REMOTO, new int[0], new int[0], new int[0]);
+        obrigatorios.add("Docker");
+
+        assertThat(digest.getRequisitosObrigatorios()).containsExactly("Java", "Spring Boot");
+        assertThat(digest.getDataGeracao()).isNotNull();
+        assertThatThrownBy(() -> digest.getRequisitosDesejaveis().add("AWS"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void deveCorresponderApenasAoMesmoHashEVersao() {
+        VagaDigest digest = VagaDigest.novo(UUID.randomUUID(), "hash", 1, "Desenvolvedor Java", null,
+                List.of(), List.of(), null, List.of(), TipoContrato.PJ, ModalidadeTrabalho.PRESENCIAL, new int[0], new int[0], new int[0]);
+
+        assertThat(digest.correspondeA("hash", 1)).isTrue();
+        assertThat(digest.correspondeA("outro", 1)).isFalse();
+        assertThat(digest.correspondeA("hash", 2)).isFalse();
+    }
+
+    @Test
+    void naoDeveCriarDigestSemVaga() {
+        assertThatThrownBy(() -> VagaDigest.novo(null, "hash", 1, "Titulo", null,
+                List.of(), List.of(), null, List.of(), null, null, new int[0], new int[0], new int[0]))
+                .isInstanceOf(NullPointerException.class);
+    }
+}
@@ -3,31 +3,38 @@ package com.barcelos.recrutamento.core.service;
 import com.barcelos.recrutamento.core.model.*;
 import com.barcelos.recrutamento.core.model.vo.*;
 import com.barcelos.recrutamento.core.port.*;
-import com.barcelos.recrutamento.data.entity.NivelCompetencia;
+import com.barcelos.recrutamento.core.port.CandidatoBuscaRepository.CandidatoEncontrado;
+import com.barcelos.recrutamento.core.port.CandidatoBuscaRepository.ConsultaCandidato;
+import com.barcelos.recrutamento.core.port.CandidatoBuscaRepository.PaginaCandidatos;
+import com.barcelos.recrutamento.core.port.CandidatoBuscaRepository.Posicao;
+import com.barcelos.recrutamento.core.service.CriteriosBuscaService.CriteriosBusca;
+import com.barcelos.recrutamento.core.support.TaxonomiaHabilidades;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.ai.chat.client.ChatClient;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class BuscaCandidatoServiceTest {
 
-    @Mock
-    private ChatClient chatClient;
-
     @Mock
     private UsuarioRepository usuarioRepository;
 
@@ -35,10 +42,7 @@ class BuscaCandidatoServiceTest {
     private PerfilCandidatoRepository perfilCandidatoRepository;
 
     @Mock
-    private CompetenciaRepository competenciaRepository;
-
-    @Mock
-    private ExperienciaProfissionalRepository experienciaRepository;
+    private CandidatoBuscaRepository candidatoBuscaRepository;
 
     @Mock
     private VagaRepository vagaRepository;
@@ -49,6 +53,18 @@ class BuscaCandidatoServiceTest {
     @Mock
     private CompatibilidadeCacheRepository compatibilidadeCacheRepository;
 
+    @Mock
+    private CompatibilidadeJustificativaService justificativaService;
+
+    @Mock
+    private IndiceSemanticoService indiceSemanticoService;
+
+    @Mock
+    private CriteriosBuscaService criteriosBuscaService;
+
+    @Spy
+    private TaxonomiaHabilidades taxonomia = TaxonomiaHabilidades.carregar();
+
     @InjectMocks
     private BuscaCandidatoService service;
 
@@ -82,129 +98,239 @@ class BuscaCandidatoServiceTest {
 
         cache = CompatibilidadeCache.rehydrate(
             UUID.randomUUID(), candidatoId, vagaId, new BigDecimal("85.5"),
-            "Alta compatibilidade", LocalDate.now().atStartOfDay(), null
+            "Alta compatibilidade", LocalDate.now().atStartOfDay(), null, OrigemCompatibilidade.IA, null, null
         );
     }
 
     @Test
     void deveBuscarCandidatosPorNome() {
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
-        when(perfilCandidatoRepository.findAll()).thenReturn(List.of(perfil));
-        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
-        when(competenciaRepository.listByPerfilCandidato(any())).thenReturn(List.of());
-        when(experienciaRepository.listByUsuario(any())).thenReturn(List.of());
-        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId))
-            .thenReturn(Optional.of(cache));
+        when(candidatoBuscaRepository.buscar(any(), isNull(), eq(0), eq(10)))
+            .thenReturn(new PaginaCandidatos(List.of(new CandidatoEncontrado(candidatoId, 85)), 1));
+        stubCandidatoEncontrado();
+        when(compatibilidadeCacheService.obterDoCachePorCandidatos(vagaId, List.of(candidatoId)))
+            .thenReturn(Map.of(candidatoId, cache));
+
+        when(criteriosBuscaService.extrair("João Silva")).thenReturn(new CriteriosBusca(List.of("joão silva"), null, null));
 
         BuscaCandidatoService.ResultadoPaginado resultado = service.buscarComPaginacao(
-            vagaId, "João", 0, 10
+            vagaId, "João Silva", null, 0, 10
         );
 
-        assertThat(resultado).isNotNull();
-        assertThat(resultado.content()).isNotEmpty();
-        verify(vagaRepository).findById(vagaId);
+        ArgumentCaptor<ConsultaCandidato> consulta = ArgumentCaptor.forClass(ConsultaCandidato.class);
+        verify(candidatoBuscaRepository).buscar(consulta.capture(), isNull(), eq(0), eq(10));
+        assertThat(consulta.getValue().vagaId()).isEqualTo(vagaId);
+        assertThat(consulta.getValue().termosNome()).containsExactly("joão", "silva");
+        assertThat(resultado.content()).extracting(c -> c.usuario().getId()).containsExactly(candidatoId);
+        assertThat(resultado.content().get(0).score()).isEqualTo(85);
+        assertThat(resultado.content().get(0).resumo()).isEqualTo("Alta compatibilidade");
+        assertThat(resultado.proximoCursor()).isNull();
+    }
+
+    @Test
+    void deveIncluirCandidatosDoIndiceSemanticoNaConsulta() {
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(indiceSemanticoService.possuiCandidatos()).thenReturn(true);
+        when(indiceSemanticoService.buscarCandidatos("João")).thenReturn(List.of(candidatoId));
+        when(candidatoBuscaRepository.buscar(any(), isNull(), eq(0), eq(10)))
+            .thenReturn(new PaginaCandidatos(List.of(new CandidatoEncontrado(candidatoId, 40)), 1));
+        stubCandidatoEncontrado();
+        when(compatibilidadeCacheService.obterDoCachePorCandidatos(vagaId, List.of(candidatoId)))
+            .thenReturn(Map.of(candidatoId, cache));
+
+        when(criteriosBuscaService.extrair("João")).thenReturn(new CriteriosBusca(List.of("joão"), null, null));
+
+        BuscaCandidatoService.ResultadoPaginado resultado = service.buscarComPaginacao(
+            vagaId, "João", null, 0, 10
+        );
+
+        ArgumentCaptor<ConsultaCandidato> consulta = ArgumentCaptor.forClass(ConsultaCandidato.class);
+        verify(candidatoBuscaRepository).buscar(consulta.capture(), isNull(), eq(0), eq(10));
+        assertThat(consulta.getValue().candidatosAdicionais()).containsExactly(candidatoId);
+        assertThat(resultado.content()).extracting(c -> c.usuario().getId()).containsExactly(candidatoId);
     }
 
     @Test
     void deveBuscarTodosCandidatosQuandoConsultaVazia() {
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
-        when(compatibilidadeCacheRepository.findByVaga(vagaId)).thenReturn(List.of(cache));
-        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
-        when(perfilCandidatoRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.of(perfil));
+        when(candidatoBuscaRepository.buscarPorCompatibilidade(vagaId, null, 0, 10))
+            .thenReturn(new PaginaCandidatos(List.of(new CandidatoEncontrado(candidatoId, 85)), 1));
+        when(compatibilidadeCacheRepository.findByVagaAndCandidatos(vagaId, List.of(candidatoId)))
+            .thenReturn(List.of(cache));
+        stubCandidatoEncontrado();
 
         BuscaCandidatoService.ResultadoPaginado resultado = service.buscarComPaginacao(
-            vagaId, null, 0, 10
+            vagaId, null, null, 0, 10
         );
 
-        assertThat(resultado).isNotNull();
-        verify(compatibilidadeCacheRepository).findByVaga(vagaId);
+        assertThat(resultado.content()).singleElement()
+            .satisfies(c -> {
+                assertThat(c.score()).isEqualTo(85);
+                assertThat(c.resumo()).isEqualTo("Alta compatibilidade");
+            });
+        verify(compatibilidadeCacheRepository, never()).findByVaga(any());
+        verifyNoInteractions(criteriosBuscaService);
+    }
+
+    @Test
+    void deveGerarJustificativaParaCandidatoListadoPontuadoSemJustificativa() {
+        CompatibilidadeCache semJustificativa = CompatibilidadeCache.rehydrate(
+            UUID.randomUUID(), candidatoId, vagaId, new BigDecimal("85.5"),
+            null, LocalDate.now().atStartOfDay(), null, OrigemCompatibilidade.IA, null, null
+        );
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(candidatoBuscaRepository.buscarPorCompatibilidade(vagaId, null, 0, 10))
+            .thenReturn(new PaginaCandidatos(List.of(new CandidatoEncontrado(candidatoId, 85)), 1));
+        when(compatibilidadeCacheRepository.findByVagaAndCandidatos(vagaId, List.of(candidatoId)))
+            .thenReturn(List.of(semJustificativa));
+        when(justificativaService.completar(semJustificativa, vaga))
+            .thenReturn(semJustificativa.comJustificativa("Experiência aderente aos requisitos"));
+        stubCandidatoEncontrado();
+
+        BuscaCandidatoService.ResultadoPaginado resultado = service.buscarComPaginacao(
+            vagaId, null, null, 0, 10
+        );
+
+        assertThat(resultado.content()).singleElement()
+            .extracting(BuscaCandidatoService.CandidatoComScore::resumo)
+            .isEqualTo("Experiência aderente aos requisitos");
     }
 
     @Test
     void naoDeveBuscarQuandoVagaNaoExiste() {
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> service.buscarComPaginacao(vagaId, "termo", 0, 10))
+        assertThatThrownBy(() -> service.buscarComPaginacao(vagaId, "termo", null, 0, 10))
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("Vaga não encontrada");
     }
 
     @Test
-    void devePaginarResultadosCorretamente() {
+    void deveUsarDeslocamentoQuandoPaginaSolicitadaSemCursor() {
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
-        when(compatibilidadeCacheRepository.findByVaga(vagaId)).thenReturn(List.of(cache));
-        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
-        when(perfilCandidatoRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.of(perfil));
+        when(candidatoBuscaRepository.buscarPorCompatibilidade(vagaId, null, 15, 5))
+            .thenReturn(new PaginaCandidatos(List.of(), 12));
 
         BuscaCandidatoService.ResultadoPaginado resultado = service.buscarComPaginacao(
-            vagaId, null, 0, 5
+            vagaId, null, null, 3, 5
         );
 
-        assertThat(resultado).isNotNull();
+        assertThat(resultado.content()).isEmpty();
         assertThat(resultado.size()).isEqualTo(5);
-        assertThat(resultado.currentPage()).isEqualTo(0);
+        assertThat(resultado.currentPage()).isEqualTo(3);
+        assertThat(resultado.totalElements()).isEqualTo(12);
+        assertThat(resultado.totalPages()).isEqualTo(3);
+        verifyNoInteractions(usuarioRepository, compatibilidadeCacheRepository);
     }
 
     @Test
-    void deveFiltrarPorCompetencias() {
-        Competencia competencia = Competencia.rehydrate(
-            UUID.randomUUID(), perfil.getUsuarioId(), "Java", "Linguagem", NivelCompetencia.AVANCADO, true
+    void deveEmitirCursorQuandoPaginaCompletaEContinuarAPartirDele() {
+        UUID outroCandidatoId = UUID.randomUUID();
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(candidatoBuscaRepository.buscarPorCompatibilidade(vagaId, null, 0, 1))
+            .thenReturn(new PaginaCandidatos(List.of(new CandidatoEncontrado(candidatoId, 85)), 2));
+        when(candidatoBuscaRepository.buscarPorCompatibilidade(vagaId, new Posicao(85, candidatoId), 0, 1))
+            .thenReturn(new PaginaCandidatos(List.of(new CandidatoEncontrado(outroCandidatoId, 70)), 2));
+        when(compatibilidadeCacheRepository.findByVagaAndCandidatos(eq(vagaId), any())).thenReturn(List.of());
+        stubCandidatoEncontrado();
+
+        BuscaCandidatoService.ResultadoPaginado primeira = service.buscarComPaginacao(vagaId, null, null, 0, 1);
+        BuscaCandidatoService.ResultadoPaginado segunda = service.buscarComPaginacao(
+            vagaId, null, primeira.proximoCursor(), 1, 1
         );
 
+        assertThat(primeira.proximoCursor()).isNotBlank();
+        assertThat(primeira.totalPages()).isEqualTo(2);
+        assertThat(segunda.content()).isEmpty();
+        verify(usuarioRepository).findAllByIds(List.of(outroCandidatoId));
+    }
+
+    @Test
+    void deveRejeitarCursorInvalido() {
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+
+        assertThatThrownBy(() -> service.buscarComPaginacao(vagaId, null, "nao-e-um-cursor", 0, 10))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Cursor");
+        verifyNoInteractions(candidatoBuscaRepository);
+    }
+
+    @Test
+    void deveRepassarCriteriosExtraidosParaBusca() {
+        LocalDateTime validaDesde = LocalDateTime.now().minusDays(7);
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
-        when(perfilCandidatoRepository.findAll()).thenReturn(List.of(perfil));
-        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
-        when(competenciaRepository.listByPerfilCandidato(any())).thenReturn(List.of(competencia));
-        when(experienciaRepository.listByUsuario(any())).thenReturn(List.of());
-        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId))
-            .thenReturn(Optional.of(cache));
+        when(criteriosBuscaService.extrair("Java sênior em São Paulo")).thenReturn(
+            new CriteriosBusca(List.of("java", "spring boot"), "são paulo", "SENIOR")
+        );
+        when(compatibilidadeCacheService.compatibilidadeValidaDesde()).thenReturn(validaDesde);
+        when(candidatoBuscaRepository.buscar(any(), isNull(), eq(0), eq(10)))
+            .thenReturn(new PaginaCandidatos(List.of(new CandidatoEncontrado(candidatoId, 70)), 1));
+        stubCandidatoEncontrado();
+        when(compatibilidadeCacheService.obterDoCachePorCandidatos(vagaId, List.of(candidatoId)))
+            .thenReturn(Map.of());
 
         BuscaCandidatoService.ResultadoPaginado resultado = service.buscarComPaginacao(
-            vagaId, "Java", 0, 10
+            vagaId, "Java sênior em São Paulo", null, 0, 10
         );
 
-        assertThat(resultado).isNotNull();
-        assertThat(resultado.content()).isNotEmpty();
+        ArgumentCaptor<ConsultaCandidato> consulta = ArgumentCaptor.forClass(ConsultaCandidato.class);
+        verify(candidatoBuscaRepository).buscar(consulta.capture(), isNull(), eq(0), eq(10));
+        assertThat(consulta.getValue().palavrasChave())
+            .startsWith("java", "spring boot")
+            .contains("jakarta ee", "springboot")
+            .doesNotHaveDuplicates();
+        assertThat(consulta.getValue().localizacao()).isEqualTo("são paulo");
+        assertThat(consulta.getValue().senioridade()).isEqualTo("SENIOR");
+        assertThat(consulta.getValue().compatibilidadeValidaDesde()).isEqualTo(validaDesde);
+        assertThat(resultado.content()).singleElement()
+            .satisfies(c -> {
+                assertThat(c.score()).isEqualTo(70);
+                assertThat(c.resumo()).isEqualTo("Compatibilidade em cache não disponível");
+            });
     }
 
     @Test
-    void deveFiltrarPorExperiencia() {
-        ExperienciaProfissional experiencia = ExperienciaProfissional.rehydrate(
-            UUID.randomUUID(), candidatoId, "Desenvolvedor Java", "Empresa", "Descrição",
-            LocalDate.now(), null, true
-        );
-
+    void deveManterPontuacaoQuandoFalhaAoObterCompatibilidades() {
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
-        when(perfilCandidatoRepository.findAll()).thenReturn(List.of(perfil));
-        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
-        when(competenciaRepository.listByPerfilCandidato(any())).thenReturn(List.of());
-        when(experienciaRepository.listByUsuario(any())).thenReturn(List.of(experiencia));
-        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId))
-            .thenReturn(Optional.of(cache));
+        when(candidatoBuscaRepository.buscar(any(), isNull(), eq(0), eq(10)))
+            .thenReturn(new PaginaCandidatos(List.of(new CandidatoEncontrado(candidatoId, 60)), 1));
+        when(compatibilidadeCacheService.obterDoCachePorCandidatos(vagaId, List.of(candidatoId)))
+            .thenThrow(new IllegalStateException("timeout"));
+        stubCandidatoEncontrado();
+
+        when(criteriosBuscaService.extrair("Java")).thenReturn(new CriteriosBusca(List.of("java"), null, null));
 
         BuscaCandidatoService.ResultadoPaginado resultado = service.buscarComPaginacao(
-            vagaId, "Java", 0, 10
+            vagaId, "Java", null, 0, 10
         );
 
-        assertThat(resultado).isNotNull();
-        assertThat(resultado.content()).isNotEmpty();
+        assertThat(resultado.content()).singleElement()
+            .satisfies(c -> {
+                assertThat(c.score()).isEqualTo(60);
+                assertThat(c.resumo()).isEqualTo("Erro ao obter compatibilidade");
+            });
     }
 
     @Test
     void deveRetornarListaVaziaQuandoNenhumCandidatoCorresponde() {
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
-        when(perfilCandidatoRepository.findAll()).thenReturn(List.of());
+        when(candidatoBuscaRepository.buscar(any(), isNull(), eq(0), eq(10)))
+            .thenReturn(new PaginaCandidatos(List.of(), 0));
+        when(compatibilidadeCacheService.obterDoCachePorCandidatos(vagaId, List.of())).thenReturn(Map.of());
+
+        when(criteriosBuscaService.extrair("NonExistentKeyword")).thenReturn(new CriteriosBusca(List.of("nonexistentkeyword"), null, null));
 
         BuscaCandidatoService.ResultadoPaginado resultado = service.buscarComPaginacao(
-            vagaId, "NonExistentKeyword", 0, 10
+            vagaId, "NonExistentKeyword", null, 0, 10
         );
 
         assertThat(resultado).isNotNull();
         assertThat(resultado.content()).isEmpty();
+        assertThat(resultado.totalPages()).isZero();
     }
 
     @Test
-    void deveOrdenarResultadosPorScore() {
+    void deveManterOrdemRetornadaPeloRepositorio() {
         Usuario candidato2 = Usuario.rehydrate(
             UUID.randomUUID(), "Maria Santos", new Email("maria@example.com"),
             new Cpf("98765432109"), "$2a$10$hash", true, true
@@ -215,24 +341,31 @@ class BuscaCandidatoServiceTest {
             perfil.getEndereco(), true
         );
 
-        CompatibilidadeCache cache2 = CompatibilidadeCache.rehydrate(
-            UUID.randomUUID(), candidato2.getId(), vagaId, new BigDecimal("90.0"),
-            "Altíssima compatibilidade", LocalDate.now().atStartOfDay(), null
-        );
-
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
-        when(compatibilidadeCacheRepository.findByVaga(vagaId)).thenReturn(List.of(cache, cache2));
-        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
-        when(usuarioRepository.findById(candidato2.getId())).thenReturn(Optional.of(candidato2));
-        when(perfilCandidatoRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.of(perfil));
-        when(perfilCandidatoRepository.findByUsuarioId(candidato2.getId())).thenReturn(Optional.of(perfil2));
+        when(candidatoBuscaRepository.buscarPorCompatibilidade(vagaId, null, 0, 10))
+            .thenReturn(new PaginaCandidatos(List.of(
+                new CandidatoEncontrado(candidato2.getId(), 90),
+                new CandidatoEncontrado(candidatoId, 85)
+            ), 2));
+        when(compatibilidadeCacheRepository.findByVagaAndCandidatos(vagaId, List.of(candidato2.getId(), candidatoId)))
+            .thenReturn(List.of(cache));
+        when(usuarioRepository.findAllByIds(List.of(candidato2.getId(), candidatoId)))
+            .thenReturn(Map.of(candidatoId, candidato, candidato2.getId(), candidato2));
+        when(perfilCandidatoRepository.findAllByUsuarioIds(List.of(candidato2.getId(), candidatoId)))
+            .thenReturn(Map.of(candidatoId, perfil, candidato2.getId(), perfil2));
 
         BuscaCandidatoService.ResultadoPaginado resultado = service.buscarComPaginacao(
-            vagaId, null, 0, 10
+            vagaId, null, null, 0, 10
         );
 
-        assertThat(resultado.content()).hasSize(2);
-        assertThat(resultado.content().get(0).score()).isGreaterThanOrEqualTo(resultado.content().get(1).score());
+        assertThat(resultado.content()).extracting(BuscaCandidatoService.CandidatoComScore::score)
+            .containsExactly(90, 85);
+        verify(usuarioRepository, never()).findById(any());
+        verify(perfilCandidatoRepository, never()).findByUsuarioId(any());
     }
-}
 
+    private void stubCandidatoEncontrado() {
+        when(usuarioRepository.findAllByIds(List.of(candidatoId))).thenReturn(Map.of(candidatoId, candidato));
+        when(perfilCandidatoRepository.findAllByUsuarioIds(List.of(candidatoId))).thenReturn(Map.of(candidatoId, perfil));
+    }
+}
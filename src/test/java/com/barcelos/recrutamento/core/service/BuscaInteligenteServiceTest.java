@@ -2,17 +2,22 @@ package com.barcelos.recrutamento.core.service;
 
 import com.barcelos.recrutamento.core.model.*;
 import com.barcelos.recrutamento.core.model.vo.*;
+import com.barcelos.recrutamento.core.port.VagaDigestRepository;
 import com.barcelos.recrutamento.core.port.VagaRepository;
+import com.barcelos.recrutamento.core.support.TaxonomiaHabilidades;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,6 +34,19 @@ class BuscaInteligenteServiceTest {
     @Mock
     private CompatibilidadeCacheService compatibilidadeCacheService;
 
+    @Mock
+    private CompatibilidadeJustificativaService justificativaService;
+
+    @Mock
+    private IndiceSemanticoService indiceSemanticoService;
+
+    @Spy
+    private VagaDigestService vagaDigestService = new VagaDigestService(mock(VagaDigestRepository.class),
+        TaxonomiaHabilidades.carregar(), mock(PlatformTransactionManager.class));
+
+    @Spy
+    private TaxonomiaHabilidades taxonomia = TaxonomiaHabilidades.carregar();
+
     @InjectMocks
     private BuscaInteligenteService service;
 
@@ -50,7 +68,7 @@ class BuscaInteligenteServiceTest {
 
         cache = CompatibilidadeCache.rehydrate(
             UUID.randomUUID(), candidatoId, vagaId, new BigDecimal("85.5"),
-            "Alta compatibilidade", LocalDate.now().atStartOfDay(), null
+            "Alta compatibilidade", LocalDate.now().atStartOfDay(), null, OrigemCompatibilidade.IA, null, null
         );
     }
 
@@ -85,6 +103,40 @@ class BuscaInteligenteServiceTest {
         verify(vagaRepository).listPublicas();
     }
 
+    @Test
+    void deveFiltrarVagasPorSinonimoDeHabilidade() {
+        Vaga vagaFrontend = Vaga.rehydrate(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "Desenvolvedor Front-end", "Interfaces web",
+            "JavaScript, React.js", new BigDecimal("5000.00"), LocalDate.now(), StatusVaga.ABERTA, TipoContrato.CLT,
+            ModalidadeTrabalho.REMOTO, "9h às 18h", null, null, true, null
+        );
+        when(vagaRepository.listPublicas()).thenReturn(List.of(vaga, vagaFrontend));
+
+        List<BuscaInteligenteService.VagaComScoreCompleto> resultado = service.buscar("js e reactjs", 50, null);
+
+        assertThat(resultado).extracting(BuscaInteligenteService.VagaComScoreCompleto::vaga)
+            .containsExactly(vagaFrontend);
+    }
+
+    @Test
+    void deveUsarIndiceSemanticoQuandoDisponivel() {
+        Vaga vaga2 = Vaga.rehydrate(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "Engenheiro de Software", "Backend", "Kotlin",
+            new BigDecimal("7000.00"), LocalDate.now(), StatusVaga.ABERTA, TipoContrato.CLT,
+            ModalidadeTrabalho.REMOTO, "9h às 18h", null, null, true, null
+        );
+
+        when(vagaRepository.listPublicas()).thenReturn(List.of(vaga, vaga2));
+        when(indiceSemanticoService.possuiVagas()).thenReturn(true);
+        when(indiceSemanticoService.buscarVagas("programador backend"))
+            .thenReturn(List.of(vaga2.getId(), vagaId, UUID.randomUUID()));
+
+        List<BuscaInteligenteService.VagaComScoreCompleto> resultado = service.buscar("programador backend", 50, null);
+
+        assertThat(resultado).extracting(BuscaInteligenteService.VagaComScoreCompleto::vaga)
+            .containsExactly(vaga2, vaga);
+    }
+
     @Test
     void deveRetornarVagasSemCompatibilidadeQuandoCandidatoNaoInformado() {
         when(vagaRepository.listPublicas()).thenReturn(List.of(vaga));
@@ -99,15 +151,35 @@ class BuscaInteligenteServiceTest {
     @Test
     void deveCalcularCompatibilidadeQuandoCandidatoInformado() {
         when(vagaRepository.listPublicas()).thenReturn(List.of(vaga));
-        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId))
-            .thenReturn(Optional.of(cache));
+        when(compatibilidadeCacheService.obterDoCachePorVagas(candidatoId, List.of(vagaId)))
+            .thenReturn(Map.of(vagaId, cache));
 
         List<BuscaInteligenteService.VagaComScoreCompleto> resultado = service.buscar("Java", 50, candidatoId);
 
         assertThat(resultado).isNotEmpty();
         assertThat(resultado.get(0).percentualCompatibilidade()).isEqualTo(85);
         assertThat(resultado.get(0).usouIA()).isTrue();
-        verify(compatibilidadeCacheService).obterDoCache(candidatoId, vagaId);
+        verify(compatibilidadeCacheService).obterDoCachePorVagas(candidatoId, List.of(vagaId));
+    }
+
+    @Test
+    void deveGerarJustificativaParaVagaListadaPontuadaSemJustificativa() {
+        CompatibilidadeCache semJustificativa = CompatibilidadeCache.rehydrate(
+            UUID.randomUUID(), candidatoId, vagaId, new BigDecimal("85.5"),
+            null, LocalDate.now().atStartOfDay(), null, OrigemCompatibilidade.IA, null, null
+        );
+        when(vagaRepository.listPublicas()).thenReturn(List.of(vaga));
+        when(compatibilidadeCacheService.obterDoCachePorVagas(candidatoId, List.of(vagaId)))
+            .thenReturn(Map.of(vagaId, semJustificativa));
+        when(justificativaService.completar(semJustificativa, vaga))
+            .thenReturn(semJustificativa.comJustificativa("Experiência aderente aos requisitos"));
+
+        List<BuscaInteligenteService.VagaComScoreCompleto> resultado = service.buscar(null, 50, candidatoId);
+
+        assertThat(resultado).singleElement().satisfies(item -> {
+            assertThat(item.usouIA()).isTrue();
+            assertThat(item.justificativa()).isEqualTo("Experiência aderente aos requisitos");
+        });
     }
 
     @Test
@@ -155,14 +227,12 @@ class BuscaInteligenteServiceTest {
 
         CompatibilidadeCache cache2 = CompatibilidadeCache.rehydrate(
             UUID.randomUUID(), candidatoId, vagaId2, new BigDecimal("90.0"),
-            "Altíssima compatibilidade", LocalDate.now().atStartOfDay(), null
+            "Altíssima compatibilidade", LocalDate.now().atStartOfDay(), null, OrigemCompatibilidade.IA, null, null
         );
 
         when(vagaRepository.listPublicas()).thenReturn(List.of(vaga, vaga2));
-        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId))
-            .thenReturn(Optional.of(cache));
-        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId2))
-            .thenReturn(Optional.of(cache2));
+        when(compatibilidadeCacheService.obterDoCachePorVagas(candidatoId, List.of(vagaId, vagaId2)))
+            .thenReturn(Map.of(vagaId, cache, vagaId2, cache2));
 
         List<BuscaInteligenteService.VagaComScoreCompleto> resultado = service.buscar(null, 50, candidatoId);
 
@@ -173,8 +243,8 @@ class BuscaInteligenteServiceTest {
     @Test
     void deveListarVagasSemCacheComoNaoUsouIA() {
         when(vagaRepository.listPublicas()).thenReturn(List.of(vaga));
-        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId))
-            .thenReturn(Optional.empty());
+        when(compatibilidadeCacheService.obterDoCachePorVagas(candidatoId, List.of(vagaId)))
+            .thenReturn(Map.of());
 
         List<BuscaInteligenteService.VagaComScoreCompleto> resultado = service.buscar(null, 50, candidatoId);
 
@@ -186,7 +256,7 @@ class BuscaInteligenteServiceTest {
     @Test
     void deveTratarErroAoObterCache() {
         when(vagaRepository.listPublicas()).thenReturn(List.of(vaga));
-        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId))
+        when(compatibilidadeCacheService.obterDoCachePorVagas(candidatoId, List.of(vagaId)))
             .thenThrow(new RuntimeException("Erro no cache"));
 
         List<BuscaInteligenteService.VagaComScoreCompleto> resultado = service.buscar(null, 50, candidatoId);
@@ -54,7 +54,10 @@ class CandidatoServiceTest {
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private CompatibilidadeCacheService compatibilidadeCacheService;
+    private CompatibilidadeJobService compatibilidadeJobService;
+
+    @Mock
+    private PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
 
     @Mock
     private ApplicationEventPublisher eventPublisher;
@@ -127,7 +130,8 @@ class CandidatoServiceTest {
         assertThat(resultado.email()).isEqualTo("joao@example.com");
         verify(usuarioRepository).save(any(Usuario.class));
         verify(perfilCandidatoRepository).save(any(PerfilCandidato.class));
-        verify(compatibilidadeCacheService).calcularParaTodasVagas(usuarioId);
+        verify(perfilCandidatoSnapshotService).atualizar(usuarioId);
+        verify(compatibilidadeJobService).enfileirarCandidato(usuarioId);
         verify(emailService).sendHtmlEmailAsync(eq("joao@example.com"), any(), any());
     }
 
@@ -162,7 +166,7 @@ class CandidatoServiceTest {
         assertThat(resultado.titulo()).isEqualTo("Ciência da Computação");
         assertThat(resultado.instituicao()).isEqualTo("Universidade Federal");
         verify(historicoAcademicoRepository).save(any(HistoricoAcademico.class));
-        verify(compatibilidadeCacheService).invalidarCacheCandidatoSync(usuarioId);
+        verify(compatibilidadeJobService, never()).enfileirarCandidato(any());
         verify(eventPublisher).publishEvent(any(com.barcelos.recrutamento.core.event.PerfilCandidatoAtualizadoEvent.class));
     }
 
@@ -212,7 +216,7 @@ class CandidatoServiceTest {
         assertThat(resultado.cargo()).isEqualTo("Desenvolvedor Java");
         assertThat(resultado.empresa()).isEqualTo("Empresa XYZ");
         verify(experienciaProfissionalRepository).save(any(ExperienciaProfissional.class));
-        verify(compatibilidadeCacheService).invalidarCacheCandidatoSync(usuarioId);
+        verify(compatibilidadeJobService, never()).enfileirarCandidato(any());
     }
 
     @Test
@@ -269,7 +273,7 @@ class CandidatoServiceTest {
         assertThat(resultado.titulo()).isEqualTo("Java");
         assertThat(resultado.nivel()).isEqualTo(NivelCompetencia.AVANCADO);
         verify(competenciaRepository).save(any(Competencia.class));
-        verify(compatibilidadeCacheService).invalidarCacheCandidatoSync(perfilId);
+        verify(compatibilidadeJobService, never()).enfileirarCandidato(any());
     }
 
     @Test
@@ -308,7 +312,7 @@ class CandidatoServiceTest {
         assertThat(resultado).isNotNull();
         assertThat(resultado.nivel()).isEqualTo(NivelCompetencia.AVANCADO);
         verify(competenciaRepository).save(any(Competencia.class));
-        verify(compatibilidadeCacheService).invalidarCacheCandidatoSync(perfilId);
+        verify(compatibilidadeJobService, never()).enfileirarCandidato(any());
     }
 
     @Test
@@ -323,7 +327,7 @@ class CandidatoServiceTest {
         service.removerCompetencia(competenciaId);
 
         verify(competenciaRepository).delete(competenciaId);
-        verify(compatibilidadeCacheService).invalidarCacheCandidatoSync(perfilId);
+        verify(compatibilidadeJobService, never()).enfileirarCandidato(any());
     }
 
     @Test
@@ -350,6 +354,7 @@ class CandidatoServiceTest {
         assertThat(resultado.titulo()).isEqualTo("Meu Portfólio");
         assertThat(resultado.link()).isEqualTo("https://portfolio.com");
         verify(portfolioRepository).save(any(Portfolio.class));
+        verify(eventPublisher).publishEvent(any(com.barcelos.recrutamento.core.event.PerfilCandidatoAtualizadoEvent.class));
     }
 
     @Test
@@ -4,6 +4,7 @@ import com.barcelos.recrutamento.core.exception.BusinessRuleViolationException;
 import com.barcelos.recrutamento.core.exception.ResourceNotFoundException;
 import com.barcelos.recrutamento.core.model.*;
 import com.barcelos.recrutamento.core.port.*;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +12,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -44,6 +46,12 @@ class CandidaturaServiceTest {
     @Mock
     private CompatibilidadeCacheService compatibilidadeCacheService;
 
+    @Mock
+    private CompatibilidadeBasicaService compatibilidadeBasicaService;
+
+    @Mock
+    private CompatibilidadeJobService compatibilidadeJobService;
+
     @InjectMocks
     private CandidaturaService service;
 
@@ -110,15 +118,25 @@ class CandidaturaServiceTest {
             new BigDecimal("85.5"),
             "Alta compatibilidade",
             LocalDate.now().atStartOfDay(),
+            null,
+            OrigemCompatibilidade.IA,
+            null,
             null
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     void deveCriarCandidaturaComSucesso() {
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
         when(candidaturaRepository.existsByVagaAndCandidato(vagaId, candidatoId)).thenReturn(false);
-        when(compatibilidadeCacheService.obterOuCalcular(candidatoId, vagaId)).thenReturn(compatibilidade);
+        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId)).thenReturn(Optional.of(compatibilidade));
         when(candidaturaRepository.save(any(Candidatura.class))).thenReturn(candidatura);
         when(etapaProcessoRepository.findByVagaId(vagaId)).thenReturn(new ArrayList<>(List.of(primeiraEtapa)));
         when(processoSeletivoRepository.save(any(ProcessoSeletivo.class)))
@@ -145,6 +163,48 @@ class CandidaturaServiceTest {
         }
     }
 
+    @Test
+    void deveGravarCompatibilidadeProvisoriaEEnfileirarCalculoQuandoNaoHaCache() {
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(candidaturaRepository.existsByVagaAndCandidato(vagaId, candidatoId)).thenReturn(false);
+        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId)).thenReturn(Optional.empty());
+        when(compatibilidadeBasicaService.calcular(candidatoId, vaga))
+            .thenReturn(new CompatibilidadeAIService.ResultadoCompatibilidade(62, "Análise local"));
+        when(candidaturaRepository.save(any(Candidatura.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(etapaProcessoRepository.findByVagaId(vagaId)).thenReturn(new ArrayList<>(List.of(primeiraEtapa)));
+        when(processoSeletivoRepository.save(any(ProcessoSeletivo.class))).thenAnswer(inv -> inv.getArgument(0));
+        TransactionSynchronizationManager.initSynchronization();
+
+        Candidatura resultado = service.candidatar(vagaId, candidatoId, null, null);
+
+        ArgumentCaptor<Candidatura> captor = ArgumentCaptor.forClass(Candidatura.class);
+        verify(candidaturaRepository).save(captor.capture());
+        assertThat(resultado).isSameAs(captor.getValue());
+        assertThat(resultado.getCompatibilidade()).isEqualByComparingTo("62");
+        assertThat(resultado.isCompatibilidadeProvisoria()).isTrue();
+        verify(processoSeletivoRepository).save(any(ProcessoSeletivo.class));
+        verify(compatibilidadeJobService).enfileirarCandidatura(candidatoId, vaga);
+        verify(compatibilidadeCacheService, never()).obterOuCalcular(any(), any());
+    }
+
+    @Test
+    void deveGravarCompatibilidadeDefinitivaQuandoCacheEstaValido() {
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(candidaturaRepository.existsByVagaAndCandidato(vagaId, candidatoId)).thenReturn(false);
+        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId)).thenReturn(Optional.of(compatibilidade));
+        when(candidaturaRepository.save(any(Candidatura.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(etapaProcessoRepository.findByVagaId(vagaId)).thenReturn(new ArrayList<>(List.of(primeiraEtapa)));
+        when(processoSeletivoRepository.save(any(ProcessoSeletivo.class))).thenAnswer(inv -> inv.getArgument(0));
+        TransactionSynchronizationManager.initSynchronization();
+
+        Candidatura resultado = service.candidatar(vagaId, candidatoId, null, null);
+
+        assertThat(resultado.getCompatibilidade()).isEqualByComparingTo("85.5");
+        assertThat(resultado.isCompatibilidadeProvisoria()).isFalse();
+        verify(processoSeletivoRepository).save(any(ProcessoSeletivo.class));
+        verifyNoInteractions(compatibilidadeBasicaService, compatibilidadeJobService);
+    }
+
     @Test
     void naoDeveCriarCandidaturaQuandoVagaNaoExiste() {
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.empty());
@@ -202,7 +262,7 @@ class CandidaturaServiceTest {
     void naoDeveCriarCandidaturaQuandoVagaNaoPossuiEtapas() {
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
         when(candidaturaRepository.existsByVagaAndCandidato(vagaId, candidatoId)).thenReturn(false);
-        when(compatibilidadeCacheService.obterOuCalcular(candidatoId, vagaId)).thenReturn(compatibilidade);
+        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId)).thenReturn(Optional.of(compatibilidade));
         when(candidaturaRepository.save(any(Candidatura.class))).thenReturn(candidatura);
         when(etapaProcessoRepository.findByVagaId(vagaId)).thenReturn(new ArrayList<>());
 
@@ -1,47 +1,58 @@
 package com.barcelos.recrutamento.core.service;
 
+import com.barcelos.recrutamento.config.CompatibilidadeProperties;
+import com.barcelos.recrutamento.core.exception.CotaIaExcedidaException;
 import com.barcelos.recrutamento.core.model.*;
 import com.barcelos.recrutamento.core.model.vo.*;
 import com.barcelos.recrutamento.core.port.*;
+import com.barcelos.recrutamento.core.support.FaixaExecucao;
 import com.barcelos.recrutamento.data.entity.NivelCompetencia;
+import com.barcelos.recrutamento.core.support.TaxonomiaHabilidades;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class CompatibilidadeAIServiceTest {
 
     @Mock
-    private ChatClient chatClient;
+    private AiGateway aiGateway;
 
     @Mock
-    private PerfilCandidatoRepository perfilCandidatoRepository;
+    private PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
 
     @Mock
-    private CompetenciaRepository competenciaRepository;
+    private CompatibilidadeBasicaService compatibilidadeBasicaService;
 
-    @Mock
-    private ExperienciaProfissionalRepository experienciaRepository;
+    @Spy
+    private VagaDigestService vagaDigestService =
+        new VagaDigestService(mock(VagaDigestRepository.class), TaxonomiaHabilidades.carregar(),
+            mock(PlatformTransactionManager.class));
 
-    @Mock
-    private HistoricoAcademicoRepository historicoAcademicoRepository;
+    @Spy
+    private CompatibilidadeProperties properties = new CompatibilidadeProperties();
 
     @Mock
-    private UsuarioRepository usuarioRepository;
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private CompatibilidadeAIService service;
@@ -90,34 +101,179 @@ class CompatibilidadeAIServiceTest {
             LocalDate.now(), null, true
         );
 
-        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
-        when(perfilCandidatoRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.of(perfil));
-        when(competenciaRepository.listByPerfilCandidato(any())).thenReturn(List.of(competencia));
-        when(experienciaRepository.listByUsuario(candidatoId)).thenReturn(List.of(experiencia));
-        when(historicoAcademicoRepository.listByUsuario(candidatoId)).thenReturn(List.of(historico));
+        when(perfilCandidatoSnapshotService.obter(candidatoId)).thenReturn(Optional.of(PerfilCandidatoSnapshot.novo(
+            candidato, perfil, List.of(competencia), List.of(experiencia), List.of(historico), List.of(), new int[0]
+        )));
+        when(aiGateway.gerar(anyString(), any())).thenReturn("SCORE: 85");
 
         CompatibilidadeAIService.ResultadoCompatibilidade resultado = service.calcularCompatibilidade(candidatoId, vaga);
 
         assertThat(resultado).isNotNull();
-        assertThat(resultado.score()).isGreaterThanOrEqualTo(0);
-        assertThat(resultado.score()).isLessThanOrEqualTo(100);
+        assertThat(resultado.score()).isEqualTo(85);
+        assertThat(resultado.justificativa()).isNull();
+        verify(compatibilidadeBasicaService, never()).calcular(any(UUID.class), any());
+    }
+
+    @Test
+    void deveMontarPromptComResumoEstruturadoDaVaga() {
+        vaga = vaga.comDescricao("Time de plataforma de pagamentos. Atuação em squads com deploy diário e muitas reuniões.")
+            .comRequisitos("Experiência com Java, Spring Boot\nInglês avançado\nDesejável: Kubernetes");
+        when(aiGateway.gerar(anyString(), any())).thenReturn("SCORE: 70");
+
+        service.calcularCompatibilidade(candidatoId, vaga);
+
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(aiGateway).gerar(prompt.capture(), any());
+        assertThat(prompt.getValue())
+            .contains("Resumo: Time de plataforma de pagamentos.")
+            .contains("Requisitos obrigatórios: Java; Spring Boot; Inglês avançado")
+            .contains("Requisitos desejáveis: Kubernetes")
+            .contains("Idiomas: Inglês (avançado)")
+            .doesNotContain("muitas reuniões");
     }
 
     @Test
-    void deveRetornar50QuandoErroNaIA() {
-        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
-        when(perfilCandidatoRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.of(perfil));
-        when(competenciaRepository.listByPerfilCandidato(any())).thenReturn(List.of());
-        when(experienciaRepository.listByUsuario(candidatoId)).thenReturn(List.of());
-        when(historicoAcademicoRepository.listByUsuario(candidatoId)).thenReturn(List.of());
+    void deveUsarAnaliseBasicaQuandoErroNaIA() {
+        when(perfilCandidatoSnapshotService.obter(candidatoId)).thenReturn(Optional.of(PerfilCandidatoSnapshot.novo(
+            candidato, perfil, List.of(), List.of(), List.of(), List.of(), new int[0]
+        )));
 
-        when(chatClient.prompt()).thenThrow(new RuntimeException("API error"));
+        when(aiGateway.gerar(anyString(), any())).thenThrow(new RuntimeException("API error"));
+        when(compatibilidadeBasicaService.calcular(candidatoId, vaga))
+            .thenReturn(new CompatibilidadeAIService.ResultadoCompatibilidade(42, "Análise automática (sem IA)"));
 
         CompatibilidadeAIService.ResultadoCompatibilidade resultado = service.calcularCompatibilidade(candidatoId, vaga);
 
         assertThat(resultado).isNotNull();
-        assertThat(resultado.score()).isEqualTo(50);
-        assertThat(resultado.justificativa()).contains("Erro ao processar análise com IA");
+        assertThat(resultado.score()).isEqualTo(42);
+        assertThat(resultado.justificativa()).contains("Análise automática");
+        assertThat(resultado.provisorio()).isTrue();
+    }
+
+    @Test
+    void devePropagarCotaExcedidaSemFallbackEmSegundoPlano() {
+        when(aiGateway.gerar(anyString(), any())).thenThrow(new CotaIaExcedidaException("Limite de requisições"));
+
+        assertThatThrownBy(() -> FaixaExecucao.SEGUNDO_PLANO.executar(
+                () -> service.calcularCompatibilidade(candidatoId, vaga)))
+            .isInstanceOf(CotaIaExcedidaException.class);
+
+        verify(compatibilidadeBasicaService, never()).calcular(any(UUID.class), any());
+    }
+
+    @Test
+    void devePropagarFalhaDoLoteSemFallbackEmSegundoPlano() {
+        when(aiGateway.gerar(anyString(), any())).thenThrow(new RuntimeException("timeout"));
+
+        assertThatThrownBy(() -> FaixaExecucao.SEGUNDO_PLANO.executar(
+                () -> service.calcularCompatibilidadeEmLote(List.of(candidatoId, UUID.randomUUID()), vaga)))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessage("timeout");
+
+        verify(compatibilidadeBasicaService, never()).calcular(any(UUID.class), any());
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoErroNaIASemFallback() {
+        properties.setFallbackToBasic(false);
+        when(aiGateway.gerar(anyString(), any())).thenThrow(new RuntimeException("API error"));
+
+        assertThatThrownBy(() -> service.calcularCompatibilidade(candidatoId, vaga))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Erro ao processar análise com IA");
+
+        verify(compatibilidadeBasicaService, never()).calcular(any(UUID.class), any());
+    }
+
+    @Test
+    void deveUsarAnaliseBasicaQuandoRespostaSemScore() {
+        when(aiGateway.gerar(anyString(), any())).thenReturn("Não foi possível avaliar.");
+        when(compatibilidadeBasicaService.calcular(candidatoId, vaga))
+            .thenReturn(new CompatibilidadeAIService.ResultadoCompatibilidade(58, "Análise automática (sem IA)"));
+
+        CompatibilidadeAIService.ResultadoCompatibilidade resultado = service.calcularCompatibilidade(candidatoId, vaga);
+
+        assertThat(resultado.score()).isEqualTo(58);
     }
-}
 
+    @Test
+    void deveCalcularCompatibilidadeEmLoteComUmaUnicaChamada() {
+        UUID outroCandidatoId = UUID.randomUUID();
+
+        when(aiGateway.gerar(anyString(), any())).thenReturn("""
+                CANDIDATO: 1
+                SCORE: 90
+
+                CANDIDATO: 2
+                SCORE: 35
+                """);
+
+        Map<UUID, CompatibilidadeAIService.ResultadoCompatibilidade> resultados =
+            service.calcularCompatibilidadeEmLote(List.of(candidatoId, outroCandidatoId), vaga);
+
+        assertThat(resultados).hasSize(2);
+        assertThat(resultados.get(candidatoId).score()).isEqualTo(90);
+        assertThat(resultados.get(candidatoId).justificativa()).isNull();
+        assertThat(resultados.get(outroCandidatoId).score()).isEqualTo(35);
+        verify(aiGateway, times(1)).gerar(anyString(), any());
+    }
+
+    @Test
+    void deveUsarAnaliseBasicaParaTodoLoteQuandoChamadaFalha() {
+        UUID outroCandidatoId = UUID.randomUUID();
+        when(aiGateway.gerar(anyString(), any())).thenThrow(new RuntimeException("timeout"));
+        when(compatibilidadeBasicaService.calcular(any(UUID.class), eq(vaga)))
+            .thenReturn(new CompatibilidadeAIService.ResultadoCompatibilidade(40, "Análise automática (sem IA)"));
+
+        Map<UUID, CompatibilidadeAIService.ResultadoCompatibilidade> resultados =
+            service.calcularCompatibilidadeEmLote(List.of(candidatoId, outroCandidatoId), vaga);
+
+        assertThat(resultados).hasSize(2);
+        assertThat(resultados.values()).allMatch(r -> r.score() == 40);
+        verify(aiGateway, times(1)).gerar(anyString(), any());
+    }
+
+    @Test
+    void deveRecalcularIndividualmenteCandidatoAusenteNaRespostaDoLote() {
+        UUID outroCandidatoId = UUID.randomUUID();
+
+        when(aiGateway.gerar(anyString(), any())).thenReturn(
+                "CANDIDATO: 1\nSCORE: 80",
+                "SCORE: 60"
+        );
+
+        Map<UUID, CompatibilidadeAIService.ResultadoCompatibilidade> resultados =
+            service.calcularCompatibilidadeEmLote(List.of(candidatoId, outroCandidatoId), vaga);
+
+        assertThat(resultados.get(candidatoId).score()).isEqualTo(80);
+        assertThat(resultados.get(outroCandidatoId).score()).isEqualTo(60);
+    }
+
+    @Test
+    void deveUsarModeloDePontuacaoConfiguradoSemPedirJustificativa() {
+        properties.setModeloPontuacao("gpt-4.1-nano");
+        when(aiGateway.gerar(anyString(), eq("gpt-4.1-nano"))).thenReturn("SCORE: 64");
+
+        service.calcularCompatibilidade(candidatoId, vaga);
+
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(aiGateway).gerar(prompt.capture(), eq("gpt-4.1-nano"));
+        assertThat(prompt.getValue()).contains("SCORE:").doesNotContain("JUSTIFICATIVA");
+    }
+
+    @Test
+    void deveGerarJustificativaComModeloPadraoInformandoScore() {
+        when(perfilCandidatoSnapshotService.obter(candidatoId)).thenReturn(Optional.of(PerfilCandidatoSnapshot.novo(
+            candidato, perfil, List.of(), List.of(), List.of(), List.of(), new int[0]
+        )));
+        when(aiGateway.gerar(anyString())).thenReturn("JUSTIFICATIVA: Domina Java, mas não tem experiência com Kubernetes.");
+
+        String justificativa = service.gerarJustificativa(candidatoId, vaga, 78);
+
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(aiGateway).gerar(prompt.capture());
+        assertThat(prompt.getValue()).contains("78 de 100").contains("João Silva");
+        assertThat(justificativa).isEqualTo("Domina Java, mas não tem experiência com Kubernetes.");
+        verify(aiGateway, never()).gerar(anyString(), any());
+    }
+}
@@ -0,0 +1,175 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.core.model.*;
+import com.barcelos.recrutamento.core.model.vo.Cpf;
+import com.barcelos.recrutamento.core.model.vo.Email;
+import com.barcelos.recrutamento.core.port.VagaDigestRepository;
+import com.barcelos.recrutamento.data.entity.NivelCompetencia;
+import com.barcelos.recrutamento.core.support.TaxonomiaHabilidades;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompatibilidadeBasicaServiceTest {
+
+    @Mock
+    private PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
+
+    @Spy
+    private VagaDigestService vagaDigestService =
+        new VagaDigestService(mock(VagaDigestRepository.class), TaxonomiaHabilidades.carregar(),
+            mock(PlatformTransactionManager.class));
+
+    @InjectMocks
+    private CompatibilidadeBasicaService service;
+
+    private final TaxonomiaHabilidades taxonomia = TaxonomiaHabilidades.carregar();
+
+    private UUID candidatoId;
+    private Vaga vaga;
+
+    @BeforeEach
+    void setUp() {
+        candidatoId = UUID.randomUUID();
+        vaga = Vaga.rehydrate(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "Desenvolvedor Java Sênior",
+            "Desenvolvimento de APIs REST", "Java, Spring Boot, PostgreSQL, Docker",
+            new BigDecimal("9000.00"), LocalDate.now(), StatusVaga.ABERTA, TipoContrato.CLT,
+            ModalidadeTrabalho.REMOTO, "9h às 18h", null, null, true, null
+        );
+    }
+
+    @Test
+    void deveDarScoreMaiorParaPerfilAderente() {
+        var aderente = dados(
+            List.of(
+                competencia("Java", NivelCompetencia.AVANCADO),
+                competencia("Spring Boot", NivelCompetencia.AVANCADO),
+                competencia("PostgreSQL", NivelCompetencia.INTERMEDIARIO),
+                competencia("Docker", NivelCompetencia.INTERMEDIARIO)
+            ),
+            List.of(experiencia("Desenvolvedor Java Sênior", LocalDate.now().minusYears(8))),
+            List.of(historico("Ciência da Computação"))
+        );
+        var distante = dados(
+            List.of(competencia("Photoshop", NivelCompetencia.BASICO)),
+            List.of(experiencia("Designer Gráfico", LocalDate.now().minusMonths(6))),
+            List.of()
+        );
+
+        var resultadoAderente = service.calcular(aderente, vaga);
+        var resultadoDistante = service.calcular(distante, vaga);
+
+        assertThat(resultadoAderente.score()).isGreaterThanOrEqualTo(75);
+        assertThat(resultadoDistante.score()).isLessThan(30);
+        assertThat(resultadoAderente.justificativa()).contains("Análise automática");
+    }
+
+    @Test
+    void deveReconhecerSinonimosDeHabilidades() {
+        var porSinonimo = dados(
+            List.of(
+                competencia("Jakarta EE", NivelCompetencia.AVANCADO),
+                competencia("Springboot", NivelCompetencia.AVANCADO),
+                competencia("Postgres", NivelCompetencia.INTERMEDIARIO),
+                competencia("Docker Compose", NivelCompetencia.INTERMEDIARIO)
+            ),
+            List.of(experiencia("Programador", LocalDate.now().minusYears(8))),
+            List.of()
+        );
+        var semHabilidades = dados(
+            List.of(competencia("Photoshop", NivelCompetencia.AVANCADO)),
+            List.of(experiencia("Programador", LocalDate.now().minusYears(8))),
+            List.of()
+        );
+
+        assertThat(service.calcular(porSinonimo, vaga).score())
+            .isGreaterThan(service.calcular(semHabilidades, vaga).score() + 30);
+    }
+
+    @Test
+    void deveSerDeterministico() {
+        var dados = dados(
+            List.of(competencia("Java", NivelCompetencia.INTERMEDIARIO)),
+            List.of(experiencia("Desenvolvedor", LocalDate.now().minusYears(2))),
+            List.of()
+        );
+
+        assertThat(service.calcular(dados, vaga)).isEqualTo(service.calcular(dados, vaga));
+    }
+
+    @Test
+    void deveInferirSenioridadePeloTempoDeExperiencia() {
+        var junior = dados(
+            List.of(competencia("Java", NivelCompetencia.AVANCADO)),
+            List.of(experiencia("Desenvolvedor", LocalDate.now().minusYears(1))),
+            List.of()
+        );
+        var senior = dados(
+            List.of(competencia("Java", NivelCompetencia.AVANCADO)),
+            List.of(experiencia("Desenvolvedor", LocalDate.now().minusYears(7))),
+            List.of()
+        );
+
+        assertThat(service.calcular(senior, vaga).score()).isGreaterThan(service.calcular(junior, vaga).score());
+        assertThat(service.calcular(senior, vaga).justificativa()).contains("Sênior");
+    }
+
+    @Test
+    void deveCarregarDadosDoCandidatoAoCalcularPorId() {
+        Usuario candidato = Usuario.rehydrate(
+            candidatoId, "João Silva", new Email("joao@example.com"),
+            new Cpf("12345678901"), "$2a$10$hash", true, true
+        );
+        when(perfilCandidatoSnapshotService.obter(candidatoId)).thenReturn(Optional.of(PerfilCandidatoSnapshot.novo(
+            candidato, null, List.of(competencia("Java", NivelCompetencia.AVANCADO)), List.of(), List.of(), List.of(), new int[0]
+        )));
+
+        var resultado = service.calcular(candidatoId, vaga);
+
+        assertThat(resultado.score()).isBetween(0, 100);
+        verify(perfilCandidatoSnapshotService).obter(candidatoId);
+    }
+
+    private CompatibilidadeBasicaService.DadosCandidato dados(List<Competencia> competencias,
+                                                             List<ExperienciaProfissional> experiencias,
+                                                             List<HistoricoAcademico> historicos) {
+        List<String> textos = new ArrayList<>();
+        competencias.forEach(c -> textos.addAll(List.of(c.getTitulo(), c.getDescricao())));
+        experiencias.forEach(e -> textos.addAll(List.of(e.getCargo(), e.getDescricao())));
+        return new CompatibilidadeBasicaService.DadosCandidato(competencias, experiencias, historicos,
+            taxonomia.extrair(textos.toArray(String[]::new)));
+    }
+
+    private Competencia competencia(String titulo, NivelCompetencia nivel) {
+        return Competencia.rehydrate(UUID.randomUUID(), candidatoId, titulo, "Descrição", nivel, true);
+    }
+
+    private ExperienciaProfissional experiencia(String cargo, LocalDate inicio) {
+        return ExperienciaProfissional.rehydrate(
+            UUID.randomUUID(), candidatoId, cargo, "Empresa", "Atividades diversas", inicio, null, true
+        );
+    }
+
+    private HistoricoAcademico historico(String titulo) {
+        return HistoricoAcademico.rehydrate(
+            UUID.randomUUID(), candidatoId, titulo, "Bacharelado", "UFMG", LocalDate.of(2010, 1, 1), null, true
+        );
+    }
+}
@@ -1,25 +1,44 @@
 package com.barcelos.recrutamento.core.service;
 
+import com.barcelos.recrutamento.config.CompatibilidadeProperties;
+import com.barcelos.recrutamento.core.exception.CotaIaExcedidaException;
 import com.barcelos.recrutamento.core.model.*;
 import com.barcelos.recrutamento.core.model.vo.*;
 import com.barcelos.recrutamento.core.port.CompatibilidadeCacheRepository;
+import com.barcelos.recrutamento.core.port.CompatibilidadeJobRepository;
 import com.barcelos.recrutamento.core.port.PerfilCandidatoRepository;
 import com.barcelos.recrutamento.core.port.VagaRepository;
+import com.barcelos.recrutamento.core.support.FaixaExecucao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,15 +47,36 @@ class CompatibilidadeCacheServiceTest {
     @Mock
     private CompatibilidadeCacheRepository cacheRepository;
 
+    @Mock
+    private CompatibilidadeJobRepository jobRepository;
+
     @Mock
     private CompatibilidadeAIService aiService;
 
+    @Mock
+    private CompatibilidadeBasicaService compatibilidadeBasicaService;
+
+    @Mock
+    private CompatibilidadeFingerprintService fingerprintService;
+
+    @Mock
+    private PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
+
     @Mock
     private VagaRepository vagaRepository;
 
     @Mock
     private PerfilCandidatoRepository perfilCandidatoRepository;
 
+    @Spy
+    private CompatibilidadeProperties properties = new CompatibilidadeProperties();
+
+    @Spy
+    private Executor iaTaskExecutor = new SyncTaskExecutor();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private CompatibilidadeCacheService service;
 
@@ -58,8 +98,13 @@ class CompatibilidadeCacheServiceTest {
 
         cache = CompatibilidadeCache.rehydrate(
             UUID.randomUUID(), candidatoId, vagaId, new BigDecimal("85.5"),
-            "Alta compatibilidade", LocalDate.now().atStartOfDay(), null
+            "Alta compatibilidade", LocalDate.now().atStartOfDay(), null, OrigemCompatibilidade.IA, null, null
         );
+
+        lenient().when(perfilCandidatoSnapshotService.obterHashPerfil(any(UUID.class))).thenReturn("hash-perfil");
+        lenient().when(perfilCandidatoSnapshotService.obterHashesPerfil(any())).thenAnswer(inv -> inv.<List<UUID>>getArgument(0)
+            .stream().collect(Collectors.toMap(id -> id, id -> "hash-perfil")));
+        lenient().when(fingerprintService.hashVaga(any(Vaga.class))).thenReturn("hash-vaga");
     }
 
     @Test
@@ -106,13 +151,32 @@ class CompatibilidadeCacheServiceTest {
             .thenReturn(Optional.empty());
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
         when(aiService.calcularCompatibilidade(candidatoId, vaga)).thenReturn(resultadoIA);
-        when(cacheRepository.save(any(CompatibilidadeCache.class))).thenReturn(cache);
 
         CompatibilidadeCache resultado = service.obterOuCalcular(candidatoId, vagaId);
 
         assertThat(resultado).isNotNull();
         verify(aiService).calcularCompatibilidade(candidatoId, vaga);
-        verify(cacheRepository).save(any(CompatibilidadeCache.class));
+        assertThat(gravados()).hasSize(1);
+    }
+
+    @Test
+    void deveEncerrarTransacaoDeLeituraAntesDeChamarIa() {
+        CompatibilidadeAIService.ResultadoCompatibilidade resultadoIA =
+            new CompatibilidadeAIService.ResultadoCompatibilidade(85, "Alta compatibilidade");
+
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId))
+            .thenReturn(Optional.empty());
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(aiService.calcularCompatibilidade(candidatoId, vaga)).thenReturn(resultadoIA);
+
+        service.calcularEArmazenar(candidatoId, vagaId);
+
+        InOrder ordem = inOrder(transactionManager, vagaRepository, aiService, cacheRepository);
+        ordem.verify(transactionManager).getTransaction(any());
+        ordem.verify(vagaRepository).findById(vagaId);
+        ordem.verify(transactionManager).commit(any());
+        ordem.verify(aiService).calcularCompatibilidade(candidatoId, vaga);
+        ordem.verify(cacheRepository).upsertAll(any());
     }
 
     @Test
@@ -124,72 +188,244 @@ class CompatibilidadeCacheServiceTest {
             .thenReturn(Optional.empty());
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
         when(aiService.calcularCompatibilidade(candidatoId, vaga)).thenReturn(resultadoIA);
-        when(cacheRepository.save(any(CompatibilidadeCache.class))).thenReturn(cache);
 
         CompatibilidadeCache resultado = service.calcularEArmazenar(candidatoId, vagaId);
 
         assertThat(resultado).isNotNull();
-        assertThat(resultado.getPercentualCompatibilidade()).isEqualByComparingTo(new BigDecimal("85.5"));
-        verify(cacheRepository).save(any(CompatibilidadeCache.class));
+        assertThat(resultado.getPercentualCompatibilidade()).isEqualByComparingTo(new BigDecimal("85"));
+        assertThat(gravados()).containsExactly(resultado);
     }
 
     @Test
-    void naoDeveCalcularQuandoVagaNaoExiste() {
-        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId))
-            .thenReturn(Optional.empty());
-        when(vagaRepository.findById(vagaId)).thenReturn(Optional.empty());
+    void naoDeveArmazenarResultadoProvisorioEDeveEnfileirarRecalculo() {
+        CompatibilidadeAIService.ResultadoCompatibilidade provisorio =
+            new CompatibilidadeAIService.ResultadoCompatibilidade(40, "Análise automática (sem IA)",
+                OrigemCompatibilidade.LOCAL).comoProvisorio();
 
-        assertThatThrownBy(() -> service.calcularEArmazenar(candidatoId, vagaId))
-            .isInstanceOf(RuntimeException.class)
-            .hasMessageContaining("Vaga não encontrada");
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(Optional.empty());
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(aiService.calcularCompatibilidade(candidatoId, vaga)).thenReturn(provisorio);
 
-        verify(aiService, never()).calcularCompatibilidade(any(), any());
-        verify(cacheRepository, never()).save(any());
+        CompatibilidadeCache resultado = service.calcularEArmazenar(candidatoId, vagaId);
+
+        assertThat(resultado.getPercentualCompatibilidade()).isEqualByComparingTo(new BigDecimal("40"));
+        verify(cacheRepository, never()).upsertAll(any());
+        ArgumentCaptor<CompatibilidadeJob> job = ArgumentCaptor.forClass(CompatibilidadeJob.class);
+        verify(jobRepository).enfileirar(job.capture());
+        assertThat(job.getValue().getCandidatoUsuarioId()).isEqualTo(candidatoId);
+        assertThat(job.getValue().getVagaId()).isEqualTo(vagaId);
+        assertThat(job.getValue().getOrganizacaoId()).isEqualTo(vaga.getOrganizacaoId());
+    }
+
+    @Test
+    void devePropagarCotaExcedidaNoCalculoParaTodosCandidatos() {
+        Endereco endereco = new Endereco("Rua", "100", null, new Cep("01310100"), "São Paulo", new Sigla("SP"));
+        PerfilCandidato perfil = PerfilCandidato.rehydrate(
+            UUID.randomUUID(), candidatoId, LocalDate.of(1990, 1, 1), endereco, true
+        );
+
+        when(perfilCandidatoRepository.findAll()).thenReturn(List.of(perfil));
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(cacheRepository.findByVagaAndCandidatos(eq(vagaId), any())).thenReturn(List.of());
+        when(aiService.calcularCompatibilidadeEmLote(List.of(candidatoId), vaga))
+            .thenThrow(new CotaIaExcedidaException("Limite de requisições"));
+
+        assertThatThrownBy(() -> service.calcularParaTodosCandidatos(vagaId))
+            .isInstanceOf(CotaIaExcedidaException.class);
+        verify(cacheRepository, never()).upsertAll(any());
     }
 
     @Test
-    void deveInvalidarCacheDeVaga() {
-        service.invalidarCacheVaga(vagaId);
+    void deveCoalescerCalculosConcorrentesDoMesmoPar() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
 
-        verify(cacheRepository).deleteByVaga(vagaId);
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(Optional.empty());
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(aiService.calcularCompatibilidade(candidatoId, vaga)).thenAnswer(inv -> {
+            iniciou.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return new CompatibilidadeAIService.ResultadoCompatibilidade(85, "Alta compatibilidade");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<CompatibilidadeCache> primeiro = executor.submit(() -> service.obterOuCalcular(candidatoId, vagaId));
+            assertThat(iniciou.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<CompatibilidadeCache> segundo = executor.submit(() -> service.obterOuCalcular(candidatoId, vagaId));
+            Future<CompatibilidadeCache> terceiro = executor.submit(() -> service.calcularEArmazenar(candidatoId, vagaId));
+            Thread.sleep(200);
+            liberar.countDown();
+
+            CompatibilidadeCache resultado = primeiro.get(5, TimeUnit.SECONDS);
+            assertThat(segundo.get(5, TimeUnit.SECONDS)).isSameAs(resultado);
+            assertThat(terceiro.get(5, TimeUnit.SECONDS)).isSameAs(resultado);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(aiService, times(1)).calcularCompatibilidade(candidatoId, vaga);
+        assertThat(gravados()).hasSize(1);
+        assertThat(service.totalCalculosEmAndamento()).isZero();
     }
 
     @Test
-    void deveInvalidarCacheDeCandidato() {
-        service.invalidarCacheCandidatoSync(candidatoId);
+    void calculoEmSegundoPlanoNaoDeveReaproveitarResultadoProvisorioDeChamadaInterativa() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
 
-        verify(cacheRepository).deleteByCandidato(candidatoId);
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(Optional.empty());
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(aiService.calcularCompatibilidade(candidatoId, vaga)).thenAnswer(inv -> {
+            if (FaixaExecucao.atual() == FaixaExecucao.SEGUNDO_PLANO) {
+                return new CompatibilidadeAIService.ResultadoCompatibilidade(85, "Alta compatibilidade");
+            }
+            iniciou.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return new CompatibilidadeAIService.ResultadoCompatibilidade(40, "Análise automática (sem IA)",
+                OrigemCompatibilidade.LOCAL).comoProvisorio();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<CompatibilidadeCache> interativo = executor.submit(() -> service.calcularEArmazenar(candidatoId, vagaId));
+            assertThat(iniciou.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<CompatibilidadeCache> segundoPlano = executor.submit(() -> FaixaExecucao.SEGUNDO_PLANO.executar(
+                () -> service.calcularEArmazenar(candidatoId, vagaId)));
+
+            assertThat(segundoPlano.get(5, TimeUnit.SECONDS).getPercentualCompatibilidade())
+                .isEqualByComparingTo(new BigDecimal("85"));
+            liberar.countDown();
+            assertThat(interativo.get(5, TimeUnit.SECONDS).getPercentualCompatibilidade())
+                .isEqualByComparingTo(new BigDecimal("40"));
+        } finally {
+            liberar.countDown();
+            executor.shutdownNow();
+        }
+
+        verify(aiService, times(2)).calcularCompatibilidade(candidatoId, vaga);
+        assertThat(gravados()).singleElement()
+            .satisfies(gravado -> assertThat(gravado.getPercentualCompatibilidade()).isEqualByComparingTo(new BigDecimal("85")));
     }
 
     @Test
-    void deveTratarRaceConditionNaSalvagem() {
+    void chamadaInterativaNaoDeveReceberFalhaDeCalculoEmSegundoPlano() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(Optional.empty());
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(aiService.calcularCompatibilidade(candidatoId, vaga)).thenAnswer(inv -> {
+            if (FaixaExecucao.atual() == FaixaExecucao.INTERATIVA) {
+                return new CompatibilidadeAIService.ResultadoCompatibilidade(40, "Análise automática (sem IA)",
+                    OrigemCompatibilidade.LOCAL).comoProvisorio();
+            }
+            iniciou.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            throw new CotaIaExcedidaException("Limite de requisições");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<CompatibilidadeCache> segundoPlano = executor.submit(() -> FaixaExecucao.SEGUNDO_PLANO.executar(
+                () -> service.calcularEArmazenar(candidatoId, vagaId)));
+            assertThat(iniciou.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<CompatibilidadeCache> interativo = executor.submit(() -> service.calcularEArmazenar(candidatoId, vagaId));
+
+            assertThat(interativo.get(5, TimeUnit.SECONDS).getPercentualCompatibilidade())
+                .isEqualByComparingTo(new BigDecimal("40"));
+            liberar.countDown();
+            assertThatThrownBy(() -> segundoPlano.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(CotaIaExcedidaException.class);
+        } finally {
+            liberar.countDown();
+            executor.shutdownNow();
+        }
+
+        verify(aiService, times(2)).calcularCompatibilidade(candidatoId, vaga);
+        verify(cacheRepository, never()).upsertAll(any());
+    }
+
+    @Test
+    void deveUsarAnaliseBasicaQuandoIADesabilitada() {
+        properties.setUsarIa(false);
+        CompatibilidadeAIService.ResultadoCompatibilidade resultadoBasico = 
+            new CompatibilidadeAIService.ResultadoCompatibilidade(64, "Análise automática (sem IA)");
+
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId))
+            .thenReturn(Optional.empty());
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(compatibilidadeBasicaService.calcular(candidatoId, vaga)).thenReturn(resultadoBasico);
+
+        CompatibilidadeCache resultado = service.calcularEArmazenar(candidatoId, vagaId);
+
+        assertThat(resultado.getPercentualCompatibilidade()).isEqualByComparingTo(new BigDecimal("64"));
+        verify(aiService, never()).calcularCompatibilidade(any(), any());
+    }
+
+    @Test
+    void naoDeveCalcularQuandoVagaNaoExiste() {
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.calcularEArmazenar(candidatoId, vagaId))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("Vaga não encontrada");
+
+        verify(aiService, never()).calcularCompatibilidade(any(), any());
+        verify(cacheRepository, never()).upsertAll(any());
+    }
+
+    @Test
+    void deveGravarViaUpsertSemReconsultarEmConflito() {
         CompatibilidadeAIService.ResultadoCompatibilidade resultadoIA = 
             new CompatibilidadeAIService.ResultadoCompatibilidade(85, "Alta compatibilidade");
 
         when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId))
-            .thenReturn(Optional.empty())
-            .thenReturn(Optional.of(cache));
+            .thenReturn(Optional.empty());
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
         when(aiService.calcularCompatibilidade(candidatoId, vaga)).thenReturn(resultadoIA);
-        when(cacheRepository.save(any(CompatibilidadeCache.class)))
-            .thenThrow(new RuntimeException("Duplicate key uk_cache_candidato_vaga"));
 
         CompatibilidadeCache resultado = service.calcularEArmazenar(candidatoId, vagaId);
 
-        assertThat(resultado).isNotNull();
-        verify(cacheRepository, times(2)).findByCandidatoAndVaga(candidatoId, vagaId);
+        assertThat(gravados()).containsExactly(resultado);
+        verify(cacheRepository, times(1)).findByCandidatoAndVaga(candidatoId, vagaId);
+        verify(cacheRepository, never()).save(any());
     }
 
     @Test
-    void deveEvitarCacheDuplicado() {
-        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId))
-            .thenReturn(Optional.of(cache));
+    void deveEvitarRecalculoQuandoHashesNaoMudaram() {
+        CompatibilidadeCache atual = cacheComHashes("hash-perfil", "hash-vaga");
+
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(Optional.of(atual));
+        when(perfilCandidatoSnapshotService.obterHashPerfil(candidatoId)).thenReturn("hash-perfil");
+        when(fingerprintService.hashVaga(vaga)).thenReturn("hash-vaga");
 
         CompatibilidadeCache resultado = service.calcularEArmazenar(candidatoId, vagaId);
 
-        assertThat(resultado).isEqualTo(cache);
+        assertThat(resultado).isEqualTo(atual);
         verify(aiService, never()).calcularCompatibilidade(any(), any());
-        verify(cacheRepository, never()).save(any());
+        verify(cacheRepository, never()).upsertAll(any());
+    }
+
+    @Test
+    void deveAtualizarCacheExistenteQuandoPerfilMudou() {
+        CompatibilidadeCache antigo = cacheComHashes("hash-antigo", "hash-vaga");
+
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(Optional.of(antigo));
+        when(perfilCandidatoSnapshotService.obterHashPerfil(candidatoId)).thenReturn("hash-novo");
+        when(fingerprintService.hashVaga(vaga)).thenReturn("hash-vaga");
+        when(aiService.calcularCompatibilidade(candidatoId, vaga))
+            .thenReturn(new CompatibilidadeAIService.ResultadoCompatibilidade(40, "Perfil alterado"));
+
+        CompatibilidadeCache resultado = service.calcularEArmazenar(candidatoId, vagaId);
+
+        assertThat(resultado.getId()).isEqualTo(antigo.getId());
+        assertThat(resultado.getPercentualCompatibilidade()).isEqualByComparingTo(new BigDecimal("40"));
+        assertThat(resultado.getHashPerfil()).isEqualTo("hash-novo");
+        assertThat(resultado.getDataAtualizacao()).isNotNull();
+        verify(cacheRepository, never()).deleteByCandidato(any());
     }
 
     @Test
@@ -204,21 +440,141 @@ class CompatibilidadeCacheServiceTest {
             new CompatibilidadeAIService.ResultadoCompatibilidade(85, "Alta compatibilidade");
 
         when(perfilCandidatoRepository.findAll()).thenReturn(List.of(perfil));
-        when(cacheRepository.existsByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(false);
         when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
-        when(aiService.calcularCompatibilidade(candidatoId, vaga)).thenReturn(resultadoIA);
-        when(cacheRepository.save(any(CompatibilidadeCache.class))).thenReturn(cache);
+        when(cacheRepository.findByVagaAndCandidatos(eq(vagaId), any())).thenReturn(List.of());
+        when(aiService.calcularCompatibilidadeEmLote(List.of(candidatoId), vaga))
+            .thenReturn(Map.of(candidatoId, resultadoIA));
 
         service.calcularParaTodosCandidatos(vagaId);
 
         verify(perfilCandidatoRepository).findAll();
-        verify(cacheRepository).existsByCandidatoAndVaga(candidatoId, vagaId);
+        verify(cacheRepository).findByVagaAndCandidatos(vagaId, List.of(candidatoId));
+        assertThat(gravados()).hasSize(1);
+    }
+
+    @Test
+    void deveReenfileirarComoJobsDoParOsCandidatosQueFalharamNoLote() {
+        properties.setTamanhoLote(1);
+        Endereco endereco = new Endereco("Rua", "100", null, new Cep("01310100"), "São Paulo", new Sigla("SP"));
+        UUID falhou = UUID.randomUUID();
+        List<PerfilCandidato> perfis = List.of(candidatoId, falhou).stream()
+            .map(id -> PerfilCandidato.rehydrate(id, id, LocalDate.of(1990, 1, 1), endereco, true))
+            .toList();
+
+        when(perfilCandidatoRepository.findAll()).thenReturn(perfis);
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(cacheRepository.findByVagaAndCandidatos(eq(vagaId), any())).thenReturn(List.of());
+        when(aiService.calcularCompatibilidadeEmLote(List.of(candidatoId), vaga))
+            .thenReturn(Map.of(candidatoId, new CompatibilidadeAIService.ResultadoCompatibilidade(70, "Compatível")));
+        when(aiService.calcularCompatibilidadeEmLote(List.of(falhou), vaga))
+            .thenThrow(new RuntimeException("Resposta inválida"));
+
+        service.calcularParaTodosCandidatos(vagaId);
+
+        assertThat(gravados()).extracting(CompatibilidadeCache::getCandidatoUsuarioId).containsExactly(candidatoId);
+        ArgumentCaptor<CompatibilidadeJob> captor = ArgumentCaptor.forClass(CompatibilidadeJob.class);
+        verify(jobRepository).enfileirar(captor.capture());
+        assertThat(captor.getValue().getCandidatoUsuarioId()).isEqualTo(falhou);
+        assertThat(captor.getValue().getVagaId()).isEqualTo(vagaId);
+        assertThat(captor.getValue().getDisponivelDesde()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    void deveAgruparCandidatosEmLotesConfiguraveis() {
+        properties.setTamanhoLote(2);
+        Endereco endereco = new Endereco("Rua", "100", null, new Cep("01310100"), "São Paulo", new Sigla("SP"));
+        List<UUID> candidatos = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        List<PerfilCandidato> perfis = candidatos.stream()
+            .map(id -> PerfilCandidato.rehydrate(id, id, LocalDate.of(1990, 1, 1), endereco, true))
+            .toList();
+
+        CompatibilidadeAIService.ResultadoCompatibilidade resultadoIA = 
+            new CompatibilidadeAIService.ResultadoCompatibilidade(70, "Compatível");
+
+        when(perfilCandidatoRepository.findAll()).thenReturn(perfis);
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(cacheRepository.findByVagaAndCandidatos(eq(vagaId), any())).thenReturn(List.of());
+        when(aiService.calcularCompatibilidadeEmLote(candidatos.subList(0, 2), vaga))
+            .thenReturn(Map.of(candidatos.get(0), resultadoIA, candidatos.get(1), resultadoIA));
+        when(aiService.calcularCompatibilidadeEmLote(candidatos.subList(2, 3), vaga))
+            .thenReturn(Map.of(candidatos.get(2), resultadoIA));
+
+        service.calcularParaTodosCandidatos(vagaId);
+
+        verify(aiService, times(2)).calcularCompatibilidadeEmLote(any(), eq(vaga));
+        verify(aiService, never()).calcularCompatibilidade(any(), any());
+        assertThat(gravados()).hasSize(3);
+    }
+
+    @Test
+    void deveEnviarParaIAApenasOsMelhoresCandidatosDaPreSelecaoLocal() {
+        properties.setRerankTopK(1);
+        Endereco endereco = new Endereco("Rua", "100", null, new Cep("01310100"), "São Paulo", new Sigla("SP"));
+        UUID melhor = UUID.randomUUID();
+        UUID medio = UUID.randomUUID();
+        UUID pior = UUID.randomUUID();
+        List<PerfilCandidato> perfis = List.of(pior, melhor, medio).stream()
+            .map(id -> PerfilCandidato.rehydrate(id, id, LocalDate.of(1990, 1, 1), endereco, true))
+            .toList();
+
+        when(perfilCandidatoRepository.findAll()).thenReturn(perfis);
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(cacheRepository.findByVagaAndCandidatos(eq(vagaId), any())).thenReturn(List.of());
+        when(compatibilidadeBasicaService.calcular(melhor, vaga)).thenReturn(
+            new CompatibilidadeAIService.ResultadoCompatibilidade(80, "Local", OrigemCompatibilidade.LOCAL));
+        when(compatibilidadeBasicaService.calcular(medio, vaga)).thenReturn(
+            new CompatibilidadeAIService.ResultadoCompatibilidade(50, "Local", OrigemCompatibilidade.LOCAL));
+        when(compatibilidadeBasicaService.calcular(pior, vaga)).thenReturn(
+            new CompatibilidadeAIService.ResultadoCompatibilidade(20, "Local", OrigemCompatibilidade.LOCAL));
+        when(aiService.calcularCompatibilidadeEmLote(List.of(melhor), vaga))
+            .thenReturn(Map.of(melhor, new CompatibilidadeAIService.ResultadoCompatibilidade(90, "Excelente")));
+
+        service.calcularParaTodosCandidatos(vagaId);
+
+        List<CompatibilidadeCache> gravados = gravados();
+        assertThat(gravados).hasSize(3);
+        verify(aiService).calcularCompatibilidadeEmLote(List.of(melhor), vaga);
+        assertThat(gravados)
+            .filteredOn(c -> c.getOrigem() == OrigemCompatibilidade.IA)
+            .extracting(CompatibilidadeCache::getCandidatoUsuarioId)
+            .containsExactly(melhor);
+        assertThat(gravados)
+            .filteredOn(c -> c.getOrigem() == OrigemCompatibilidade.LOCAL)
+            .extracting(CompatibilidadeCache::getCandidatoUsuarioId)
+            .containsExactlyInAnyOrder(medio, pior);
+    }
+
+    @Test
+    void deveRecalcularApenasCandidatosComHashDesatualizado() {
+        Endereco endereco = new Endereco("Rua", "100", null, new Cep("01310100"), "São Paulo", new Sigla("SP"));
+        UUID outroCandidato = UUID.randomUUID();
+        List<PerfilCandidato> perfis = List.of(candidatoId, outroCandidato).stream()
+            .map(id -> PerfilCandidato.rehydrate(id, id, LocalDate.of(1990, 1, 1), endereco, true))
+            .toList();
+
+        when(perfilCandidatoRepository.findAll()).thenReturn(perfis);
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(fingerprintService.hashVaga(vaga)).thenReturn("hash-vaga");
+        when(perfilCandidatoSnapshotService.obterHashesPerfil(List.of(candidatoId, outroCandidato)))
+            .thenReturn(Map.of(candidatoId, "hash-perfil", outroCandidato, "hash-outro"));
+        when(cacheRepository.findByVagaAndCandidatos(eq(vagaId), any())).thenReturn(List.of(cacheComHashes("hash-perfil", "hash-vaga")));
+        when(aiService.calcularCompatibilidadeEmLote(List.of(outroCandidato), vaga))
+            .thenReturn(Map.of(outroCandidato, new CompatibilidadeAIService.ResultadoCompatibilidade(70, "Compatível")));
+
+        service.calcularParaTodosCandidatos(vagaId);
+
+        List<CompatibilidadeCache> gravados = gravados();
+        assertThat(gravados).hasSize(1);
+        assertThat(gravados.get(0).getCandidatoUsuarioId()).isEqualTo(outroCandidato);
+        assertThat(gravados.get(0).getHashPerfil()).isEqualTo("hash-outro");
+        assertThat(gravados.get(0).getHashVaga()).isEqualTo("hash-vaga");
+        verify(perfilCandidatoSnapshotService, never()).obterHashPerfil(any());
     }
 
     @Test
     void deveCalcularParaTodasVagas() {
         when(vagaRepository.listPublicas()).thenReturn(List.of(vaga));
-        when(cacheRepository.existsByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(false);
+        when(cacheRepository.findByCandidatoAndVagas(candidatoId, List.of(vagaId))).thenReturn(List.of());
         
         CompatibilidadeAIService.ResultadoCompatibilidade resultadoIA = 
             new CompatibilidadeAIService.ResultadoCompatibilidade(85, "Alta compatibilidade");
@@ -228,16 +584,151 @@ class CompatibilidadeCacheServiceTest {
         service.calcularParaTodasVagas(candidatoId);
 
         verify(vagaRepository).listPublicas();
-        verify(cacheRepository).existsByCandidatoAndVaga(candidatoId, vagaId);
+        verify(cacheRepository).findByCandidatoAndVagas(candidatoId, List.of(vagaId));
+    }
+
+    @Test
+    void naoDeveChamarIaQuandoRecalculoFoiCancelado() {
+        when(vagaRepository.listPublicas()).thenReturn(List.of(vaga));
+        when(cacheRepository.findByCandidatoAndVagas(candidatoId, List.of(vagaId))).thenReturn(List.of());
+
+        service.calcularParaTodasVagas(candidatoId, () -> true);
+
+        verify(aiService, never()).calcularCompatibilidade(any(), any());
+        verify(cacheRepository, never()).upsertAll(any());
     }
 
     @Test
-    void deveRecalcularVagaInvalidandoCache() {
-        when(perfilCandidatoRepository.findAll()).thenReturn(List.of());
+    void naoDeveRecalcularVagasComHashesInalterados() {
+        when(vagaRepository.listPublicas()).thenReturn(List.of(vaga));
+        when(cacheRepository.findByCandidatoAndVagas(candidatoId, List.of(vagaId))).thenReturn(List.of(cacheComHashes("hash-perfil", "hash-vaga")));
+        when(perfilCandidatoSnapshotService.obterHashPerfil(candidatoId)).thenReturn("hash-perfil");
+        when(fingerprintService.hashVaga(vaga)).thenReturn("hash-vaga");
 
-        service.recalcularVaga(vagaId);
+        service.calcularParaTodasVagas(candidatoId);
+
+        verify(aiService, never()).calcularCompatibilidade(any(), any());
+        verify(cacheRepository, never()).upsertAll(any());
+    }
+
+    @Test
+    void deveServirCacheVencidoEAgendarAtualizacao() {
+        CompatibilidadeCache vencido = cacheCalculadoEm(LocalDateTime.now().minusHours(2));
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(Optional.of(vencido));
 
-        verify(cacheRepository).deleteByVaga(vagaId);
+        CompatibilidadeCache resultado = service.obterOuCalcular(candidatoId, vagaId);
+
+        assertThat(resultado).isEqualTo(vencido);
+        ArgumentCaptor<CompatibilidadeJob> captor = ArgumentCaptor.forClass(CompatibilidadeJob.class);
+        verify(jobRepository).enfileirarSeAusente(captor.capture());
+        assertThat(captor.getValue().getCandidatoUsuarioId()).isEqualTo(candidatoId);
+        assertThat(captor.getValue().getVagaId()).isEqualTo(vagaId);
+        assertThat(captor.getValue().getPrioridade()).isZero();
+        verify(jobRepository, never()).enfileirar(any());
+        verify(aiService, never()).calcularCompatibilidade(any(), any());
+    }
+
+    @Test
+    void deveRecalcularQuandoCacheUltrapassaIdadeMaxima() {
+        CompatibilidadeCache antigo = cacheCalculadoEm(LocalDateTime.now().minusDays(60));
+
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(Optional.of(antigo));
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(aiService.calcularCompatibilidade(candidatoId, vaga))
+            .thenReturn(new CompatibilidadeAIService.ResultadoCompatibilidade(60, "Recalculado"));
+
+        CompatibilidadeCache resultado = service.obterOuCalcular(candidatoId, vagaId);
+
+        assertThat(resultado.getId()).isEqualTo(antigo.getId());
+        assertThat(resultado.getPercentualCompatibilidade()).isEqualByComparingTo(new BigDecimal("60"));
+    }
+
+    @Test
+    void naoDeveRetornarCacheAcimaDaIdadeMaximaNaConsulta() {
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId))
+            .thenReturn(Optional.of(cacheCalculadoEm(LocalDateTime.now().minusDays(60))));
+
+        assertThat(service.obterDoCache(candidatoId, vagaId)).isEmpty();
+        verify(jobRepository).enfileirarSeAusente(any());
+    }
+
+    @Test
+    void deveEnfileirarAtualizacaoDoParApenasUmaVezPorJanela() {
+        CompatibilidadeCache vencido = cacheCalculadoEm(LocalDateTime.now().minusHours(2));
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(Optional.of(vencido));
+
+        service.obterDoCache(candidatoId, vagaId);
+        service.obterDoCache(candidatoId, vagaId);
+
+        verify(jobRepository, times(1)).enfileirarSeAusente(any());
+    }
+
+    @Test
+    void deveServirCacheVencidoMesmoQuandoAgendamentoFalha() {
+        CompatibilidadeCache vencido = cacheCalculadoEm(LocalDateTime.now().minusHours(2));
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(Optional.of(vencido));
+        when(jobRepository.enfileirarSeAusente(any())).thenThrow(new RuntimeException("banco indisponível"));
+
+        assertThat(service.obterDoCache(candidatoId, vagaId)).contains(vencido);
+    }
+
+    @Test
+    void deveRecalcularParVencidoMesmoComHashesInalterados() {
+        CompatibilidadeCache vencido = cacheCalculadoEm(LocalDateTime.now().minusHours(2));
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(Optional.of(vencido));
+        when(aiService.calcularCompatibilidade(candidatoId, vaga))
+            .thenReturn(new CompatibilidadeAIService.ResultadoCompatibilidade(77, "Atualizado"));
+
+        service.calcularEArmazenar(candidatoId, vagaId);
+
+        List<CompatibilidadeCache> gravados = gravados();
+        assertThat(gravados).hasSize(1);
+        assertThat(gravados.get(0).getId()).isEqualTo(vencido.getId());
+        assertThat(gravados.get(0).getPercentualCompatibilidade()).isEqualByComparingTo(new BigDecimal("77"));
+    }
+
+    @Test
+    void deveObterCachesDeVariasVagasEmUmaConsulta() {
+        UUID vagaRecente = UUID.randomUUID();
+        UUID vagaAntiga = UUID.randomUUID();
+        CompatibilidadeCache recente = CompatibilidadeCache.rehydrate(
+            UUID.randomUUID(), candidatoId, vagaRecente, new BigDecimal("70"), "Recente",
+            LocalDateTime.now(), null, OrigemCompatibilidade.IA, null, null
+        );
+        CompatibilidadeCache antigo = CompatibilidadeCache.rehydrate(
+            UUID.randomUUID(), candidatoId, vagaAntiga, new BigDecimal("50"), "Antigo",
+            LocalDateTime.now().minusDays(60), null, OrigemCompatibilidade.IA, null, null
+        );
+        when(cacheRepository.findByCandidatoAndVagas(candidatoId, List.of(vagaRecente, vagaAntiga)))
+            .thenReturn(List.of(recente, antigo));
+
+        Map<UUID, CompatibilidadeCache> resultado = service.obterDoCachePorVagas(candidatoId, List.of(vagaRecente, vagaAntiga));
+
+        assertThat(resultado).containsOnlyKeys(vagaRecente);
+        verify(jobRepository).enfileirarSeAusente(any());
+        verify(cacheRepository, never()).findByCandidatoAndVaga(any(), any());
+    }
+
+    private CompatibilidadeCache cacheCalculadoEm(LocalDateTime dataCalculo) {
+        return CompatibilidadeCache.rehydrate(
+            UUID.randomUUID(), candidatoId, vagaId, new BigDecimal("85.5"),
+            "Alta compatibilidade", dataCalculo, null, OrigemCompatibilidade.IA, "hash-perfil", "hash-vaga"
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CompatibilidadeCache> gravados() {
+        ArgumentCaptor<List<CompatibilidadeCache>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cacheRepository, atLeastOnce()).upsertAll(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    private CompatibilidadeCache cacheComHashes(String hashPerfil, String hashVaga) {
+        return CompatibilidadeCache.rehydrate(
+            UUID.randomUUID(), candidatoId, vagaId, new BigDecimal("85.5"),
+            "Alta compatibilidade", LocalDateTime.now(), null, OrigemCompatibilidade.IA, hashPerfil, hashVaga
+        );
     }
 }
 
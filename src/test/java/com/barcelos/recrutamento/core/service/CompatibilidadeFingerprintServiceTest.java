@@ -0,0 +1,80 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.core.model.*;
+import com.barcelos.recrutamento.data.entity.NivelCompetencia;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CompatibilidadeFingerprintServiceTest {
+
+    private final CompatibilidadeFingerprintService service = new CompatibilidadeFingerprintService();
+
+    private UUID candidatoId;
+
+    @BeforeEach
+    void setUp() {
+        candidatoId = UUID.randomUUID();
+    }
+
+    @Test
+    void deveIgnorarOrdemEFormatacaoDosItens() {
+        var original = dados(
+            List.of(competencia("Java", NivelCompetencia.AVANCADO), competencia("Docker", NivelCompetencia.BASICO)),
+            List.of(experiencia("Desenvolvedor Java"))
+        );
+        var reordenado = dados(
+            List.of(competencia("  docker ", NivelCompetencia.BASICO), competencia("JAVA", NivelCompetencia.AVANCADO)),
+            List.of(experiencia("desenvolvedor   java"))
+        );
+
+        assertThat(service.hashPerfil(original)).isEqualTo(service.hashPerfil(reordenado)).hasSize(64);
+    }
+
+    @Test
+    void deveMudarHashQuandoCampoRelevanteMuda() {
+        var antes = dados(List.of(competencia("Java", NivelCompetencia.BASICO)), List.of());
+        var depois = dados(List.of(competencia("Java", NivelCompetencia.AVANCADO)), List.of());
+
+        assertThat(service.hashPerfil(antes)).isNotEqualTo(service.hashPerfil(depois));
+    }
+
+    @Test
+    void deveConsiderarApenasCamposDeAvaliacaoDaVaga() {
+        Vaga vaga = vaga("Desenvolvedor Java", new BigDecimal("5000.00"));
+        Vaga outroSalario = vaga("Desenvolvedor Java", new BigDecimal("7000.00"));
+        Vaga outroTitulo = vaga("Desenvolvedor Kotlin", new BigDecimal("5000.00"));
+
+        assertThat(service.hashVaga(vaga)).isEqualTo(service.hashVaga(outroSalario));
+        assertThat(service.hashVaga(vaga)).isNotEqualTo(service.hashVaga(outroTitulo));
+    }
+
+    private CompatibilidadeBasicaService.DadosCandidato dados(List<Competencia> competencias,
+                                                             List<ExperienciaProfissional> experiencias) {
+        return new CompatibilidadeBasicaService.DadosCandidato(competencias, experiencias, List.of(), new int[0]);
+    }
+
+    private Competencia competencia(String titulo, NivelCompetencia nivel) {
+        return Competencia.rehydrate(UUID.randomUUID(), candidatoId, titulo, "Descrição", nivel, true);
+    }
+
+    private ExperienciaProfissional experiencia(String cargo) {
+        return ExperienciaProfissional.rehydrate(
+            UUID.randomUUID(), candidatoId, cargo, "Empresa", "Atividades", LocalDate.of(2020, 1, 1), null, true
+        );
+    }
+
+    private Vaga vaga(String titulo, BigDecimal salario) {
+        return Vaga.rehydrate(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), titulo, "Descrição", "Requisitos",
+            salario, LocalDate.now(), StatusVaga.ABERTA, TipoContrato.CLT,
+            ModalidadeTrabalho.REMOTO, "9h às 18h", null, null, true, null
+        );
+    }
+}
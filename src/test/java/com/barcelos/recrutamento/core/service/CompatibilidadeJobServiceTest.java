@@ -0,0 +1,319 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.config.CompatibilidadeProperties;
+import com.barcelos.recrutamento.core.exception.CotaIaExcedidaException;
+import com.barcelos.recrutamento.core.model.CompatibilidadeCache;
+import com.barcelos.recrutamento.core.model.CompatibilidadeJob;
+import com.barcelos.recrutamento.core.model.StatusJobCompatibilidade;
+import com.barcelos.recrutamento.core.model.Vaga;
+import com.barcelos.recrutamento.core.port.CandidaturaRepository;
+import com.barcelos.recrutamento.core.port.CompatibilidadeJobRepository;
+import com.barcelos.recrutamento.core.support.FaixaExecucao;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompatibilidadeJobServiceTest {
+
+    @Mock
+    private CompatibilidadeJobRepository jobRepository;
+
+    @Mock
+    private CompatibilidadeCacheService compatibilidadeCacheService;
+
+    @Mock
+    private CandidaturaRepository candidaturaRepository;
+
+    @Spy
+    private CompatibilidadeProperties properties = new CompatibilidadeProperties();
+
+    @Spy
+    private Executor compatibilidadeTaskExecutor = new SyncTaskExecutor();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private CompatibilidadeJobService service;
+
+    private UUID vagaId;
+    private UUID candidatoId;
+    private UUID organizacaoId;
+
+    @BeforeEach
+    void setUp() {
+        vagaId = UUID.randomUUID();
+        candidatoId = UUID.randomUUID();
+        organizacaoId = UUID.randomUUID();
+    }
+
+    @Test
+    void deveEnfileirarJobsComPrioridadeMaiorParaCandidato() {
+        Vaga vagaMock = mock(Vaga.class);
+        when(vagaMock.getId()).thenReturn(vagaId);
+        when(vagaMock.getOrganizacaoId()).thenReturn(organizacaoId);
+
+        service.enfileirarVaga(vagaMock);
+        service.enfileirarCandidato(candidatoId);
+
+        ArgumentCaptor<CompatibilidadeJob> captor = ArgumentCaptor.forClass(CompatibilidadeJob.class);
+        verify(jobRepository, times(2)).enfileirar(captor.capture());
+        CompatibilidadeJob vaga = captor.getAllValues().get(0);
+        CompatibilidadeJob candidato = captor.getAllValues().get(1);
+        assertThat(vaga.isTodosCandidatosDaVaga()).isTrue();
+        assertThat(vaga.getOrganizacaoId()).isEqualTo(organizacaoId);
+        assertThat(candidato.isTodasVagasDoCandidato()).isTrue();
+        assertThat(candidato.getPrioridade()).isGreaterThan(vaga.getPrioridade());
+    }
+
+    @Test
+    void deveContarJobsCoalescidosNoRegistroDeMetricas() {
+        Vaga vagaMock = mock(Vaga.class);
+        when(vagaMock.getId()).thenReturn(vagaId);
+        when(jobRepository.enfileirar(any())).thenReturn(true, false);
+
+        service.enfileirarVaga(vagaMock);
+        service.enfileirarVaga(vagaMock);
+
+        assertThat(meterRegistry.counter("compatibilidade.job.coalescidos", "tipo", "vaga").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void deveExecutarJobsReivindicadosEConcluir() {
+        CompatibilidadeJob jobVaga = job(null, vagaId, 1);
+        CompatibilidadeJob jobCandidato = job(candidatoId, null, 1);
+        when(jobRepository.reivindicar(eq(5), any(), any(), anyInt())).thenReturn(List.of(jobVaga, jobCandidato));
+
+        service.processarFila();
+
+        verify(compatibilidadeCacheService).calcularParaTodosCandidatos(vagaId);
+        verify(compatibilidadeCacheService).calcularParaTodasVagas(eq(candidatoId), any());
+        verify(jobRepository).concluir(jobVaga.getId());
+        verify(jobRepository).concluir(jobCandidato.getId());
+    }
+
+    @Test
+    void deveRegistrarEsperaSemEtiquetaPorOrganizacao() {
+        CompatibilidadeJob jobVaga = job(null, vagaId, 1);
+        CompatibilidadeJob jobOutraOrganizacao = CompatibilidadeJob.rehydrate(UUID.randomUUID(), null, UUID.randomUUID(),
+            UUID.randomUUID(), 10, 1, StatusJobCompatibilidade.PROCESSANDO, LocalDateTime.now().minusSeconds(30));
+        CompatibilidadeJob jobCandidato = job(candidatoId, null, 1);
+        when(jobRepository.reivindicar(eq(5), any(), any(), anyInt()))
+            .thenReturn(List.of(jobVaga, jobOutraOrganizacao, jobCandidato));
+
+        service.processarFila();
+
+        assertThat(meterRegistry.find("compatibilidade.job.espera").timers())
+            .extracting(timer -> timer.getId().getTag("fila"))
+            .containsExactlyInAnyOrder("organizacao", "candidatos");
+        assertThat(meterRegistry.get("compatibilidade.job.espera").tag("fila", "organizacao").timer().count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void deveReivindicarApenasOsWorkersLivresERenovarJobsEmExecucao() {
+        List<Runnable> submetidos = new ArrayList<>();
+        CompatibilidadeJobService servicoComFila = new CompatibilidadeJobService(
+            jobRepository, compatibilidadeCacheService, candidaturaRepository, properties, submetidos::add,
+            meterRegistry);
+        CompatibilidadeJob primeiro = job(null, vagaId, 1);
+        CompatibilidadeJob segundo = job(candidatoId, null, 1);
+        when(jobRepository.reivindicar(eq(5), any(), any(), anyInt())).thenReturn(List.of(primeiro, segundo));
+        when(jobRepository.reivindicar(eq(3), any(), any(), anyInt())).thenReturn(List.of());
+
+        servicoComFila.processarFila();
+        servicoComFila.processarFila();
+        servicoComFila.renovarJobsEmExecucao();
+
+        verify(compatibilidadeCacheService, never()).calcularParaTodosCandidatos(any());
+        verify(jobRepository).renovar(Set.of(primeiro.getId(), segundo.getId()));
+
+        submetidos.forEach(Runnable::run);
+        servicoComFila.renovarJobsEmExecucao();
+
+        verify(jobRepository).concluir(primeiro.getId());
+        verify(jobRepository).concluir(segundo.getId());
+        verify(jobRepository, times(1)).renovar(any());
+    }
+
+    @Test
+    void deveAdiarJobDoCandidatoPelaJanelaDeSilencio() {
+        properties.setDebouncePerfilSeconds(45);
+
+        service.enfileirarCandidato(candidatoId);
+
+        ArgumentCaptor<CompatibilidadeJob> captor = ArgumentCaptor.forClass(CompatibilidadeJob.class);
+        verify(jobRepository).enfileirar(captor.capture());
+        assertThat(captor.getValue().getDisponivelDesde()).isBetween(
+            LocalDateTime.now().plusSeconds(40), LocalDateTime.now().plusSeconds(46));
+    }
+
+    @Test
+    void deveCancelarRecalculoEmAndamentoQuandoPerfilMudaDeNovo() {
+        CompatibilidadeJob jobCandidato = job(candidatoId, null, 1);
+        when(jobRepository.reivindicar(anyInt(), any(), any(), anyInt())).thenReturn(List.of(jobCandidato));
+        List<BooleanSupplier> cancelamentos = new ArrayList<>();
+        when(compatibilidadeCacheService.calcularParaTodasVagas(eq(candidatoId), any())).thenAnswer(inv -> {
+            BooleanSupplier cancelado = inv.getArgument(1);
+            cancelamentos.add(cancelado);
+            assertThat(cancelado.getAsBoolean()).isFalse();
+            service.enfileirarCandidato(candidatoId);
+            return null;
+        });
+
+        service.processarFila();
+
+        assertThat(cancelamentos).singleElement()
+            .satisfies(cancelado -> assertThat(cancelado.getAsBoolean()).isTrue());
+        verify(jobRepository).enfileirar(any());
+    }
+
+    @Test
+    void deveAtualizarCandidaturaAoConcluirJobDoPar() {
+        CompatibilidadeJob jobPar = job(candidatoId, vagaId, 1);
+        CompatibilidadeCache cache = mock(CompatibilidadeCache.class);
+        when(cache.getPercentualCompatibilidade()).thenReturn(new BigDecimal("91"));
+        when(jobRepository.reivindicar(anyInt(), any(), any(), anyInt())).thenReturn(List.of(jobPar));
+        when(compatibilidadeCacheService.calcularEArmazenar(candidatoId, vagaId)).thenReturn(cache);
+
+        service.processarFila();
+
+        verify(candidaturaRepository).atualizarCompatibilidade(vagaId, candidatoId, new BigDecimal("91"));
+        verify(jobRepository).concluir(jobPar.getId());
+    }
+
+    @Test
+    void deveReivindicarJobsTravadosAlemDoTempoDeExpiracao() {
+        properties.setJobExpiracaoSeconds(600);
+        when(jobRepository.reivindicar(anyInt(), any(), any(), anyInt())).thenReturn(List.of());
+
+        service.processarFila();
+
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobRepository).reivindicar(eq(5), captor.capture(), any(), anyInt());
+        assertThat(captor.getValue()).isBetween(
+            LocalDateTime.now().minusSeconds(605), LocalDateTime.now().minusSeconds(595));
+    }
+
+    @Test
+    void deveRepassarPesosDasOrganizacoesEDaFilaDeCandidatosAoReivindicar() {
+        properties.setPesosOrganizacao(Map.of(organizacaoId, 3));
+        properties.setPesoFilaCandidatos(6);
+        when(jobRepository.reivindicar(anyInt(), any(), any(), anyInt())).thenReturn(List.of());
+
+        service.processarFila();
+
+        verify(jobRepository).reivindicar(eq(5), any(), eq(Map.of(organizacaoId, 3)), eq(6));
+    }
+
+    @Test
+    void deveProcessarJobsNaFaixaDeSegundoPlano() {
+        CompatibilidadeJob jobVaga = job(null, vagaId, 1);
+        when(jobRepository.reivindicar(anyInt(), any(), any(), anyInt())).thenReturn(List.of(jobVaga));
+        List<FaixaExecucao> faixas = new ArrayList<>();
+        when(compatibilidadeCacheService.calcularParaTodosCandidatos(vagaId)).thenAnswer(inv -> {
+            faixas.add(FaixaExecucao.atual());
+            return null;
+        });
+
+        service.processarFila();
+
+        assertThat(faixas).containsExactly(FaixaExecucao.SEGUNDO_PLANO);
+        assertThat(FaixaExecucao.atual()).isEqualTo(FaixaExecucao.INTERATIVA);
+    }
+
+    @Test
+    void deveReagendarComBackoffExponencialQuandoFalha() {
+        CompatibilidadeJob jobVaga = job(null, vagaId, 3);
+        when(jobRepository.reivindicar(anyInt(), any(), any(), anyInt())).thenReturn(List.of(jobVaga));
+        when(compatibilidadeCacheService.calcularParaTodosCandidatos(vagaId))
+            .thenThrow(new RuntimeException("IA fora do ar"));
+
+        service.processarFila();
+
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobRepository).reagendar(eq(jobVaga.getId()), captor.capture(), contains("IA fora do ar"));
+        assertThat(captor.getValue()).isAfter(LocalDateTime.now().plusSeconds(115));
+        verify(jobRepository, never()).concluir(any());
+    }
+
+    @Test
+    void deveAdiarSemConsumirTentativaQuandoCotaDaIaExcedida() {
+        CompatibilidadeJob jobVaga = job(null, vagaId, 5);
+        when(jobRepository.reivindicar(anyInt(), any(), any(), anyInt())).thenReturn(List.of(jobVaga));
+        when(compatibilidadeCacheService.calcularParaTodosCandidatos(vagaId))
+            .thenThrow(new CotaIaExcedidaException("Limite de requisições por minuto da IA atingido"));
+
+        service.processarFila();
+
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobRepository).adiar(eq(jobVaga.getId()), captor.capture(), contains("Limite de requisições"));
+        assertThat(captor.getValue()).isAfter(LocalDateTime.now());
+        verify(jobRepository, never()).marcarFalha(any(), any());
+        verify(jobRepository, never()).reagendar(any(), any(), any());
+    }
+
+    @Test
+    void deveMarcarFalhaDefinitivaAoEsgotarTentativas() {
+        CompatibilidadeJob jobVaga = job(null, vagaId, 5);
+        when(jobRepository.reivindicar(anyInt(), any(), any(), anyInt())).thenReturn(List.of(jobVaga));
+        when(compatibilidadeCacheService.calcularParaTodosCandidatos(vagaId))
+            .thenThrow(new RuntimeException("erro"));
+
+        service.processarFila();
+
+        verify(jobRepository).marcarFalha(eq(jobVaga.getId()), contains("erro"));
+        verify(jobRepository, never()).reagendar(any(), any(), any());
+    }
+
+    @Test
+    void deveInformarProgressoDaOrganizacao() {
+        when(jobRepository.resumirFila(organizacaoId)).thenReturn(
+            new CompatibilidadeJobRepository.ResumoFila(7L, 0L, 1L, LocalDateTime.now().minusMinutes(2)));
+
+        CompatibilidadeJobRepository.ResumoFila progresso = service.progresso(organizacaoId);
+
+        assertThat(progresso.pendentes()).isEqualTo(7);
+        assertThat(progresso.processando()).isZero();
+        assertThat(progresso.falhas()).isEqualTo(1);
+        verify(jobRepository, never()).reenfileirarFalhas(any());
+    }
+
+    @Test
+    void deveReprocessarFalhasApenasDaOrganizacao() {
+        when(jobRepository.reenfileirarFalhas(organizacaoId)).thenReturn(2);
+
+        assertThat(service.reprocessarFalhas(organizacaoId)).isEqualTo(2);
+        verify(jobRepository).reenfileirarFalhas(organizacaoId);
+    }
+
+    private CompatibilidadeJob job(UUID candidato, UUID vaga, int tentativas) {
+        return CompatibilidadeJob.rehydrate(UUID.randomUUID(), candidato, vaga, vaga != null ? organizacaoId : null,
+            10, tentativas, StatusJobCompatibilidade.PROCESSANDO, LocalDateTime.now().minusSeconds(30));
+    }
+}
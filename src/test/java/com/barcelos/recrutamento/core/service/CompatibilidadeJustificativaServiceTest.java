@@ -0,0 +1,142 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.core.exception.IaIndisponivelException;
+import com.barcelos.recrutamento.core.model.*;
+import com.barcelos.recrutamento.core.port.CompatibilidadeCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompatibilidadeJustificativaServiceTest {
+
+    @Mock
+    private CompatibilidadeCacheRepository cacheRepository;
+
+    @Mock
+    private CompatibilidadeAIService aiService;
+
+    @InjectMocks
+    private CompatibilidadeJustificativaService service;
+
+    private UUID candidatoId;
+    private Vaga vaga;
+    private CompatibilidadeCache semJustificativa;
+
+    @BeforeEach
+    void setUp() {
+        candidatoId = UUID.randomUUID();
+        vaga = Vaga.rehydrate(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "Desenvolvedor Java", "Descrição", "Requisitos",
+            new BigDecimal("5000.00"), LocalDate.now(), StatusVaga.ABERTA, TipoContrato.CLT,
+            ModalidadeTrabalho.REMOTO, "9h às 18h", null, null, true, null
+        );
+        semJustificativa = CompatibilidadeCache.rehydrate(
+            UUID.randomUUID(), candidatoId, vaga.getId(), new BigDecimal("81.00"),
+            null, LocalDate.now().atStartOfDay(), null, OrigemCompatibilidade.IA, "hp", "hv"
+        );
+    }
+
+    @Test
+    void naoDeveChamarIAQuandoJustificativaJaExiste() {
+        CompatibilidadeCache completo = semJustificativa.comJustificativa("Perfil aderente.");
+
+        CompatibilidadeCache resultado = service.completar(completo, vaga);
+
+        assertThat(resultado).isSameAs(completo);
+        verifyNoInteractions(aiService, cacheRepository);
+    }
+
+    @Test
+    void deveGerarEArmazenarJustificativaNaPrimeiraVisualizacao() {
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vaga.getId())).thenReturn(Optional.of(semJustificativa));
+        when(aiService.gerarJustificativa(candidatoId, vaga, 81)).thenReturn("Domina a stack exigida.");
+        when(cacheRepository.registrarJustificativa(semJustificativa, "Domina a stack exigida.")).thenReturn(true);
+
+        CompatibilidadeCache resultado = service.completar(semJustificativa, vaga);
+
+        assertThat(resultado.getJustificativa()).isEqualTo("Domina a stack exigida.");
+        assertThat(resultado.getPercentualCompatibilidade()).isEqualByComparingTo("81");
+        assertThat(resultado.getDataAtualizacao()).isNull();
+    }
+
+    @Test
+    void deveReaproveitarJustificativaGravadaPorOutraRequisicao() {
+        CompatibilidadeCache gravado = semJustificativa.comJustificativa("Gerada por outra instância.");
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vaga.getId())).thenReturn(Optional.of(gravado));
+
+        CompatibilidadeCache resultado = service.completar(semJustificativa, vaga);
+
+        assertThat(resultado.getJustificativa()).isEqualTo("Gerada por outra instância.");
+        verifyNoInteractions(aiService);
+        verify(cacheRepository, never()).registrarJustificativa(any(), any());
+    }
+
+    @Test
+    void deveReaproveitarJustificativaDaLinhaPersistidaComOutroId() {
+        CompatibilidadeCache persistido = CompatibilidadeCache.rehydrate(
+            UUID.randomUUID(), candidatoId, vaga.getId(), new BigDecimal("81"),
+            "Gravada na linha original.", LocalDate.now().atStartOfDay(), null, OrigemCompatibilidade.IA, "hp", "hv"
+        );
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vaga.getId())).thenReturn(Optional.of(persistido));
+
+        CompatibilidadeCache resultado = service.completar(semJustificativa, vaga);
+
+        assertThat(resultado.getJustificativa()).isEqualTo("Gravada na linha original.");
+        verifyNoInteractions(aiService);
+    }
+
+    @Test
+    void deveRetornarAvisoSemGravarQuandoIAIndisponivel() {
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vaga.getId())).thenReturn(Optional.of(semJustificativa));
+        when(aiService.gerarJustificativa(candidatoId, vaga, 81)).thenThrow(new IaIndisponivelException("Circuito aberto"));
+
+        CompatibilidadeCache resultado = service.completar(semJustificativa, vaga);
+
+        assertThat(resultado.getJustificativa()).isEqualTo(CompatibilidadeJustificativaService.JUSTIFICATIVA_INDISPONIVEL);
+        verify(cacheRepository, never()).registrarJustificativa(any(), any());
+    }
+
+    @Test
+    void deveCoalescerVisualizacoesSimultaneasEmUmaUnicaGeracao() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(cacheRepository.findByCandidatoAndVaga(candidatoId, vaga.getId())).thenReturn(
+            Optional.of(semJustificativa), Optional.of(semJustificativa.comJustificativa("Justificativa única.")));
+        when(aiService.gerarJustificativa(any(), any(), anyInt())).thenAnswer(inv -> {
+            iniciou.countDown();
+            liberar.await(2, TimeUnit.SECONDS);
+            return "Justificativa única.";
+        });
+        when(cacheRepository.registrarJustificativa(any(), any())).thenReturn(true);
+
+        CompletableFuture<CompatibilidadeCache> primeira =
+            CompletableFuture.supplyAsync(() -> service.completar(semJustificativa, vaga));
+        assertThat(iniciou.await(2, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<CompatibilidadeCache> segunda =
+            CompletableFuture.supplyAsync(() -> service.completar(semJustificativa, vaga));
+        assertThat(service.totalGeracoesEmAndamento()).isEqualTo(1);
+        Thread.sleep(50);
+        liberar.countDown();
+
+        assertThat(primeira.get(2, TimeUnit.SECONDS).getJustificativa()).isEqualTo("Justificativa única.");
+        assertThat(segunda.get(2, TimeUnit.SECONDS).getJustificativa()).isEqualTo("Justificativa única.");
+        verify(aiService, times(1)).gerarJustificativa(any(), any(), anyInt());
+    }
+}
@@ -28,6 +28,9 @@ class CompatibilidadeServiceTest {
     @Mock
     private CompatibilidadeCacheService cacheService;
 
+    @Mock
+    private CompatibilidadeJustificativaService justificativaService;
+
     @Mock
     private VagaRepository vagaRepository;
 
@@ -61,8 +64,11 @@ class CompatibilidadeServiceTest {
 
         cache = CompatibilidadeCache.rehydrate(
             UUID.randomUUID(), candidatoId, vagaId, new BigDecimal("85.5"),
-            "Alta compatibilidade", LocalDate.now().atStartOfDay(), null
+            "Alta compatibilidade", LocalDate.now().atStartOfDay(), null, OrigemCompatibilidade.IA, null, null
         );
+
+        lenient().when(justificativaService.completar(any(CompatibilidadeCache.class), any(Vaga.class)))
+            .thenAnswer(inv -> inv.getArgument(0));
     }
 
     @Test
@@ -112,7 +118,7 @@ class CompatibilidadeServiceTest {
     void deveRetornarCompatibilidadeAltaParaCandidatoQualificado() {
         CompatibilidadeCache cacheAlta = CompatibilidadeCache.rehydrate(
             UUID.randomUUID(), candidatoId, vagaId, new BigDecimal("95.0"),
-            "Excelente compatibilidade", LocalDate.now().atStartOfDay(), null
+            "Excelente compatibilidade", LocalDate.now().atStartOfDay(), null, OrigemCompatibilidade.IA, null, null
         );
 
         when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
@@ -128,7 +134,7 @@ class CompatibilidadeServiceTest {
     void deveRetornarCompatibilidadeBaixaParaCandidatoNaoQualificado() {
         CompatibilidadeCache cacheBaixa = CompatibilidadeCache.rehydrate(
             UUID.randomUUID(), candidatoId, vagaId, new BigDecimal("30.0"),
-            "Baixa compatibilidade", LocalDate.now().atStartOfDay(), null
+            "Baixa compatibilidade", LocalDate.now().atStartOfDay(), null, OrigemCompatibilidade.IA, null, null
         );
 
         when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
@@ -150,5 +156,23 @@ class CompatibilidadeServiceTest {
 
         verify(cacheService).obterOuCalcular(candidatoId, vagaId);
     }
-}
 
+    @Test
+    void deveCompletarJustificativaAoExibirCompatibilidade() {
+        CompatibilidadeCache semJustificativa = CompatibilidadeCache.rehydrate(
+            UUID.randomUUID(), candidatoId, vagaId, new BigDecimal("72.0"),
+            null, LocalDate.now().atStartOfDay(), null, OrigemCompatibilidade.IA, null, null
+        );
+
+        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(cacheService.obterOuCalcular(candidatoId, vagaId)).thenReturn(semJustificativa);
+        when(justificativaService.completar(semJustificativa, vaga))
+            .thenReturn(semJustificativa.comJustificativa("Boa aderência técnica."));
+
+        CompatibilidadeResponse resultado = service.calcularCompatibilidade(candidatoId, vagaId);
+
+        assertThat(resultado.justificativa()).isEqualTo("Boa aderência técnica.");
+        assertThat(resultado.percentualCompatibilidade()).isEqualTo(72);
+    }
+}
@@ -5,15 +5,19 @@ import com.barcelos.recrutamento.core.exception.ResourceNotFoundException;
 import com.barcelos.recrutamento.core.model.*;
 import com.barcelos.recrutamento.core.model.vo.*;
 import com.barcelos.recrutamento.core.port.*;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -50,7 +54,13 @@ class ConviteProcessoSeletivoServiceTest {
     private EmailTemplateService emailTemplateService;
 
     @Mock
-    private CompatibilidadeService compatibilidadeService;
+    private CompatibilidadeCacheService compatibilidadeCacheService;
+
+    @Mock
+    private CompatibilidadeBasicaService compatibilidadeBasicaService;
+
+    @Mock
+    private CompatibilidadeJobService compatibilidadeJobService;
 
     @Mock
     private CurriculoService curriculoService;
@@ -169,6 +179,64 @@ class ConviteProcessoSeletivoServiceTest {
         verify(conviteRepository, never()).save(any());
     }
 
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deveAceitarConviteComCompatibilidadeProvisoriaEEnfileirarCalculoQuandoNaoHaCache() {
+        stubAceiteConvite();
+        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId)).thenReturn(Optional.empty());
+        when(compatibilidadeBasicaService.calcular(candidatoId, vaga))
+            .thenReturn(new CompatibilidadeAIService.ResultadoCompatibilidade(62, "Análise local"));
+
+        ConviteProcessoSeletivo resultado = service.aceitarConvite(conviteId, candidatoId);
+
+        assertThat(resultado.getStatus()).isEqualTo(StatusConviteProcesso.ACEITO);
+        Candidatura criada = candidaturaCriada();
+        assertThat(criada.getCompatibilidade()).isEqualByComparingTo("62");
+        assertThat(criada.isCompatibilidadeProvisoria()).isTrue();
+        verify(compatibilidadeJobService).enfileirarCandidatura(candidatoId, vaga);
+        verify(compatibilidadeCacheService, never()).obterOuCalcular(any(), any());
+    }
+
+    @Test
+    void deveAceitarConviteComCompatibilidadeDefinitivaQuandoCacheEstaValido() {
+        stubAceiteConvite();
+        CompatibilidadeCache cache = CompatibilidadeCache.rehydrate(
+            UUID.randomUUID(), candidatoId, vagaId, new BigDecimal("85.5"), "Alta compatibilidade",
+            java.time.LocalDateTime.now(), null, OrigemCompatibilidade.IA, null, null
+        );
+        when(compatibilidadeCacheService.obterDoCache(candidatoId, vagaId)).thenReturn(Optional.of(cache));
+
+        service.aceitarConvite(conviteId, candidatoId);
+
+        Candidatura criada = candidaturaCriada();
+        assertThat(criada.getCompatibilidade()).isEqualByComparingTo("85.5");
+        assertThat(criada.isCompatibilidadeProvisoria()).isFalse();
+        verifyNoInteractions(compatibilidadeBasicaService, compatibilidadeJobService);
+    }
+
+    private void stubAceiteConvite() {
+        when(conviteRepository.findById(conviteId)).thenReturn(Optional.of(convite));
+        when(candidaturaRepository.findByVagaIdAndCandidatoUsuarioId(vagaId, candidatoId)).thenReturn(Optional.empty());
+        when(vagaRepository.findById(vagaId)).thenReturn(Optional.of(vaga));
+        when(conviteRepository.save(any(ConviteProcessoSeletivo.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(candidaturaRepository.save(any(Candidatura.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(etapaProcessoRepository.findByVagaId(vagaId)).thenReturn(new ArrayList<>(List.of(etapa)));
+        when(processoSeletivoRepository.save(any(ProcessoSeletivo.class))).thenAnswer(inv -> inv.getArgument(0));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private Candidatura candidaturaCriada() {
+        ArgumentCaptor<Candidatura> captor = ArgumentCaptor.forClass(Candidatura.class);
+        verify(candidaturaRepository, times(2)).save(captor.capture());
+        return captor.getAllValues().get(0);
+    }
+
     @Test
     void naoDeveAceitarConviteDeOutroCandidato() {
         UUID outroCandidatoId = UUID.randomUUID();
@@ -0,0 +1,144 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.config.BuscaCriteriosProperties;
+import com.barcelos.recrutamento.core.port.AiGateway;
+import com.barcelos.recrutamento.core.port.CriteriosBuscaRepository;
+import com.barcelos.recrutamento.core.port.CriteriosBuscaRepository.ConsultaInterpretada;
+import com.barcelos.recrutamento.core.service.CriteriosBuscaService.CriteriosBusca;
+import com.barcelos.recrutamento.core.support.TaxonomiaHabilidades;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CriteriosBuscaServiceTest {
+
+    @Mock
+    private AiGateway aiGateway;
+
+    @Mock
+    private CriteriosBuscaRepository criteriosBuscaRepository;
+
+    @Spy
+    private BuscaCriteriosProperties properties = new BuscaCriteriosProperties();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TaxonomiaHabilidades taxonomia = TaxonomiaHabilidades.carregar();
+
+    @InjectMocks
+    private CriteriosBuscaService service;
+
+    @Test
+    void deveInterpretarConsultaComumSemChamarIa() {
+        CriteriosBusca criterios = service.extrair("Dev Java Sênior em São Paulo");
+
+        assertThat(criterios.keywords()).containsExactly("dev", "java");
+        assertThat(criterios.localizacao()).isEqualTo("sao paulo");
+        assertThat(criterios.senioridade()).isEqualTo("SENIOR");
+        verifyNoInteractions(aiGateway, criteriosBuscaRepository);
+    }
+
+    @Test
+    void deveReconhecerExpressoesCompostas() {
+        CriteriosBusca criterios = service.extrair("analista de recursos humanos pleno, rio de janeiro");
+
+        assertThat(criterios.keywords()).containsExactlyInAnyOrder("analista", "recursos humanos");
+        assertThat(criterios.localizacao()).isEqualTo("rio de janeiro");
+        assertThat(criterios.senioridade()).isEqualTo("PLENO");
+        verifyNoInteractions(aiGateway);
+    }
+
+    @Test
+    void deveRecorrerAIaQuandoConsultaTemTermoDesconhecido() {
+        when(aiGateway.gerar(anyString())).thenReturn(
+            "KEYWORDS: sap, hana\nLOCALIZACAO: NENHUMA\nSENIORIDADE: NENHUMA"
+        );
+
+        CriteriosBusca criterios = service.extrair("analista SAP HANA");
+
+        assertThat(criterios.keywords()).containsExactly("sap", "hana");
+        assertThat(criterios.localizacao()).isNull();
+        verify(criteriosBuscaRepository).registrar(argThat(consulta ->
+            consulta.consultaNormalizada().equals("analista sap hana")
+                && consulta.palavrasChave().equals(List.of("sap", "hana"))));
+    }
+
+    @Test
+    void deveReutilizarCriteriosDeConsultaEquivalente() {
+        when(aiGateway.gerar(anyString())).thenReturn(
+            "KEYWORDS: joão silva\nLOCALIZACAO: NENHUMA\nSENIORIDADE: NENHUMA"
+        );
+
+        CriteriosBusca primeira = service.extrair("João  Silva");
+        CriteriosBusca segunda = service.extrair("  joao silva ");
+
+        assertThat(segunda).isEqualTo(primeira);
+        verify(aiGateway, times(1)).gerar(anyString());
+    }
+
+    @Test
+    void naoDeveArmazenarFallbackQuandoIaFalha() {
+        when(aiGateway.gerar(anyString())).thenThrow(new IllegalStateException("timeout"));
+
+        CriteriosBusca criterios = service.extrair("Maria Souza");
+        service.extrair("Maria Souza");
+
+        assertThat(criterios.keywords()).containsExactly("Maria Souza");
+        assertThat(criterios.localizacao()).isNull();
+        verify(aiGateway, times(2)).gerar(anyString());
+        verify(criteriosBuscaRepository, never()).registrar(any());
+    }
+
+    @Test
+    void naoDeveReutilizarCriteriosExpirados() {
+        properties.setCacheTtlSeconds(0);
+        when(aiGateway.gerar(anyString())).thenReturn("KEYWORDS: maria\nLOCALIZACAO: NENHUMA\nSENIORIDADE: NENHUMA");
+
+        service.extrair("Maria");
+        service.extrair("Maria");
+
+        verify(aiGateway, times(2)).gerar(anyString());
+    }
+
+    @Test
+    void deveAquecerCacheComConsultasRecentes() {
+        when(criteriosBuscaRepository.listarRecentes(any(LocalDateTime.class), anyInt())).thenReturn(List.of(
+            new ConsultaInterpretada("maria souza", List.of("maria souza"), null, null, LocalDateTime.now().minusHours(1)),
+            new ConsultaInterpretada("antiga", List.of("antiga"), null, null, LocalDateTime.now().minusDays(2))
+        ));
+
+        service.aquecerCache();
+        CriteriosBusca criterios = service.extrair("Maria Souza");
+
+        assertThat(criterios.keywords()).containsExactly("maria souza");
+        verifyNoInteractions(aiGateway);
+    }
+
+    @Test
+    void deveUsarIaQuandoRegrasDesabilitadas() {
+        properties.setRegrasHabilitadas(false);
+        when(aiGateway.gerar(anyString())).thenReturn("KEYWORDS: java\nLOCALIZACAO: NENHUMA\nSENIORIDADE: SENIOR");
+
+        CriteriosBusca criterios = service.extrair("java sênior");
+
+        assertThat(criterios.senioridade()).isEqualTo("SENIOR");
+        verify(aiGateway).gerar(contains("java sênior"));
+    }
+}
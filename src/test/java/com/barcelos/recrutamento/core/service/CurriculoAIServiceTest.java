@@ -1,5 +1,6 @@
 package com.barcelos.recrutamento.core.service;
 
+import com.barcelos.recrutamento.core.exception.IaIndisponivelException;
 import com.barcelos.recrutamento.core.model.*;
 import com.barcelos.recrutamento.core.model.vo.*;
 import com.barcelos.recrutamento.core.port.*;
@@ -10,7 +11,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.ai.chat.client.ChatClient;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -19,32 +19,16 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class CurriculoAIServiceTest {
 
     @Mock
-    private ChatClient chatClient;
+    private AiGateway aiGateway;
 
     @Mock
-    private PerfilCandidatoRepository perfilCandidatoRepository;
-
-    @Mock
-    private CompetenciaRepository competenciaRepository;
-
-    @Mock
-    private ExperienciaProfissionalRepository experienciaRepository;
-
-    @Mock
-    private HistoricoAcademicoRepository historicoAcademicoRepository;
-
-    @Mock
-    private PortfolioRepository portfolioRepository;
-
-    @Mock
-    private UsuarioRepository usuarioRepository;
+    private PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
 
     @InjectMocks
     private CurriculoAIService service;
@@ -83,13 +67,11 @@ class CurriculoAIServiceTest {
 
     @Test
     void deveRetornarTextoGenericoQuandoErroNaIA() {
-        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
-        when(perfilCandidatoRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.of(perfil));
-        when(competenciaRepository.listByPerfilCandidato(any())).thenReturn(List.of());
-        when(experienciaRepository.listByUsuario(candidatoId)).thenReturn(List.of());
-        when(historicoAcademicoRepository.listByUsuario(candidatoId)).thenReturn(List.of());
+        when(perfilCandidatoSnapshotService.obter(candidatoId)).thenReturn(Optional.of(
+            PerfilCandidatoSnapshot.novo(candidato, perfil, List.of(), List.of(), List.of(), List.of(), new int[0])
+        ));
 
-        when(chatClient.prompt()).thenThrow(new RuntimeException("API error"));
+        when(aiGateway.gerar(anyString())).thenThrow(new RuntimeException("API error"));
 
         assertThatThrownBy(() -> service.gerarCurriculoOtimizado(candidatoId, vaga, ModeloCurriculoEnum.PROFISSIONAL, null))
             .isInstanceOf(RuntimeException.class);
@@ -97,14 +79,11 @@ class CurriculoAIServiceTest {
 
     @Test
     void deveLancarExcecaoQuandoIAFalha() {
-        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
-        when(perfilCandidatoRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.of(perfil));
-        when(competenciaRepository.listByPerfilCandidato(any())).thenReturn(List.of());
-        when(experienciaRepository.listByUsuario(candidatoId)).thenReturn(List.of());
-        when(historicoAcademicoRepository.listByUsuario(candidatoId)).thenReturn(List.of());
-        when(portfolioRepository.listByPerfilCandidato(any())).thenReturn(List.of());
+        when(perfilCandidatoSnapshotService.obter(candidatoId)).thenReturn(Optional.of(
+            PerfilCandidatoSnapshot.novo(candidato, perfil, List.of(), List.of(), List.of(), List.of(), new int[0])
+        ));
 
-        when(chatClient.prompt()).thenThrow(new RuntimeException("API Error"));
+        when(aiGateway.gerar(anyString())).thenThrow(new RuntimeException("API Error"));
 
         assertThatThrownBy(() -> service.gerarCurriculoOtimizado(
             candidatoId, vaga, ModeloCurriculoEnum.PROFISSIONAL, null
@@ -112,5 +91,19 @@ class CurriculoAIServiceTest {
             .isInstanceOf(RuntimeException.class)
             .hasMessageContaining("Erro ao gerar currículo com IA");
     }
-}
 
+    @Test
+    void devePropagarIndisponibilidadeDaIASemEncapsular() {
+        when(perfilCandidatoSnapshotService.obter(candidatoId)).thenReturn(Optional.of(
+            PerfilCandidatoSnapshot.novo(candidato, perfil, List.of(), List.of(), List.of(), List.of(), new int[0])
+        ));
+
+        when(aiGateway.gerar(anyString())).thenThrow(new IaIndisponivelException("Circuito aberto"));
+
+        assertThatThrownBy(() -> service.gerarCurriculoOtimizado(
+            candidatoId, vaga, ModeloCurriculoEnum.PROFISSIONAL, null
+        ))
+            .isInstanceOf(IaIndisponivelException.class)
+            .hasMessage("Circuito aberto");
+    }
+}
@@ -28,19 +28,7 @@ class CurriculoServiceTest {
     private UsuarioRepository usuarioRepository;
 
     @Mock
-    private PerfilCandidatoRepository perfilCandidatoRepository;
-
-    @Mock
-    private ExperienciaProfissionalRepository experienciaRepository;
-
-    @Mock
-    private HistoricoAcademicoRepository historicoRepository;
-
-    @Mock
-    private PortfolioRepository portfolioRepository;
-
-    @Mock
-    private CompetenciaRepository competenciaRepository;
+    private PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
 
     @Mock
     private CandidaturaRepository candidaturaRepository;
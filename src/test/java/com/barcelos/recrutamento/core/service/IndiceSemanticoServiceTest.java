@@ -0,0 +1,145 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.config.BuscaSemanticaProperties;
+import com.barcelos.recrutamento.core.model.*;
+import com.barcelos.recrutamento.core.model.vo.*;
+import com.barcelos.recrutamento.core.port.*;
+import com.barcelos.recrutamento.data.adapter.HashingEmbeddingProvider;
+import com.barcelos.recrutamento.data.entity.NivelCompetencia;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndiceSemanticoServiceTest {
+
+    @Mock
+    private PerfilCandidatoRepository perfilCandidatoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private CompetenciaRepository competenciaRepository;
+
+    @Mock
+    private ExperienciaProfissionalRepository experienciaRepository;
+
+    @Mock
+    private HistoricoAcademicoRepository historicoAcademicoRepository;
+
+    @Mock
+    private VagaRepository vagaRepository;
+
+    private BuscaSemanticaProperties properties;
+    private IndiceSemanticoService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BuscaSemanticaProperties();
+        service = new IndiceSemanticoService(
+            new HashingEmbeddingProvider(properties), perfilCandidatoRepository, usuarioRepository,
+            competenciaRepository, experienciaRepository, historicoAcademicoRepository, vagaRepository, properties
+        );
+    }
+
+    @Test
+    void deveEncontrarCandidatoMaisProximoDaConsulta() {
+        UUID desenvolvedor = UUID.randomUUID();
+        UUID designer = UUID.randomUUID();
+        prepararCandidato(desenvolvedor, "Java", "Desenvolvedor Backend", "APIs REST com Spring Boot");
+        prepararCandidato(designer, "Photoshop", "Designer Gráfico", "Identidade visual e ilustração");
+
+        service.indexarCandidato(desenvolvedor);
+        service.indexarCandidato(designer);
+
+        assertThat(service.possuiCandidatos()).isTrue();
+        assertThat(service.buscarCandidatos("desenvolvedor java spring")).first().isEqualTo(desenvolvedor);
+        assertThat(service.buscarCandidatos("designer photoshop")).first().isEqualTo(designer);
+    }
+
+    @Test
+    void deveRemoverVagaQueDeixouDeSerPublica() {
+        Vaga vaga = Vaga.rehydrate(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "Desenvolvedor Java", "Backend",
+            "Java, Spring", new BigDecimal("5000.00"), LocalDate.now(), StatusVaga.ABERTA, TipoContrato.CLT,
+            ModalidadeTrabalho.REMOTO, "9h às 18h", null, null, true, null
+        );
+
+        service.indexarVaga(vaga);
+        assertThat(service.buscarVagas("java")).containsExactly(vaga.getId());
+
+        service.indexarVaga(vaga.fechar());
+        assertThat(service.possuiVagas()).isFalse();
+        assertThat(service.buscarVagas("java")).isEmpty();
+    }
+
+    @Test
+    void naoDeveIndexarQuandoBuscaSemanticaDesabilitada() {
+        properties.setHabilitada(false);
+
+        service.indexarCandidato(UUID.randomUUID());
+
+        assertThat(service.possuiCandidatos()).isFalse();
+        verifyNoInteractions(perfilCandidatoRepository);
+    }
+
+    @Test
+    void deveCarregarIndicesNaInicializacaoComCargaEmLote() {
+        UUID candidatoId = UUID.randomUUID();
+        UUID semCompetenciasId = UUID.randomUUID();
+        when(perfilCandidatoRepository.findAll())
+            .thenReturn(List.of(perfil(candidatoId), perfil(semCompetenciasId)));
+        when(usuarioRepository.findAllByIds(List.of(candidatoId, semCompetenciasId))).thenReturn(Map.of());
+        when(historicoAcademicoRepository.listByUsuarios(List.of(candidatoId, semCompetenciasId))).thenReturn(Map.of());
+        when(competenciaRepository.listByPerfisCandidato(List.of(candidatoId, semCompetenciasId))).thenReturn(Map.of(
+            candidatoId, List.of(Competencia.rehydrate(
+                UUID.randomUUID(), candidatoId, "Python", "Python", NivelCompetencia.AVANCADO, true))
+        ));
+        when(experienciaRepository.listByUsuarios(List.of(candidatoId, semCompetenciasId))).thenReturn(Map.of(
+            candidatoId, List.of(ExperienciaProfissional.rehydrate(UUID.randomUUID(), candidatoId,
+                "Cientista de Dados", "Empresa", "Modelos preditivos", LocalDate.of(2020, 1, 1), null, true))
+        ));
+        when(vagaRepository.listPublicas()).thenReturn(List.of());
+
+        service.carregarIndices();
+
+        assertThat(service.buscarCandidatos("python dados")).first().isEqualTo(candidatoId);
+        verify(competenciaRepository, never()).listByPerfilCandidato(any());
+        verify(experienciaRepository, never()).listByUsuario(any());
+        verify(usuarioRepository, never()).findById(any());
+        verify(historicoAcademicoRepository, never()).listByUsuario(any());
+    }
+
+    private PerfilCandidato perfil(UUID usuarioId) {
+        Endereco endereco = new Endereco("Rua", "100", null, new Cep("01310100"), "São Paulo", new Sigla("SP"));
+        return PerfilCandidato.rehydrate(UUID.randomUUID(), usuarioId, LocalDate.of(1990, 1, 1), endereco, true);
+    }
+
+    private void prepararCandidato(UUID usuarioId, String competencia, String cargo, String descricao) {
+        lenient().when(perfilCandidatoRepository.findByUsuarioId(usuarioId))
+            .thenReturn(Optional.of(perfil(usuarioId)));
+        when(usuarioRepository.findById(usuarioId)).thenReturn(Optional.empty());
+        when(competenciaRepository.listByPerfilCandidato(usuarioId)).thenReturn(List.of(
+            Competencia.rehydrate(UUID.randomUUID(), usuarioId, competencia, competencia, NivelCompetencia.AVANCADO, true)
+        ));
+        when(experienciaRepository.listByUsuario(usuarioId)).thenReturn(List.of(
+            ExperienciaProfissional.rehydrate(UUID.randomUUID(), usuarioId, cargo, "Empresa", descricao,
+                LocalDate.of(2020, 1, 1), null, true)
+        ));
+        when(historicoAcademicoRepository.listByUsuario(any())).thenReturn(List.of());
+    }
+}
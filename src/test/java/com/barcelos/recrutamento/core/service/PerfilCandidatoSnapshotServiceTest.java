@@ -0,0 +1,204 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.core.model.*;
+import com.barcelos.recrutamento.core.model.vo.*;
+import com.barcelos.recrutamento.core.port.*;
+import com.barcelos.recrutamento.data.entity.NivelCompetencia;
+import com.barcelos.recrutamento.core.support.TaxonomiaHabilidades;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PerfilCandidatoSnapshotServiceTest {
+
+    @Mock
+    private PerfilCandidatoSnapshotRepository snapshotRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private PerfilCandidatoRepository perfilCandidatoRepository;
+
+    @Mock
+    private CompetenciaRepository competenciaRepository;
+
+    @Mock
+    private ExperienciaProfissionalRepository experienciaRepository;
+
+    @Mock
+    private HistoricoAcademicoRepository historicoAcademicoRepository;
+
+    @Mock
+    private PortfolioRepository portfolioRepository;
+
+    @Mock
+    private CandidatoBuscaRepository candidatoBuscaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private CompatibilidadeFingerprintService fingerprintService = new CompatibilidadeFingerprintService();
+
+    @Spy
+    private TaxonomiaHabilidades taxonomia = TaxonomiaHabilidades.carregar();
+
+    @InjectMocks
+    private PerfilCandidatoSnapshotService service;
+
+    private UUID candidatoId;
+    private Usuario candidato;
+    private PerfilCandidato perfil;
+
+    @BeforeEach
+    void setUp() {
+        candidatoId = UUID.randomUUID();
+        candidato = Usuario.rehydrate(
+            candidatoId, "João Silva", new Email("joao@example.com"),
+            new Cpf("12345678901"), "$2a$10$hash", true, true
+        );
+        Endereco endereco = new Endereco("Rua", "100", null, new Cep("01310100"), "São Paulo", new Sigla("SP"));
+        perfil = PerfilCandidato.rehydrate(
+            UUID.randomUUID(), candidatoId, LocalDate.of(1990, 1, 1), endereco, true
+        );
+    }
+
+    @Test
+    void deveRetornarSnapshotArmazenadoSemConsultarTabelasNormalizadas() {
+        PerfilCandidatoSnapshot armazenado = PerfilCandidatoSnapshot.novo(
+            candidato, perfil, List.of(), List.of(), List.of(), List.of(), new int[0]
+        ).comVersao(4);
+        when(snapshotRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.of(armazenado));
+
+        Optional<PerfilCandidatoSnapshot> resultado = service.obter(candidatoId);
+
+        assertThat(resultado).containsSame(armazenado);
+        verifyNoInteractions(usuarioRepository, competenciaRepository, experienciaRepository);
+        verify(snapshotRepository, never()).save(any());
+    }
+
+    @Test
+    void deveMontarEArmazenarSnapshotQuandoAusente() {
+        Competencia competencia = Competencia.rehydrate(
+            UUID.randomUUID(), candidatoId, "Java", "Linguagem", NivelCompetencia.AVANCADO, true
+        );
+        when(snapshotRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.empty());
+        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
+        when(perfilCandidatoRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.of(perfil));
+        when(competenciaRepository.listByPerfilCandidato(candidatoId)).thenReturn(List.of(competencia));
+        when(experienciaRepository.listByUsuario(candidatoId)).thenReturn(List.of());
+        when(historicoAcademicoRepository.listByUsuario(candidatoId)).thenReturn(List.of());
+        when(portfolioRepository.listByPerfilCandidato(candidatoId)).thenReturn(List.of());
+        when(snapshotRepository.save(any(PerfilCandidatoSnapshot.class)))
+            .thenAnswer(inv -> inv.<PerfilCandidatoSnapshot>getArgument(0).comVersao(1));
+
+        Optional<PerfilCandidatoSnapshot> resultado = service.obter(candidatoId);
+
+        assertThat(resultado).isPresent();
+        assertThat(resultado.get().getVersao()).isEqualTo(1);
+        assertThat(resultado.get().getCompetencias()).containsExactly(competencia);
+        assertThat(resultado.get().getHabilidades()).containsExactly(taxonomia.extrair("Java"));
+        assertThat(resultado.get().getHashPerfil())
+            .contains(fingerprintService.hashPerfil(List.of(competencia), List.of(), List.of()));
+        verify(snapshotRepository).travar(candidatoId);
+    }
+
+    @Test
+    void deveLerHashesArmazenadosEmLoteEConsultarApenasOsAusentes() {
+        UUID outroCandidatoId = UUID.randomUUID();
+        PerfilCandidatoSnapshot armazenado = PerfilCandidatoSnapshot.novo(
+            candidato, perfil, List.of(), List.of(), List.of(), List.of(), new int[0]
+        ).comHashPerfil("hash-snapshot");
+        when(snapshotRepository.findHashesPerfil(List.of(outroCandidatoId, candidatoId)))
+            .thenReturn(Map.of(outroCandidatoId, "hash-armazenado"));
+        when(snapshotRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.of(armazenado));
+
+        Map<UUID, String> hashes = service.obterHashesPerfil(List.of(outroCandidatoId, candidatoId));
+
+        assertThat(hashes).containsOnly(
+            entry(outroCandidatoId, "hash-armazenado"),
+            entry(candidatoId, "hash-snapshot"));
+        verify(snapshotRepository, never()).findByUsuarioId(outroCandidatoId);
+        verify(fingerprintService, never()).hashPerfil(anyList(), anyList(), anyList());
+    }
+
+    @Test
+    void deveTravarAntesDeRegravarSnapshot() {
+        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
+        when(perfilCandidatoRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.empty());
+        when(experienciaRepository.listByUsuario(candidatoId)).thenReturn(List.of());
+        when(historicoAcademicoRepository.listByUsuario(candidatoId)).thenReturn(List.of());
+        when(snapshotRepository.save(any(PerfilCandidatoSnapshot.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.atualizar(candidatoId);
+
+        InOrder ordem = inOrder(snapshotRepository, usuarioRepository, candidatoBuscaRepository);
+        ordem.verify(snapshotRepository).travar(candidatoId);
+        ordem.verify(usuarioRepository).findById(candidatoId);
+        ordem.verify(snapshotRepository).save(any(PerfilCandidatoSnapshot.class));
+        ordem.verify(candidatoBuscaRepository).indexar(any(PerfilCandidatoSnapshot.class));
+        verifyNoInteractions(competenciaRepository, portfolioRepository);
+    }
+
+    @Test
+    void naoDeveArmazenarSnapshotDeUsuarioInexistente() {
+        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.empty());
+
+        assertThat(service.atualizar(candidatoId)).isEmpty();
+        verify(snapshotRepository, never()).save(any());
+        verifyNoInteractions(candidatoBuscaRepository);
+    }
+
+    @Test
+    void deveIndexarCandidatosPendentesMesmoQuandoUmFalha() {
+        UUID inexistenteId = UUID.randomUUID();
+        when(candidatoBuscaRepository.listarNaoIndexados()).thenReturn(List.of(inexistenteId, candidatoId));
+        doThrow(new IllegalStateException("lock timeout")).when(snapshotRepository).travar(inexistenteId);
+        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
+        when(perfilCandidatoRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.empty());
+        when(experienciaRepository.listByUsuario(candidatoId)).thenReturn(List.of());
+        when(historicoAcademicoRepository.listByUsuario(candidatoId)).thenReturn(List.of());
+        when(snapshotRepository.save(any(PerfilCandidatoSnapshot.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.indexarPendentes();
+
+        verify(candidatoBuscaRepository).indexar(argThat(snapshot -> snapshot.getUsuarioId().equals(candidatoId)));
+    }
+
+    @Test
+    void deveMontarSemArmazenarQuandoGravacaoFalha() {
+        when(snapshotRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.empty());
+        doThrow(new IllegalStateException("lock timeout")).when(snapshotRepository).travar(candidatoId);
+        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(candidato));
+        when(perfilCandidatoRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.of(perfil));
+        when(competenciaRepository.listByPerfilCandidato(candidatoId)).thenReturn(List.of());
+        when(experienciaRepository.listByUsuario(candidatoId)).thenReturn(List.of());
+        when(historicoAcademicoRepository.listByUsuario(candidatoId)).thenReturn(List.of());
+        when(portfolioRepository.listByPerfilCandidato(candidatoId)).thenReturn(List.of());
+
+        Optional<PerfilCandidatoSnapshot> resultado = service.obter(candidatoId);
+
+        assertThat(resultado).isPresent();
+        assertThat(resultado.get().getNome()).isEqualTo("João Silva");
+        verify(snapshotRepository, never()).save(any());
+    }
+}
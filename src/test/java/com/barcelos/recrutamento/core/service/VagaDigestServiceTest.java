@@ -0,0 +1,144 @@
+package com.barcelos.recrutamento.core.service;
+
+import com.barcelos.recrutamento.core.model.*;
+import com.barcelos.recrutamento.core.port.VagaDigestRepository;
+import com.barcelos.recrutamento.core.support.TaxonomiaHabilidades;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VagaDigestServiceTest {
+
+    @Mock
+    private VagaDigestRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TaxonomiaHabilidades taxonomia = TaxonomiaHabilidades.carregar();
+
+    @InjectMocks
+    private VagaDigestService service;
+
+    private Vaga vaga;
+
+    @BeforeEach
+    void setUp() {
+        vaga = Vaga.rehydrate(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "Desenvolvedor Backend Pleno",
+            "Vamos construir a nova plataforma de crédito. O time trabalha com entregas contínuas.",
+            """
+                Requisitos:
+                - Experiência com Java, Spring Boot e APIs REST;
+                - Conhecimento em PostgreSQL.
+                - Inglês avançado
+                Diferenciais:
+                - Kubernetes
+                - AWS
+                """,
+            new BigDecimal("8000.00"), LocalDate.now(), StatusVaga.ABERTA, TipoContrato.CLT,
+            ModalidadeTrabalho.HIBRIDO, "9h às 18h", null, null, true, null
+        );
+    }
+
+    @Test
+    void deveGerarResumoEstruturadoDosRequisitos() {
+        VagaDigest digest = service.gerar(vaga);
+
+        assertThat(digest.getRequisitosObrigatorios())
+            .containsExactly("Java", "Spring Boot e APIs REST", "PostgreSQL", "Inglês avançado");
+        assertThat(digest.getRequisitosDesejaveis()).containsExactly("Kubernetes", "AWS");
+        assertThat(digest.getSenioridade()).isEqualTo(Senioridade.PLENO);
+        assertThat(digest.getIdiomas()).containsExactly("Inglês (avançado)");
+        assertThat(digest.getResumo()).isEqualTo("Vamos construir a nova plataforma de crédito.");
+        assertThat(digest.getTipoContrato()).isEqualTo(TipoContrato.CLT);
+        assertThat(digest.getModalidade()).isEqualTo(ModalidadeTrabalho.HIBRIDO);
+    }
+
+    @Test
+    void deveGuardarNoResumoAsHabilidadesReconhecidasDaVaga() {
+        VagaDigest digest = service.gerar(vaga);
+
+        assertThat(digest.getHabilidadesObrigatorias())
+            .contains(taxonomia.extrair("Java", "Spring", "PostgreSQL"))
+            .doesNotContain(taxonomia.extrair("Kubernetes", "AWS"));
+        assertThat(digest.getHabilidadesDesejaveis()).containsExactly(taxonomia.extrair("Kubernetes", "AWS"));
+        assertThat(digest.getHabilidadesMencionadas()).contains(taxonomia.extrair("Java", "Kubernetes"));
+    }
+
+    @Test
+    void deveReaproveitarHabilidadesDoResumoArmazenadoNaBusca() {
+        VagaDigest armazenado = service.gerar(vaga);
+        when(repository.findByVagaId(vaga.getId())).thenReturn(Optional.of(armazenado));
+        clearInvocations(taxonomia);
+
+        int[] habilidades = service.obterHabilidadesMencionadas(vaga);
+
+        assertThat(habilidades).containsExactly(armazenado.getHabilidadesMencionadas());
+        verifyNoInteractions(taxonomia);
+    }
+
+    @Test
+    void deveMarcarComoDesejavelItemComIndicacaoNaPropriaLinha() {
+        vaga = vaga.comRequisitos("Java\nDocker (desejável)\nTerraform será um diferencial");
+
+        VagaDigest digest = service.gerar(vaga);
+
+        assertThat(digest.getRequisitosObrigatorios()).containsExactly("Java");
+        assertThat(digest.getRequisitosDesejaveis()).containsExactly("Docker", "Terraform");
+    }
+
+    @Test
+    void deveConsiderarEstagioPeloTipoDeContrato() {
+        vaga = vaga.comTipoContrato(TipoContrato.ESTAGIO);
+
+        assertThat(service.gerar(vaga).getSenioridade()).isEqualTo(Senioridade.ESTAGIO);
+    }
+
+    @Test
+    void deveReutilizarResumoArmazenadoQuandoTextoNaoMudou() {
+        VagaDigest armazenado = service.gerar(vaga);
+        when(repository.findByVagaId(vaga.getId())).thenReturn(Optional.of(armazenado));
+
+        VagaDigest digest = service.obter(vaga.comSalario(new BigDecimal("9000.00")));
+
+        assertThat(digest).isSameAs(armazenado);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void deveRegenerarResumoQuandoTextoMudou() {
+        VagaDigest anterior = service.gerar(vaga);
+        when(repository.findByVagaId(vaga.getId())).thenReturn(Optional.of(anterior));
+
+        VagaDigest digest = service.obter(vaga.comRequisitos("Go, gRPC"));
+
+        assertThat(digest.getRequisitosObrigatorios()).containsExactly("Go", "gRPC");
+        verify(repository).save(digest);
+    }
+
+    @Test
+    void deveRegenerarNaAtualizacaoApenasQuandoTextoRelevanteMudou() {
+        service.regenerarSeAlterada(vaga, vaga.comSalario(new BigDecimal("9500.00")).comHorarioTrabalho("10h às 19h"));
+        verify(repository, never()).save(any());
+
+        service.regenerarSeAlterada(vaga, vaga.comDescricao("Outra descrição"));
+        verify(repository).save(any(VagaDigest.class));
+    }
+}
@@ -24,22 +24,7 @@ import static org.mockito.Mockito.*;
 class VagaExternaCurriculoServiceTest {
 
     @Mock
-    private UsuarioRepository usuarioRepository;
-
-    @Mock
-    private PerfilCandidatoRepository perfilCandidatoRepository;
-
-    @Mock
-    private ExperienciaProfissionalRepository experienciaRepository;
-
-    @Mock
-    private HistoricoAcademicoRepository historicoRepository;
-
-    @Mock
-    private PortfolioRepository portfolioRepository;
-
-    @Mock
-    private CompetenciaRepository competenciaRepository;
+    private PerfilCandidatoSnapshotService perfilCandidatoSnapshotService;
 
     @Mock
     private VagaExternaRepository vagaExternaRepository;
@@ -78,12 +63,9 @@ class VagaExternaCurriculoServiceTest {
         );
 
         when(vagaExternaRepository.findById(vagaExternaId)).thenReturn(Optional.of(vagaExterna));
-        when(usuarioRepository.findById(candidatoId)).thenReturn(Optional.of(usuario));
-        when(perfilCandidatoRepository.findByUsuarioId(candidatoId)).thenReturn(Optional.of(perfil));
-        when(experienciaRepository.listByUsuario(candidatoId)).thenReturn(List.of());
-        when(historicoRepository.listByUsuario(candidatoId)).thenReturn(List.of());
-        when(portfolioRepository.listByPerfilCandidato(any())).thenReturn(List.of());
-        when(competenciaRepository.listByPerfilCandidato(any())).thenReturn(List.of());
+        when(perfilCandidatoSnapshotService.obter(candidatoId)).thenReturn(Optional.of(
+            PerfilCandidatoSnapshot.novo(usuario, perfil, List.of(), List.of(), List.of(), List.of(), new int[0])
+        ));
         when(vagaExternaRepository.save(any(VagaExterna.class))).thenAnswer(inv -> inv.getArgument(0));
 
         service.gerarEAtualizarCurriculo(vagaExternaId);
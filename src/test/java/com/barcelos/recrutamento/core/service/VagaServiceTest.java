@@ -1,5 +1,7 @@
 package com.barcelos.recrutamento.core.service;
 
+import com.barcelos.recrutamento.core.event.VagaAtualizadaEvent;
+import com.barcelos.recrutamento.core.event.VagaRemovidaEvent;
 import com.barcelos.recrutamento.core.exception.BusinessRuleViolationException;
 import com.barcelos.recrutamento.core.exception.ResourceNotFoundException;
 import com.barcelos.recrutamento.core.model.*;
@@ -8,9 +10,11 @@ import com.barcelos.recrutamento.core.port.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -41,7 +45,13 @@ class VagaServiceTest {
     private VagaBeneficioService vagaBeneficioService;
 
     @Mock
-    private CompatibilidadeCacheService compatibilidadeCacheService;
+    private CompatibilidadeJobService compatibilidadeJobService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private VagaDigestService vagaDigestService;
 
     @Mock
     private EtapaProcessoService etapaProcessoService;
@@ -141,7 +151,8 @@ class VagaServiceTest {
         assertThat(resultado.getTitulo()).isEqualTo("Desenvolvedor Java");
         verify(vagaRepository).save(any(Vaga.class));
         verify(etapaProcessoService).criar(any(), eq("Triagem"), any(), any(), eq(1), any(), any());
-        verify(compatibilidadeCacheService).calcularParaTodosCandidatos(any());
+        verify(compatibilidadeJobService).enfileirarVaga(any());
+        verify(vagaDigestService).regenerar(vaga);
     }
 
     @Test
@@ -244,7 +255,11 @@ class VagaServiceTest {
         assertThat(resultado).isNotNull();
         assertThat(resultado.getTitulo()).isEqualTo("Desenvolvedor Senior");
         verify(vagaRepository).save(any(Vaga.class));
-        verify(compatibilidadeCacheService).recalcularVaga(vagaId);
+        verify(compatibilidadeJobService).enfileirarVaga(resultado);
+        verify(vagaDigestService).regenerarSeAlterada(vaga, resultado);
+        ArgumentCaptor<VagaAtualizadaEvent> evento = ArgumentCaptor.forClass(VagaAtualizadaEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertThat(evento.getValue().getVaga()).isSameAs(resultado);
     }
 
     @Test
@@ -321,6 +336,9 @@ class VagaServiceTest {
         service.deletar(vagaId);
 
         verify(vagaRepository).deleteById(vagaId);
+        ArgumentCaptor<VagaRemovidaEvent> evento = ArgumentCaptor.forClass(VagaRemovidaEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertThat(evento.getValue().getVagaId()).isEqualTo(vagaId);
     }
 
     @Test
@@ -0,0 +1,67 @@
+package com.barcelos.recrutamento.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AhoCorasickTest {
+
+    @Test
+    void deveEncontrarTodosOsPadroesEmUmaUnicaPassada() {
+        Map<String, Integer> padroes = new LinkedHashMap<>();
+        padroes.put("he", 1);
+        padroes.put("she", 2);
+        padroes.put("hers", 3);
+        padroes.put("his", 4);
+        AhoCorasick automato = AhoCorasick.construir(padroes);
+
+        List<AhoCorasick.Ocorrencia> ocorrencias = automato.encontrar("his she hers");
+
+        assertThat(ocorrencias).extracting(AhoCorasick.Ocorrencia::valor).containsExactly(4, 2, 3);
+        assertThat(ocorrencias.get(2)).isEqualTo(new AhoCorasick.Ocorrencia(8, 12, 3));
+    }
+
+    @Test
+    void deveIgnorarOcorrenciasNoMeioDePalavras() {
+        AhoCorasick automato = AhoCorasick.construir(Map.of("java", 1, "go", 2));
+
+        assertThat(automato.encontrar("javascript e algoritmos")).isEmpty();
+        assertThat(automato.encontrar("java, go")).extracting(AhoCorasick.Ocorrencia::valor).containsExactly(1, 2);
+    }
+
+    @Test
+    void devePreferirAOcorrenciaMaisLongaQuandoHaSobreposicao() {
+        AhoCorasick automato = AhoCorasick.construir(Map.of("react", 1, "react native", 2, "js", 3, "react.js", 1));
+
+        assertThat(automato.encontrar("react native e react.js"))
+                .extracting(AhoCorasick.Ocorrencia::valor)
+                .containsExactly(2, 1);
+    }
+
+    @Test
+    void deveAceitarPadroesComPontuacao() {
+        AhoCorasick automato = AhoCorasick.construir(Map.of("c++", 1, "c#", 2, ".net", 3));
+
+        assertThat(automato.encontrar("c#/.net e c++"))
+                .extracting(AhoCorasick.Ocorrencia::valor)
+                .containsExactly(2, 3, 1);
+    }
+
+    @Test
+    void deveRetornarVazioParaTextoVazio() {
+        AhoCorasick automato = AhoCorasick.construir(Map.of("java", 1));
+
+        assertThat(automato.encontrar("")).isEmpty();
+        assertThat(automato.encontrar(null)).isEmpty();
+    }
+
+    @Test
+    void naoDevePermitirPadraoVazio() {
+        assertThatThrownBy(() -> AhoCorasick.construir(Map.of("", 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
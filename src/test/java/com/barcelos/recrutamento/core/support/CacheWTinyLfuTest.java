@@ -0,0 +1,78 @@
+package com.barcelos.recrutamento.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CacheWTinyLfuTest {
+
+    @Test
+    void deveRetornarValorArmazenadoEContarAcertosEFalhas() {
+        CacheWTinyLfu<String, Integer> cache = new CacheWTinyLfu<>(10);
+
+        cache.armazenar("a", 1);
+
+        assertThat(cache.obter("a")).isEqualTo(1);
+        assertThat(cache.obter("b")).isNull();
+        assertThat(cache.estatisticas().acertos()).isEqualTo(1);
+        assertThat(cache.estatisticas().falhas()).isEqualTo(1);
+    }
+
+    @Test
+    void deveRespeitarCapacidadeMaxima() {
+        CacheWTinyLfu<Integer, Integer> cache = new CacheWTinyLfu<>(100);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.armazenar(i, i);
+        }
+
+        assertThat(cache.tamanho()).isLessThanOrEqualTo(100);
+        assertThat(cache.estatisticas().remocoes()).isGreaterThan(0);
+    }
+
+    @Test
+    void deveManterChavesFrequentesDuranteVarredura() {
+        CacheWTinyLfu<Integer, Integer> cache = new CacheWTinyLfu<>(100);
+        for (int i = 0; i < 50; i++) {
+            cache.armazenar(i, i);
+        }
+        for (int rodada = 0; rodada < 5; rodada++) {
+            for (int i = 0; i < 50; i++) {
+                cache.obter(i);
+            }
+        }
+
+        for (int i = 1000; i < 5000; i++) {
+            cache.armazenar(i, i);
+        }
+
+        int mantidas = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.obter(i) != null) {
+                mantidas++;
+            }
+        }
+        assertThat(mantidas).isGreaterThanOrEqualTo(45);
+    }
+
+    @Test
+    void deveRemoverChavesQueAtendemCondicao() {
+        CacheWTinyLfu<Integer, Integer> cache = new CacheWTinyLfu<>(100);
+        for (int i = 0; i < 20; i++) {
+            cache.armazenar(i, i);
+        }
+
+        cache.removerSe(chave -> chave % 2 == 0);
+        cache.remover(1);
+
+        assertThat(cache.tamanho()).isEqualTo(9);
+        assertThat(cache.obter(2)).isNull();
+        assertThat(cache.obter(3)).isEqualTo(3);
+    }
+
+    @Test
+    void deveRejeitarCapacidadeInvalida() {
+        assertThatThrownBy(() -> new CacheWTinyLfu<>(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.barcelos.recrutamento.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+    private final CircuitBreaker circuito = new CircuitBreaker(3, Duration.ofSeconds(30), relogio::get);
+
+    @Test
+    void deveAbrirAposFalhasConsecutivas() {
+        circuito.registrarFalha();
+        circuito.registrarFalha();
+        assertThat(circuito.permitir()).isTrue();
+
+        circuito.registrarFalha();
+
+        assertThat(circuito.estado()).isEqualTo(CircuitBreaker.Estado.ABERTO);
+        assertThat(circuito.permitir()).isFalse();
+        assertThat(circuito.disponivel()).isFalse();
+    }
+
+    @Test
+    void deveZerarFalhasAposSucesso() {
+        circuito.registrarFalha();
+        circuito.registrarFalha();
+        circuito.registrarSucesso();
+        circuito.registrarFalha();
+
+        assertThat(circuito.estado()).isEqualTo(CircuitBreaker.Estado.FECHADO);
+    }
+
+    @Test
+    void devePermitirUmaUnicaTentativaAposAbertura() {
+        abrir();
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        assertThat(circuito.disponivel()).isTrue();
+        assertThat(circuito.permitir()).isTrue();
+        assertThat(circuito.estado()).isEqualTo(CircuitBreaker.Estado.MEIO_ABERTO);
+        assertThat(circuito.permitir()).isFalse();
+
+        circuito.registrarSucesso();
+
+        assertThat(circuito.estado()).isEqualTo(CircuitBreaker.Estado.FECHADO);
+        assertThat(circuito.permitir()).isTrue();
+    }
+
+    @Test
+    void deveReabrirQuandoTentativaFalha() {
+        abrir();
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        circuito.permitir();
+
+        circuito.registrarFalha();
+
+        assertThat(circuito.estado()).isEqualTo(CircuitBreaker.Estado.ABERTO);
+        assertThat(circuito.permitir()).isFalse();
+    }
+
+    private void abrir() {
+        for (int i = 0; i < 3; i++) {
+            circuito.registrarFalha();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.barcelos.recrutamento.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FaixaExecucaoTest {
+
+    @Test
+    void deveSerInterativaPorPadrao() {
+        assertThat(FaixaExecucao.atual()).isEqualTo(FaixaExecucao.INTERATIVA);
+    }
+
+    @Test
+    void deveAplicarFaixaApenasDuranteAExecucao() {
+        FaixaExecucao dentro = FaixaExecucao.SEGUNDO_PLANO.executar(FaixaExecucao::atual);
+
+        assertThat(dentro).isEqualTo(FaixaExecucao.SEGUNDO_PLANO);
+        assertThat(FaixaExecucao.atual()).isEqualTo(FaixaExecucao.INTERATIVA);
+    }
+
+    @Test
+    void deveRestaurarFaixaAnteriorMesmoComExcecao() {
+        assertThatThrownBy(() -> FaixaExecucao.SEGUNDO_PLANO.rodar(() -> {
+            throw new IllegalStateException("falha");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(FaixaExecucao.atual()).isEqualTo(FaixaExecucao.INTERATIVA);
+    }
+
+    @Test
+    void deveRespeitarFaixaMaisInternaEmChamadasAninhadas() {
+        FaixaExecucao aninhada = FaixaExecucao.SEGUNDO_PLANO.executar(
+                () -> FaixaExecucao.INTERATIVA.executar(FaixaExecucao::atual));
+
+        assertThat(aninhada).isEqualTo(FaixaExecucao.INTERATIVA);
+    }
+}
@@ -0,0 +1,145 @@
+package com.barcelos.recrutamento.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IndiceHnswTest {
+
+    private static final int DIMENSAO = 32;
+
+    @Test
+    void deveTerRecallAltoComparadoABuscaExaustiva() {
+        Random random = new Random(7);
+        IndiceHnsw indice = new IndiceHnsw(DIMENSAO, 16, 100, 64);
+        List<UUID> ids = new ArrayList<>();
+        List<float[]> vetores = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            UUID id = UUID.randomUUID();
+            float[] vetor = vetorAleatorio(random);
+            ids.add(id);
+            vetores.add(vetor);
+            indice.inserir(id, vetor);
+        }
+
+        int acertos = 0;
+        int consultas = 50;
+        for (int q = 0; q < consultas; q++) {
+            float[] consulta = vetorAleatorio(random);
+            Set<UUID> esperados = new HashSet<>(exaustiva(ids, vetores, consulta, 10));
+            for (IndiceHnsw.Vizinho vizinho : indice.buscar(consulta, 10)) {
+                if (esperados.contains(vizinho.id())) {
+                    acertos++;
+                }
+            }
+        }
+
+        assertThat(indice.tamanho()).isEqualTo(2000);
+        assertThat(acertos / (double) (consultas * 10)).isGreaterThan(0.9);
+    }
+
+    @Test
+    void deveSubstituirVetorAoReinserirMesmoId() {
+        Random random = new Random(11);
+        IndiceHnsw indice = new IndiceHnsw(DIMENSAO, 8, 50, 32);
+        for (int i = 0; i < 100; i++) {
+            indice.inserir(UUID.randomUUID(), vetorAleatorio(random));
+        }
+        UUID id = UUID.randomUUID();
+        float[] original = vetorAleatorio(random);
+        float[] atualizado = vetorAleatorio(random);
+
+        indice.inserir(id, original);
+        indice.inserir(id, atualizado);
+
+        assertThat(indice.tamanho()).isEqualTo(101);
+        assertThat(indice.buscar(atualizado, 1)).extracting(IndiceHnsw.Vizinho::id).containsExactly(id);
+        assertThat(indice.buscar(original, 101)).extracting(IndiceHnsw.Vizinho::id).containsOnlyOnce(id);
+    }
+
+    @Test
+    void naoDeveRetornarItensRemovidos() {
+        Random random = new Random(13);
+        IndiceHnsw indice = new IndiceHnsw(DIMENSAO, 8, 50, 32);
+        UUID id = UUID.randomUUID();
+        float[] vetor = vetorAleatorio(random);
+        indice.inserir(id, vetor);
+        for (int i = 0; i < 50; i++) {
+            indice.inserir(UUID.randomUUID(), vetorAleatorio(random));
+        }
+
+        indice.remover(id);
+
+        assertThat(indice.contem(id)).isFalse();
+        assertThat(indice.buscar(vetor, 10)).extracting(IndiceHnsw.Vizinho::id).doesNotContain(id);
+    }
+
+    @Test
+    void deveManterIndiceConsistenteAposCompactacao() {
+        Random random = new Random(17);
+        IndiceHnsw indice = new IndiceHnsw(DIMENSAO, 8, 50, 32);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            indice.inserir(id, vetorAleatorio(random));
+        }
+        for (int i = 0; i < 500; i++) {
+            indice.remover(ids.get(i));
+        }
+        UUID novo = UUID.randomUUID();
+        float[] vetor = vetorAleatorio(random);
+
+        indice.inserir(novo, vetor);
+
+        assertThat(indice.tamanho()).isEqualTo(101);
+        assertThat(indice.buscar(vetor, 1)).extracting(IndiceHnsw.Vizinho::id).containsExactly(novo);
+    }
+
+    @Test
+    void deveRejeitarVetorComDimensaoInvalida() {
+        IndiceHnsw indice = new IndiceHnsw(DIMENSAO, 8, 50, 32);
+
+        assertThatThrownBy(() -> indice.inserir(UUID.randomUUID(), new float[DIMENSAO + 1]))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(indice.buscar(new float[DIMENSAO], 5)).isEmpty();
+    }
+
+    private List<UUID> exaustiva(List<UUID> ids, List<float[]> vetores, float[] consulta, int k) {
+        List<Integer> ordem = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            ordem.add(i);
+        }
+        ordem.sort(Comparator.comparingDouble((Integer i) -> produto(vetores.get(i), consulta)).reversed());
+        return ordem.subList(0, k).stream().map(ids::get).toList();
+    }
+
+    private float produto(float[] a, float[] b) {
+        float soma = 0;
+        for (int i = 0; i < a.length; i++) {
+            soma += a[i] * b[i];
+        }
+        return soma;
+    }
+
+    private float[] vetorAleatorio(Random random) {
+        float[] vetor = new float[DIMENSAO];
+        double norma = 0;
+        for (int i = 0; i < DIMENSAO; i++) {
+            vetor[i] = (float) random.nextGaussian();
+            norma += vetor[i] * vetor[i];
+        }
+        for (int i = 0; i < DIMENSAO; i++) {
+            vetor[i] /= (float) Math.sqrt(norma);
+        }
+        return vetor;
+    }
+}
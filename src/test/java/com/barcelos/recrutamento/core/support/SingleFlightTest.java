@@ -0,0 +1,85 @@
+package com.barcelos.recrutamento.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void deveExecutarUmUnicoCalculoParaChamadasConcorrentesDaMesmaChave() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            Future<Integer> lider = executor.submit(() -> singleFlight.executar("chave", () -> {
+                execucoes.incrementAndGet();
+                iniciou.countDown();
+                aguardar(liberar);
+                return 42;
+            }));
+            assertThat(iniciou.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<Integer>> seguidores = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                seguidores.add(executor.submit(() -> singleFlight.executar("chave", () -> {
+                    execucoes.incrementAndGet();
+                    return -1;
+                })));
+            }
+            Thread.sleep(200);
+            assertThat(singleFlight.emAndamento()).isEqualTo(1);
+            liberar.countDown();
+
+            assertThat(lider.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            for (Future<Integer> seguidor : seguidores) {
+                assertThat(seguidor.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(execucoes.get()).isEqualTo(1);
+        assertThat(singleFlight.emAndamento()).isZero();
+    }
+
+    @Test
+    void devePropagarFalhaELiberarChave() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+        assertThatThrownBy(() -> singleFlight.executar("chave", () -> {
+            throw new IllegalStateException("falhou");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("falhou");
+
+        assertThat(singleFlight.emAndamento()).isZero();
+        assertThat(singleFlight.executar("chave", () -> 7)).isEqualTo(7);
+    }
+
+    @Test
+    void naoDeveCoalescerChavesDiferentes() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+        assertThat(singleFlight.executar("a", () -> 1)).isEqualTo(1);
+        assertThat(singleFlight.executar("b", () -> 2)).isEqualTo(2);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.barcelos.recrutamento.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TaxonomiaHabilidadesTest {
+
+    private final TaxonomiaHabilidades taxonomia = TaxonomiaHabilidades.de(List.of(
+            "# comentário",
+            "JavaScript: js, ecmascript",
+            "React: react.js, reactjs",
+            "React Native: react-native",
+            "Gestão de projetos: gestão de projetos, project management",
+            "Java"
+    ));
+
+    @Test
+    void deveMapearSinonimosParaOMesmoIdentificadorCanonico() {
+        int[] porSinonimo = taxonomia.extrair("Experiência com JS e React.js");
+        int[] porCanonico = taxonomia.extrair("javascript, react");
+
+        assertThat(porSinonimo).containsExactly(porCanonico);
+        assertThat(Arrays.stream(porSinonimo).mapToObj(taxonomia::canonico)).containsExactly("JavaScript", "React");
+    }
+
+    @Test
+    void deveIgnorarAcentosECaixa() {
+        int[] habilidades = taxonomia.extrair("GESTAO DE PROJETOS");
+
+        assertThat(habilidades).hasSize(1);
+        assertThat(taxonomia.canonico(habilidades[0])).isEqualTo("Gestão de projetos");
+        assertThat(taxonomia.termos(habilidades[0])).containsExactly("gestao de projetos", "project management");
+    }
+
+    @Test
+    void deveDistinguirHabilidadesQueCompartilhamPrefixo() {
+        int[] habilidades = taxonomia.extrair("React Native", "javascript puro");
+
+        assertThat(Arrays.stream(habilidades).mapToObj(taxonomia::canonico))
+                .containsExactly("JavaScript", "React Native");
+    }
+
+    @Test
+    void deveRetornarConjuntoOrdenadoSemRepeticoes() {
+        int[] habilidades = taxonomia.extrair("java, js", "Java e JavaScript", null);
+
+        assertThat(habilidades).isSorted().doesNotHaveDuplicates().hasSize(2);
+        assertThat(TaxonomiaHabilidades.contem(habilidades, habilidades[1])).isTrue();
+        assertThat(TaxonomiaHabilidades.possuiInterseccao(habilidades, taxonomia.extrair("ecmascript"))).isTrue();
+        assertThat(TaxonomiaHabilidades.possuiInterseccao(habilidades, taxonomia.extrair("react"))).isFalse();
+    }
+
+    @Test
+    void naoDevePermitirTermoAssociadoADuasHabilidades() {
+        assertThatThrownBy(() -> TaxonomiaHabilidades.de(List.of("Go: golang", "Golang")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("golang");
+    }
+
+    @Test
+    void deveCarregarTaxonomiaPadraoDoClasspath() {
+        TaxonomiaHabilidades padrao = TaxonomiaHabilidades.carregar();
+
+        assertThat(padrao.tamanho()).isPositive();
+        assertThat(padrao.extrair("k8s")).containsExactly(padrao.extrair("Kubernetes"));
+        assertThat(padrao.extrair("Node.js")).containsExactly(padrao.extrair("nodejs"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.barcelos.recrutamento.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    @Test
+    void deveConsumirAteACapacidade() {
+        TokenBucket bucket = new TokenBucket(3, Duration.ofMinutes(1), relogio::get);
+
+        assertThat(bucket.tentarConsumir(1)).isTrue();
+        assertThat(bucket.tentarConsumir(2)).isTrue();
+        assertThat(bucket.tentarConsumir(1)).isFalse();
+    }
+
+    @Test
+    void deveReporProporcionalmenteAoTempo() {
+        TokenBucket bucket = new TokenBucket(60, Duration.ofMinutes(1), relogio::get);
+        assertThat(bucket.tentarConsumir(60)).isTrue();
+
+        assertThat(bucket.esperaNanos(1)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(bucket.disponiveis()).isEqualTo(10);
+        assertThat(bucket.esperaNanos(10)).isZero();
+        assertThat(bucket.tentarConsumir(11)).isFalse();
+    }
+
+    @Test
+    void naoDeveAcumularAlemDaCapacidade() {
+        TokenBucket bucket = new TokenBucket(5, Duration.ofSeconds(1), relogio::get);
+
+        relogio.addAndGet(TimeUnit.MINUTES.toNanos(5));
+
+        assertThat(bucket.disponiveis()).isEqualTo(5);
+    }
+
+    @Test
+    void deveLimitarPedidoMaiorQueCapacidadeAoBucketCheio() {
+        TokenBucket bucket = new TokenBucket(100, Duration.ofMinutes(1), relogio::get);
+
+        assertThat(bucket.esperaNanos(500)).isZero();
+        assertThat(bucket.tentarConsumir(500)).isTrue();
+        assertThat(bucket.disponiveis()).isZero();
+    }
+
+    @Test
+    void deveManterReservaIntactaParaQuemNaoAInforma() {
+        TokenBucket bucket = new TokenBucket(10, Duration.ofMinutes(1), relogio::get);
+
+        assertThat(bucket.tentarConsumir(7, 3)).isTrue();
+        assertThat(bucket.tentarConsumir(1, 3)).isFalse();
+        assertThat(bucket.esperaNanos(1, 3)).isPositive();
+        assertThat(bucket.tentarConsumir(3)).isTrue();
+    }
+}
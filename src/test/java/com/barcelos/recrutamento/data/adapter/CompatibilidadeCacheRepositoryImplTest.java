@@ -0,0 +1,126 @@
+package com.barcelos.recrutamento.data.adapter;
+
+import com.barcelos.recrutamento.config.CompatibilidadeProperties;
+import com.barcelos.recrutamento.core.model.CompatibilidadeCache;
+import com.barcelos.recrutamento.core.model.OrigemCompatibilidade;
+import com.barcelos.recrutamento.data.entity.CompatibilidadeCacheEntity;
+import com.barcelos.recrutamento.data.mapper.CompatibilidadeCacheMapper;
+import com.barcelos.recrutamento.data.spring.CompatibilidadeCacheJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompatibilidadeCacheRepositoryImplTest {
+
+    @Mock
+    private CompatibilidadeCacheJpaRepository jpaRepository;
+
+    @Mock
+    private CompatibilidadeCacheMapper mapper;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final CompatibilidadeProperties properties = new CompatibilidadeProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UUID candidatoId;
+    private UUID vagaId;
+    private CompatibilidadeCacheEntity entity;
+    private CompatibilidadeCache cache;
+
+    @BeforeEach
+    void setUp() {
+        candidatoId = UUID.randomUUID();
+        vagaId = UUID.randomUUID();
+        entity = mock(CompatibilidadeCacheEntity.class);
+        cache = CompatibilidadeCache.novo(candidatoId, vagaId, new BigDecimal("80"),
+            "Compatível", OrigemCompatibilidade.IA, "hash-perfil", "hash-vaga");
+        lenient().when(mapper.toDomain(entity)).thenReturn(cache);
+    }
+
+    @Test
+    void deveServirLeiturasRepetidasDoL1DentroDoTtl() {
+        CompatibilidadeCacheRepositoryImpl repository = criar();
+        when(jpaRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(Optional.of(entity));
+
+        repository.findByCandidatoAndVaga(candidatoId, vagaId);
+        Optional<CompatibilidadeCache> segunda = repository.findByCandidatoAndVaga(candidatoId, vagaId);
+
+        assertThat(segunda).hasValueSatisfying(c -> assertThat(c.getPercentualCompatibilidade()).isEqualByComparingTo("80"));
+        verify(jpaRepository, times(1)).findByCandidatoAndVaga(candidatoId, vagaId);
+    }
+
+    @Test
+    void deveConsultarBancoNovamenteQuandoTtlDoL1EstaZerado() {
+        properties.setCacheL1TtlSeconds(0);
+        CompatibilidadeCacheRepositoryImpl repository = criar();
+        when(jpaRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenReturn(Optional.of(entity));
+
+        repository.findByCandidatoAndVaga(candidatoId, vagaId);
+        repository.findByCandidatoAndVaga(candidatoId, vagaId);
+
+        verify(jpaRepository, times(2)).findByCandidatoAndVaga(candidatoId, vagaId);
+    }
+
+    @Test
+    void naoDeveGuardarNoL1LinhaLidaDuranteInvalidacaoConcorrente() {
+        CompatibilidadeCacheRepositoryImpl repository = criar();
+        when(jpaRepository.findByCandidatoAndVaga(candidatoId, vagaId)).thenAnswer(inv -> {
+            repository.deleteByVaga(vagaId);
+            return Optional.of(entity);
+        }).thenReturn(Optional.of(entity));
+
+        repository.findByCandidatoAndVaga(candidatoId, vagaId);
+        repository.findByCandidatoAndVaga(candidatoId, vagaId);
+
+        verify(jpaRepository, times(2)).findByCandidatoAndVaga(candidatoId, vagaId);
+    }
+
+    @Test
+    void deveRegistrarJustificativaPeloParCandidatoVaga() {
+        CompatibilidadeCacheRepositoryImpl repository = criar();
+        when(jdbcTemplate.update(anyString(), any(), any(), any(), any())).thenReturn(1);
+
+        boolean registrada = repository.registrarJustificativa(cache, "Boa aderência.");
+
+        assertThat(registrada).isTrue();
+        verify(jdbcTemplate).update(argThat(sql -> sql.contains("WHERE candidato_usuario_id = ? AND vaga_id = ?")),
+            eq("Boa aderência."), eq(candidatoId), eq(vagaId), eq(cache.getPercentualCompatibilidade()));
+        assertThat(meterRegistry.get("compatibilidade.cache.justificativas.descartadas").functionCounter().count())
+            .isZero();
+    }
+
+    @Test
+    void deveContarJustificativaDescartadaQuandoLinhaFoiRecalculada() {
+        CompatibilidadeCacheRepositoryImpl repository = criar();
+        when(jdbcTemplate.update(anyString(), any(), any(), any(), any())).thenReturn(0);
+
+        boolean registrada = repository.registrarJustificativa(cache, "Boa aderência.");
+
+        assertThat(registrada).isFalse();
+        assertThat(meterRegistry.get("compatibilidade.cache.justificativas.descartadas").functionCounter().count())
+            .isEqualTo(1);
+    }
+
+    private CompatibilidadeCacheRepositoryImpl criar() {
+        return new CompatibilidadeCacheRepositoryImpl(jpaRepository, mapper, jdbcTemplate, properties,
+            meterRegistry);
+    }
+}
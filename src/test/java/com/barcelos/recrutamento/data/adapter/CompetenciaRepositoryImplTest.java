@@ -0,0 +1,89 @@
+package com.barcelos.recrutamento.data.adapter;
+
+import com.barcelos.recrutamento.core.model.Competencia;
+import com.barcelos.recrutamento.data.entity.CompetenciaEntity;
+import com.barcelos.recrutamento.data.entity.NivelCompetencia;
+import com.barcelos.recrutamento.data.mapper.CompetenciaMapper;
+import com.barcelos.recrutamento.data.spring.CompetenciaJpaRepository;
+import com.barcelos.recrutamento.data.spring.PerfilCandidatoJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompetenciaRepositoryImplTest {
+
+    @Mock
+    private CompetenciaJpaRepository jpa;
+
+    @Mock
+    private PerfilCandidatoJpaRepository perfilCandidatoJpa;
+
+    @Mock
+    private CompetenciaMapper mapper;
+
+    @InjectMocks
+    private CompetenciaRepositoryImpl repository;
+
+    @Test
+    void deveConsultarEmUmUnicoBlocoAteQuinhentosPerfis() {
+        when(jpa.findByPerfilCandidatoIds(any())).thenReturn(List.of());
+
+        repository.listByPerfisCandidato(ids(500));
+
+        verify(jpa, times(1)).findByPerfilCandidatoIds(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void deveDividirEmBlocosDeQuinhentosPerfisDistintos() {
+        List<UUID> ids = ids(501);
+        List<UUID> comRepetidos = new ArrayList<>(ids);
+        comRepetidos.add(ids.get(0));
+        when(jpa.findByPerfilCandidatoIds(any())).thenReturn(List.of());
+
+        repository.listByPerfisCandidato(comRepetidos);
+
+        ArgumentCaptor<Collection<UUID>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(jpa, times(2)).findByPerfilCandidatoIds(captor.capture());
+        assertThat(captor.getAllValues().get(0)).hasSize(500).containsExactlyElementsOf(ids.subList(0, 500));
+        assertThat(captor.getAllValues().get(1)).containsExactly(ids.get(500));
+    }
+
+    @Test
+    void deveAgruparCompetenciasPorPerfil() {
+        UUID perfilId = UUID.randomUUID();
+        CompetenciaEntity java = mock(CompetenciaEntity.class);
+        CompetenciaEntity sql = mock(CompetenciaEntity.class);
+        when(jpa.findByPerfilCandidatoIds(any())).thenReturn(List.of(java, sql));
+        when(mapper.toDomain(java)).thenReturn(competencia(perfilId, "Java"));
+        when(mapper.toDomain(sql)).thenReturn(competencia(perfilId, "SQL"));
+
+        Map<UUID, List<Competencia>> resultado = repository.listByPerfisCandidato(List.of(perfilId, UUID.randomUUID()));
+
+        assertThat(resultado).containsOnlyKeys(perfilId);
+        assertThat(resultado.get(perfilId)).extracting(Competencia::getTitulo).containsExactly("Java", "SQL");
+    }
+
+    private List<UUID> ids(int quantidade) {
+        return IntStream.range(0, quantidade).mapToObj(i -> UUID.randomUUID()).toList();
+    }
+
+    private Competencia competencia(UUID perfilId, String titulo) {
+        return Competencia.rehydrate(UUID.randomUUID(), perfilId, titulo, titulo, NivelCompetencia.AVANCADO, true);
+    }
+}
@@ -0,0 +1,80 @@
+package com.barcelos.recrutamento.data.adapter;
+
+import com.barcelos.recrutamento.core.model.ExperienciaProfissional;
+import com.barcelos.recrutamento.data.entity.ExperienciaProfissionalEntity;
+import com.barcelos.recrutamento.data.mapper.ExperienciaProfissionalMapper;
+import com.barcelos.recrutamento.data.spring.ExperienciaProfissionalJpaRepository;
+import com.barcelos.recrutamento.data.spring.PerfilCandidatoJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExperienciaProfissionalRepositoryImplTest {
+
+    @Mock
+    private ExperienciaProfissionalJpaRepository jpa;
+
+    @Mock
+    private PerfilCandidatoJpaRepository perfilJpa;
+
+    @Mock
+    private ExperienciaProfissionalMapper mapper;
+
+    @InjectMocks
+    private ExperienciaProfissionalRepositoryImpl repository;
+
+    @Test
+    void deveConsultarEmUmUnicoBlocoAteQuinhentosUsuarios() {
+        when(jpa.findByPerfilCandidato_IdIn(any())).thenReturn(List.of());
+
+        repository.listByUsuarios(ids(500));
+
+        verify(jpa, times(1)).findByPerfilCandidato_IdIn(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void deveDividirEmBlocosDeQuinhentosUsuarios() {
+        List<UUID> ids = ids(501);
+        when(jpa.findByPerfilCandidato_IdIn(any())).thenReturn(List.of());
+
+        repository.listByUsuarios(ids);
+
+        ArgumentCaptor<Collection<UUID>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(jpa, times(2)).findByPerfilCandidato_IdIn(captor.capture());
+        assertThat(captor.getAllValues().get(0)).hasSize(500);
+        assertThat(captor.getAllValues().get(1)).containsExactly(ids.get(500));
+    }
+
+    @Test
+    void deveAgruparExperienciasPorUsuario() {
+        UUID usuarioId = UUID.randomUUID();
+        ExperienciaProfissionalEntity entity = mock(ExperienciaProfissionalEntity.class);
+        when(jpa.findByPerfilCandidato_IdIn(any())).thenReturn(List.of(entity));
+        when(mapper.toDomain(entity)).thenReturn(ExperienciaProfissional.rehydrate(UUID.randomUUID(), usuarioId,
+            "Desenvolvedor", "Empresa", "APIs", LocalDate.of(2020, 1, 1), null, true));
+
+        Map<UUID, List<ExperienciaProfissional>> resultado = repository.listByUsuarios(List.of(usuarioId));
+
+        assertThat(resultado.get(usuarioId)).extracting(ExperienciaProfissional::getCargo).containsExactly("Desenvolvedor");
+    }
+
+    private List<UUID> ids(int quantidade) {
+        return IntStream.range(0, quantidade).mapToObj(i -> UUID.randomUUID()).toList();
+    }
+}